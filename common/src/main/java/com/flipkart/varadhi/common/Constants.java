@@ -25,6 +25,7 @@ public class Constants {
 
     // Handler name for entity events.
     public static final String ENTITY_EVENTS_HANDLER = "entity-events";
+    public static final String ENTITY_EVENTS_BATCH_HANDLER = "entity-events-batch";
 
     private Constants() {
         // Private constructor to prevent instantiation
@@ -79,6 +80,7 @@ public class Constants {
         public static final String LIST_PROJECTS = "LIST_PROJECTS";
 
         public static final String PRODUCE = "PRODUCE";
+        public static final String PRODUCE_BATCH = "PRODUCE_BATCH";
 
         private MethodNames() {
             // Private constructor to prevent instantiation
@@ -170,6 +172,7 @@ public class Constants {
      */
     public static class RestDefaults {
         public static final int PAYLOAD_SIZE_MAX = 5 * 1024 * 1024;
+        public static final int PRODUCE_BATCH_MSG_COUNT_MAX = 1000;
         public static final String DEFAULT_ORG = "default";
         public static final String DEFAULT_TEAM = "public";
         public static final String DEFAULT_PROJECT = "public";
@@ -0,0 +1,75 @@
+package com.flipkart.varadhi.common.vertx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.flipkart.varadhi.entities.JsonMapper;
+import io.vertx.core.buffer.Buffer;
+
+/*
+ * Reads a request body of Content-type application/json-seq i.e. a sequence of json texts delimited by
+ * RECORD_SEPARATOR. This is the request side counterpart of JsonSeqStream. Separator placement is lenient, records
+ * may be preceded (as per RFC 7464) and/or followed (as written by JsonSeqStream) by the separator. Blank records are
+ * ignored.
+ */
+public final class JsonSeqReader {
+    public static final String CONTENT_TYPE = "application/json-seq";
+    private static final byte RECORD_SEPARATOR = 0x1E;
+
+    private JsonSeqReader() {
+    }
+
+    /**
+     * @param maxRecords upper limit on the number of records, reading more fails with IllegalArgumentException.
+     * @throws IllegalArgumentException if the content has more than maxRecords records or a record is not valid json
+     *                                  for the given class.
+     */
+    public static <T> List<T> readAll(Buffer content, Class<T> clazz, int maxRecords) {
+        return readAll(content.getBytes(), clazz, maxRecords);
+    }
+
+    /**
+     * @param maxRecords upper limit on the number of records, reading more fails with IllegalArgumentException.
+     * @throws IllegalArgumentException if the content has more than maxRecords records or a record is not valid json
+     *                                  for the given class.
+     */
+    public static <T> List<T> readAll(byte[] bytes, Class<T> clazz, int maxRecords) {
+        List<T> records = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i == bytes.length || bytes[i] == RECORD_SEPARATOR) {
+                if (!isBlank(bytes, start, i)) {
+                    if (records.size() == maxRecords) {
+                        throw new IllegalArgumentException(
+                            String.format("Number of records exceeds allowed limit of %d.", maxRecords)
+                        );
+                    }
+                    records.add(readRecord(bytes, start, i, clazz, records.size()));
+                }
+                start = i + 1;
+            }
+        }
+        return records;
+    }
+
+    private static <T> T readRecord(byte[] bytes, int start, int end, Class<T> clazz, int index) {
+        try {
+            return JsonMapper.jsonDeserialize(bytes, start, end - start, clazz);
+        } catch (JsonMapper.JsonParseException e) {
+            throw new IllegalArgumentException(
+                String.format("Invalid record at index %d: %s", index, e.getCause().getMessage())
+            );
+        }
+    }
+
+    private static boolean isBlank(byte[] bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            // JsonSeqStream writes the separator as an int, hence the NUL bytes.
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t' && b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
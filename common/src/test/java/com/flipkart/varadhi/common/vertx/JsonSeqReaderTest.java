@@ -0,0 +1,60 @@
+package com.flipkart.varadhi.common.vertx;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import io.vertx.core.buffer.Buffer;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonSeqReaderTest {
+    private static final String RS = "\u001E";
+
+    @Test
+    public void testReadLeadingAndTrailingSeparators() {
+        String content = RS + "{\"name\":\"a\",\"value\":1}\n" + RS + "{\"name\":\"b\",\"value\":2}\n";
+        List<Item> items = JsonSeqReader.readAll(Buffer.buffer(content), Item.class, 10);
+        assertEquals(List.of(new Item("a", 1), new Item("b", 2)), items);
+
+        content = "{\"name\":\"a\",\"value\":1}" + RS + "{\"name\":\"b\",\"value\":2}" + RS;
+        items = JsonSeqReader.readAll(content.getBytes(StandardCharsets.UTF_8), Item.class, 10);
+        assertEquals(List.of(new Item("a", 1), new Item("b", 2)), items);
+    }
+
+    @Test
+    public void testReadSkipsBlankRecords() {
+        String content = RS + " \n" + RS + "{\"name\":\"a\",\"value\":1}" + RS + "\0\0\0" + RS;
+        assertEquals(List.of(new Item("a", 1)), JsonSeqReader.readAll(Buffer.buffer(content), Item.class, 10));
+        assertTrue(JsonSeqReader.readAll(Buffer.buffer(RS + RS), Item.class, 10).isEmpty());
+    }
+
+    @Test
+    public void testReadMoreThanMaxRecords() {
+        String content = RS + "{\"name\":\"a\",\"value\":1}" + RS + "{\"name\":\"b\",\"value\":2}";
+        IllegalArgumentException e = assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonSeqReader.readAll(Buffer.buffer(content), Item.class, 1)
+        );
+        assertEquals("Number of records exceeds allowed limit of 1.", e.getMessage());
+    }
+
+    @Test
+    public void testReadInvalidRecord() {
+        String content = RS + "{\"name\":\"a\",\"value\":1}" + RS + "{\"name\":";
+        IllegalArgumentException e = assertThrows(
+            IllegalArgumentException.class,
+            () -> JsonSeqReader.readAll(Buffer.buffer(content), Item.class, 10)
+        );
+        assertTrue(e.getMessage().startsWith("Invalid record at index 1"));
+    }
+
+    @Data
+    private static class Item {
+        private final String name;
+        private final int value;
+    }
+}
@@ -0,0 +1,92 @@
+package com.flipkart.varadhi.consumer.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark for the task queues of the {@link EventExecutor}.
+ * <p>
+ * handOff: 4 producer threads hand tasks to the executor, with at most 4096 tasks outstanding. Measures the task
+ * throughput of the queue under contention.
+ * <p>
+ * wakeUp: a single producer hands a task to an idle executor and waits for it to run. Sampled, so the p99 is the
+ * wake-up latency of the executor. MPSC_SPIN spins a while before parking, MPSC_PARK parks right away.
+ */
+@State (Scope.Benchmark)
+public class EventExecutorBenchmark {
+
+    private static final int MAX_OUTSTANDING = 4096;
+
+    @Param ({"LINKED", "MPSC_SPIN", "MPSC_PARK"})
+    private String queue;
+
+    private EventExecutor executor;
+    private Context context;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private Context.Task handOffTask;
+
+    @Setup
+    public void setup() {
+        BlockingQueue<Context.Task> taskQueue = switch (queue) {
+            case "LINKED" -> new LinkedBlockingQueue<>();
+            case "MPSC_SPIN" -> new MpscTaskQueue(64 * 1024, 1000, new SimpleMeterRegistry(), "bench");
+            case "MPSC_PARK" -> new MpscTaskQueue(64 * 1024, 0, new SimpleMeterRegistry(), "bench");
+            default -> throw new IllegalArgumentException(queue);
+        };
+        executor = new EventExecutor(null, r -> {
+            CustomThread thread = new CustomThread(r);
+            thread.setDaemon(true);
+            return thread;
+        }, taskQueue);
+        context = new Context(executor);
+        handOffTask = context.wrap(outstanding::decrementAndGet);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.stop();
+        // wake the executor up, for it to see the stop.
+        context.run(context.wrap(() -> {
+        }));
+    }
+
+    @State (Scope.Thread)
+    public static class WakeUpState {
+        private volatile boolean done;
+        private Context.Task task;
+
+        @Setup
+        public void setup(EventExecutorBenchmark benchmark) {
+            task = benchmark.context.wrap(() -> done = true);
+        }
+    }
+
+    @Benchmark
+    @Threads (4)
+    @BenchmarkMode (Mode.Throughput)
+    @OutputTimeUnit (TimeUnit.MICROSECONDS)
+    public void handOff() {
+        while (outstanding.get() >= MAX_OUTSTANDING) {
+            Thread.onSpinWait();
+        }
+        outstanding.incrementAndGet();
+        context.run(handOffTask);
+    }
+
+    @Benchmark
+    @BenchmarkMode (Mode.SampleTime)
+    @OutputTimeUnit (TimeUnit.MICROSECONDS)
+    public void wakeUp(WakeUpState state) {
+        state.done = false;
+        context.run(state.task);
+        while (!state.done) {
+            Thread.onSpinWait();
+        }
+    }
+}
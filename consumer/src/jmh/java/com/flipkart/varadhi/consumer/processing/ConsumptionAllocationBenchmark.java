@@ -0,0 +1,240 @@
+package com.flipkart.varadhi.consumer.processing;
+
+import com.flipkart.varadhi.consumer.ConsumerMetrics;
+import com.flipkart.varadhi.consumer.MessageSrc;
+import com.flipkart.varadhi.consumer.MessageSrcSelector;
+import com.flipkart.varadhi.consumer.ThresholdProvider;
+import com.flipkart.varadhi.consumer.Throttler;
+import com.flipkart.varadhi.consumer.UnGroupedMessageSrc;
+import com.flipkart.varadhi.consumer.concurrent.Context;
+import com.flipkart.varadhi.consumer.concurrent.CustomThread;
+import com.flipkart.varadhi.consumer.concurrent.EventExecutor;
+import com.flipkart.varadhi.consumer.delivery.DeliveryResponse;
+import com.flipkart.varadhi.consumer.delivery.MessageDelivery;
+import com.flipkart.varadhi.consumer.impl.ConcurrencyControlImpl;
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.InternalQueueType;
+import com.flipkart.varadhi.entities.StdHeaders;
+import com.flipkart.varadhi.entities.TestStdHeaders;
+import com.flipkart.varadhi.spi.mock.InMemoryOffset;
+import com.flipkart.varadhi.spi.services.Consumer;
+import com.flipkart.varadhi.spi.services.PolledMessage;
+import com.flipkart.varadhi.spi.services.PolledMessages;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH benchmark of the steady state consumption of the {@link UngroupedProcessingLoop}, with an in-memory consumer
+ * that always has messages and a delivery that always succeeds right away. So it measures the overhead of the loop
+ * itself: polling, trackers, concurrency control, delivery state and commit.
+ * <p>
+ * One op is one consumed message. Run with the gc profiler (default for this module) for gc.alloc.rate.norm, i.e.
+ * the bytes allocated per consumed message across all the threads, or with -prof jfr to see the allocation sites.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+public class ConsumptionAllocationBenchmark {
+
+    static final int MESSAGES_PER_OP = 10_000;
+    static final int BATCH_SIZE = 64;
+
+    @Param ({"64", "256"})
+    private int maxParallelism;
+
+    private EventExecutor executor;
+    private UngroupedProcessingLoop loop;
+    private EndlessConsumer consumer;
+    private long consumedTarget;
+
+    @Setup
+    public void setup() {
+        if (!StdHeaders.isGlobalInstanceInitialized()) {
+            StdHeaders.init(TestStdHeaders.get());
+        }
+        executor = new EventExecutor(null, r -> {
+            CustomThread thread = new CustomThread(r);
+            thread.setDaemon(true);
+            return thread;
+        }, new LinkedBlockingQueue<>());
+        Context context = new Context(executor);
+
+        InternalQueueType main = InternalQueueType.mainType();
+        InternalQueueType[] priority = new InternalQueueType[] {main};
+        ConsumerMetrics metrics = new ConsumerMetrics(new SimpleMeterRegistry(), "bench", 0, priority);
+        consumer = new EndlessConsumer(BATCH_SIZE);
+
+        LinkedHashMap<InternalQueueType, MessageSrc> messageSrcs = new LinkedHashMap<>();
+        messageSrcs.put(main, new UnGroupedMessageSrc<>(main, consumer, metrics));
+
+        DeliveryResponse ok = new DeliveryResponse(200, Endpoint.Protocol.HTTP1_1, new byte[0]);
+        CompletableFuture<DeliveryResponse> okFuture = CompletableFuture.completedFuture(ok);
+        MessageDelivery delivery = message -> okFuture;
+        Throttler<DeliveryResponse> throttler = (type, task, permits) -> task.get();
+
+        loop = new UngroupedProcessingLoop(
+            context,
+            new MessageSrcSelector(context, messageSrcs, BATCH_SIZE),
+            new ConcurrencyControlImpl<>(context, maxParallelism, priority),
+            new NoopThresholdProvider(),
+            throttler,
+            delivery,
+            Map.of(),
+            null,
+            4 * maxParallelism,
+            null
+        );
+        context.run(loop);
+        consumedTarget = consumer.committed.get();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loop.stop();
+        executor.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation (MESSAGES_PER_OP)
+    public long consume() {
+        consumedTarget += MESSAGES_PER_OP;
+        long committed;
+        while ((committed = consumer.committed.get()) < consumedTarget) {
+            Thread.onSpinWait();
+        }
+        return committed;
+    }
+
+    /**
+     * Returns the same batch of messages on every receive, and counts the commits.
+     */
+    static class EndlessConsumer implements Consumer<InMemoryOffset> {
+        private final AtomicLong committed = new AtomicLong();
+        private final CompletableFuture<PolledMessages<InMemoryOffset>> batch;
+        private final CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+
+        EndlessConsumer(int batchSize) {
+            ArrayList<PolledMessage<InMemoryOffset>> messages = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                messages.add(new BenchMessage(new InMemoryOffset(0, i)));
+            }
+            batch = CompletableFuture.completedFuture(new PolledMessages.ArrayBacked<>(messages));
+        }
+
+        @Override
+        public CompletableFuture<PolledMessages<InMemoryOffset>> receiveAsync() {
+            return batch;
+        }
+
+        @Override
+        public CompletableFuture<Void> commitCumulativeAsync(PolledMessage<InMemoryOffset> message) {
+            return done;
+        }
+
+        @Override
+        public CompletableFuture<Void> commitIndividualAsync(PolledMessage<InMemoryOffset> message) {
+            committed.incrementAndGet();
+            return done;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+
+    record BenchMessage(InMemoryOffset offset) implements PolledMessage<InMemoryOffset> {
+        private static final byte[] PAYLOAD = new byte[100];
+        private static final Multimap<String, String> HEADERS = ArrayListMultimap.create();
+
+        @Override
+        public long getProducedTimestampMs() {
+            return 0;
+        }
+
+        @Override
+        public String getTopicName() {
+            return "bench";
+        }
+
+        @Override
+        public int getPartition() {
+            return 0;
+        }
+
+        @Override
+        public InMemoryOffset getOffset() {
+            return offset;
+        }
+
+        @Override
+        public String getMessageId() {
+            return "msg";
+        }
+
+        @Override
+        public String getGroupId() {
+            return null;
+        }
+
+        @Override
+        public boolean hasHeader(String key) {
+            return false;
+        }
+
+        @Override
+        public String getHeader(String key) {
+            return null;
+        }
+
+        @Override
+        public List<String> getHeaders(String key) {
+            return List.of();
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return PAYLOAD;
+        }
+
+        @Override
+        public Multimap<String, String> getHeaders() {
+            return HEADERS;
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+
+
+    static class NoopThresholdProvider implements ThresholdProvider.Dynamic {
+        @Override
+        public float getThreshold() {
+            return Float.MAX_VALUE;
+        }
+
+        @Override
+        public void mark() {
+        }
+
+        @Override
+        public void addListener(ThresholdChangeListener listener) {
+        }
+
+        @Override
+        public void removeListener(ThresholdChangeListener listener) {
+        }
+    }
+}
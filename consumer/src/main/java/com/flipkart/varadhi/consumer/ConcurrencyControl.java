@@ -9,6 +9,10 @@ import java.util.function.Supplier;
 public interface ConcurrencyControl<T> {
 
     // TODO: maybe evaluate per task enqueue for CC as well.
+
+    /**
+     * @return futures of the tasks, in the same order as the tasks.
+     */
     Collection<CompletableFuture<T>> enqueueTasks(
         InternalQueueType type,
         Iterable<Supplier<CompletableFuture<T>>> tasks
@@ -73,6 +73,7 @@ public class ConsumerApiMgr implements ConsumerApi {
         ConsumerInfo info = ConsumerInfo.from(memberInfo);
         consumersManager.getConsumersInfo().forEach(i -> {
             info.addShardCapacity(i.subscription(), i.shardId(), i.capacityPolicy());
+            info.addShardLoad(i.subscription(), i.shardId(), i.load());
         });
         return CompletableFuture.completedFuture(info);
     }
@@ -1,18 +1,25 @@
 package com.flipkart.varadhi.consumer;
 
+import com.flipkart.varadhi.consumer.delivery.MessageDelivery;
+import com.flipkart.varadhi.consumer.ordering.GroupPointerStore;
 import com.flipkart.varadhi.spi.services.ConsumerFactory;
 import com.flipkart.varadhi.spi.services.ProducerFactory;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.net.http.HttpClient;
-
 @RequiredArgsConstructor
 @Getter
 public class ConsumerEnvironment {
     private final ProducerFactory producerFactory;
     private final ConsumerFactory consumerFactory;
-    private final HttpClient httpClient;
+    private final MessageDelivery.Factory deliveryFactory;
     private final MeterRegistry meterRegistry;
+    private final GroupPointerStore.Factory groupPointerStoreFactory;
+
+    /**
+     * whether the delivery concurrency of a shard adapts to the endpoint latency, instead of staying at the max
+     * parallelism of the subscription.
+     */
+    private final boolean adaptiveConcurrency;
 }
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * TODO: right now the MessageTracker is holding the reference to it, to be able to start the timer. That may / may not
@@ -22,6 +23,10 @@ public class ConsumerMetrics implements AutoCloseable {
     // looks overkill
     private final Map<InternalQueueType, EnumMap<MessageConsumptionStatus, Timer>> timers = new HashMap<>();
 
+    // reported to the controller as the load of the shard.
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder inConsumption = new LongAdder();
+
     public ConsumerMetrics(MeterRegistry meterRegistry, String subName, int shardId, InternalQueueType[] queueTypes) {
         this.meterRegistry = meterRegistry;
         for (InternalQueueType queueType : queueTypes) {
@@ -42,9 +47,24 @@ public class ConsumerMetrics implements AutoCloseable {
     }
 
     public Tracker begin(InternalQueueType queueType) {
+        inConsumption.increment();
         return new Tracker(queueType);
     }
 
+    /**
+     * @return the messages consumed so far.
+     */
+    public long getConsumed() {
+        return consumed.sum();
+    }
+
+    /**
+     * @return the messages whose consumption has begun and not ended.
+     */
+    public long getInConsumption() {
+        return inConsumption.sum();
+    }
+
     @RequiredArgsConstructor
     public class Tracker {
         private final InternalQueueType queueType;
@@ -52,6 +72,8 @@ public class ConsumerMetrics implements AutoCloseable {
 
         public void end(MessageConsumptionStatus status) {
             sample.stop(timers.get(queueType).get(status));
+            inConsumption.decrement();
+            consumed.increment();
         }
     }
 
@@ -1,6 +1,7 @@
 package com.flipkart.varadhi.consumer;
 
 import com.flipkart.varadhi.core.CoreServices;
+import com.flipkart.varadhi.core.config.ConsumerOptions;
 import com.flipkart.varadhi.core.cluster.MessageExchange;
 import com.flipkart.varadhi.core.cluster.MessageRouter;
 import com.flipkart.varadhi.core.cluster.VaradhiClusterManager;
@@ -15,11 +16,18 @@ public class ConsumerVerticle extends AbstractVerticle {
     private final CoreServices coreServices;
     private final VaradhiClusterManager clusterManager;
     private final MemberInfo memberInfo;
+    private final ConsumerOptions consumerOptions;
 
-    public ConsumerVerticle(CoreServices coreServices, MemberInfo memberInfo, VaradhiClusterManager clusterManager) {
+    public ConsumerVerticle(
+        CoreServices coreServices,
+        MemberInfo memberInfo,
+        VaradhiClusterManager clusterManager,
+        ConsumerOptions consumerOptions
+    ) {
         this.coreServices = coreServices;
         this.clusterManager = clusterManager;
         this.memberInfo = memberInfo;
+        this.consumerOptions = consumerOptions;
     }
 
     @Override
@@ -30,7 +38,9 @@ public class ConsumerVerticle extends AbstractVerticle {
         ConsumersManager consumersManager = new ConsumersManagerImpl(
             coreServices.getMessagingStackProvider().getProducerFactory(),
             coreServices.getMessagingStackProvider().getConsumerFactory(),
-            coreServices.getMeterRegistry()
+            coreServices.getMeterRegistry(),
+            coreServices.getMetaStoreProvider().getGroupStateStore(),
+            consumerOptions
         );
         ControllerConsumerClient controllerClient = new ControllerConsumerClient(messageExchange);
         ConsumerApiMgr consumerApiManager = new ConsumerApiMgr(consumersManager, memberInfo);
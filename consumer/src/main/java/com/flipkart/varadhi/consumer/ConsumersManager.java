@@ -1,5 +1,6 @@
 package com.flipkart.varadhi.consumer;
 
+import com.flipkart.varadhi.core.cluster.ShardLoad;
 import com.flipkart.varadhi.entities.*;
 import com.flipkart.varadhi.entities.cluster.ConsumerState;
 
@@ -45,6 +46,12 @@ public interface ConsumersManager {
 
     Iterable<Info> getConsumersInfo();
 
-    record Info(String subscription, int shardId, ConsumerState state, TopicCapacityPolicy capacityPolicy) {
+    record Info(
+        String subscription,
+        int shardId,
+        ConsumerState state,
+        TopicCapacityPolicy capacityPolicy,
+        ShardLoad load
+    ) {
     }
 }
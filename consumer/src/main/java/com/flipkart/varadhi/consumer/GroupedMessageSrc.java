@@ -1,12 +1,12 @@
 package com.flipkart.varadhi.consumer;
 
+import com.flipkart.varadhi.consumer.concurrent.Context;
+import com.flipkart.varadhi.consumer.concurrent.ObjectPool;
 import com.flipkart.varadhi.entities.InternalQueueType;
 import com.flipkart.varadhi.entities.Offset;
 import com.flipkart.varadhi.spi.services.Consumer;
 import com.flipkart.varadhi.spi.services.PolledMessage;
 import com.flipkart.varadhi.spi.services.PolledMessages;
-import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.mutable.MutableBoolean;
@@ -21,15 +21,21 @@ import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Message source that maintains ordering among messages of the same groupId.
+ * <p>
+ * The trackers are acquired from their pools only on the context, i.e. the polled messages are grouped and handed out
+ * there, while they are released by whichever thread consumes the message.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
 
+    private static final int TRACKER_POOL_SIZE = 1024;
+
     private final ConcurrentHashMap<String, GroupTracker> allGroupedMessages = new ConcurrentHashMap<>();
 
     private final ConcurrentLinkedDeque<String> freeGroups = new ConcurrentLinkedDeque<>();
 
+    private final Context context;
+
     private final Consumer<O> consumer;
 
     /**
@@ -37,7 +43,18 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
      */
     private final long maxUnAckedMessages;
 
-    private final ConsumerMetrics metrics;
+    /**
+     * Trackers are acquired only on the context, while grouping a polled batch.
+     */
+    private final ObjectPool<PolledMessageTracker<O>> trackerPool;
+
+    /**
+     * Trackers are acquired only on the context, while handing out the next message of the free groups.
+     */
+    private final ObjectPool<GroupedMessageTracker> groupedTrackerPool = new ObjectPool<>(
+        TRACKER_POOL_SIZE,
+        pool -> new GroupedMessageTracker()
+    );
 
     /**
      * Maintains the count of total messages read from the consumer so far.
@@ -58,6 +75,18 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
      */
     private final AtomicReference<NextMsgsRequest> pendingRequest = new AtomicReference<>();
 
+    public GroupedMessageSrc(
+        Context context,
+        Consumer<O> consumer,
+        long maxUnAckedMessages,
+        ConsumerMetrics metrics
+    ) {
+        this.context = context;
+        this.consumer = consumer;
+        this.maxUnAckedMessages = maxUnAckedMessages;
+        this.trackerPool = PolledMessageTracker.newPool(TRACKER_POOL_SIZE, consumer, metrics::begin);
+    }
+
     /**
      * Attempt to fill the message array with one message from each group.
      * Subsequent messages from a group are not fetched until the previous message is consumed.
@@ -92,9 +121,9 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
     }
 
     private void tryCompletePendingRequest() {
+        assert context.isInContext();
         NextMsgsRequest request;
         if ((request = pendingRequest.getAndSet(null)) != null) {
-            // TODO: does it need to be done on the context?
             request.result.complete(nextMessagesInternal(request.messages));
         }
     }
@@ -103,9 +132,12 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
         if (!isMaxUnAckedMessagesBreached() && pendingAsyncFetch.compareAndSet(false, true)) {
             // there is more room for new messages. We can initiate a new fetch request, as none is ongoing.
             consumer.receiveAsync().whenComplete((polledMessages, ex) -> {
-                if (ex != null) {
-                    replenishAvailableGroups(polledMessages);
-                    pendingAsyncFetch.set(false);
+                if (ex == null) {
+                    // the polled messages get their trackers on the context.
+                    context.runOnContext(() -> {
+                        replenishAvailableGroups(polledMessages);
+                        pendingAsyncFetch.set(false);
+                    });
                 } else {
                     log.error("Error while fetching messages from consumer", ex);
                     throw new IllegalStateException(
@@ -117,10 +149,13 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
     }
 
     private int nextMessagesInternal(MessageTracker[] messages) {
+        assert context.isInContext();
         int i = 0;
         GroupTracker groupTracker;
         while (i < messages.length && (groupTracker = pollFreeGroup()) != null) {
-            messages[i++] = new GroupedMessageTracker(groupTracker.messages.getFirst().nextMessage());
+            GroupedMessageTracker tracker = groupedTrackerPool.acquire();
+            tracker.messageTracker = groupTracker.messages.getFirst().nextMessage();
+            messages[i++] = tracker;
         }
         return i;
     }
@@ -168,7 +203,7 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
     private Map<String, List<MessageTracker>> groupMessagesByGroupId(PolledMessages<O> polledMessages) {
         Map<String, List<MessageTracker>> groups = new HashMap<>();
         for (PolledMessage<O> polledMessage : polledMessages) {
-            MessageTracker messageTracker = new PolledMessageTracker<>(consumer, polledMessage, metrics::begin);
+            MessageTracker messageTracker = PolledMessageTracker.acquire(trackerPool, polledMessage);
             String groupId = messageTracker.getGroupId();
             if (StringUtils.isBlank(groupId)) {
                 throw new IllegalStateException("Group id not found for message " + messageTracker.getMessage());
@@ -198,9 +233,11 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
     }
 
 
-    @AllArgsConstructor
+    /**
+     * Pooled, so it goes back to the pool once the message is consumed.
+     */
     private class GroupedMessageTracker implements MessageTracker {
-        private final MessageTracker messageTracker;
+        private MessageTracker messageTracker;
 
         @Override
         public PolledMessage<? extends Offset> getMessage() {
@@ -214,33 +251,39 @@ public class GroupedMessageSrc<O extends Offset> implements MessageSrc {
 
         @Override
         public void onConsumed(MessageConsumptionStatus status) {
-            messageTracker.onConsumed(status);
+            // the trackers get recycled once consumed, so read the group first.
             String groupId = getGroupId();
-            free(groupId, status);
+            messageTracker.onConsumed(status);
+            messageTracker = null;
+            groupedTrackerPool.release(this);
+            free(groupId);
         }
+    }
 
-        private void free(String groupId, MessageConsumptionStatus status) {
-            MutableBoolean isRemaining = new MutableBoolean(false);
-            allGroupedMessages.compute(groupId, (gId, tracker) -> {
-                if (tracker == null || tracker.status == GroupStatus.FREE) {
-                    throw new IllegalStateException(String.format("Tried to free group %s: %s", gId, tracker));
-                }
-                var messages = tracker.messages;
-                while (!messages.isEmpty() && messages.getFirst().remaining() == 0) {
-                    messages.removeFirst();
-                }
-                if (!messages.isEmpty()) {
-                    tracker.status = GroupStatus.FREE;
-                    isRemaining.setTrue();
-                    return tracker;
-                } else {
-                    return null;
-                }
-            });
-            totalUnAckedMessages.decrementAndGet();
-            if (isRemaining.isTrue()) {
-                freeGroups.addFirst(groupId);
-                tryCompletePendingRequest();
+    private void free(String groupId) {
+        MutableBoolean isRemaining = new MutableBoolean(false);
+        allGroupedMessages.compute(groupId, (gId, tracker) -> {
+            if (tracker == null || tracker.status == GroupStatus.FREE) {
+                throw new IllegalStateException(String.format("Tried to free group %s: %s", gId, tracker));
+            }
+            var messages = tracker.messages;
+            while (!messages.isEmpty() && messages.getFirst().remaining() == 0) {
+                messages.removeFirst();
+            }
+            if (!messages.isEmpty()) {
+                tracker.status = GroupStatus.FREE;
+                isRemaining.setTrue();
+                return tracker;
+            } else {
+                return null;
+            }
+        });
+        totalUnAckedMessages.decrementAndGet();
+        if (isRemaining.isTrue()) {
+            freeGroups.addFirst(groupId);
+            // the message is usually consumed off the context, where the pending request is completed.
+            if (pendingRequest.get() != null) {
+                context.runOnContext(this::tryCompletePendingRequest);
             }
         }
     }
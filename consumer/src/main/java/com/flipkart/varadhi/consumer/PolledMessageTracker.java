@@ -1,5 +1,6 @@
 package com.flipkart.varadhi.consumer;
 
+import com.flipkart.varadhi.consumer.concurrent.ObjectPool;
 import com.flipkart.varadhi.entities.InternalQueueType;
 import com.flipkart.varadhi.entities.Offset;
 import com.flipkart.varadhi.spi.services.Consumer;
@@ -9,11 +10,15 @@ import java.util.function.Function;
 
 /**
  * Message tracking implementation for PolledMessage type.
+ * <p>
+ * Trackers created with a pool are reusable. Such a tracker goes back to the pool once the message is consumed, so it
+ * must not be accessed after {@link #onConsumed}.
  */
 public class PolledMessageTracker<O extends Offset> implements MessageTracker {
-    private final PolledMessage<O> message;
     private final Consumer<O> committer;
     private final Function<InternalQueueType, ConsumerMetrics.Tracker> metricTracker;
+    private final ObjectPool<PolledMessageTracker<O>> pool;
+    private PolledMessage<O> message;
     private ConsumerMetrics.Tracker tracker;
 
     public PolledMessageTracker(
@@ -21,9 +26,41 @@ public class PolledMessageTracker<O extends Offset> implements MessageTracker {
         PolledMessage<O> message,
         Function<InternalQueueType, ConsumerMetrics.Tracker> metricTracker
     ) {
+        this(committer, metricTracker, null);
         this.message = message;
+    }
+
+    public PolledMessageTracker(
+        Consumer<O> committer,
+        Function<InternalQueueType, ConsumerMetrics.Tracker> metricTracker,
+        ObjectPool<PolledMessageTracker<O>> pool
+    ) {
         this.committer = committer;
         this.metricTracker = metricTracker;
+        this.pool = pool;
+    }
+
+    /**
+     * @return pool of trackers for the messages from the committer.
+     */
+    public static <O extends Offset> ObjectPool<PolledMessageTracker<O>> newPool(
+        int capacity,
+        Consumer<O> committer,
+        Function<InternalQueueType, ConsumerMetrics.Tracker> metricTracker
+    ) {
+        return new ObjectPool<>(capacity, pool -> new PolledMessageTracker<>(committer, metricTracker, pool));
+    }
+
+    /**
+     * @return tracker for the message, from the pool.
+     */
+    public static <O extends Offset> PolledMessageTracker<O> acquire(
+        ObjectPool<PolledMessageTracker<O>> pool,
+        PolledMessage<O> message
+    ) {
+        PolledMessageTracker<O> messageTracker = pool.acquire();
+        messageTracker.message = message;
+        return messageTracker;
     }
 
     @Override
@@ -42,5 +79,10 @@ public class PolledMessageTracker<O extends Offset> implements MessageTracker {
             tracker.end(status);
         }
         committer.commitIndividualAsync(message);
+        if (pool != null) {
+            message = null;
+            tracker = null;
+            pool.release(this);
+        }
     }
 }
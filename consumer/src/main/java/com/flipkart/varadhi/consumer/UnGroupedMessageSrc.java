@@ -1,11 +1,11 @@
 package com.flipkart.varadhi.consumer;
 
+import com.flipkart.varadhi.consumer.concurrent.ObjectPool;
 import com.flipkart.varadhi.entities.InternalQueueType;
 import com.flipkart.varadhi.entities.Offset;
 import com.flipkart.varadhi.spi.services.Consumer;
 import com.flipkart.varadhi.spi.services.PolledMessage;
 import com.flipkart.varadhi.spi.services.PolledMessages;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Iterator;
@@ -16,14 +16,18 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Message source that does not maintain any kind of ordering.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class UnGroupedMessageSrc<O extends Offset> implements MessageSrc {
 
+    private static final int TRACKER_POOL_SIZE = 1024;
+
     private final InternalQueueType queueType;
 
     private final Consumer<O> consumer;
 
-    private final ConsumerMetrics metrics;
+    /**
+     * Trackers are acquired only while filling the result of nextMessages, which is never called concurrently.
+     */
+    private final ObjectPool<PolledMessageTracker<O>> trackerPool;
 
     /**
      * flag to indicate whether a task to fetch messages from consumer is ongoing.
@@ -35,6 +39,12 @@ public class UnGroupedMessageSrc<O extends Offset> implements MessageSrc {
      */
     private volatile Iterator<PolledMessage<O>> ongoingIterator = null;
 
+    public UnGroupedMessageSrc(InternalQueueType queueType, Consumer<O> consumer, ConsumerMetrics metrics) {
+        this.queueType = queueType;
+        this.consumer = consumer;
+        this.trackerPool = PolledMessageTracker.newPool(TRACKER_POOL_SIZE, consumer, metrics::begin);
+    }
+
     /**
      * Fetches the next batch of messages from the consumer.
      * Prioritises returning whatever messages are available.
@@ -108,8 +118,7 @@ public class UnGroupedMessageSrc<O extends Offset> implements MessageSrc {
         int i = 0;
         while (i < messages.length && iterator.hasNext()) {
             PolledMessage<O> polledMessage = iterator.next();
-            MessageTracker messageTracker = new PolledMessageTracker<>(consumer, polledMessage, metrics::begin);
-            messages[i++] = messageTracker;
+            messages[i++] = PolledMessageTracker.acquire(trackerPool, polledMessage);
         }
 
         return i;
@@ -1,5 +1,6 @@
 package com.flipkart.varadhi.consumer;
 
+import com.flipkart.varadhi.core.cluster.ShardLoad;
 import com.flipkart.varadhi.entities.cluster.ConsumerState;
 
 /**
@@ -14,6 +15,11 @@ public interface VaradhiConsumer {
 
     ConsumerState getState();
 
+    /**
+     * @return the live load of the shard, reported to the controller.
+     */
+    ShardLoad getLoad();
+
     /**
      * Initializes the consumer.
      *
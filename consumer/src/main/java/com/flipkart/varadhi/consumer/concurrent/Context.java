@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @RequiredArgsConstructor
 public class Context {
@@ -18,6 +19,9 @@ public class Context {
     @Getter (lombok.AccessLevel.PACKAGE)
     final EventExecutor executor;
 
+    // time spent running the tasks of this context. Written only by the executor thread.
+    private final AtomicLong busyNanos = new AtomicLong();
+
     public interface Task extends Runnable {
         Context getContext();
     }
@@ -35,6 +39,17 @@ public class Context {
         }
     }
 
+    /**
+     * @return the time spent running the tasks of this context on its executor so far.
+     */
+    public long getBusyNanos() {
+        return busyNanos.getAcquire();
+    }
+
+    void addBusyNanos(long nanos) {
+        busyNanos.setRelease(busyNanos.getPlain() + nanos);
+    }
+
     public static Context getCurrentThreadContext() {
         Thread currentThread = Thread.currentThread();
         if (currentThread instanceof CustomThread) {
@@ -7,6 +7,7 @@ import org.slf4j.MDC;
 import java.util.Arrays;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public class EventExecutor implements Executor {
@@ -17,6 +18,8 @@ public class EventExecutor implements Executor {
      */
     private static final boolean DEBUG = false;
 
+    private static final AtomicInteger THREAD_IDX = new AtomicInteger(0);
+
     private final ScheduledExecutorService scheduler;
 
     private final CustomThread thread;
@@ -33,7 +36,7 @@ public class EventExecutor implements Executor {
         this.scheduler = scheduler;
         this.taskQueue = taskQueue;
         this.thread = (CustomThread)threadFactory.newThread(this::run);
-        this.thread.setName("consumer-event-executor");
+        this.thread.setName("consumer-event-executor-" + THREAD_IDX.getAndIncrement());
         this.thread.start();
     }
 
@@ -73,7 +76,28 @@ public class EventExecutor implements Executor {
                                   .orElse("UNKNOWN");
             log.info("Adding task: {}@{}", caller, System.identityHashCode(task));
         }
-        taskQueue.add(task);
+        if (!taskQueue.offer(task)) {
+            rejected(task);
+        }
+    }
+
+    /**
+     * Handles a task that did not fit in a bounded task queue. The {@link MpscTaskQueue} overflows instead, so this is
+     * only for the other bounded queues. On the executor's own thread, the queue cannot drain while the task is being
+     * added, so the task is run right away. Other threads get a RejectedExecutionException, which fails the future of
+     * an async CompletableFuture stage, instead of blocking them till the queue drains.
+     */
+    private void rejected(Context.Task task) {
+        if (Thread.currentThread() != thread) {
+            throw new RejectedExecutionException("task queue of " + thread.getName() + " is full");
+        }
+        Context current = thread.getContext();
+        thread.setContext(task.getContext());
+        try {
+            runSafely(task);
+        } finally {
+            thread.setContext(current);
+        }
     }
 
     public void stop() {
@@ -96,7 +120,12 @@ public class EventExecutor implements Executor {
                     log.info("Task Starting");
                 }
 
+                long startNanos = System.nanoTime();
                 runSafely(task);
+                Context context = task.getContext();
+                if (context != null) {
+                    context.addBusyNanos(System.nanoTime() - startNanos);
+                }
 
                 // probably can be removed
                 thread.setContext(null);
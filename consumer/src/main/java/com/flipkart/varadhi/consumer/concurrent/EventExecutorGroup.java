@@ -2,9 +2,9 @@ package com.flipkart.varadhi.consumer.concurrent;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
@@ -19,6 +19,10 @@ import java.util.function.Supplier;
  * Subscription : Vertx verticle which can be 'deployed' on a event loop.
  *
  * Deployment -> choose Event loop (should be customizable). validate if possible in vertx.
+ * <p>
+ * Contexts are pinned to the executors of the group by {@link #assign(long)}, which picks the executor with the least
+ * weight assigned so far. The weight is expected to be the capacity of whatever runs on the context, so that the
+ * load, and not just the count of contexts, is spread across the executors.
  */
 @RequiredArgsConstructor
 public class EventExecutorGroup {
@@ -27,12 +31,79 @@ public class EventExecutorGroup {
     private final ThreadFactory threadFactory;
     private final Supplier<BlockingQueue<Context.Task>> taskQueue;
 
-    private final List<EventExecutor> executors = new CopyOnWriteArrayList<>();
+    /**
+     * guarded by this.
+     */
+    private final List<Slot> slots = new ArrayList<>();
 
-    public EventExecutor newExecutor() {
+    public synchronized EventExecutor newExecutor() {
         BlockingQueue<Context.Task> queue = taskQueue.get();
         EventExecutor executor = new EventExecutor(scheduler, threadFactory, queue);
-        executors.add(executor);
+        slots.add(new Slot(executor));
         return executor;
     }
+
+    /**
+     * Creates executors, till the group has the given number of executors.
+     */
+    public synchronized void ensureExecutors(int count) {
+        while (slots.size() < count) {
+            newExecutor();
+        }
+    }
+
+    /**
+     * Picks the least loaded executor to pin a new context to. The weight must be released via
+     * {@link #release(EventExecutor, long)} once the context is done.
+     *
+     * @param weight load of the context, e.g. the throughput capacity of the consumer shard.
+     */
+    public synchronized EventExecutor assign(long weight) {
+        if (slots.isEmpty()) {
+            throw new IllegalStateException("No executors in the group");
+        }
+        Slot selected = slots.get(0);
+        for (int i = 1; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            boolean lighter = slot.weight < selected.weight;
+            if (lighter || (slot.weight == selected.weight && slot.contexts < selected.contexts)) {
+                selected = slot;
+            }
+        }
+        selected.weight += weight;
+        selected.contexts++;
+        return selected.executor;
+    }
+
+    public synchronized void release(EventExecutor executor, long weight) {
+        for (Slot slot : slots) {
+            if (slot.executor == executor) {
+                slot.weight -= weight;
+                slot.contexts--;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("executor: " + executor + " does not belong to this group");
+    }
+
+    /**
+     * @return weight currently assigned to each executor, in the order of their creation.
+     */
+    public synchronized long[] getAssignedWeights() {
+        return slots.stream().mapToLong(slot -> slot.weight).toArray();
+    }
+
+    public synchronized void stop() {
+        slots.forEach(slot -> slot.executor.stop());
+    }
+
+    private static class Slot {
+        private final EventExecutor executor;
+        private long weight;
+        private int contexts;
+
+        Slot(EventExecutor executor) {
+            this.executor = executor;
+        }
+    }
 }
@@ -0,0 +1,255 @@
+package com.flipkart.varadhi.consumer.concurrent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import com.google.common.collect.Iterators;
+import org.jctools.queues.MpscArrayQueue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Task queue for an {@link EventExecutor}, backed by a bounded, lock free multi-producer / single-consumer array queue.
+ * Unlike the LinkedBlockingQueue, adding a task neither takes a lock nor allocates a node, as long as it fits.
+ * <p>
+ * Idle strategy: the consumer polls the queue spinCount times before parking itself. Producers unpark the consumer
+ * only if it has parked, so a busy executor is never signalled. spinCount of 0 parks right away, which is the
+ * cheapest on cpu but pays the unpark latency on every wake up.
+ * <p>
+ * The tasks that don't fit in the array queue go to an unbounded overflow queue, which is drained after the array
+ * queue, so offering a task never fails. The tasks are completions of work already in flight, which must not be
+ * dropped, so the work is to be bounded at its source instead. The tasks keep being added to the overflow queue till
+ * it is drained, so the tasks of a producer are taken in the order it added them. The capacity should still account
+ * for all the in-flight messages of the contexts pinned to the executor, so that the overflow queue is rarely used.
+ * <p>
+ * Only one thread, i.e. the executor's, must take / poll from the queue.
+ */
+public class MpscTaskQueue extends AbstractQueue<Context.Task> implements BlockingQueue<Context.Task> {
+
+    /**
+     * 1 in these many tasks is timed from being added to being taken.
+     */
+    private static final int LATENCY_SAMPLING = 64;
+
+    private final MpscArrayQueue<Context.Task> queue;
+    private final Queue<Context.Task> overflow = new ConcurrentLinkedQueue<>();
+    private final int spinCount;
+    private final Timer taskLatency;
+
+    /**
+     * the consumer thread, while it is parked or about to park.
+     */
+    private volatile Thread waiter;
+
+    public MpscTaskQueue(int capacity, int spinCount) {
+        this(capacity, spinCount, null, null);
+    }
+
+    /**
+     * @param registry to publish the queue depth and the sampled task latency i.e. the time between adding a task and
+     *                 the executor taking it. The metrics are tagged with the given queue name.
+     */
+    public MpscTaskQueue(int capacity, int spinCount, MeterRegistry registry, String name) {
+        this.queue = new MpscArrayQueue<>(capacity);
+        this.spinCount = spinCount;
+        if (registry != null) {
+            Gauge.builder("consumer.executor.queue.depth", this, MpscTaskQueue::size)
+                 .tag("queue", name)
+                 .register(registry);
+            this.taskLatency = Timer.builder("consumer.executor.task.latency")
+                                    .tag("queue", name)
+                                    .publishPercentiles(0.5, 0.99)
+                                    .register(registry);
+        } else {
+            this.taskLatency = null;
+        }
+    }
+
+    /**
+     * @return supplier of queues, for an {@link EventExecutorGroup}. Each queue gets its own index in the metric tags.
+     */
+    public static Supplier<BlockingQueue<Context.Task>> supplier(int capacity, int spinCount, MeterRegistry registry) {
+        AtomicInteger idx = new AtomicInteger();
+        return () -> new MpscTaskQueue(capacity, spinCount, registry, "executor-" + idx.getAndIncrement());
+    }
+
+    @Override
+    public boolean offer(Context.Task task) {
+        if (taskLatency != null && ThreadLocalRandom.current().nextInt(LATENCY_SAMPLING) == 0) {
+            task = new TimedTask(task, System.nanoTime());
+        }
+        if (!overflow.isEmpty() || !queue.offer(task)) {
+            overflow.add(task);
+        }
+        Thread w = waiter;
+        if (w != null) {
+            LockSupport.unpark(w);
+        }
+        return true;
+    }
+
+    private Context.Task pollNext() {
+        Context.Task task = queue.poll();
+        return task != null ? task : overflow.poll();
+    }
+
+    @Override
+    public Context.Task poll() {
+        return unwrap(pollNext());
+    }
+
+    @Override
+    public Context.Task take() throws InterruptedException {
+        Context.Task task;
+        for (int i = 0; i < spinCount; ++i) {
+            if ((task = pollNext()) != null) {
+                return unwrap(task);
+            }
+            Thread.onSpinWait();
+        }
+        Thread current = Thread.currentThread();
+        try {
+            while (true) {
+                // publish self before checking the queue, so that a concurrent offer either is seen here or sees
+                // the waiter and unparks.
+                waiter = current;
+                if ((task = pollNext()) != null) {
+                    return unwrap(task);
+                }
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    @Override
+    public Context.Task poll(long timeout, TimeUnit unit) throws InterruptedException {
+        Context.Task task;
+        if ((task = pollNext()) != null) {
+            return unwrap(task);
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Thread current = Thread.currentThread();
+        try {
+            while (true) {
+                waiter = current;
+                if ((task = pollNext()) != null) {
+                    return unwrap(task);
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    @Override
+    public void put(Context.Task task) {
+        offer(task);
+    }
+
+    @Override
+    public boolean offer(Context.Task task, long timeout, TimeUnit unit) {
+        return offer(task);
+    }
+
+    @Override
+    public Context.Task peek() {
+        Context.Task task = queue.peek();
+        if (task == null) {
+            task = overflow.peek();
+        }
+        return task instanceof TimedTask timed ? timed.task() : task;
+    }
+
+    @Override
+    public int size() {
+        return queue.size() + overflow.size();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return the number of tasks that did not fit in the array queue and are yet to be taken.
+     */
+    int overflowSize() {
+        return overflow.size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super Context.Task> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Context.Task> c, int maxElements) {
+        int count = 0;
+        Context.Task task;
+        while (count < maxElements && (task = pollNext()) != null) {
+            c.add(unwrap(task));
+            ++count;
+        }
+        return count;
+    }
+
+    @Override
+    public Iterator<Context.Task> iterator() {
+        Iterator<Context.Task> it = Iterators.concat(queue.iterator(), overflow.iterator());
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Context.Task next() {
+                Context.Task task = it.next();
+                return task instanceof TimedTask timed ? timed.task() : task;
+            }
+        };
+    }
+
+    private Context.Task unwrap(Context.Task task) {
+        if (task instanceof TimedTask timed) {
+            taskLatency.record(System.nanoTime() - timed.addedAtNanos(), TimeUnit.NANOSECONDS);
+            return timed.task();
+        }
+        return task;
+    }
+
+    private record TimedTask(Context.Task task, long addedAtNanos) implements Context.Task {
+        @Override
+        public Context getContext() {
+            return task.getContext();
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.flipkart.varadhi.consumer.concurrent;
+
+import org.jctools.queues.MpscArrayQueue;
+
+import java.util.function.Function;
+
+/**
+ * Bounded pool of reusable objects, for the per message state of the consumption hot path.
+ * <p>
+ * Objects are acquired by the owner of a {@link Context}, i.e. by one thread at a time, while they can be released
+ * from any thread, usually the one completing the message. This matches a multi-producer / single-consumer queue, so
+ * neither side takes a lock. Acquiring from an empty pool creates a new object, and objects released into a full pool
+ * are left to the GC.
+ */
+public class ObjectPool<T> {
+    private final MpscArrayQueue<T> free;
+    private final Function<ObjectPool<T>, T> factory;
+
+    /**
+     * @param factory creates a new object for the pool, which the object can hold on to for releasing itself.
+     */
+    public ObjectPool(int capacity, Function<ObjectPool<T>, T> factory) {
+        this.free = new MpscArrayQueue<>(capacity);
+        this.factory = factory;
+    }
+
+    /**
+     * Must not be called concurrently.
+     */
+    public T acquire() {
+        T obj = free.relaxedPoll();
+        return obj != null ? obj : factory.apply(this);
+    }
+
+    /**
+     * The object must not be accessed by the caller after the release.
+     */
+    public void release(T obj) {
+        free.relaxedOffer(obj);
+    }
+
+    public int size() {
+        return free.size();
+    }
+}
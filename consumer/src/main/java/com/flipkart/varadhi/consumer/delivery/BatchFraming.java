@@ -0,0 +1,153 @@
+package com.flipkart.varadhi.consumer.delivery;
+
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.JsonMapper;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.SimpleMessage;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wire format of the batched delivery.
+ * <p>
+ * Request body, all ints are 4 byte big endian and strings are utf-8:
+ * <pre>
+ * batch  := count frame{count}
+ * frame  := headerCount (keyLen key valueLen value){headerCount} payloadLen payload
+ * </pre>
+ * A multi-valued header repeats the key, once per value.
+ * <p>
+ * Response body is a json array with the status code of each message, in the request order, e.g. {@code [200, 503]}.
+ * An empty body applies the response status to all the messages. A non 2xx response fails the whole batch.
+ */
+@Slf4j
+public final class BatchFraming {
+
+    public static final String CONTENT_TYPE = "application/vnd.varadhi.batch";
+
+    /**
+     * Status given to every message of the batch, when the response does not say anything usable about them.
+     */
+    public static final int INVALID_RESPONSE_STATUS = 0;
+
+    private BatchFraming() {
+    }
+
+    public static byte[] encode(List<? extends Message> messages) {
+        int size = Integer.BYTES;
+        for (Message message : messages) {
+            size += Integer.BYTES;
+            Multimap<String, String> headers = message.getHeaders();
+            if (headers != null) {
+                for (Map.Entry<String, String> header : headers.entries()) {
+                    size += 2 * Integer.BYTES + utf8Length(header.getKey()) + utf8Length(header.getValue());
+                }
+            }
+            size += Integer.BYTES + payloadLength(message);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(messages.size());
+        for (Message message : messages) {
+            Multimap<String, String> headers = message.getHeaders();
+            buffer.putInt(headers == null ? 0 : headers.size());
+            if (headers != null) {
+                for (Map.Entry<String, String> header : headers.entries()) {
+                    putString(buffer, header.getKey());
+                    putString(buffer, header.getValue());
+                }
+            }
+            buffer.putInt(payloadLength(message));
+            if (message.getPayload() != null) {
+                buffer.put(message.getPayload());
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Inverse of {@link #encode}, for the subscribers written in java.
+     */
+    public static List<Message> decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int count = buffer.getInt();
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            int headerCount = buffer.getInt();
+            Multimap<String, String> headers = ArrayListMultimap.create();
+            for (int h = 0; h < headerCount; ++h) {
+                headers.put(getString(buffer), getString(buffer));
+            }
+            byte[] payload = new byte[buffer.getInt()];
+            buffer.get(payload);
+            messages.add(new SimpleMessage(payload, headers));
+        }
+        return messages;
+    }
+
+    /**
+     * Splits the response of a batch into the response of each of its messages.
+     */
+    public static DeliveryResponse[] toResponses(
+        int statusCode,
+        byte[] body,
+        int count,
+        Endpoint.Protocol protocol
+    ) {
+        int[] statuses = null;
+        if (statusCode >= 200 && statusCode < 300 && body != null && body.length > 0) {
+            try {
+                statuses = JsonMapper.getMapper().readValue(body, int[].class);
+            } catch (Exception e) {
+                log.warn("Unparsable batch response, failing all {} messages", count, e);
+                statusCode = INVALID_RESPONSE_STATUS;
+            }
+            if (statuses != null && statuses.length != count) {
+                log.warn("Batch response has {} statuses for {} messages, failing all", statuses.length, count);
+                statuses = null;
+                statusCode = INVALID_RESPONSE_STATUS;
+            }
+        }
+
+        DeliveryResponse[] responses = new DeliveryResponse[count];
+        DeliveryResponse common = statuses == null ? new DeliveryResponse(statusCode, protocol, null) : null;
+        for (int i = 0; i < count; ++i) {
+            responses[i] = common != null ? common : new DeliveryResponse(statuses[i], protocol, null);
+        }
+        return responses;
+    }
+
+    private static int payloadLength(Message message) {
+        return message.getPayload() == null ? 0 : message.getPayload().length;
+    }
+
+    private static int utf8Length(String value) {
+        // exact for ascii, which the header names and most values are. Otherwise encoded to be sure.
+        int length = value.length();
+        for (int i = 0; i < length; ++i) {
+            if (value.charAt(i) >= 0x80) {
+                return value.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return length;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,185 @@
+package com.flipkart.varadhi.consumer.delivery;
+
+import com.flipkart.varadhi.entities.Endpoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Http delivery to the subscriber endpoints.
+ * <p>
+ * Keeps one HttpClient, and hence one connection pool, per endpoint origin and protocol version. Subscriptions
+ * delivering to the same origin share the connections. For {@link Endpoint.Protocol#HTTP2} the client negotiates
+ * http/2, so the deliveries to an origin are multiplexed over a connection instead of taking one connection each.
+ * <p>
+ * In-flight requests and latency are tracked per endpoint, tagged by the endpoint uri without the query.
+ * <p>
+ * The clients and the endpoint metrics are reference counted by the deliveries using them. They are released when the
+ * last delivery using them is closed, i.e. when the last subscription shard delivering to them stops.
+ */
+@Slf4j
+public class HttpDeliveryEngine implements MessageDelivery.Factory {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ClientKey, Shared<HttpClient>> clients = new ConcurrentHashMap<>();
+    private final Map<String, Shared<EndpointMetrics>> metrics = new ConcurrentHashMap<>();
+
+    public HttpDeliveryEngine(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public MessageDelivery create(Endpoint endpoint) {
+        return switch (endpoint.getProtocol()) {
+            case HTTP1_1, HTTP2 -> {
+                Endpoint.HttpEndpoint httpEndpoint = (Endpoint.HttpEndpoint)endpoint;
+                ClientKey clientKey = clientKey(httpEndpoint);
+                String endpointTag = endpointTag(httpEndpoint.getUri());
+                yield new MessageDelivery.HttpMessageDelivery(
+                    httpEndpoint,
+                    acquire(clients, clientKey, HttpDeliveryEngine::newClient),
+                    acquire(metrics, endpointTag, EndpointMetrics::new),
+                    () -> {
+                        release(clients, clientKey, HttpClient::shutdown);
+                        release(metrics, endpointTag, EndpointMetrics::close);
+                    }
+                );
+            }
+            default -> throw new IllegalArgumentException("Unsupported protocol: " + endpoint.getProtocol());
+        };
+    }
+
+    /**
+     * @return the shared client of the endpoint. Each call takes a reference to the client.
+     */
+    HttpClient getClient(Endpoint.HttpEndpoint endpoint) {
+        return acquire(clients, clientKey(endpoint), HttpDeliveryEngine::newClient);
+    }
+
+    int getClientCount() {
+        return clients.size();
+    }
+
+    private static ClientKey clientKey(Endpoint.HttpEndpoint endpoint) {
+        URI uri = endpoint.getUri();
+        HttpClient.Version version = endpoint.getProtocol() == Endpoint.Protocol.HTTP2 ?
+            HttpClient.Version.HTTP_2 :
+            HttpClient.Version.HTTP_1_1;
+        return new ClientKey(uri.getScheme(), uri.getAuthority(), version, endpoint.getConnectTimeoutMs());
+    }
+
+    private static HttpClient newClient(ClientKey key) {
+        log.info("Creating http client for {}://{} ({})", key.scheme(), key.authority(), key.version());
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                                               .version(key.version())
+                                               .followRedirects(HttpClient.Redirect.NEVER);
+        if (key.connectTimeoutMs() > 0) {
+            builder.connectTimeout(Duration.ofMillis(key.connectTimeoutMs()));
+        }
+        return builder.build();
+    }
+
+    private static <K, V> V acquire(Map<K, Shared<V>> shared, K key, Function<K, V> factory) {
+        return shared.compute(key, (k, entry) -> {
+            if (entry == null) {
+                entry = new Shared<>(factory.apply(k));
+            }
+            entry.refs++;
+            return entry;
+        }).value;
+    }
+
+    /**
+     * Drops a reference to the shared value, and disposes it once no reference is left.
+     */
+    private static <K, V> void release(Map<K, Shared<V>> shared, K key, Consumer<V> dispose) {
+        shared.computeIfPresent(key, (k, entry) -> {
+            if (--entry.refs > 0) {
+                return entry;
+            }
+            dispose.accept(entry.value);
+            return null;
+        });
+    }
+
+    static String endpointTag(URI uri) {
+        return uri.getScheme() + "://" + uri.getAuthority() + (uri.getPath() == null ? "" : uri.getPath());
+    }
+
+    private record ClientKey(String scheme, String authority, HttpClient.Version version, long connectTimeoutMs) {
+    }
+
+
+    /**
+     * A value with the count of its users. The count is only updated within the compute of its map.
+     */
+    private static final class Shared<V> {
+        private final V value;
+        private int refs;
+
+        private Shared(V value) {
+            this.value = value;
+        }
+    }
+
+
+    public class EndpointMetrics {
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        /**
+         * latency timers by the status class, index 0 for failed requests, 1 to 5 for 1xx to 5xx.
+         */
+        private final Timer[] latency = new Timer[6];
+
+        private final Gauge inFlightGauge;
+
+        EndpointMetrics(String endpoint) {
+            inFlightGauge = Gauge.builder("consumer.delivery.inflight", inFlight, AtomicInteger::get)
+                                 .tag("endpoint", endpoint)
+                                 .register(meterRegistry);
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = Timer.builder("consumer.delivery.latency")
+                                  .tag("endpoint", endpoint)
+                                  .tag("status", i == 0 ? "error" : i + "xx")
+                                  .register(meterRegistry);
+            }
+        }
+
+        long begin() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        /**
+         * @param statusCode -1 if the request failed without a response.
+         */
+        void end(long startNanos, int statusCode) {
+            inFlight.decrementAndGet();
+            int statusClass = statusCode / 100;
+            Timer timer = latency[statusClass > 0 && statusClass < latency.length ? statusClass : 0];
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        private void close() {
+            meterRegistry.remove(inFlightGauge);
+            for (Timer timer : latency) {
+                meterRegistry.remove(timer);
+            }
+        }
+    }
+}
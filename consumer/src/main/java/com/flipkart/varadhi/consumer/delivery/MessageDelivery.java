@@ -1,5 +1,6 @@
 package com.flipkart.varadhi.consumer.delivery;
 
+import com.flipkart.varadhi.entities.DeliveryBatchPolicy;
 import com.flipkart.varadhi.entities.Endpoint;
 import com.flipkart.varadhi.entities.Message;
 import com.google.common.collect.Multimap;
@@ -9,60 +10,189 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Supplier;
 
 public interface MessageDelivery {
-    static MessageDelivery of(Endpoint endpoint, Supplier<HttpClient> httpClientSupplier) {
-        return switch (endpoint.getProtocol()) {
-            case HTTP1_1, HTTP2 -> new HttpMessageDelivery((Endpoint.HttpEndpoint)endpoint, httpClientSupplier.get());
-            default -> throw new IllegalArgumentException("Unsupported protocol: " + endpoint.getProtocol());
-        };
-    }
 
     CompletableFuture<DeliveryResponse> deliver(Message message) throws Exception;
 
+    /**
+     * @return true if the delivery implements {@link #deliverBatch(List)}. Otherwise the messages of a subscription
+     *         with a batch policy are delivered one per request.
+     */
+    default boolean supportsBatch() {
+        return false;
+    }
+
+    /**
+     * Delivers the messages in one request, see {@link BatchFraming}. Only called if {@link #supportsBatch()}.
+     *
+     * @return response of each message, in the order of the messages.
+     */
+    default CompletableFuture<DeliveryResponse[]> deliverBatch(List<? extends Message> messages) throws Exception {
+        throw new UnsupportedOperationException("batched delivery is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Releases whatever the delivery holds on to. Called once, when the subscription shard stops delivering.
+     */
+    default void close() {
+    }
+
+    /**
+     * Creates the delivery for an endpoint. Pluggable via the ConsumerEnvironment, see {@link HttpDeliveryEngine}.
+     */
+    @FunctionalInterface
+    interface Factory {
+        MessageDelivery create(Endpoint endpoint);
+    }
+
     class HttpMessageDelivery implements MessageDelivery {
+
+        /**
+         * Headers that the HttpClient manages itself and refuses to take from the caller.
+         */
+        private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        static {
+            RESTRICTED_HEADERS.addAll(Set.of("connection", "content-length", "expect", "host", "upgrade"));
+        }
+
+        /**
+         * Only the status code of the response is used, so the body is dropped as it arrives.
+         */
+        private static final HttpResponse.BodyHandler<Void> DISCARDING = HttpResponse.BodyHandlers.discarding();
+
         private final Endpoint.HttpEndpoint endpoint;
         private final HttpClient httpClient;
+        private final HttpDeliveryEngine.EndpointMetrics metrics;
+        private final Runnable onClose;
+
+        /**
+         * Immutable request template of the endpoint, i.e. uri, version, timeout & content type. Each delivery
+         * copies it and adds only the message specific parts.
+         */
+        private final HttpRequest.Builder template;
 
         public HttpMessageDelivery(Endpoint.HttpEndpoint endpoint, HttpClient client) {
+            this(endpoint, client, null, () -> {
+            });
+        }
+
+        /**
+         * @param onClose releases the client and the metrics, which can be shared with other deliveries.
+         */
+        public HttpMessageDelivery(
+            Endpoint.HttpEndpoint endpoint,
+            HttpClient client,
+            HttpDeliveryEngine.EndpointMetrics metrics,
+            Runnable onClose
+        ) {
             this.endpoint = endpoint;
             this.httpClient = client;
+            this.metrics = metrics;
+            this.onClose = onClose;
+            this.template = HttpRequest.newBuilder()
+                                       .uri(endpoint.getUri())
+                                       .version(
+                                           endpoint.getProtocol() == Endpoint.Protocol.HTTP2 ?
+                                               HttpClient.Version.HTTP_2 :
+                                               HttpClient.Version.HTTP_1_1
+                                       )
+                                       .timeout(Duration.ofMillis(endpoint.getRequestTimeoutMs()))
+                                       .header("Content-Type", endpoint.getContentType());
         }
 
         @Override
         public CompletableFuture<DeliveryResponse> deliver(Message message) throws Exception {
-            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                                                            .uri(endpoint.getUri())
-                                                            .timeout(Duration.ofMillis(endpoint.getRequestTimeoutMs()))
-                                                            .header("Content-Type", endpoint.getContentType())
-                                                            .method(
-                                                                endpoint.getMethod(),
-                                                                ArrayUtils.isEmpty(message.getPayload()) ?
-                                                                    HttpRequest.BodyPublishers.noBody() :
-                                                                    HttpRequest.BodyPublishers.ofByteArray(
-                                                                        message.getPayload()
-                                                                    )
-                                                            );
+            HttpRequest.Builder requestBuilder = template.copy()
+                                                         .method(
+                                                             endpoint.getMethod(),
+                                                             ArrayUtils.isEmpty(message.getPayload()) ?
+                                                                 HttpRequest.BodyPublishers.noBody() :
+                                                                 HttpRequest.BodyPublishers.ofByteArray(
+                                                                     message.getPayload()
+                                                                 )
+                                                         );
 
             // apply request headers from message
             Multimap<String, String> requestHeaders = message.getHeaders();
             if (requestHeaders != null) {
-                requestHeaders.entries().forEach(entry -> requestBuilder.header(entry.getKey(), entry.getValue()));
+                for (var header : requestHeaders.asMap().entrySet()) {
+                    if (RESTRICTED_HEADERS.contains(header.getKey())) {
+                        continue;
+                    }
+                    Collection<String> values = header.getValue();
+                    for (String value : values) {
+                        requestBuilder.header(header.getKey(), value);
+                    }
+                }
             }
 
             HttpRequest request = requestBuilder.build();
 
-            // TODO: can response body handlers be pooled?
-            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
-                             .thenApply(
-                                 response -> new DeliveryResponse(
-                                     response.statusCode(),
-                                     endpoint.getProtocol(),
-                                     response.body()
-                                 )
-                             );
+            if (metrics == null) {
+                return httpClient.sendAsync(request, DISCARDING).thenApply(this::toDeliveryResponse);
+            }
+            long start = metrics.begin();
+            return httpClient.sendAsync(request, DISCARDING)
+                             .whenComplete(
+                                 (response, ex) -> metrics.end(start, response == null ? -1 : response.statusCode())
+                             )
+                             .thenApply(this::toDeliveryResponse);
+        }
+
+        @Override
+        public boolean supportsBatch() {
+            return DeliveryBatchPolicy.isSupportedBy(endpoint);
+        }
+
+        @Override
+        public CompletableFuture<DeliveryResponse[]> deliverBatch(List<? extends Message> messages) {
+            // headers of the messages are inside the frames. Content-Type is replaced, as the header is single valued.
+            HttpRequest request = template.copy()
+                                          .setHeader("Content-Type", BatchFraming.CONTENT_TYPE)
+                                          .method(
+                                              endpoint.getMethod(),
+                                              HttpRequest.BodyPublishers.ofByteArray(BatchFraming.encode(messages))
+                                          )
+                                          .build();
+            int count = messages.size();
+
+            CompletableFuture<HttpResponse<byte[]>> responseFuture;
+            if (metrics == null) {
+                responseFuture = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+            } else {
+                long start = metrics.begin();
+                responseFuture = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                                           .whenComplete(
+                                               (response, ex) -> metrics.end(
+                                                   start,
+                                                   response == null ? -1 : response.statusCode()
+                                               )
+                                           );
+            }
+            return responseFuture.thenApply(
+                response -> BatchFraming.toResponses(
+                    response.statusCode(),
+                    response.body(),
+                    count,
+                    endpoint.getProtocol()
+                )
+            );
+        }
+
+        @Override
+        public void close() {
+            onClose.run();
+        }
+
+        private DeliveryResponse toDeliveryResponse(HttpResponse<Void> response) {
+            return new DeliveryResponse(response.statusCode(), endpoint.getProtocol(), null);
         }
     }
 }
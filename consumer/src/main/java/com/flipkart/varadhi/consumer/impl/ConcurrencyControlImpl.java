@@ -4,6 +4,7 @@ import com.flipkart.varadhi.common.CircularQueue;
 import com.flipkart.varadhi.consumer.ConcurrencyControl;
 import com.flipkart.varadhi.consumer.concurrent.Context;
 import com.flipkart.varadhi.entities.InternalQueueType;
+import jakarta.annotation.Nullable;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -14,11 +15,15 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
  * Not supposed to be thread safe. It is expected that tasks will be enqueued & dequeued from the same thread which
  * is tied to the context.
+ * <p>
+ * The concurrency is either fixed at maxConcurrency, or adapted by a {@link GradientConcurrencyLimit} from the
+ * latency of the tasks, with maxConcurrency as the upper bound.
  */
 public class ConcurrencyControlImpl<T> implements ConcurrencyControl<T> {
 
@@ -27,6 +32,19 @@ public class ConcurrencyControlImpl<T> implements ConcurrencyControl<T> {
     @Getter
     private final int maxConcurrency;
 
+    /**
+     * null for the fixed concurrency.
+     */
+    @Nullable
+    private final GradientConcurrencyLimit adaptiveLimit;
+
+    /**
+     * tells if a completed task signals overload, for the adaptive limit. Failed tasks always do.
+     */
+    private final Predicate<T> isDropped;
+
+    private final BiConsumer<T, Throwable> onTaskCompletion = this::onTaskCompletion;
+
     private final AtomicInteger concurrency = new AtomicInteger(0);
 
     private final TaskQueue<T>[] queues;
@@ -40,8 +58,34 @@ public class ConcurrencyControlImpl<T> implements ConcurrencyControl<T> {
      * @param priorityOrder  The order in which the queues should be processed
      */
     public ConcurrencyControlImpl(Context context, int maxConcurrency, InternalQueueType[] priorityOrder) {
+        this(context, maxConcurrency, null, r -> false, priorityOrder);
+    }
+
+    /**
+     * @param adaptiveLimit its maxLimit is the maxConcurrency.
+     * @param isDropped     tells if a completed task signals overload of the destination.
+     * @param priorityOrder The order in which the queues should be processed
+     */
+    public ConcurrencyControlImpl(
+        Context context,
+        GradientConcurrencyLimit adaptiveLimit,
+        Predicate<T> isDropped,
+        InternalQueueType[] priorityOrder
+    ) {
+        this(context, adaptiveLimit.getMaxLimit(), adaptiveLimit, isDropped, priorityOrder);
+    }
+
+    private ConcurrencyControlImpl(
+        Context context,
+        int maxConcurrency,
+        GradientConcurrencyLimit adaptiveLimit,
+        Predicate<T> isDropped,
+        InternalQueueType[] priorityOrder
+    ) {
         this.context = context;
         this.maxConcurrency = maxConcurrency;
+        this.adaptiveLimit = adaptiveLimit;
+        this.isDropped = isDropped;
         this.queues = new TaskQueue[priorityOrder.length];
 
         for (int i = 0; i < priorityOrder.length; i++) {
@@ -55,14 +99,19 @@ public class ConcurrencyControlImpl<T> implements ConcurrencyControl<T> {
         Iterable<Supplier<CompletableFuture<T>>> tasks
     ) {
         int currentConcurrency = executePendingTasksInternal();
+        int limit = getLimit();
 
         List<CompletableFuture<T>> futures = new ArrayList<>();
         Iterator<Supplier<CompletableFuture<T>>> tasksIt = tasks.iterator();
 
         // these tasks, we can directly launch
-        while (currentConcurrency < maxConcurrency && tasksIt.hasNext()) {
+        while (currentConcurrency < limit && tasksIt.hasNext()) {
             Supplier<CompletableFuture<T>> task = tasksIt.next();
-            futures.add(task.get().whenComplete(this::onTaskCompletion));
+            if (adaptiveLimit == null) {
+                futures.add(task.get().whenComplete(onTaskCompletion));
+            } else {
+                futures.add(new Holder(null, task).execute(currentConcurrency));
+            }
             currentConcurrency = concurrency.incrementAndGet();
         }
 
@@ -73,7 +122,7 @@ public class ConcurrencyControlImpl<T> implements ConcurrencyControl<T> {
             while (tasksIt.hasNext()) {
                 Supplier<CompletableFuture<T>> task = tasksIt.next();
                 CompletableFuture<T> future = new CompletableFuture<>();
-                queue.tasks.add(new Holder<>(future, task, this::onTaskCompletion));
+                queue.tasks.add(new Holder(future, task));
                 pendingTasks.incrementAndGet();
                 futures.add(future);
             }
@@ -86,25 +135,35 @@ public class ConcurrencyControlImpl<T> implements ConcurrencyControl<T> {
         executePendingTasksInternal();
     }
 
+    /**
+     * @return the current concurrency limit. It is the maxConcurrency, unless adaptive.
+     */
+    public int getLimit() {
+        return adaptiveLimit == null ? maxConcurrency : adaptiveLimit.getLimit();
+    }
+
     /**
      * @return currentConcurrency
      */
     int executePendingTasksInternal() {
         int currentConcurrency = concurrency.get();
+        // an adaptive limit can drop below the tasks already running. They just finish, and no new one starts.
+        int limit = getLimit();
 
         assert currentConcurrency <= maxConcurrency;
 
-        if (currentConcurrency == maxConcurrency) {
+        if (currentConcurrency >= limit) {
             return currentConcurrency;
         }
 
         // go through all the queued tasks in priority order and execute them
         for (TaskQueue<T> queue : queues) {
-            while (currentConcurrency < maxConcurrency && !queue.tasks.isEmpty()) {
-                Holder<T> taskHolder = queue.tasks.poll();
+            while (currentConcurrency < limit && !queue.tasks.isEmpty()) {
+                Holder taskHolder = queue.tasks.poll();
+                int inFlight = currentConcurrency;
                 currentConcurrency = concurrency.incrementAndGet();
                 pendingTasks.decrementAndGet();
-                taskHolder.execute();
+                taskHolder.execute(inFlight);
             }
         }
 
@@ -159,35 +218,53 @@ public class ConcurrencyControlImpl<T> implements ConcurrencyControl<T> {
     @RequiredArgsConstructor
     static class TaskQueue<T> {
         private final InternalQueueType type;
-        private final CircularQueue<Holder<T>> tasks = new CircularQueue<>(16);
+        private final CircularQueue<ConcurrencyControlImpl<T>.Holder> tasks = new CircularQueue<>(16);
     }
 
 
-    static class Holder<T> {
+    /**
+     * A task, that is its own completion callback. So, beyond the holder of a queued task, no callback is allocated
+     * per task, while the latency of each task can still be sampled for the adaptive limit.
+     */
+    class Holder implements BiConsumer<T, Throwable> {
+        /**
+         * completed with the task, if the task was queued. null otherwise, as the task's own future is returned.
+         */
+        @Nullable
         private final CompletableFuture<T> future;
         private final Supplier<CompletableFuture<T>> task;
-        private final BiConsumer<T, Throwable> onComplete;
+        private long startNanos;
+        private int inFlight;
 
-        public Holder(
-            CompletableFuture<T> future,
-            Supplier<CompletableFuture<T>> task,
-            BiConsumer<T, Throwable> onComplete
-        ) {
+        Holder(@Nullable CompletableFuture<T> future, Supplier<CompletableFuture<T>> task) {
             this.future = future;
             this.task = task;
-            this.onComplete = onComplete;
         }
 
-        public void execute() {
-            CompletableFuture<T> taskFuture = task.get();
-            taskFuture.whenComplete((result, error) -> {
-                onComplete.accept(result, error);
-                if (error != null) {
-                    future.completeExceptionally(error);
-                } else {
-                    future.complete(result);
-                }
-            });
+        /**
+         * @param inFlight tasks in flight when this one is started.
+         */
+        CompletableFuture<T> execute(int inFlight) {
+            this.inFlight = inFlight;
+            this.startNanos = adaptiveLimit == null ? 0 : System.nanoTime();
+            return task.get().whenComplete(this);
+        }
+
+        @Override
+        public void accept(T result, Throwable error) {
+            if (adaptiveLimit != null) {
+                boolean dropped = error != null || isDropped.test(result);
+                adaptiveLimit.onSample(System.nanoTime() - startNanos, inFlight, dropped);
+            }
+            onTaskCompletion(result, error);
+            if (future == null) {
+                return;
+            }
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
         }
     }
 }
@@ -4,37 +4,113 @@ import com.flipkart.varadhi.consumer.*;
 import com.flipkart.varadhi.consumer.concurrent.Context;
 import com.flipkart.varadhi.consumer.concurrent.CustomThread;
 import com.flipkart.varadhi.consumer.concurrent.EventExecutor;
+import com.flipkart.varadhi.consumer.concurrent.EventExecutorGroup;
+import com.flipkart.varadhi.consumer.concurrent.MpscTaskQueue;
+import com.flipkart.varadhi.consumer.delivery.HttpDeliveryEngine;
+import com.flipkart.varadhi.consumer.ordering.GroupPointerStore;
+import com.flipkart.varadhi.consumer.ordering.LocalFileGroupPointerStore;
+import com.flipkart.varadhi.consumer.ordering.MetaStoreGroupPointerStore;
+import com.flipkart.varadhi.core.config.ConsumerOptions;
 import com.flipkart.varadhi.entities.*;
 import com.flipkart.varadhi.entities.cluster.ConsumerState;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
 import com.flipkart.varadhi.spi.services.ConsumerFactory;
 import com.flipkart.varadhi.spi.services.ProducerFactory;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
-import java.net.http.HttpClient;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 @Slf4j
 public class ConsumersManagerImpl implements ConsumersManager {
 
     private final ConsumerEnvironment env;
     private final ScheduledExecutorService scheduler;
-    private final EventExecutor executor;
+    private final EventExecutorGroup executors;
 
     private final Map<ShardId, ConsumerHolder> consumers = new ConcurrentHashMap<>();
 
     public ConsumersManagerImpl(
         ProducerFactory producerFactory,
         ConsumerFactory consumerFactory,
-        MeterRegistry meterRegistry
+        MeterRegistry meterRegistry,
+        GroupStateStore groupStateStore,
+        ConsumerOptions options
     ) {
+        this(
+            producerFactory,
+            consumerFactory,
+            meterRegistry,
+            options.resolveExecutorCount(),
+            taskQueueFactory(options, meterRegistry),
+            groupPointerStoreFactory(options, groupStateStore),
+            options.isAdaptiveConcurrency()
+        );
+    }
+
+    /**
+     * @param executorCount             number of event executors, i.e. threads, that the consumer shards are spread
+     *                                  over.
+     * @param taskQueueFactory          task queue of each event executor.
+     * @param groupPointerStoreFactory  store of the group pointers of each grouped subscription shard.
+     * @param adaptiveConcurrency       whether the delivery concurrency adapts to the endpoint latency.
+     */
+    public ConsumersManagerImpl(
+        ProducerFactory producerFactory,
+        ConsumerFactory consumerFactory,
+        MeterRegistry meterRegistry,
+        int executorCount,
+        Supplier<BlockingQueue<Context.Task>> taskQueueFactory,
+        GroupPointerStore.Factory groupPointerStoreFactory,
+        boolean adaptiveConcurrency
+    ) {
+        if (executorCount < 1) {
+            throw new IllegalArgumentException("executorCount must be at least 1, got " + executorCount);
+        }
         this.scheduler = Executors.newSingleThreadScheduledExecutor();
-        this.executor = new EventExecutor(this.scheduler, CustomThread::new, new LinkedBlockingQueue<>());
-        this.env = new ConsumerEnvironment(producerFactory, consumerFactory, HttpClient.newHttpClient(), meterRegistry);
+        this.executors = new EventExecutorGroup(this.scheduler, CustomThread::new, taskQueueFactory);
+        this.executors.ensureExecutors(executorCount);
+        this.env = new ConsumerEnvironment(
+            producerFactory,
+            consumerFactory,
+            new HttpDeliveryEngine(meterRegistry),
+            meterRegistry,
+            groupPointerStoreFactory,
+            adaptiveConcurrency
+        );
     }
 
+    private static Supplier<BlockingQueue<Context.Task>> taskQueueFactory(
+        ConsumerOptions options,
+        MeterRegistry meterRegistry
+    ) {
+        if (options.isLockFreeTaskQueue()) {
+            return MpscTaskQueue.supplier(
+                options.getTaskQueueCapacity(),
+                options.getTaskQueueSpinCount(),
+                meterRegistry
+            );
+        }
+        return LinkedBlockingQueue::new;
+    }
+
+    /**
+     * Group pointers are kept in the metastore so that they outlive the consumer node, for the shards to move across
+     * nodes. The local files are only for tests and development.
+     */
+    private static GroupPointerStore.Factory groupPointerStoreFactory(
+        ConsumerOptions options,
+        GroupStateStore groupStateStore
+    ) {
+        if (options.isLocalGroupPointerStore()) {
+            return LocalFileGroupPointerStore.factory(Path.of(options.getGroupPointerDirectory()));
+        }
+        return MetaStoreGroupPointerStore.factory(groupStateStore);
+    }
 
     @Override
     public CompletableFuture<Void> startSubscription(
@@ -54,6 +130,9 @@ public class ConsumersManagerImpl implements ConsumersManager {
             throw new IllegalArgumentException("Consumer already exists for " + id);
         }
         ConsumerHolder newConsumer = consumers.get(id);
+        // pin the shard to the executor with the least capacity assigned so far.
+        newConsumer.executorWeight = Math.max(capacityPolicy == null ? 0 : capacityPolicy.getThroughputKBps(), 1);
+        newConsumer.executor = executors.assign(newConsumer.executorWeight);
         newConsumer.consumer = new VaradhiConsumerImpl(
             env,
             project,
@@ -64,7 +143,7 @@ public class ConsumersManagerImpl implements ConsumersManager {
             endpoint,
             consumptionPolicy,
             failurePolicy,
-            new Context(executor),
+            new Context(newConsumer.executor),
             scheduler,
             (s, sid, iqs) -> new ConsumerMetrics(env.getMeterRegistry(), s, sid, iqs)
         );
@@ -95,7 +174,9 @@ public class ConsumersManagerImpl implements ConsumersManager {
                 holder.consumer.close();
                 log.info("Consumer sopped for {}/{}", subscription, id);
             } finally {
-                consumers.remove(id, holder);
+                if (consumers.remove(id, holder)) {
+                    executors.release(holder.executor, holder.executorWeight);
+                }
             }
         });
     }
@@ -125,7 +206,8 @@ public class ConsumersManagerImpl implements ConsumersManager {
                                       holder.consumer.getSubscriptionName(),
                                       holder.consumer.getShardId(),
                                       holder.consumer.getState(),
-                                      holder.capacityPolicy
+                                      holder.capacityPolicy,
+                                      holder.consumer.getLoad()
                                   )
                               )
                               .iterator();
@@ -134,5 +216,7 @@ public class ConsumersManagerImpl implements ConsumersManager {
     static class ConsumerHolder {
         private VaradhiConsumer consumer;
         private TopicCapacityPolicy capacityPolicy;
+        private EventExecutor executor;
+        private long executorWeight;
     }
 }
@@ -0,0 +1,118 @@
+package com.flipkart.varadhi.consumer.impl;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Concurrency limit that follows the delivery latency of the endpoint, along the lines of the gradient algorithm of
+ * Netflix's concurrency-limits.
+ * <p>
+ * The completions are sampled in windows of roughly one limit worth of tasks. At the end of each window:
+ * <li>If any task was dropped, i.e. failed in a way that signals overload, the limit is cut multiplicatively.</li>
+ * <li>Otherwise, the limit is scaled by the gradient of the long term latency over the latency of the window, capped
+ * to [0.5, 1], and then given a headroom of sqrt(limit) to probe for more capacity. So the limit grows while the
+ * latency holds and shrinks as soon as the endpoint starts queueing.</li>
+ * <li>The limit does not grow if the in-flight tasks never came close to it, as the latency says nothing about the
+ * unused capacity then.</li>
+ * The result is smoothed and kept within [minLimit, maxLimit].
+ * <p>
+ * Samples arrive from arbitrary threads. The sampling is synchronized, while the limit itself is read lock free.
+ */
+@Slf4j
+public class GradientConcurrencyLimit {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    /**
+     * Number of windows the long term latency is averaged over.
+     */
+    private static final int LONG_WINDOWS = 20;
+
+    private static final double SMOOTHING = 0.2;
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+
+    @Getter
+    private final int maxLimit;
+
+    @Getter
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    private long windowRttSumNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public GradientConcurrencyLimit(int minLimit, int initialLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                "Invalid limits, min: " + minLimit + ", initial: " + initialLimit + ", max: " + maxLimit
+            );
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * @param rttNanos time taken by the task.
+     * @param inFlight tasks in flight when the task was started.
+     * @param dropped  true if the task failed in a way that signals overload.
+     */
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        windowRttSumNanos += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        windowDropped |= dropped;
+        if (++windowSamples < Math.max(MIN_WINDOW_SAMPLES, limit)) {
+            return;
+        }
+
+        double shortRtt = (double)windowRttSumNanos / windowSamples;
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOWS;
+            if (longRttNanos > 2 * shortRtt) {
+                // recovering from a slow period. Let the long term latency catch up, else the gradient stays at 1
+                // and the limit keeps growing while the endpoint is already saturated.
+                longRttNanos *= 0.95;
+            }
+        }
+
+        double newLimit;
+        if (windowDropped) {
+            newLimit = estimatedLimit * BACKOFF_RATIO;
+        } else if (windowMaxInFlight < estimatedLimit / 2) {
+            newLimit = estimatedLimit;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRtt));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+        int previous = limit;
+        limit = (int)estimatedLimit;
+        if (previous != limit) {
+            log.debug(
+                "concurrency limit {} -> {}. rtt short: {}us, long: {}us, dropped: {}",
+                previous,
+                limit,
+                (long)shortRtt / 1000,
+                (long)longRttNanos / 1000,
+                windowDropped
+            );
+        }
+
+        windowRttSumNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+}
@@ -4,6 +4,10 @@ import com.flipkart.varadhi.consumer.*;
 import com.flipkart.varadhi.consumer.concurrent.Context;
 import com.flipkart.varadhi.consumer.delivery.DeliveryResponse;
 import com.flipkart.varadhi.consumer.delivery.MessageDelivery;
+import com.flipkart.varadhi.consumer.ordering.GroupPointerStore;
+import com.flipkart.varadhi.core.cluster.ShardLoad;
+import com.flipkart.varadhi.consumer.ordering.SubscriptionGroupsStateImpl;
+import com.flipkart.varadhi.consumer.processing.GroupedProcessingLoop;
 import com.flipkart.varadhi.consumer.processing.ProcessingLoop;
 import com.flipkart.varadhi.consumer.processing.UngroupedProcessingLoop;
 import com.flipkart.varadhi.entities.*;
@@ -47,6 +51,7 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
     private SlidingWindowThrottler<DeliveryResponse> throttler;
     private ProcessingLoop processingLoop;
     private ConsumerMetrics metrics;
+    private GroupPointerStore groupPointerStore;
 
 
     //todo: any app config
@@ -91,6 +96,15 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
         return state;
     }
 
+    @Override
+    public ShardLoad getLoad() {
+        ConsumerMetrics shardMetrics = metrics;
+        if (shardMetrics == null) {
+            return new ShardLoad(0, 0, context.getBusyNanos());
+        }
+        return new ShardLoad(shardMetrics.getConsumed(), shardMetrics.getInConsumption(), context.getBusyNanos());
+    }
+
     @Override
     public synchronized void connect() {
         try {
@@ -153,7 +167,18 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
             )
         );
 
-        concurrencyControl = new ConcurrencyControlImpl<>(context, consumptionPolicy.getMaxParallelism(), iqPriority);
+        int maxParallelism = consumptionPolicy.getMaxParallelism();
+        if (env.isAdaptiveConcurrency()) {
+            // the parallelism adapts to the endpoint, starting halfway to the configured max.
+            concurrencyControl = new ConcurrencyControlImpl<>(
+                context,
+                new GradientConcurrencyLimit(1, Math.max(1, maxParallelism / 2), maxParallelism),
+                VaradhiConsumerImpl::isOverloaded,
+                iqPriority
+            );
+        } else {
+            concurrencyControl = new ConcurrencyControlImpl<>(context, maxParallelism, iqPriority);
+        }
 
         dynamicThreshold = new SlidingWindowThresholdProvider(
             scheduler,
@@ -173,10 +198,37 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
         });
 
         // Assuming static endpoint for message delivery.
-        deliveryClient = MessageDelivery.of(endpoint, env::getHttpClient);
+        deliveryClient = env.getDeliveryFactory().create(endpoint);
+
+        DeliveryBatchPolicy batchPolicy = consumptionPolicy.getDeliveryBatchPolicy();
+        if (batchPolicy != null && (batchPolicy.getMaxBatchSize() < 1 || batchPolicy.getMaxBatchDelayMs() < 0)) {
+            throw new IllegalArgumentException("Invalid delivery batch policy: " + batchPolicy);
+        }
+        if (batchPolicy != null && !deliveryClient.supportsBatch()) {
+            log.warn(
+                "{} does not support batched delivery, delivering the messages of {}/{} one per request",
+                deliveryClient.getClass().getSimpleName(),
+                subscriptionName,
+                shardId
+            );
+            batchPolicy = null;
+        }
 
         if (grouped) {
-            throw new UnsupportedOperationException("not implemented");
+            groupPointerStore = env.getGroupPointerStoreFactory().open(project, subscriptionName, shardId);
+            processingLoop = new GroupedProcessingLoop(
+                context,
+                createMessageSrcSelector(64),
+                concurrencyControl,
+                dynamicThreshold,
+                throttler,
+                deliveryClient,
+                new SubscriptionGroupsStateImpl(groupPointerStore),
+                internalProducers,
+                failurePolicy,
+                consumptionPolicy.getMaxInFlightMessages(),
+                batchPolicy
+            );
         } else {
             processingLoop = new UngroupedProcessingLoop(
                 context,
@@ -187,7 +239,8 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
                 deliveryClient,
                 internalProducers,
                 failurePolicy,
-                consumptionPolicy.getMaxInFlightMessages()
+                consumptionPolicy.getMaxInFlightMessages(),
+                batchPolicy
             );
         }
 
@@ -250,6 +303,16 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
         internalConsumers.clear();
         internalProducers.clear();
 
+        if (deliveryClient != null) {
+            deliveryClient.close();
+            deliveryClient = null;
+        }
+
+        if (groupPointerStore != null) {
+            groupPointerStore.close();
+            groupPointerStore = null;
+        }
+
         if (metrics != null) {
             metrics.close();
         }
@@ -294,7 +357,7 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
     ConsumerHolder createConsumerHolder(Consumer<? extends Offset> consumer, InternalQueueType queueType) {
         // TODO: configurable unacked messages.
         MessageSrc messageSrc = grouped ?
-            new GroupedMessageSrc<>(consumer, 1000, metrics) :
+            new GroupedMessageSrc<>(context, consumer, 1000, metrics) :
             new UnGroupedMessageSrc<>(queueType, consumer, metrics);
         return new ConsumerHolder(consumer, messageSrc);
     }
@@ -307,6 +370,18 @@ public class VaradhiConsumerImpl implements VaradhiConsumer {
         context.run(processingLoop);
     }
 
+    /**
+     * Responses from the endpoint that ask for less load. Batches complete without a result, and only their failure
+     * counts.
+     */
+    private static boolean isOverloaded(ProcessingLoop.DeliveryResult result) {
+        if (result == null || result.response() == null) {
+            return false;
+        }
+        int status = result.response().statusCode();
+        return status == 429 || status == 503 || status == 504;
+    }
+
     InternalQueueType[] getPriority() {
         int maxRetryAttempts = failurePolicy.getRetryPolicy().getRetryAttempts();
         InternalQueueType[] priority = new InternalQueueType[1 + maxRetryAttempts];
@@ -3,21 +3,114 @@ package com.flipkart.varadhi.consumer.ordering;
 
 import com.flipkart.varadhi.entities.InternalQueueType;
 
+import java.util.Arrays;
+
+/**
+ * Pointers of a group across the internal queues of a subscription. Slot 0 is the main queue, slots 1 to 9 are the
+ * retry queues and the last slot is the dead letter queue. The slots array is only as long as the highest queue
+ * the group has been produced to.
+ * <p>
+ * Instances are immutable, updates return a new instance. So a pointer handed out by
+ * {@link SubscriptionGroupsState#populatePointers} can be read without any synchronization.
+ */
 public class GroupPointer {
-    QueueGroupPointer main;
-    QueueGroupPointer[] retry;
-    QueueGroupPointer deadLetter;
+    static final int MAIN_IDX = 0;
+    static final int MAX_RETRIES = InternalQueueType.Retry.RETRY.length;
+    static final int DEAD_LETTER_IDX = MAX_RETRIES + 1;
+
+    final QueueGroupPointer[] queues;
+
+    GroupPointer(QueueGroupPointer[] queues) {
+        this.queues = queues;
+    }
 
+    /**
+     * @return the first retry / dead letter queue which has messages of this group pending consumption, null if none.
+     */
     public InternalQueueType isFailed() {
-        for (int i = 0; i < retry.length; i++) {
-            QueueGroupPointer pointer = retry[i];
+        return isFailed(InternalQueueType.mainType());
+    }
+
+    /**
+     * Messages of a group move forward from main to retry queues to the dead letter queue. So, the messages of the
+     * group that are older than a message consumed from a queue can only be present in the queues after it.
+     *
+     * @return the first queue after consumedFrom which has messages of this group pending consumption, null if none.
+     */
+    public InternalQueueType isFailed(InternalQueueType consumedFrom) {
+        for (int i = queueIndex(consumedFrom) + 1; i < queues.length; i++) {
+            QueueGroupPointer pointer = queues[i];
             if (pointer != null && pointer.hasLag()) {
-                return InternalQueueType.retryType(i + 1);
+                return queueType(i);
             }
         }
-        if (deadLetter != null && deadLetter.hasLag()) {
+        return null;
+    }
+
+    public QueueGroupPointer getPointer(InternalQueueType queueType) {
+        int idx = queueIndex(queueType);
+        return idx < queues.length ? queues[idx] : null;
+    }
+
+    boolean hasLag() {
+        for (QueueGroupPointer pointer : queues) {
+            if (pointer != null && pointer.hasLag()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return new group pointer with the produce pointer of the queue moved to producedTo.
+     */
+    GroupPointer withProduced(InternalQueueType queueType, MessagePointer producedTo) {
+        int idx = queueIndex(queueType);
+        QueueGroupPointer[] updated = Arrays.copyOf(queues, Math.max(queues.length, idx + 1));
+        QueueGroupPointer current = updated[idx];
+        updated[idx] = new QueueGroupPointer(producedTo, current == null ? null : current.consumePointer);
+        return new GroupPointer(updated);
+    }
+
+    /**
+     * @return new group pointer with the consume pointer of the queue moved to consumedFrom. Same instance if the
+     * group has never been produced to the queue or the pointer has already moved past consumedFrom.
+     */
+    GroupPointer withConsumed(InternalQueueType queueType, MessagePointer consumedFrom) {
+        int idx = queueIndex(queueType);
+        QueueGroupPointer current = idx < queues.length ? queues[idx] : null;
+        if (current == null || consumedFrom.compareTo(current.consumePointer) <= 0) {
+            return this;
+        }
+        QueueGroupPointer[] updated = queues.clone();
+        updated[idx] = new QueueGroupPointer(current.producePointer, consumedFrom);
+        return new GroupPointer(updated);
+    }
+
+    static GroupPointer empty() {
+        return new GroupPointer(new QueueGroupPointer[0]);
+    }
+
+    static int queueIndex(InternalQueueType queueType) {
+        if (queueType instanceof InternalQueueType.Retry retry) {
+            return retry.getRetryCount();
+        } else if (queueType instanceof InternalQueueType.DeadLetter) {
+            return DEAD_LETTER_IDX;
+        }
+        return MAIN_IDX;
+    }
+
+    static InternalQueueType queueType(int idx) {
+        if (idx == MAIN_IDX) {
+            return InternalQueueType.mainType();
+        } else if (idx == DEAD_LETTER_IDX) {
             return InternalQueueType.deadLetterType();
         }
-        return null;
+        return InternalQueueType.retryType(idx);
+    }
+
+    @Override
+    public String toString() {
+        return "GroupPointer" + Arrays.toString(queues);
     }
 }
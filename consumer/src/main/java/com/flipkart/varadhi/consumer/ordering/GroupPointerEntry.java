@@ -0,0 +1,69 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import com.flipkart.varadhi.entities.Offset;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serialized form of the pointer of a group, as saved by the {@link GroupPointerStore}s. queues is null when the group
+ * has been removed.
+ */
+record GroupPointerEntry(String groupId, List<QueueEntry> queues) {
+    static GroupPointerEntry of(String groupId, GroupPointer pointer) {
+        if (pointer == null) {
+            return new GroupPointerEntry(groupId, null);
+        }
+        List<QueueEntry> queues = new ArrayList<>();
+        for (int i = 0; i < pointer.queues.length; i++) {
+            QueueGroupPointer queue = pointer.queues[i];
+            if (queue != null) {
+                queues.add(
+                    new QueueEntry(i, PointerEntry.of(queue.producePointer), PointerEntry.of(queue.consumePointer))
+                );
+            }
+        }
+        return new GroupPointerEntry(groupId, queues);
+    }
+
+    GroupPointer toGroupPointer() {
+        int length = queues.stream().mapToInt(QueueEntry::queue).max().orElse(-1) + 1;
+        QueueGroupPointer[] pointers = new QueueGroupPointer[length];
+        for (QueueEntry queue : queues) {
+            pointers[queue.queue()] = new QueueGroupPointer(
+                PointerEntry.toPointer(queue.produced()),
+                PointerEntry.toPointer(queue.consumed())
+            );
+        }
+        return new GroupPointer(pointers);
+    }
+
+
+    record QueueEntry(int queue, PointerEntry produced, PointerEntry consumed) {
+    }
+
+
+    record PointerEntry(int mainTopicIdx, Offset mainTopicOffset, int internalTopicIdx, Offset internalTopicOffset) {
+        static PointerEntry of(MessagePointer pointer) {
+            return pointer == null ?
+                null :
+                new PointerEntry(
+                    pointer.getMainTopicIdx(),
+                    pointer.getMainTopicOffset(),
+                    pointer.getInternalTopicIdx(),
+                    pointer.getInternalTopicOffset()
+                );
+        }
+
+        static MessagePointer toPointer(PointerEntry entry) {
+            return entry == null ?
+                null :
+                new MessagePointer(
+                    entry.mainTopicIdx(),
+                    entry.mainTopicOffset(),
+                    entry.internalTopicIdx(),
+                    entry.internalTopicOffset()
+                );
+        }
+    }
+}
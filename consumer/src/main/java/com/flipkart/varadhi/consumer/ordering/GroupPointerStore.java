@@ -0,0 +1,35 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import jakarta.annotation.Nullable;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persistence of the group pointers of a subscription shard. Only the groups with failed messages are persisted, and
+ * each update of a group is saved individually as it happens.
+ */
+public interface GroupPointerStore extends Closeable {
+
+    /**
+     * @return pointers of all the groups saved so far.
+     */
+    Map<String, GroupPointer> load();
+
+    /**
+     * Saves the latest pointer of the group. Saves for the same group are issued in order.
+     *
+     * @param pointer null if the group no longer has any failed message and can be forgotten.
+     */
+    CompletableFuture<Void> save(String groupId, @Nullable GroupPointer pointer);
+
+    @Override
+    default void close() {
+    }
+
+    @FunctionalInterface
+    interface Factory {
+        GroupPointerStore open(String project, String subscription, int shardId);
+    }
+}
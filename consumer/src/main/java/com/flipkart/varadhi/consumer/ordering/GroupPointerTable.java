@@ -0,0 +1,122 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Open addressing hash table from groupId to {@link GroupPointer}, with linear probing. The hash of every slot is kept
+ * in a primitive array, so a probe compares ints and only touches the key on a hash match. Only the groups with
+ * failed messages are kept, which is usually a small fraction of all the groups, hence the table stays small.
+ * <p>
+ * Not thread safe.
+ */
+class GroupPointerTable {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] hashes;
+    private String[] keys;
+    private GroupPointer[] values;
+    private int size;
+
+    GroupPointerTable() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    GroupPointer get(String groupId) {
+        if (size == 0 || groupId == null) {
+            return null;
+        }
+        int hash = hash(groupId);
+        int mask = keys.length - 1;
+        for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && keys[i].equals(groupId)) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    void put(String groupId, GroupPointer pointer) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int hash = hash(groupId);
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        for (; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && keys[i].equals(groupId)) {
+                values[i] = pointer;
+                return;
+            }
+        }
+        hashes[i] = hash;
+        keys[i] = groupId;
+        values[i] = pointer;
+        size++;
+    }
+
+    void remove(String groupId) {
+        int hash = hash(groupId);
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        for (; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && keys[i].equals(groupId)) {
+                break;
+            }
+        }
+        if (keys[i] == null) {
+            return;
+        }
+        // backward shift deletion, keeps the probe sequences intact without tombstones.
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = hashes[j] & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                hashes[gap] = hashes[j];
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = null;
+        values[gap] = null;
+        size--;
+        if (keys.length > MIN_CAPACITY && size * 8 < keys.length) {
+            rehash(keys.length / 2);
+        }
+    }
+
+    void forEach(BiConsumer<String, GroupPointer> consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        GroupPointer[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        keys = new String[capacity];
+        values = new GroupPointer[capacity];
+    }
+
+    private static int hash(String groupId) {
+        int h = groupId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
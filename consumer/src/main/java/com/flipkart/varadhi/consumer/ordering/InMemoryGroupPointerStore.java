@@ -0,0 +1,29 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the group pointers in memory, so they are lost along with the store instance. Meant for tests and for
+ * subscriptions where losing the group failure state on a restart is acceptable.
+ */
+public class InMemoryGroupPointerStore implements GroupPointerStore {
+    private final Map<String, GroupPointer> pointers = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, GroupPointer> load() {
+        return new HashMap<>(pointers);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(String groupId, GroupPointer pointer) {
+        if (pointer == null) {
+            pointers.remove(groupId);
+        } else {
+            pointers.put(groupId, pointer);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,185 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flipkart.varadhi.entities.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persists the group pointers in a local file, as a log of json lines with one line per saved update. The log is
+ * replayed on {@link #load()} and then compacted to hold only the latest pointer of each group. It is also compacted
+ * once it has grown to {@link #COMPACTION_FACTOR} times the lines it had after the previous compaction, so that it
+ * stays proportional to the failed groups on a long-running node.
+ * <p>
+ * The group pointers stay on the node, so they are lost when the shard moves to another node. Meant for tests and
+ * development, the {@link MetaStoreGroupPointerStore} is the one for production.
+ * <p>
+ * Offsets are written with the given mapper, by default the {@link JsonMapper}, so the Offset subtypes of the
+ * messaging stack must be registered with it.
+ */
+@Slf4j
+public class LocalFileGroupPointerStore implements GroupPointerStore {
+    static final int COMPACTION_FACTOR = 4;
+    static final int MIN_COMPACTION_LINES = 1024;
+
+    private final Path file;
+    private final ObjectMapper mapper;
+    private final ObjectWriter lineWriter;
+    private final int minCompactionLines;
+    private BufferedWriter writer;
+    // lines in the file, and the lines it had after the last compaction.
+    private long lines;
+    private long compactedLines;
+
+    public LocalFileGroupPointerStore(Path file) {
+        this(file, JsonMapper.getMapper());
+    }
+
+    public LocalFileGroupPointerStore(Path file, ObjectMapper mapper) {
+        this(file, mapper, MIN_COMPACTION_LINES);
+    }
+
+    /**
+     * @param minCompactionLines the log is not compacted before it has these many lines.
+     */
+    LocalFileGroupPointerStore(Path file, ObjectMapper mapper, int minCompactionLines) {
+        this.file = file;
+        this.mapper = mapper;
+        this.minCompactionLines = minCompactionLines;
+        // one entry per line, hence no indentation.
+        this.lineWriter = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * @return a factory of stores keeping a file per subscription shard in the directory
+     */
+    public static GroupPointerStore.Factory factory(Path directory) {
+        return (project, subscription, shardId) -> {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create the group pointers directory " + directory, e);
+            }
+            return new LocalFileGroupPointerStore(
+                directory.resolve(String.format("%s.%s.%d.groups", project, subscription, shardId))
+            );
+        };
+    }
+
+    @Override
+    public synchronized Map<String, GroupPointer> load() {
+        try {
+            Map<String, GroupPointer> pointers = replay();
+            compact(pointers);
+            return pointers;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load group pointers from " + file, e);
+        }
+    }
+
+    /**
+     * Appends the pointer to the log and flushes it. The saves are issued by the {@link SubscriptionGroupsStateImpl}
+     * off the completion threads, so the write is done right away.
+     */
+    @Override
+    public synchronized CompletableFuture<Void> save(String groupId, GroupPointer pointer) {
+        try {
+            if (writer == null) {
+                writer = openForAppend();
+            }
+            write(writer, GroupPointerEntry.of(groupId, pointer));
+            writer.flush();
+            ++lines;
+            if (lines >= Math.max(minCompactionLines, compactedLines * COMPACTION_FACTOR)) {
+                compact(replay());
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            log.error("Failed to save pointer of group {} to {}", groupId, file, e);
+            return CompletableFuture.failedFuture(new UncheckedIOException(e));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to close {}", file, e);
+            }
+            writer = null;
+        }
+    }
+
+    synchronized long getLines() {
+        return lines;
+    }
+
+    private Map<String, GroupPointer> replay() throws IOException {
+        Map<String, GroupPointer> pointers = new HashMap<>();
+        if (!Files.exists(file)) {
+            return pointers;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                GroupPointerEntry entry = mapper.readValue(line, GroupPointerEntry.class);
+                if (entry.queues() == null) {
+                    pointers.remove(entry.groupId());
+                } else {
+                    pointers.put(entry.groupId(), entry.toGroupPointer());
+                }
+            }
+        }
+        return pointers;
+    }
+
+    private void compact(Map<String, GroupPointer> pointers) throws IOException {
+        close();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter tmpWriter = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, GroupPointer> pointer : pointers.entrySet()) {
+                write(tmpWriter, GroupPointerEntry.of(pointer.getKey(), pointer.getValue()));
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = openForAppend();
+        lines = pointers.size();
+        compactedLines = lines;
+    }
+
+    private BufferedWriter openForAppend() throws IOException {
+        return Files.newBufferedWriter(
+            file,
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND
+        );
+    }
+
+    private void write(BufferedWriter writer, GroupPointerEntry entry) throws IOException {
+        writer.write(lineWriter.writeValueAsString(entry));
+        writer.newLine();
+    }
+}
@@ -0,0 +1,82 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flipkart.varadhi.entities.JsonMapper;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persists the group pointers in the metastore, through its {@link GroupStateStore}, so that they outlive the consumer
+ * node and the shard resumes with them when it moves to another node. Each save writes only the pointer of its group.
+ * <p>
+ * The writes block on the metastore, the saves are issued by the {@link SubscriptionGroupsStateImpl} off the
+ * completion threads. Offsets are written with the given mapper, by default the {@link JsonMapper}, so the Offset
+ * subtypes of the messaging stack must be registered with it.
+ */
+@Slf4j
+public class MetaStoreGroupPointerStore implements GroupPointerStore {
+    private final GroupStateStore store;
+    private final String subscription;
+    private final int shardId;
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+
+    public MetaStoreGroupPointerStore(GroupStateStore store, String subscription, int shardId, ObjectMapper mapper) {
+        this.store = store;
+        this.subscription = subscription;
+        this.shardId = shardId;
+        this.mapper = mapper;
+        this.writer = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * @return a factory of stores keeping the group pointers of each subscription shard in the metastore
+     */
+    public static GroupPointerStore.Factory factory(GroupStateStore store) {
+        return (project, subscription, shardId) -> new MetaStoreGroupPointerStore(
+            store,
+            subscription,
+            shardId,
+            JsonMapper.getMapper()
+        );
+    }
+
+    @Override
+    public Map<String, GroupPointer> load() {
+        Map<String, byte[]> states = store.getAll(subscription, shardId);
+        Map<String, GroupPointer> pointers = new HashMap<>(states.size());
+        try {
+            for (Map.Entry<String, byte[]> state : states.entrySet()) {
+                GroupPointerEntry entry = mapper.readValue(state.getValue(), GroupPointerEntry.class);
+                pointers.put(state.getKey(), entry.toGroupPointer());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load group pointers of " + subscription + ":" + shardId, e);
+        }
+        return pointers;
+    }
+
+    @Override
+    public CompletableFuture<Void> save(String groupId, GroupPointer pointer) {
+        try {
+            if (pointer == null) {
+                store.delete(subscription, shardId, groupId);
+            } else {
+                byte[] state = writer.writeValueAsBytes(GroupPointerEntry.of(groupId, pointer));
+                store.put(subscription, shardId, groupId, state);
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to save pointer of group {} of {}:{}", groupId, subscription, shardId, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.flipkart.varadhi.consumer.ordering;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Pointers of a group within one internal queue. producePointer is the last message of the group produced to the
+ * queue and consumePointer is the last message of the group consumed from it. Immutable.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
 public class QueueGroupPointer {
-    MessagePointer producePointer;
-    MessagePointer consumePointer;
+    final MessagePointer producePointer;
+    final MessagePointer consumePointer;
 
     public boolean hasLag() {
-        return producePointer.compareTo(consumePointer) > 0;
+        return producePointer != null && producePointer.compareTo(consumePointer) > 0;
     }
 }
@@ -0,0 +1,185 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import com.flipkart.varadhi.consumer.MessageTracker;
+import com.flipkart.varadhi.entities.InternalQueueType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Tracks the groups with messages pending in the retry / dead letter queues, so that the newer messages of such groups
+ * are not delivered ahead of them.
+ * <p>
+ * Only the failed groups are kept, in a {@link GroupPointerTable}. A group is dropped as soon as all its failed
+ * messages have been consumed. Every change to a group is saved to the {@link GroupPointerStore}, and the state is
+ * loaded from the store on creation.
+ * <p>
+ * Lookups happen on the consumer context whereas the updates happen on the completion of deliveries and produces. A
+ * single lock guards the table and is taken once per polled batch. Group pointers are immutable, so the pointers
+ * handed out can be read outside the lock.
+ * <p>
+ * The saves are queued under the lock, in the order of the updates, and issued to the store outside it by one task at
+ * a time on the saver executor, so that a blocking store holds up neither the updates of other groups nor the
+ * completion threads. By default the task runs on a virtual thread.
+ */
+@Slf4j
+public class SubscriptionGroupsStateImpl implements SubscriptionGroupsState {
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final GroupPointerStore store;
+    private final Executor saver;
+    private final GroupPointerTable table = new GroupPointerTable();
+    // guarded by this.
+    private final Queue<PendingSave> pendingSaves = new ArrayDeque<>();
+    // guarded by this, whether a thread is issuing the pending saves.
+    private boolean saving;
+
+    public SubscriptionGroupsStateImpl(GroupPointerStore store) {
+        this(store, task -> Thread.ofVirtual().name("group-pointers-saver").start(task));
+    }
+
+    public SubscriptionGroupsStateImpl(GroupPointerStore store, Executor saver) {
+        this.store = store;
+        this.saver = saver;
+        store.load().forEach((groupId, pointer) -> {
+            if (pointer.hasLag()) {
+                table.put(groupId, pointer);
+            }
+        });
+        log.info("Loaded {} failed groups", table.size());
+    }
+
+    @Override
+    public synchronized GroupPointer getPointer(String groupId) {
+        return table.get(groupId);
+    }
+
+    @Override
+    public void populatePointers(MessageTracker[] messages, GroupPointer[] pointers, int count) {
+        synchronized (this) {
+            if (table.size() > 0) {
+                for (int i = 0; i < count; ++i) {
+                    pointers[i] = table.get(messages[i].getGroupId());
+                }
+                return;
+            }
+        }
+        for (int i = 0; i < count; ++i) {
+            pointers[i] = null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> messageTransitioned(
+        String groupId,
+        InternalQueueType consumedQueue,
+        MessagePointer consumedFrom,
+        InternalQueueType producedQueue,
+        MessagePointer producedTo
+    ) {
+        PendingSave save;
+        synchronized (this) {
+            GroupPointer current = table.get(groupId);
+            GroupPointer updated = (current == null ? GroupPointer.empty() : current).withConsumed(
+                consumedQueue,
+                consumedFrom
+            ).withProduced(producedQueue, producedTo);
+            table.put(groupId, updated);
+            save = enqueueSave(groupId, updated);
+        }
+        issuePendingSaves();
+        return save.result;
+    }
+
+    @Override
+    public CompletableFuture<Void> messageConsumed(
+        String groupId,
+        InternalQueueType consumedQueue,
+        MessagePointer consumedFrom
+    ) {
+        PendingSave save;
+        synchronized (this) {
+            GroupPointer current = table.get(groupId);
+            if (current == null) {
+                // the common case, group has never failed.
+                return DONE;
+            }
+            GroupPointer updated = current.withConsumed(consumedQueue, consumedFrom);
+            if (updated == current) {
+                return DONE;
+            }
+            if (updated.hasLag()) {
+                table.put(groupId, updated);
+                save = enqueueSave(groupId, updated);
+            } else {
+                table.remove(groupId);
+                save = enqueueSave(groupId, null);
+            }
+        }
+        issuePendingSaves();
+        return save.result;
+    }
+
+    private PendingSave enqueueSave(String groupId, GroupPointer pointer) {
+        PendingSave save = new PendingSave(groupId, pointer, new CompletableFuture<>());
+        pendingSaves.add(save);
+        return save;
+    }
+
+    /**
+     * Hands the pending saves to the saver, unless it is already issuing them, in which case it issues the ones queued
+     * here as well.
+     */
+    private void issuePendingSaves() {
+        synchronized (this) {
+            if (saving) {
+                return;
+            }
+            saving = true;
+        }
+        try {
+            saver.execute(this::drainPendingSaves);
+        } catch (RuntimeException e) {
+            log.error("Failed to issue the pending saves of group pointers", e);
+            drainPendingSaves();
+        }
+    }
+
+    /**
+     * Issues the pending saves to the store in order, till there are none left.
+     */
+    private void drainPendingSaves() {
+        while (true) {
+            PendingSave save;
+            synchronized (this) {
+                save = pendingSaves.poll();
+                if (save == null) {
+                    saving = false;
+                    return;
+                }
+            }
+            try {
+                store.save(save.groupId, save.pointer).whenComplete((v, t) -> {
+                    if (t == null) {
+                        save.result.complete(null);
+                    } else {
+                        save.result.completeExceptionally(t);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Failed to save pointer of group {}", save.groupId, e);
+                save.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    public synchronized int getFailedGroupCount() {
+        return table.size();
+    }
+
+    private record PendingSave(String groupId, GroupPointer pointer, CompletableFuture<Void> result) {
+    }
+}
@@ -7,18 +7,18 @@ import com.flipkart.varadhi.consumer.delivery.MessageDelivery;
 import com.flipkart.varadhi.consumer.ordering.GroupPointer;
 import com.flipkart.varadhi.consumer.ordering.MessagePointer;
 import com.flipkart.varadhi.consumer.ordering.SubscriptionGroupsState;
+import com.flipkart.varadhi.entities.DeliveryBatchPolicy;
 import com.flipkart.varadhi.entities.InternalQueueType;
 import com.flipkart.varadhi.entities.Offset;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public class GroupedProcessingLoop extends ProcessingLoop {
 
     private final GroupPointer[] groupPointers;
+    private final MessageTracker[] forPush;
     private final SubscriptionGroupsState subscriptionGroupsState;
     private final Map<InternalQueueType, FailedMsgProducer<? extends Offset>> internalProducers;
     private final ConsumptionFailurePolicy failurePolicy;
@@ -33,7 +33,8 @@ public class GroupedProcessingLoop extends ProcessingLoop {
         SubscriptionGroupsState subscriptionGroupsState,
         Map<InternalQueueType, FailedMsgProducer<? extends Offset>> internalProducers,
         ConsumptionFailurePolicy failurePolicy,
-        int maxInFlightMessages
+        int maxInFlightMessages,
+        DeliveryBatchPolicy batchPolicy
     ) {
         super(
             context,
@@ -42,9 +43,11 @@ public class GroupedProcessingLoop extends ProcessingLoop {
             throttleThresholdProvider,
             throttler,
             deliveryClient,
-            maxInFlightMessages
+            maxInFlightMessages,
+            batchPolicy
         );
         this.groupPointers = new GroupPointer[msgSrcSelector.getBatchSize()];
+        this.forPush = new MessageTracker[msgSrcSelector.getBatchSize()];
         this.subscriptionGroupsState = subscriptionGroupsState;
         this.internalProducers = internalProducers;
         this.failurePolicy = failurePolicy;
@@ -55,34 +58,35 @@ public class GroupedProcessingLoop extends ProcessingLoop {
         super.onMessagesPolled(polled);
 
         subscriptionGroupsState.populatePointers(polled.getMessages(), groupPointers, polled.getSize());
-        List<MessageTracker> forPush = new ArrayList<>();
+        int pushCount = 0;
 
         for (int i = 0; i < polled.getSize(); ++i) {
             MessageTracker message = polled.getMessages()[i];
             GroupPointer groupPointer = groupPointers[i];
-            InternalQueueType failedMsgInQueue = groupPointer == null ? null : groupPointer.isFailed();
+            InternalQueueType failedMsgInQueue =
+                groupPointer == null ? null : groupPointer.isFailed(polled.getInternalQueueType());
             if (failedMsgInQueue == null) {
-                // group has not failed
-                forPush.add(message);
+                // group has no older message pending in the later queues
+                forPush[pushCount++] = message;
             } else {
                 onGroupFailure(polled.getInternalQueueType(), failedMsgInQueue, message);
             }
         }
 
-        if (!forPush.isEmpty()) {
-            Collection<CompletableFuture<DeliveryResult>> asyncResponses = deliverMessages(
-                polled.getInternalQueueType(),
-                forPush
-            );
-            // Some of the push will have succeeded, for which we can begin the post processing.
-            // For others we start the failure management.
-            asyncResponses.forEach(fut -> fut.whenComplete((response, ex) -> {
-                if (response.response().success()) {
-                    onSuccess(polled.getInternalQueueType(), response.message());
-                } else {
-                    onPushFailure(polled.getInternalQueueType(), response.message());
-                }
-            }));
+        if (pushCount > 0) {
+            deliverMessages(polled.getInternalQueueType(), forPush, pushCount);
+            Arrays.fill(forPush, 0, pushCount, null);
+        }
+    }
+
+    @Override
+    protected void onDeliveryResult(InternalQueueType type, MessageTracker message, DeliveryResponse response) {
+        // Some of the push will have succeeded, for which we can begin the post processing.
+        // For others we start the failure management.
+        if (response != null && response.success()) {
+            onSuccess(type, message);
+        } else {
+            onPushFailure(type, message);
         }
     }
 
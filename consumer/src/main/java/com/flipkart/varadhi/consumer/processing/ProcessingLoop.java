@@ -2,19 +2,29 @@ package com.flipkart.varadhi.consumer.processing;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.flipkart.varadhi.consumer.*;
 import com.flipkart.varadhi.consumer.concurrent.Context;
+import com.flipkart.varadhi.consumer.concurrent.ObjectPool;
 import com.flipkart.varadhi.consumer.delivery.DeliveryResponse;
 import com.flipkart.varadhi.consumer.delivery.MessageDelivery;
+import com.flipkart.varadhi.entities.DeliveryBatchPolicy;
 import com.flipkart.varadhi.entities.InternalQueueType;
+import com.flipkart.varadhi.entities.Message;
 import com.flipkart.varadhi.entities.StdHeaders;
 
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,6 +32,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public abstract class ProcessingLoop implements Context.Task {
 
+    private static final int DELIVERY_POOL_SIZE = 1024;
+
     protected volatile boolean stopRequested = false;
 
     protected final Context context;
@@ -32,11 +44,48 @@ public abstract class ProcessingLoop implements Context.Task {
     private final MessageDelivery deliveryClient;
     private final int maxInFlightMessages;
 
+    /**
+     * null if the messages are delivered one per request.
+     */
+    @Nullable
+    private final DeliveryBatchPolicy batchPolicy;
+
+    private final ObjectPool<DeliveryResult> deliveryPool = new ObjectPool<>(
+        DELIVERY_POOL_SIZE,
+        pool -> new DeliveryResult()
+    );
+
+    /**
+     * scratch lists for {@link #deliverMessages}, only used on the context.
+     */
+    private final List<DeliveryResult> deliveries = new ArrayList<>();
+    private final List<Supplier<CompletableFuture<DeliveryResult>>> deliveryTasks = new ArrayList<>();
+
+    /**
+     * messages waiting for their batch to fill up, per queue. Only used on the context.
+     */
+    private final Map<InternalQueueType, PendingBatch> pendingBatches = new HashMap<>();
+
     private final AtomicInteger inFlightMessages = new AtomicInteger(0);
     private final AtomicBoolean iterationInProgress = new AtomicBoolean(false);
 
+    /**
+     * Stops polling new messages. The messages waiting for their batch to fill up are delivered right away, instead
+     * of on their batch timer, so that the in-flight messages drain without the batch delay.
+     * <p>
+     * Can be called on any thread.
+     */
     public void stop() {
         stopRequested = true;
+        if (batchPolicy != null) {
+            context.runOnContext(this::flushPendingBatches);
+        }
+    }
+
+    private void flushPendingBatches() {
+        for (PendingBatch pending : pendingBatches.values()) {
+            pending.flush();
+        }
     }
 
     @Override
@@ -118,17 +167,70 @@ public abstract class ProcessingLoop implements Context.Task {
         assert context.isInContext();
     }
 
-    protected Collection<CompletableFuture<DeliveryResult>> deliverMessages(
-        InternalQueueType type,
-        Iterable<MessageTracker> msg
-    ) {
-        List<Supplier<CompletableFuture<DeliveryResult>>> forPush = new ArrayList<>();
-        for (MessageTracker message : msg) {
-            forPush.add(() -> deliver(type, message).thenApply(r -> new DeliveryResult(r, message)));
+    /**
+     * Hands the messages to the concurrency control for delivery. The outcome of each delivery is reported via
+     * {@link #onDeliveryResult}. The per message delivery state is pooled, so this does not allocate beyond what the
+     * delivery itself needs.
+     * <p>
+     * With the {@link DeliveryBatchPolicy}, the messages are instead held until the batch of their queue is full or
+     * has waited long enough, and then the whole batch takes a single slot of the concurrency control.
+     */
+    protected void deliverMessages(InternalQueueType type, MessageTracker[] messages, int count) {
+        assert context.isInContext();
+        if (batchPolicy != null) {
+            batchMessages(type, messages, count);
+            return;
+        }
+        for (int i = 0; i < count; ++i) {
+            DeliveryResult delivery = deliveryPool.acquire();
+            delivery.init(type, messages[i]);
+            deliveries.add(delivery);
+            deliveryTasks.add(delivery.task);
+        }
+        try {
+            Collection<CompletableFuture<DeliveryResult>> futures = concurrencyControl.enqueueTasks(
+                type,
+                deliveryTasks
+            );
+            int i = 0;
+            for (CompletableFuture<DeliveryResult> future : futures) {
+                DeliveryResult delivery = deliveries.get(i++);
+                future.whenComplete(delivery.onDone);
+            }
+        } finally {
+            deliveries.clear();
+            deliveryTasks.clear();
+        }
+    }
+
+    private void batchMessages(InternalQueueType type, MessageTracker[] messages, int count) {
+        PendingBatch pending = pendingBatches.computeIfAbsent(type, PendingBatch::new);
+        for (int i = 0; i < count; ++i) {
+            pending.messages.add(messages[i]);
+            if (pending.messages.size() >= batchPolicy.getMaxBatchSize()) {
+                pending.flush();
+            }
+        }
+        if (!pending.messages.isEmpty() && pending.timer == null) {
+            pending.timer = context.scheduleOnContext(
+                pending.onTimeout,
+                batchPolicy.getMaxBatchDelayMs(),
+                TimeUnit.MILLISECONDS
+            );
         }
-        return concurrencyControl.enqueueTasks(type, forPush);
     }
 
+    /**
+     * Called when the delivery of a message has finished. Likely called on the IO thread.
+     *
+     * @param response null if the delivery could not be attempted.
+     */
+    protected abstract void onDeliveryResult(
+        InternalQueueType type,
+        MessageTracker message,
+        @Nullable DeliveryResponse response
+    );
+
     /**
      * Deliver the message to the destination. If the delivery fails, then we wait for the quota from the error
      * throttler.
@@ -161,6 +263,46 @@ public abstract class ProcessingLoop implements Context.Task {
         }
     }
 
+    /**
+     * Batch counterpart of {@link #deliver(InternalQueueType, MessageTracker)}. The error throttler is acquired once
+     * for all the failed messages of the batch.
+     */
+    private CompletableFuture<DeliveryResponse[]> deliverBatch(InternalQueueType type, List<MessageTracker> batch) {
+        try {
+            List<Message> messages = new ArrayList<>(batch.size());
+            for (MessageTracker msg : batch) {
+                msg.onConsumeStart(type);
+                messages.add(msg.getMessage());
+            }
+
+            return deliveryClient.deliverBatch(messages).thenCompose(responses -> {
+                int failed = 0;
+                for (DeliveryResponse response : responses) {
+                    throttleThresholdProvider.mark();
+                    if (!response.success()) {
+                        ++failed;
+                    }
+                }
+                log.info(
+                    "Batch delivery attempt was made. queue: {}, messages: {}, failed: {}",
+                    type,
+                    responses.length,
+                    failed
+                );
+                if (failed == 0) {
+                    return CompletableFuture.completedFuture(responses);
+                }
+                return throttler.acquire(type, () -> CompletableFuture.completedFuture(null), failed)
+                                .thenApply(ignored -> responses);
+            });
+        } catch (Exception e) {
+            for (int i = 0; i < batch.size(); ++i) {
+                throttleThresholdProvider.mark();
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Called when a message's processing is finished completely. Delivery Failure or Success.
      * Likely called on the IO thread.
@@ -180,6 +322,116 @@ public abstract class ProcessingLoop implements Context.Task {
         runLoopIfRequired(inFlightMessages.decrementAndGet());
     }
 
-    public record DeliveryResult(DeliveryResponse response, MessageTracker message) {
+    /**
+     * Delivery state of a message, reused across messages via the deliveryPool. The callbacks given to the concurrency
+     * control and the futures are created once per instance.
+     */
+    public final class DeliveryResult {
+        private InternalQueueType type;
+        private MessageTracker message;
+        private DeliveryResponse response;
+
+        private final Function<DeliveryResponse, DeliveryResult> onResponse = this::onResponse;
+        private final Supplier<CompletableFuture<DeliveryResult>> task = () -> deliver(type, message).thenApply(
+            onResponse
+        );
+        private final BiConsumer<DeliveryResult, Throwable> onDone = this::onDone;
+
+        private void init(InternalQueueType type, MessageTracker message) {
+            this.type = type;
+            this.message = message;
+        }
+
+        public DeliveryResponse response() {
+            return response;
+        }
+
+        public MessageTracker message() {
+            return message;
+        }
+
+        private DeliveryResult onResponse(DeliveryResponse response) {
+            this.response = response;
+            return this;
+        }
+
+        private void onDone(DeliveryResult result, Throwable ex) {
+            if (ex != null) {
+                log.error("Delivery failed for message: {}", message.getMessage().getMessageId(), ex);
+            }
+            InternalQueueType doneType = type;
+            MessageTracker doneMessage = message;
+            DeliveryResponse doneResponse = ex == null ? response : null;
+            type = null;
+            message = null;
+            response = null;
+            deliveryPool.release(this);
+            onDeliveryResult(doneType, doneMessage, doneResponse);
+        }
+    }
+
+    /**
+     * Messages of a queue waiting to be delivered together. Only used on the context.
+     */
+    private final class PendingBatch {
+        private final InternalQueueType type;
+        private final Runnable onTimeout = this::flush;
+        private List<MessageTracker> messages = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+
+        private PendingBatch(InternalQueueType type) {
+            this.type = type;
+        }
+
+        private void flush() {
+            assert context.isInContext();
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            if (messages.isEmpty()) {
+                return;
+            }
+            BatchDelivery delivery = new BatchDelivery(type, messages);
+            messages = new ArrayList<>(batchPolicy.getMaxBatchSize());
+
+            Collection<CompletableFuture<DeliveryResult>> futures = concurrencyControl.enqueueTasks(
+                type,
+                List.of(delivery::deliver)
+            );
+            futures.iterator().next().whenComplete(delivery::onDone);
+        }
+    }
+
+
+    /**
+     * Delivery state of a batch. The cc only tracks the completion of the batch, so its future has no value. The
+     * responses are routed to each message when the batch is done.
+     */
+    private final class BatchDelivery {
+        private final InternalQueueType type;
+        private final List<MessageTracker> messages;
+        private DeliveryResponse[] responses;
+
+        private BatchDelivery(InternalQueueType type, List<MessageTracker> messages) {
+            this.type = type;
+            this.messages = messages;
+        }
+
+        private CompletableFuture<DeliveryResult> deliver() {
+            return deliverBatch(type, messages).thenApply(responses -> {
+                this.responses = responses;
+                return null;
+            });
+        }
+
+        private void onDone(DeliveryResult ignored, Throwable ex) {
+            if (ex != null) {
+                log.error("Delivery failed for a batch of {} messages", messages.size(), ex);
+            }
+            for (int i = 0; i < messages.size(); ++i) {
+                onDeliveryResult(type, messages.get(i), ex == null ? responses[i] : null);
+            }
+        }
     }
 }
@@ -1,7 +1,5 @@
 package com.flipkart.varadhi.consumer.processing;
 
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -9,6 +7,7 @@ import com.flipkart.varadhi.consumer.*;
 import com.flipkart.varadhi.consumer.concurrent.Context;
 import com.flipkart.varadhi.consumer.delivery.DeliveryResponse;
 import com.flipkart.varadhi.consumer.delivery.MessageDelivery;
+import com.flipkart.varadhi.entities.DeliveryBatchPolicy;
 import com.flipkart.varadhi.entities.InternalQueueType;
 import com.flipkart.varadhi.entities.Offset;
 import com.flipkart.varadhi.entities.StdHeaders;
@@ -30,7 +29,8 @@ public class UngroupedProcessingLoop extends ProcessingLoop {
         MessageDelivery deliveryClient,
         Map<InternalQueueType, FailedMsgProducer<? extends Offset>> internalProducers,
         ConsumptionFailurePolicy failurePolicy,
-        int maxInFlightMessages
+        int maxInFlightMessages,
+        DeliveryBatchPolicy batchPolicy
     ) {
         super(
             context,
@@ -39,7 +39,8 @@ public class UngroupedProcessingLoop extends ProcessingLoop {
             throttleThresholdProvider,
             throttler,
             deliveryClient,
-            maxInFlightMessages
+            maxInFlightMessages,
+            batchPolicy
         );
         this.internalProducers = internalProducers;
         this.failurePolicy = failurePolicy;
@@ -51,19 +52,18 @@ public class UngroupedProcessingLoop extends ProcessingLoop {
 
         log.debug("Got {} polled messages to process.", polled.getSize());
         if (polled.getSize() > 0) {
-            Collection<CompletableFuture<DeliveryResult>> asyncResponses = deliverMessages(
-                polled.getInternalQueueType(),
-                () -> Arrays.stream(polled.getMessages()).limit(polled.getSize()).iterator()
-            );
-            // Some of the push will have succeeded, for which we can begin the post processing.
-            // For others we start the failure management.
-            asyncResponses.forEach(fut -> fut.whenComplete((response, ex) -> {
-                if (response.response().success()) {
-                    onComplete(response.message(), MessageConsumptionStatus.SENT);
-                } else {
-                    onDeliveryFailure(polled.getInternalQueueType(), response.message());
-                }
-            }));
+            deliverMessages(polled.getInternalQueueType(), polled.getMessages(), polled.getSize());
+        }
+    }
+
+    @Override
+    protected void onDeliveryResult(InternalQueueType type, MessageTracker message, DeliveryResponse response) {
+        // Some of the push will have succeeded, for which we can begin the post processing.
+        // For others we start the failure management.
+        if (response != null && response.success()) {
+            onComplete(message, MessageConsumptionStatus.SENT);
+        } else {
+            onDeliveryFailure(type, message);
         }
     }
 
@@ -66,8 +66,8 @@ class UnGroupedMessageSrcTest {
 
         List<String> committedList = new ArrayList<>();
         for (MessageTracker message : messageTrackers) {
-            message.onConsumed(MessageConsumptionStatus.SENT);
             committedList.add(new String(message.getMessage().getPayload()));
+            message.onConsumed(MessageConsumptionStatus.SENT);
         }
 
         assertEquals(3, consumer.getCommittedMessagesCount());
@@ -81,8 +81,8 @@ class UnGroupedMessageSrcTest {
         assertEquals(2, res);
 
         for (int i = 0; i < res; i++) {
-            messageTrackers[i].onConsumed(MessageConsumptionStatus.SENT);
             committedList.add(new String(messageTrackers[i].getMessage().getPayload()));
+            messageTrackers[i].onConsumed(MessageConsumptionStatus.SENT);
         }
 
         assertEquals(5, consumer.getCommittedMessagesCount());
@@ -107,8 +107,8 @@ class UnGroupedMessageSrcTest {
         List<String> committedList = new ArrayList<>();
         // a, b, c, d
         for (MessageTracker message : messageTrackers) {
-            message.onConsumed(MessageConsumptionStatus.SENT);
             committedList.add(new String(message.getMessage().getPayload()));
+            message.onConsumed(MessageConsumptionStatus.SENT);
         }
 
         assertEquals(4, consumer.getCommittedMessagesCount());
@@ -147,8 +147,8 @@ class UnGroupedMessageSrcTest {
         List<String> committedList = new ArrayList<>();
         // a, b, c
         for (MessageTracker message : messageTrackers) {
-            message.onConsumed(MessageConsumptionStatus.SENT);
             committedList.add(new String(message.getMessage().getPayload()));
+            message.onConsumed(MessageConsumptionStatus.SENT);
         }
 
         assertEquals(3, consumer.getCommittedMessagesCount());
@@ -0,0 +1,119 @@
+package com.flipkart.varadhi.consumer.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventExecutorGroupTest {
+
+    private ScheduledExecutorService scheduler;
+    private EventExecutorGroup group;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        group = new EventExecutorGroup(scheduler, CustomThread::new, LinkedBlockingQueue::new);
+    }
+
+    @AfterEach
+    void tearDown() {
+        group.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testAssignRequiresExecutors() {
+        assertThrows(IllegalStateException.class, () -> group.assign(1));
+    }
+
+    @Test
+    void testAssignSpreadsByWeight() {
+        group.ensureExecutors(3);
+        group.ensureExecutors(2);
+        assertEquals(3, group.getAssignedWeights().length);
+
+        EventExecutor heavy = group.assign(1000);
+        EventExecutor second = group.assign(100);
+        EventExecutor third = group.assign(100);
+        assertNotSame(heavy, second);
+        assertNotSame(heavy, third);
+        assertNotSame(second, third);
+
+        // lighter executors keep getting the new contexts, till they catch up with the heavy one.
+        for (int i = 0; i < 8; i++) {
+            assertNotSame(heavy, group.assign(100));
+        }
+        assertArrayEquals(new long[] {1000, 500, 500}, group.getAssignedWeights());
+
+        group.release(heavy, 1000);
+        assertSame(heavy, group.assign(10));
+    }
+
+    @Test
+    void testContextsRunOnTheirPinnedExecutor() {
+        group.ensureExecutors(2);
+        Context ctx1 = new Context(group.assign(1));
+        Context ctx2 = new Context(group.assign(1));
+
+        Thread thread1 = ctx1.executeOnContext(Thread::currentThread).join();
+        Thread thread2 = ctx2.executeOnContext(Thread::currentThread).join();
+        assertNotSame(thread1, thread2);
+        assertTrue(ctx1.executeOnContext(ctx1::isInContext).join());
+        assertFalse(CompletableFuture.supplyAsync(ctx1::isInContext).join());
+    }
+
+    @Test
+    void testReleaseOfUnknownExecutorFails() {
+        EventExecutor other = new EventExecutor(scheduler, CustomThread::new, new LinkedBlockingQueue<>());
+        other.stop();
+        group.ensureExecutors(1);
+        assertThrows(IllegalArgumentException.class, () -> group.release(other, 1));
+    }
+
+    @Test
+    void testFullTaskQueueRejectsTasksOfOtherThreads() throws Exception {
+        EventExecutor executor = new EventExecutor(scheduler, CustomThread::new, new LinkedBlockingQueue<>(1));
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            running.await();
+            CountDownLatch drained = new CountDownLatch(1);
+            executor.execute(drained::countDown);
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+            }));
+            release.countDown();
+            drained.await();
+
+            // on its own thread, the executor runs the task that does not fit right away.
+            List<Integer> ran = new CopyOnWriteArrayList<>();
+            List<Integer> ranBeforeReturn = CompletableFuture.supplyAsync(() -> {
+                executor.execute(() -> ran.add(1));
+                executor.execute(() -> ran.add(2));
+                return List.copyOf(ran);
+            }, executor).get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(2), ranBeforeReturn);
+        } finally {
+            executor.stop();
+        }
+    }
+}
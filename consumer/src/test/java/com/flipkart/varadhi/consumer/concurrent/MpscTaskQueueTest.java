@@ -0,0 +1,127 @@
+package com.flipkart.varadhi.consumer.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscTaskQueueTest {
+
+    private final Context.Task noop = new EventExecutor.WrappedTask(null, () -> {
+    });
+
+    @Test
+    void testTasksBeyondCapacityOverflow() throws InterruptedException {
+        MpscTaskQueue queue = new MpscTaskQueue(4, 0);
+        List<Context.Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Context.Task task = new EventExecutor.WrappedTask(null, () -> {
+            });
+            tasks.add(task);
+            assertTrue(queue.offer(task));
+        }
+        assertEquals(2, queue.overflowSize());
+        assertEquals(6, queue.size());
+
+        // the tasks are taken in the order they were added, the overflowed ones after the others.
+        assertSame(tasks.get(0), queue.poll());
+        assertTrue(queue.offer(noop));
+        assertEquals(3, queue.overflowSize());
+        List<Context.Task> drained = new ArrayList<>();
+        assertEquals(6, queue.drainTo(drained));
+        assertEquals(tasks.subList(1, 6), drained.subList(0, 5));
+        assertSame(noop, drained.get(5));
+        assertNull(queue.poll());
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Timeout (10)
+    void testTasksFromAnotherThreadRunOnceTheQueueIsFull() throws InterruptedException {
+        MpscTaskQueue queue = new MpscTaskQueue(4, 0);
+        EventExecutor executor = new EventExecutor(null, CustomThread::new, queue);
+        Context context = new Context(executor);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        context.run(context.wrap(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        blocked.await();
+
+        int tasks = 16;
+        CountDownLatch done = new CountDownLatch(tasks);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < tasks; i++) {
+                context.run(context.wrap(done::countDown));
+            }
+        });
+        producer.start();
+        producer.join();
+        assertTrue(queue.overflowSize() > 0);
+
+        release.countDown();
+        done.await();
+        assertEquals(0, queue.size());
+        executor.stop();
+        context.run(context.wrap(() -> {
+        }));
+    }
+
+    @Test
+    @Timeout (10)
+    void testExecutorRunsTasksFromManyProducers() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MpscTaskQueue queue = new MpscTaskQueue(1024, 100, registry, "test");
+        EventExecutor executor = new EventExecutor(null, CustomThread::new, queue);
+        Context context = new Context(executor);
+
+        int producers = 4;
+        int tasksPerProducer = 10_000;
+        AtomicInteger executed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers * tasksPerProducer);
+        Context.Task task = context.wrap(() -> {
+            assertTrue(context.isInContext());
+            executed.incrementAndGet();
+            done.countDown();
+        });
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < tasksPerProducer; i++) {
+                    queue.offer(task);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        done.await();
+        assertEquals(producers * tasksPerProducer, executed.get());
+
+        // the executor parks once idle and must still wake up for a new task.
+        Thread.sleep(50);
+        assertTrue(context.executeOnContext(context::isInContext).join());
+
+        assertTrue(registry.get("consumer.executor.task.latency").timer().count() > 0);
+        assertEquals(0, registry.get("consumer.executor.queue.depth").gauge().value());
+
+        executor.stop();
+        context.run(context.wrap(() -> {
+        }));
+    }
+}
@@ -0,0 +1,73 @@
+package com.flipkart.varadhi.consumer.delivery;
+
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.SimpleMessage;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchFramingTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("X-Msg-Id", "m1");
+        headers.put("X-Multi", "a");
+        headers.put("X-Multi", "ü");
+        List<Message> messages = List.of(
+            new SimpleMessage("first".getBytes(StandardCharsets.UTF_8), headers),
+            new SimpleMessage(new byte[0], ArrayListMultimap.create())
+        );
+
+        List<Message> decoded = BatchFraming.decode(BatchFraming.encode(messages));
+
+        assertEquals(2, decoded.size());
+        assertArrayEquals(messages.get(0).getPayload(), decoded.get(0).getPayload());
+        assertEquals(headers, decoded.get(0).getHeaders());
+        assertEquals(0, decoded.get(1).getPayload().length);
+        assertTrue(decoded.get(1).getHeaders().isEmpty());
+    }
+
+    @Test
+    void testResponsesFromStatusArray() {
+        DeliveryResponse[] responses = BatchFraming.toResponses(
+            200,
+            "[200, 503, 204]".getBytes(StandardCharsets.UTF_8),
+            3,
+            Endpoint.Protocol.HTTP2
+        );
+
+        assertTrue(responses[0].success());
+        assertFalse(responses[1].success());
+        assertEquals(503, responses[1].statusCode());
+        assertTrue(responses[2].success());
+    }
+
+    @Test
+    void testEmptyBodyAppliesStatusToAll() {
+        DeliveryResponse[] responses = BatchFraming.toResponses(204, new byte[0], 2, Endpoint.Protocol.HTTP1_1);
+        assertTrue(responses[0].success());
+        assertTrue(responses[1].success());
+
+        responses = BatchFraming.toResponses(500, "[200, 200]".getBytes(), 2, Endpoint.Protocol.HTTP1_1);
+        assertFalse(responses[0].success());
+        assertFalse(responses[1].success());
+    }
+
+    @Test
+    void testUnusableResponseFailsAll() {
+        DeliveryResponse[] mismatch = BatchFraming.toResponses(200, "[200]".getBytes(), 2, Endpoint.Protocol.HTTP2);
+        DeliveryResponse[] garbage = BatchFraming.toResponses(200, "ok".getBytes(), 2, Endpoint.Protocol.HTTP2);
+
+        for (DeliveryResponse response : List.of(mismatch[0], mismatch[1], garbage[0], garbage[1])) {
+            assertEquals(BatchFraming.INVALID_RESPONSE_STATUS, response.statusCode());
+            assertFalse(response.success());
+        }
+    }
+}
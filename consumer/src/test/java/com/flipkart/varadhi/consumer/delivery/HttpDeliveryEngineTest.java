@@ -0,0 +1,122 @@
+package com.flipkart.varadhi.consumer.delivery;
+
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.SimpleMessage;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpDeliveryEngineTest {
+
+    private HttpServer server;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry registry;
+    private HttpDeliveryEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> {
+            received.add(
+                exchange.getRequestHeaders().getFirst("X-Test") + ":" + new String(
+                    exchange.getRequestBody().readAllBytes(),
+                    StandardCharsets.UTF_8
+                )
+            );
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/fail", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        registry = new SimpleMeterRegistry();
+        engine = new HttpDeliveryEngine(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testDeliversPayloadAndHeaders() throws Exception {
+        Multimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("X-Test", "v1");
+        headers.put("Host", "not-allowed");
+
+        MessageDelivery delivery = engine.create(endpoint("/ok", false));
+        DeliveryResponse response = delivery.deliver(
+            new SimpleMessage("hello".getBytes(StandardCharsets.UTF_8), headers)
+        ).join();
+
+        assertTrue(response.success());
+        assertEquals(List.of("v1:hello"), received);
+    }
+
+    @Test
+    void testClientsAreSharedPerOriginAndVersion() {
+        Endpoint.HttpEndpoint ok = endpoint("/ok", false);
+        Endpoint.HttpEndpoint fail = endpoint("/fail", false);
+        Endpoint.HttpEndpoint okHttp2 = endpoint("/ok", true);
+
+        assertSame(engine.getClient(ok), engine.getClient(fail));
+        assertNotSame(engine.getClient(ok), engine.getClient(okHttp2));
+    }
+
+    @Test
+    void testRecordsLatencyByStatusClass() throws Exception {
+        MessageDelivery ok = engine.create(endpoint("/ok", false));
+        MessageDelivery fail = engine.create(endpoint("/fail", false));
+        SimpleMessage message = new SimpleMessage(new byte[0], ArrayListMultimap.create());
+
+        ok.deliver(message).join();
+        ok.deliver(message).join();
+        assertFalse(fail.deliver(message).join().success());
+
+        String okTag = HttpDeliveryEngine.endpointTag(endpoint("/ok", false).getUri());
+        String failTag = HttpDeliveryEngine.endpointTag(endpoint("/fail", false).getUri());
+        assertEquals(2, latency(okTag, "2xx").count());
+        assertEquals(1, latency(failTag, "5xx").count());
+        assertEquals(0, registry.get("consumer.delivery.inflight").tag("endpoint", okTag).gauge().value());
+    }
+
+    @Test
+    void testClientAndMetricsAreReleasedWithTheLastDelivery() {
+        String okTag = HttpDeliveryEngine.endpointTag(endpoint("/ok", false).getUri());
+        MessageDelivery first = engine.create(endpoint("/ok", false));
+        MessageDelivery second = engine.create(endpoint("/ok", false));
+
+        first.close();
+        assertEquals(1, engine.getClientCount());
+        assertNotNull(registry.find("consumer.delivery.inflight").tag("endpoint", okTag).gauge());
+
+        second.close();
+        assertEquals(0, engine.getClientCount());
+        assertNull(registry.find("consumer.delivery.inflight").tag("endpoint", okTag).gauge());
+        assertNull(registry.find("consumer.delivery.latency").tag("endpoint", okTag).timer());
+    }
+
+    private Timer latency(String endpoint, String status) {
+        return registry.get("consumer.delivery.latency").tag("endpoint", endpoint).tag("status", status).timer();
+    }
+
+    private Endpoint.HttpEndpoint endpoint(String path, boolean http2) {
+        URI uri = URI.create("http://localhost:" + server.getAddress().getPort() + path + "?q=1");
+        return new Endpoint.HttpEndpoint(uri, "POST", "text/plain", 500, 2000, http2);
+    }
+}
@@ -0,0 +1,61 @@
+package com.flipkart.varadhi.consumer.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void testGrowsUpToMaxWhileLatencyHolds() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(1, 10, 100);
+        int previous = limit.getLimit();
+        for (int i = 0; i < 20_000; ++i) {
+            limit.onSample(10 * MS, limit.getLimit(), false);
+            assertTrue(limit.getLimit() >= previous);
+            previous = limit.getLimit();
+        }
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    void testShrinksWhenLatencyRises() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(1, 50, 100);
+        sample(limit, 2_000, 10 * MS, false);
+        int saturated = limit.getLimit();
+
+        sample(limit, 2_000, 40 * MS, false);
+        assertTrue(limit.getLimit() < saturated, "limit: " + limit.getLimit() + ", was: " + saturated);
+    }
+
+    @Test
+    void testBacksOffOnDrops() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 80, 100);
+        sample(limit, 1_000, 10 * MS, true);
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void testDoesNotGrowWhenUnderUsed() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(1, 40, 100);
+        for (int i = 0; i < 5_000; ++i) {
+            limit.onSample(10 * MS, 5, false);
+        }
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    void testInvalidLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new GradientConcurrencyLimit(0, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GradientConcurrencyLimit(1, 11, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GradientConcurrencyLimit(5, 1, 10));
+    }
+
+    private static void sample(GradientConcurrencyLimit limit, int count, long rttNanos, boolean dropped) {
+        for (int i = 0; i < count; ++i) {
+            limit.onSample(rttNanos, limit.getLimit(), dropped);
+        }
+    }
+}
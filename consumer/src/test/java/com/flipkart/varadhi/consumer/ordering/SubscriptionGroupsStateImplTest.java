@@ -0,0 +1,234 @@
+package com.flipkart.varadhi.consumer.ordering;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.flipkart.varadhi.consumer.MessageTracker;
+import com.flipkart.varadhi.entities.InternalQueueType;
+import com.flipkart.varadhi.entities.JsonMapper;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
+import com.flipkart.varadhi.spi.mock.InMemoryOffset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubscriptionGroupsStateImplTest {
+
+    private static final InternalQueueType MAIN = InternalQueueType.mainType();
+    private static final InternalQueueType RQ1 = InternalQueueType.retryType(1);
+    private static final InternalQueueType RQ2 = InternalQueueType.retryType(2);
+    private static final InternalQueueType DLQ = InternalQueueType.deadLetterType();
+
+    // a copy, so that the offset type registered here is not seen by the other tests.
+    private static final ObjectMapper MAPPER = JsonMapper.getMapper().copy();
+
+    static {
+        MAPPER.registerSubtypes(new NamedType(InMemoryOffset.class, "InMemoryOffset"));
+    }
+
+    @Test
+    void testFailedGroupBlocksNewerMessagesUntilConsumed() {
+        SubscriptionGroupsStateImpl state = new SubscriptionGroupsStateImpl(new InMemoryGroupPointerStore());
+        assertNull(state.getPointer("g1"));
+
+        state.messageTransitioned("g1", MAIN, pointer(10), RQ1, pointer(100)).join();
+        assertEquals(RQ1, state.getPointer("g1").isFailed(MAIN));
+        // the failed message itself, when polled from RQ1, is not blocked.
+        assertNull(state.getPointer("g1").isFailed(RQ1));
+
+        // newer message of the group is parked behind the failed one.
+        state.messageTransitioned("g1", MAIN, pointer(11), RQ1, pointer(101)).join();
+        state.messageConsumed("g1", RQ1, pointer(100)).join();
+        assertEquals(RQ1, state.getPointer("g1").isFailed(MAIN));
+
+        state.messageConsumed("g1", RQ1, pointer(101)).join();
+        assertNull(state.getPointer("g1"));
+        assertEquals(0, state.getFailedGroupCount());
+    }
+
+    @Test
+    void testMessageMovesToLaterQueues() {
+        SubscriptionGroupsStateImpl state = new SubscriptionGroupsStateImpl(new InMemoryGroupPointerStore());
+        state.messageTransitioned("g1", MAIN, pointer(10), RQ1, pointer(100)).join();
+        state.messageTransitioned("g1", RQ1, pointer(100), RQ2, pointer(200)).join();
+
+        GroupPointer groupPointer = state.getPointer("g1");
+        assertEquals(RQ2, groupPointer.isFailed(MAIN));
+        assertEquals(RQ2, groupPointer.isFailed(RQ1));
+        assertNull(groupPointer.isFailed(RQ2));
+
+        state.messageTransitioned("g1", RQ2, pointer(200), DLQ, pointer(300)).join();
+        assertEquals(DLQ, state.getPointer("g1").isFailed());
+        assertEquals(DLQ, state.getPointer("g1").isFailed(RQ2));
+    }
+
+    @Test
+    void testPopulatePointers() {
+        SubscriptionGroupsStateImpl state = new SubscriptionGroupsStateImpl(new InMemoryGroupPointerStore());
+        MessageTracker[] messages = {tracker("g1"), tracker("g2"), tracker("g3")};
+        GroupPointer[] pointers = new GroupPointer[4];
+
+        state.populatePointers(messages, pointers, messages.length);
+        assertArrayEquals(new GroupPointer[4], pointers);
+
+        state.messageTransitioned("g2", MAIN, pointer(10), RQ1, pointer(100)).join();
+        state.populatePointers(messages, pointers, messages.length);
+        assertNull(pointers[0]);
+        assertSame(state.getPointer("g2"), pointers[1]);
+        assertNull(pointers[2]);
+
+        state.messageConsumed("g2", RQ1, pointer(100)).join();
+        state.populatePointers(messages, pointers, messages.length);
+        assertArrayEquals(new GroupPointer[4], pointers);
+    }
+
+    @Test
+    void testStateIsRestoredFromLocalFile(@TempDir Path dir) {
+        Path file = dir.resolve("groups.log");
+        try (LocalFileGroupPointerStore store = new LocalFileGroupPointerStore(file, MAPPER)) {
+            SubscriptionGroupsStateImpl state = new SubscriptionGroupsStateImpl(store);
+            state.messageTransitioned("g1", MAIN, pointer(10), RQ1, pointer(100)).join();
+            state.messageTransitioned("g1", MAIN, pointer(11), RQ1, pointer(101)).join();
+            state.messageTransitioned("g2", MAIN, pointer(12), RQ1, pointer(102)).join();
+            state.messageConsumed("g1", RQ1, pointer(100)).join();
+            state.messageConsumed("g2", RQ1, pointer(102)).join();
+        }
+
+        try (LocalFileGroupPointerStore store = new LocalFileGroupPointerStore(file, MAPPER)) {
+            SubscriptionGroupsStateImpl state = new SubscriptionGroupsStateImpl(store);
+            assertEquals(1, state.getFailedGroupCount());
+            assertNull(state.getPointer("g2"));
+            QueueGroupPointer rq1 = state.getPointer("g1").getPointer(RQ1);
+            assertEquals(pointer(101), rq1.getProducePointer());
+            assertEquals(pointer(100), rq1.getConsumePointer());
+
+            state.messageConsumed("g1", RQ1, pointer(101)).join();
+        }
+
+        try (LocalFileGroupPointerStore store = new LocalFileGroupPointerStore(file, MAPPER)) {
+            assertTrue(store.load().isEmpty());
+        }
+    }
+
+    @Test
+    void testLocalFileIsCompactedAsItGrows(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("groups.log");
+        try (LocalFileGroupPointerStore store = new LocalFileGroupPointerStore(file, MAPPER, 8)) {
+            SubscriptionGroupsStateImpl state = new SubscriptionGroupsStateImpl(store);
+            for (int i = 0; i < 100; i++) {
+                state.messageTransitioned("g1", MAIN, pointer(i), RQ1, pointer(100 + i)).join();
+            }
+            state.messageTransitioned("g2", MAIN, pointer(200), RQ1, pointer(300)).join();
+            assertTrue(store.getLines() < 8, "lines: " + store.getLines());
+            assertEquals(store.getLines(), Files.readAllLines(file).size());
+        }
+
+        try (LocalFileGroupPointerStore store = new LocalFileGroupPointerStore(file, MAPPER)) {
+            Map<String, GroupPointer> pointers = store.load();
+            assertEquals(2, pointers.size());
+            assertEquals(pointer(199), pointers.get("g1").getPointer(RQ1).getProducePointer());
+            assertEquals(pointer(300), pointers.get("g2").getPointer(RQ1).getProducePointer());
+        }
+    }
+
+    @Test
+    void testStateIsRestoredFromMetaStore() {
+        Map<String, byte[]> states = new ConcurrentHashMap<>();
+        GroupStateStore groupStateStore = new GroupStateStore() {
+            @Override
+            public Map<String, byte[]> getAll(String subscription, int shardId) {
+                return Map.copyOf(states);
+            }
+
+            @Override
+            public void put(String subscription, int shardId, String groupId, byte[] state) {
+                states.put(groupId, state);
+            }
+
+            @Override
+            public void delete(String subscription, int shardId, String groupId) {
+                states.remove(groupId);
+            }
+        };
+
+        SubscriptionGroupsStateImpl state = new SubscriptionGroupsStateImpl(
+            new MetaStoreGroupPointerStore(groupStateStore, "sub", 0, MAPPER)
+        );
+        state.messageTransitioned("g1", MAIN, pointer(10), RQ1, pointer(100)).join();
+        state.messageTransitioned("g2", MAIN, pointer(11), RQ1, pointer(101)).join();
+        state.messageConsumed("g2", RQ1, pointer(101)).join();
+        assertEquals(Set.of("g1"), states.keySet());
+
+        SubscriptionGroupsStateImpl restored = new SubscriptionGroupsStateImpl(
+            new MetaStoreGroupPointerStore(groupStateStore, "sub", 0, MAPPER)
+        );
+        assertEquals(1, restored.getFailedGroupCount());
+        assertEquals(pointer(100), restored.getPointer("g1").getPointer(RQ1).getProducePointer());
+    }
+
+    @Test
+    void testGroupPointerTableGrowsAndShrinks() {
+        GroupPointerTable table = new GroupPointerTable();
+        Map<String, GroupPointer> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            GroupPointer pointer = GroupPointer.empty();
+            table.put("group-" + i, pointer);
+            expected.put("group-" + i, pointer);
+        }
+        assertEquals(expected.size(), table.size());
+        for (int i = 0; i < 10_000; i += 2) {
+            table.remove("group-" + i);
+            expected.remove("group-" + i);
+        }
+        table.remove("unknown");
+        assertEquals(expected.size(), table.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertSame(expected.get("group-" + i), table.get("group-" + i));
+        }
+    }
+
+    private static MessagePointer pointer(long offset) {
+        return new MessagePointer(1, new InMemoryOffset(0, offset));
+    }
+
+    private static MessageTracker tracker(String groupId) {
+        MessageTracker tracker = mock(MessageTracker.class);
+        when(tracker.getGroupId()).thenReturn(groupId);
+        return tracker;
+    }
+
+    @Test
+    void testSavesAreIssuedOffTheCallerInOrder() {
+        Thread caller = Thread.currentThread();
+        List<String> saved = new ArrayList<>();
+        SubscriptionGroupsStateImpl[] state = new SubscriptionGroupsStateImpl[1];
+        GroupPointerStore store = new InMemoryGroupPointerStore() {
+            @Override
+            public CompletableFuture<Void> save(String groupId, GroupPointer pointer) {
+                // a store blocking here holds up neither the lookups nor the completion thread.
+                assertFalse(Thread.holdsLock(state[0]));
+                assertNotSame(caller, Thread.currentThread());
+                saved.add(groupId + (pointer == null ? ":removed" : ":saved"));
+                return super.save(groupId, pointer);
+            }
+        };
+        state[0] = new SubscriptionGroupsStateImpl(store);
+
+        state[0].messageTransitioned("g1", MAIN, pointer(10), RQ1, pointer(100)).join();
+        state[0].messageTransitioned("g2", MAIN, pointer(11), RQ1, pointer(101)).join();
+        state[0].messageConsumed("g1", RQ1, pointer(100)).join();
+        assertEquals(List.of("g1:saved", "g2:saved", "g1:removed"), saved);
+    }
+}
@@ -0,0 +1,140 @@
+package com.flipkart.varadhi.controller.impl;
+
+import com.flipkart.varadhi.controller.AssignmentStrategy;
+import com.flipkart.varadhi.controller.config.AssignmentStrategyType;
+import com.flipkart.varadhi.core.cluster.ConsumerNode;
+import com.flipkart.varadhi.core.cluster.NodeCapacity;
+import com.flipkart.varadhi.core.cluster.NodeProvider;
+import com.flipkart.varadhi.core.exceptions.CapacityException;
+import com.flipkart.varadhi.entities.SubscriptionTestUtils;
+import com.flipkart.varadhi.entities.SubscriptionUnitShard;
+import com.flipkart.varadhi.entities.TopicCapacityPolicy;
+import com.flipkart.varadhi.entities.VaradhiSubscription;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH simulation of the assignment of {@link #numShards} shards of subscriptions of random size to {@link #numNodes}
+ * consumer nodes, whose capacity is {@link #UTILIZATION_PERCENT}% used once all the shards are assigned. The score
+ * is the time to assign them all, one subscription after another as they are created.
+ * <p>
+ * The counters report per iteration:
+ * <ul>
+ * <li>unassignedShards: shards of the subscriptions which could not be assigned.</li>
+ * <li>plannedMoves: shards planned to move to make room for those subscriptions, see
+ * {@link AssignmentStrategy#planMoves}.</li>
+ * <li>fragmentationPercent: % of the free qps left on the nodes which the median shard doesn't fit on.</li>
+ * </ul>
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.SingleShotTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+public class AssignmentStrategyBenchmark {
+
+    static final int UTILIZATION_PERCENT = 90;
+    static final int MAX_SHARDS_PER_SUBSCRIPTION = 8;
+    static final int[] SHARD_QPS = {50, 100, 200, 400, 800};
+
+    @Param ({"LEAST_ASSIGNED", "BIN_PACKING"})
+    private AssignmentStrategyType strategyType;
+
+    @Param ({"1000"})
+    private int numNodes;
+
+    @Param ({"100000"})
+    private int numShards;
+
+    private AssignmentStrategy strategy;
+    private List<VaradhiSubscription> subscriptions;
+    private NodeCapacity nodeCapacity;
+    private TopicCapacityPolicy medianShard;
+    private List<ConsumerNode> nodes;
+
+    @State (Scope.Thread)
+    @AuxCounters (AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long unassignedShards;
+        public long plannedMoves;
+        public double fragmentationPercent;
+
+        @Setup (Level.Iteration)
+        public void reset() {
+            unassignedShards = 0;
+            plannedMoves = 0;
+            fragmentationPercent = 0;
+        }
+    }
+
+    @Setup (Level.Trial)
+    public void setup() {
+        strategy = switch (strategyType) {
+            case LEAST_ASSIGNED -> new LeastAssignedStrategy();
+            case BIN_PACKING -> new BinPackingStrategy();
+        };
+        Random random = new Random(42);
+        subscriptions = new ArrayList<>();
+        List<TopicCapacityPolicy> requests = new ArrayList<>();
+        long totalQps = 0;
+        long totalKBps = 0;
+        int shards = 0;
+        while (shards < numShards) {
+            int subShards = Math.min(numShards - shards, 1 + random.nextInt(MAX_SHARDS_PER_SUBSCRIPTION));
+            int qps = SHARD_QPS[random.nextInt(SHARD_QPS.length)];
+            TopicCapacityPolicy request = SubscriptionTestUtils.getCapacity(qps, qps * (1 + random.nextInt(4)));
+            subscriptions.add(
+                SubscriptionTestUtils.builder()
+                                     .setShards(SubscriptionTestUtils.getShards(subShards, request))
+                                     .build("sub" + subscriptions.size(), "project1", "project1.topic")
+            );
+            for (int i = 0; i < subShards; i++) {
+                requests.add(request);
+            }
+            totalQps += (long)qps * subShards;
+            totalKBps += (long)request.getThroughputKBps() * subShards;
+            shards += subShards;
+        }
+        nodeCapacity = NodeProvider.getNodeCapacity(
+            (int)(totalQps * 100 / UTILIZATION_PERCENT / numNodes) + 1,
+            (int)(totalKBps * 100 / UTILIZATION_PERCENT / numNodes) + 1
+        );
+        requests.sort(Comparator.naturalOrder());
+        medianShard = requests.get(requests.size() / 2);
+    }
+
+    @Setup (Level.Iteration)
+    public void createNodes() {
+        nodes = NodeProvider.getConsumerNodes(numNodes, nodeCapacity);
+    }
+
+    @Benchmark
+    public List<ConsumerNode> assign(Counters counters) {
+        for (VaradhiSubscription subscription : subscriptions) {
+            List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(subscription);
+            try {
+                strategy.assign(shards, subscription, nodes);
+            } catch (CapacityException e) {
+                counters.unassignedShards += shards.size();
+                counters.plannedMoves += strategy.planMoves(shards, subscription, nodes).size();
+            }
+        }
+        counters.fragmentationPercent = fragmentationPercent();
+        return nodes;
+    }
+
+    private double fragmentationPercent() {
+        long freeQps = 0;
+        long strandedQps = 0;
+        for (ConsumerNode node : nodes) {
+            freeQps += node.getAvailable().getMaxQps();
+            if (!node.canAllocate(medianShard)) {
+                strandedQps += node.getAvailable().getMaxQps();
+            }
+        }
+        return freeQps == 0 ? 0 : strandedQps * 100.0 / freeQps;
+    }
+}
@@ -3,6 +3,7 @@ package com.flipkart.varadhi.controller;
 import com.flipkart.varadhi.entities.SubscriptionShards;
 import com.flipkart.varadhi.entities.cluster.Assignment;
 import com.flipkart.varadhi.core.cluster.ConsumerNode;
+import com.flipkart.varadhi.core.exceptions.CapacityException;
 import com.flipkart.varadhi.entities.SubscriptionUnitShard;
 import com.flipkart.varadhi.entities.VaradhiSubscription;
 import com.flipkart.varadhi.spi.db.AssignmentStore;
@@ -13,15 +14,22 @@ import org.apache.commons.lang3.mutable.MutableBoolean;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class AssignmentManager {
+    // a move which hasn't completed by then, e.g. as its operation waits behind others, is given up on.
+    private static final long MOVE_TIMEOUT_SECONDS = 60;
     private final String metricPrefix = "controller.assignmentMgr";
     private final AssignmentStrategy strategy;
     private final Map<String, ConsumerNode> consumerNodes;
     private final AssignmentStore assignmentStore;
     private final ExecutorService executor;
+    // nodes overloaded going by their live load, avoided for new assignments while others have capacity.
+    private volatile Set<String> overloadedNodes = Set.of();
+    // moves a shard off its current node, completing once its capacity there is free. null if shards aren't moved.
+    private volatile Function<Assignment, CompletableFuture<Void>> shardMover;
 
     public AssignmentManager(
         AssignmentStrategy strategy,
@@ -43,6 +51,34 @@ public class AssignmentManager {
         List<SubscriptionUnitShard> shards,
         VaradhiSubscription subscription,
         List<String> nodesToExclude
+    ) {
+        List<Assignment> plannedMoves = new ArrayList<>();
+        return assignShards(shards, subscription, nodesToExclude, plannedMoves).exceptionallyCompose(t -> {
+            if (plannedMoves.isEmpty()) {
+                return CompletableFuture.failedFuture(t);
+            }
+            // the shards fit once the planned shards of other subscriptions have moved, which is attempted once.
+            log.info(
+                "Moving {} shards for Subscription:{} to fit: {}.",
+                plannedMoves.size(),
+                subscription.getName(),
+                plannedMoves
+            );
+            return moveShards(plannedMoves).thenCompose(
+                v -> assignShards(shards, subscription, nodesToExclude, null)
+            );
+        });
+    }
+
+    /**
+     * @param plannedMoves to collect the moves which make room for the shards when they don't fit, null if the shards
+     *                     are not to be moved.
+     */
+    private CompletableFuture<List<Assignment>> assignShards(
+        List<SubscriptionUnitShard> shards,
+        VaradhiSubscription subscription,
+        List<String> nodesToExclude,
+        List<Assignment> plannedMoves
     ) {
         return CompletableFuture.supplyAsync(() -> {
             List<Assignment> newAssignments = new ArrayList<>();
@@ -58,7 +94,7 @@ public class AssignmentManager {
                                                                      )
                                                                      .collect(Collectors.toList());
                 // create new assignments only for shards which are still un-assigned.
-                newAssignments.addAll(doAssignments(unAssignedShards, subscription, nodesToExclude));
+                newAssignments.addAll(doAssignments(unAssignedShards, subscription, nodesToExclude, plannedMoves));
                 assignmentStore.createAssignments(newAssignments);
                 log.info("Created {} new Assignments for {}.", newAssignments.size(), subscription.getName());
 
@@ -77,6 +113,27 @@ public class AssignmentManager {
         }, executor);
     }
 
+    /**
+     * Moves the shards through the shard mover, one re-assign each.
+     *
+     * @return completes once all the moves are done, whether they succeeded or not.
+     */
+    private CompletableFuture<Void> moveShards(List<Assignment> moves) {
+        Function<Assignment, CompletableFuture<Void>> mover = shardMover;
+        CompletableFuture<?>[] moved = moves.stream().map(move -> {
+            try {
+                return mover.apply(move).orTimeout(MOVE_TIMEOUT_SECONDS, TimeUnit.SECONDS).exceptionally(t -> {
+                    log.warn("Failed to move Shard({}): {}.", move, t.getMessage());
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("Failed to move Shard({}): {}.", move, e.getMessage());
+                return CompletableFuture.completedFuture(null);
+            }
+        }).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(moved);
+    }
+
     private Map<Integer, Assignment> getExistingAssignments(
         List<SubscriptionUnitShard> shards,
         VaradhiSubscription subscription
@@ -93,10 +150,34 @@ public class AssignmentManager {
     private List<Assignment> doAssignments(
         List<SubscriptionUnitShard> unAssignedShards,
         VaradhiSubscription subscription,
-        List<String> nodesToExclude
+        List<String> nodesToExclude,
+        List<Assignment> plannedMoves
     ) {
+        Set<String> overloaded = overloadedNodes;
+        if (!overloaded.isEmpty()) {
+            List<String> nodesToAvoid = new ArrayList<>(nodesToExclude);
+            nodesToAvoid.addAll(overloaded);
+            try {
+                return strategy.assign(unAssignedShards, subscription, getActiveConsumers(nodesToAvoid));
+            } catch (CapacityException e) {
+                log.info(
+                    "Subscription:{} doesn't fit without the overloaded nodes {}.",
+                    subscription.getName(),
+                    overloaded
+                );
+            }
+        }
         List<ConsumerNode> activeConsumers = getActiveConsumers(nodesToExclude);
-        return strategy.assign(unAssignedShards, subscription, activeConsumers);
+        try {
+            return strategy.assign(unAssignedShards, subscription, activeConsumers);
+        } catch (CapacityException e) {
+            // the capacity may be there, just not on a single node. The moves are made by the caller, as they take
+            // the assigner's executor themselves.
+            if (null != plannedMoves && null != shardMover) {
+                plannedMoves.addAll(strategy.planMoves(unAssignedShards, subscription, activeConsumers));
+            }
+            throw e;
+        }
     }
 
     private List<ConsumerNode> getActiveConsumers(List<String> nodesToExclude) {
@@ -188,6 +269,39 @@ public class AssignmentManager {
         }
     }
 
+    public boolean isConsumerNodeActive(String consumerNodeId) {
+        return consumerNodes.containsKey(consumerNodeId);
+    }
+
+    /**
+     * @return the executor the assignments are made on, one at a time.
+     */
+    Executor getExecutor() {
+        return executor;
+    }
+
+    public List<String> getActiveConsumerIds() {
+        return new ArrayList<>(consumerNodes.keySet());
+    }
+
+    /**
+     * Sets the consumer nodes which are overloaded going by their live load. New assignments avoid them, unless the
+     * shards don't fit on the other nodes.
+     */
+    public void setOverloadedNodes(Set<String> consumerNodeIds) {
+        overloadedNodes = Set.copyOf(consumerNodeIds);
+    }
+
+    /**
+     * Sets how the shards of other subscriptions are moved off their current node, when the shards being assigned
+     * fit only after such moves. Without it, the shards which don't fit fail to be assigned.
+     *
+     * @param shardMover moves the shard of the assignment, completing once its capacity on the current node is free.
+     */
+    public void setShardMover(Function<Assignment, CompletableFuture<Void>> shardMover) {
+        this.shardMover = shardMover;
+    }
+
     public List<Assignment> getSubAssignments(String subscriptionName) {
         return assignmentStore.getSubAssignments(subscriptionName);
     }
@@ -13,4 +13,19 @@ public interface AssignmentStrategy {
         VaradhiSubscription subscription,
         List<ConsumerNode> consumerNodes
     );
+
+    /**
+     * Plans the assigned shards of other subscriptions to move to another consumer node, so that the shards which
+     * could not be assigned fit. The consumer nodes are not changed.
+     *
+     * @return the current assignments of the shards to move, or empty if the strategy doesn't move shards or no moves
+     * make room for all the shards.
+     */
+    default List<Assignment> planMoves(
+        List<SubscriptionUnitShard> shards,
+        VaradhiSubscription subscription,
+        List<ConsumerNode> consumerNodes
+    ) {
+        return List.of();
+    }
 }
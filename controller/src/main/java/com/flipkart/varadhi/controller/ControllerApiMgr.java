@@ -1,6 +1,7 @@
 package com.flipkart.varadhi.controller;
 
 import com.flipkart.varadhi.common.exceptions.InvalidOperationForResourceException;
+import com.flipkart.varadhi.controller.config.RebalanceConfig;
 import com.flipkart.varadhi.spi.db.SubscriptionStore;
 import com.flipkart.varadhi.controller.impl.opexecutors.ReAssignOpExecutor;
 import com.flipkart.varadhi.controller.impl.opexecutors.StartOpExecutor;
@@ -255,22 +256,57 @@ public class ControllerApiMgr implements ControllerApi, ControllerConsumerApi {
             List<Assignment> assignments = assignmentManager.getConsumerNodeAssignments(consumerNodeId);
             assignments.forEach(assignment -> {
                 log.info("Assignment {} needs to be re-assigned", assignment);
-                SubscriptionOperation operation = SubscriptionOperation.reAssignShardOp(assignment, SYSTEM_IDENTITY);
-                VaradhiSubscription subscription = subscriptionStore.get(assignment.getSubscriptionId());
-                operationMgr.createAndEnqueue(
-                    operation,
-                    new ReAssignOpExecutor(
-                        subscription,
-                        consumerClientFactory,
-                        operationMgr,
-                        assignmentManager,
-                        subscriptionStore
-                    )
-                );
+                reAssignShard(assignment);
             });
         });
     }
 
+    /**
+     * Re-assigns the shard to a consumer node other than the current one, stopping it on the current one if that is
+     * still active.
+     *
+     * @return completes once the re-assign operation has moved the shard, i.e. its capacity on the current node is
+     * free, or fails if the operation fails.
+     */
+    public CompletableFuture<Void> reAssignShard(Assignment assignment) {
+        SubscriptionOperation operation = SubscriptionOperation.reAssignShardOp(assignment, SYSTEM_IDENTITY);
+        VaradhiSubscription subscription = subscriptionStore.get(assignment.getSubscriptionId());
+        ReAssignOpExecutor reAssigner = new ReAssignOpExecutor(
+            subscription,
+            consumerClientFactory,
+            operationMgr,
+            assignmentManager,
+            subscriptionStore
+        );
+        CompletableFuture<Void> moved = new CompletableFuture<>();
+        operationMgr.createAndEnqueue(operation, op -> {
+            try {
+                return reAssigner.execute(op).whenComplete((v, t) -> {
+                    if (null == t) {
+                        moved.complete(null);
+                    } else {
+                        moved.completeExceptionally(t);
+                    }
+                });
+            } catch (Exception e) {
+                moved.completeExceptionally(e);
+                throw e;
+            }
+        });
+        return moved;
+    }
+
+    public LoadRebalancer createLoadRebalancer(RebalanceConfig config) {
+        return new LoadRebalancer(
+            config,
+            assignmentManager,
+            this::getConsumerInfo,
+            this::reAssignShard,
+            assignmentManager.getExecutor(),
+            System::currentTimeMillis
+        );
+    }
+
     public CompletableFuture<Void> consumerNodeJoined(ConsumerNode consumerNode) {
         return getConsumerInfo(consumerNode.getConsumerId()).thenCompose(ci -> {
             consumerNode.initFromConsumerInfo(ci);
@@ -278,7 +314,7 @@ public class ControllerApiMgr implements ControllerApi, ControllerConsumerApi {
         });
     }
 
-    private CompletableFuture<ConsumerInfo> getConsumerInfo(String consumerId) {
+    public CompletableFuture<ConsumerInfo> getConsumerInfo(String consumerId) {
         ConsumerApi consumer = consumerClientFactory.getInstance(consumerId);
         return consumer.getConsumerInfo();
     }
@@ -7,7 +7,9 @@ import com.flipkart.varadhi.core.cluster.MessageExchange;
 import com.flipkart.varadhi.core.cluster.MessageRouter;
 import com.flipkart.varadhi.core.cluster.VaradhiClusterManager;
 import com.flipkart.varadhi.controller.config.OperationsConfig;
+import com.flipkart.varadhi.controller.config.RebalanceConfig;
 import com.flipkart.varadhi.controller.impl.LeastAssignedStrategy;
+import com.flipkart.varadhi.controller.impl.BinPackingStrategy;
 import com.flipkart.varadhi.core.cluster.consumer.ConsumerClientFactory;
 import com.flipkart.varadhi.core.cluster.ComponentKind;
 import com.flipkart.varadhi.core.cluster.ConsumerNode;
@@ -41,6 +43,7 @@ public class ControllerVerticle extends AbstractVerticle {
     private final EventProcessorConfig eventProcessorConfig;
 
     private ResourceEventProcessor entityEventProcessor;
+    private Long rebalanceTimerId;
 
     /**
      * Creates a new ControllerVerticle with the specified configuration and services.
@@ -78,6 +81,7 @@ public class ControllerVerticle extends AbstractVerticle {
         onLeaderElected(controllerApiMgr, apiHandler, messageRouter).compose(v -> initializeEventSystem())
                                                                     .onComplete(ar -> {
                                                                         if (ar.succeeded()) {
+                                                                            startRebalancer(controllerApiMgr);
                                                                             log.info("Controller started successfully");
                                                                             startPromise.complete();
                                                                         } else {
@@ -97,6 +101,10 @@ public class ControllerVerticle extends AbstractVerticle {
      */
     @Override
     public void stop(Promise<Void> stopPromise) {
+        if (rebalanceTimerId != null) {
+            vertx.cancelTimer(rebalanceTimerId);
+            rebalanceTimerId = null;
+        }
         if (entityEventProcessor != null) {
             entityEventProcessor.close();
             entityEventProcessor = null;
@@ -104,6 +112,24 @@ public class ControllerVerticle extends AbstractVerticle {
         stopPromise.complete();
     }
 
+    /**
+     * Starts the periodic rebalancing of the shards by the live load of the consumer nodes, if enabled.
+     *
+     * @param controllerApiMgr the controller API manager
+     */
+    private void startRebalancer(ControllerApiMgr controllerApiMgr) {
+        RebalanceConfig rebalanceConfig = operationsConfig.getRebalanceConfig();
+        if (rebalanceConfig == null || !rebalanceConfig.isEnabled()) {
+            return;
+        }
+        LoadRebalancer rebalancer = controllerApiMgr.createLoadRebalancer(rebalanceConfig);
+        rebalanceTimerId = vertx.setPeriodic(
+            rebalanceConfig.getIntervalInSeconds() * 1000L,
+            id -> rebalancer.rebalance()
+        );
+        log.info("Rebalancing by consumer load every {}s.", rebalanceConfig.getIntervalInSeconds());
+    }
+
     /**
      * Creates and initializes the EventProcessor for handling entity events.
      *
@@ -131,23 +157,40 @@ public class ControllerVerticle extends AbstractVerticle {
         // Create operation manager with retry policy
         OperationMgr operationMgr = new OperationMgr(
             operationsConfig.getMaxConcurrentOps(),
+            operationsConfig.getMaxInFlightShardOps(),
             metaStoreProvider.getOpStore(),
             createRetryPolicy()
         );
 
         // Create assignment manager
         AssignmentManager assigner = new AssignmentManager(
-            new LeastAssignedStrategy(),
+            createAssignmentStrategy(),
             metaStoreProvider.getAssignmentStore(),
             meterRegistry
         );
 
-        return new ControllerApiMgr(
+        ControllerApiMgr controllerApiMgr = new ControllerApiMgr(
             operationMgr,
             assigner,
             metaStoreProvider.getMetaStore().subscriptions(),
             consumerClientFactory
         );
+        // shards of other subscriptions are moved through re-assign operations, to make room for the ones that
+        // don't fit otherwise.
+        assigner.setShardMover(controllerApiMgr::reAssignShard);
+        return controllerApiMgr;
+    }
+
+    /**
+     * Creates the assignment strategy configured in the operations config.
+     *
+     * @return the configured AssignmentStrategy
+     */
+    private AssignmentStrategy createAssignmentStrategy() {
+        return switch (operationsConfig.getAssignmentStrategy()) {
+            case LEAST_ASSIGNED -> new LeastAssignedStrategy();
+            case BIN_PACKING -> new BinPackingStrategy();
+        };
     }
 
     /**
@@ -6,13 +6,25 @@ import com.flipkart.varadhi.core.cluster.events.EventType;
 import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.entities.*;
 import com.flipkart.varadhi.entities.MetaStoreEntityType;
+import com.flipkart.varadhi.entities.auth.IamPolicyRecord;
 import com.flipkart.varadhi.entities.filters.OrgFilters;
+import com.flipkart.varadhi.spi.db.IamPolicyStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreChangeEvent;
 import com.flipkart.varadhi.spi.db.MetaStoreEventListener;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
 /**
  * Default implementation of {@link MetaStoreEventListener} that bridges MetaStore events to EntityEvents.
  * <p>
@@ -20,6 +32,13 @@ import lombok.extern.slf4j.Slf4j;
  * translating MetaStoreChangeEvents into appropriate EntityEvents and forwarding them to an
  * ResourceEventListener. It handles different resource types and manages both update and invalidation
  * scenarios.
+ * <p>
+ * The change events only name the resource that changed, so the resource is read from the MetaStore. The reads
+ * happen on virtual threads, at most {@code maxParallelReads} at a time, so that a burst of change events, like the
+ * replay of the outstanding events on a restart, is not read one resource at a time. The change events of a resource
+ * that arrive while it waits to be read, or while it is being read, are coalesced: the resource is read once more
+ * for all of them and a single ResourceEvent commits all of them. A resource is never read concurrently, so its
+ * ResourceEvents are emitted in the order of the reads.
  *
  * @see MetaStoreEventListener
  * @see ResourceEventListener
@@ -27,20 +46,51 @@ import lombok.extern.slf4j.Slf4j;
  * @see ResourceEvent
  */
 @Slf4j
-@RequiredArgsConstructor
-public class DefaultMetaStoreChangeListener implements MetaStoreEventListener {
+public class DefaultMetaStoreChangeListener implements MetaStoreEventListener, AutoCloseable {
+
+    public static final int DEFAULT_MAX_PARALLEL_READS = 32;
 
     private final MetaStore metaStore;
     private final ResourceEventListener<Resource> listener;
+    private final Semaphore readPermits;
+    private final ExecutorService readExecutor;
+
+    /**
+     * Change events per resource that are yet to be read. A resource is present in {@link #reading} from the time its
+     * read is scheduled till the read is done.
+     */
+    private final Map<ResourceKey, List<MetaStoreChangeEvent>> pending = new HashMap<>();
+    private final Set<ResourceKey> reading = new HashSet<>();
+
+    public DefaultMetaStoreChangeListener(MetaStore metaStore, ResourceEventListener<Resource> listener) {
+        this(metaStore, listener, DEFAULT_MAX_PARALLEL_READS);
+    }
+
+    public DefaultMetaStoreChangeListener(
+        MetaStore metaStore,
+        ResourceEventListener<Resource> listener,
+        int maxParallelReads
+    ) {
+        this.metaStore = metaStore;
+        this.listener = listener;
+        this.readPermits = new Semaphore(maxParallelReads);
+        this.readExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("metastore-event-reader").factory()
+        );
+    }
+
+    record ResourceKey(ResourceType resourceType, String name) {
+    }
 
     /**
      * Handles MetaStore change events by converting them to EntityEvents.
      * <p>
-     * This method attempts to retrieve the current state of the resource from the MetaStore.
-     * If the resource exists, it creates an UPSERT event with the resource data.
-     * If the resource doesn't exist (ResourceNotFoundException), it creates an INVALIDATE event.
+     * The resource is read from the MetaStore asynchronously. If the resource exists, an UPSERT event is created
+     * with the resource data. If the resource doesn't exist (ResourceNotFoundException), an INVALIDATE event is
+     * created.
      * <p>
-     * The method supports TOPIC, SUBSCRIPTION, PROJECT, ORG, and REGION resource types.
+     * The method supports TOPIC, SUBSCRIPTION, PROJECT, ORG, REGION and IAM_POLICY resource types. IAM_POLICY
+     * events are supported only when the MetaStore is also an {@link IamPolicyStore.Provider}.
      *
      * @param event the MetaStore change event to process
      * @throws IllegalArgumentException if the resource type is not supported
@@ -49,33 +99,114 @@ public class DefaultMetaStoreChangeListener implements MetaStoreEventListener {
     @Override
     public void onEvent(MetaStoreChangeEvent event) {
         MetaStoreEntityType type = event.getEntityType();
-        String name = event.getResourceName();
+        ResourceKey key = new ResourceKey(toResourceType(type), event.getResourceName());
+
+        log.debug("Processing MetaStore change event for {} {}", type, key.name());
 
-        log.debug("Processing MetaStore change event for {} {}", type, name);
+        boolean schedule;
+        synchronized (this) {
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(event);
+            schedule = reading.add(key);
+        }
+        if (schedule) {
+            scheduleRead(key);
+        }
+    }
+
+    /**
+     * Stops reading the resources. The reads in progress are interrupted, and the change events that are yet to be
+     * read are dropped. They are not marked as processed, so they are replayed on the next start.
+     */
+    @Override
+    public void close() {
+        readExecutor.shutdownNow();
+    }
 
+    private ResourceType toResourceType(MetaStoreEntityType type) {
+        return switch (type) {
+            case TOPIC -> ResourceType.TOPIC;
+            case SUBSCRIPTION -> ResourceType.SUBSCRIPTION;
+            case PROJECT -> ResourceType.PROJECT;
+            case REGION -> ResourceType.REGION;
+            case ORG, ORG_FILTER -> ResourceType.ORG;
+            case IAM_POLICY -> {
+                if (!(metaStore instanceof IamPolicyStore.Provider)) {
+                    throw new IllegalArgumentException("MetaStore does not support resource type: " + type);
+                }
+                yield ResourceType.IAM_POLICY;
+            }
+            default -> throw new IllegalArgumentException("Unsupported resource type: " + type);
+        };
+    }
+
+    /**
+     * Reads the resource once for all its pending change events and emits the ResourceEvent. Reschedules itself if
+     * more change events of the resource arrived during the read.
+     */
+    private void read(ResourceKey key) {
+        boolean reschedule;
+        try {
+            readPermits.acquireUninterruptibly();
+            try {
+                List<MetaStoreChangeEvent> events;
+                synchronized (this) {
+                    events = pending.remove(key);
+                }
+                if (events != null) {
+                    emit(key, () -> events.forEach(MetaStoreChangeEvent::markAsProcessed));
+                }
+            } finally {
+                readPermits.release();
+            }
+        } catch (Exception e) {
+            // the change events are not marked as processed, so they are replayed on the next start.
+            log.error("Failed to process change event for {} {}", key.resourceType(), key.name(), e);
+        } finally {
+            synchronized (this) {
+                reschedule = pending.containsKey(key);
+                if (!reschedule) {
+                    reading.remove(key);
+                }
+            }
+        }
+        if (reschedule) {
+            scheduleRead(key);
+        }
+    }
+
+    private void scheduleRead(ResourceKey key) {
         try {
-            switch (type) {
+            readExecutor.execute(() -> read(key));
+        } catch (RejectedExecutionException e) {
+            log.info("Listener is closed, not reading {} {}", key.resourceType(), key.name());
+        }
+    }
+
+    private void emit(ResourceKey key, Runnable committer) {
+        String name = key.name();
+        try {
+            switch (key.resourceType()) {
                 case TOPIC -> {
                     VaradhiTopic topic = metaStore.topics().get(name);
                     log.debug("Retrieved topic {}, creating UPSERT event", name);
-                    processUpsertEvent(ResourceType.TOPIC, name, topic, type, event::markAsProcessed);
+                    processUpsertEvent(ResourceType.TOPIC, name, topic, committer);
                 }
                 case SUBSCRIPTION -> {
                     VaradhiSubscription subscription = metaStore.subscriptions().get(name);
                     log.debug("Retrieved subscription {}, creating UPSERT event", name);
-                    processUpsertEvent(ResourceType.SUBSCRIPTION, name, subscription, type, event::markAsProcessed);
+                    processUpsertEvent(ResourceType.SUBSCRIPTION, name, subscription, committer);
                 }
                 case PROJECT -> {
                     Project project = metaStore.projects().get(name);
                     log.debug("Retrieved project {}, creating UPSERT event", name);
-                    processUpsertEvent(ResourceType.PROJECT, name, project, type, event::markAsProcessed);
+                    processUpsertEvent(ResourceType.PROJECT, name, project, committer);
                 }
                 case REGION -> {
                     Region region = metaStore.regions().get(name);
                     log.debug("Retrieved region {}, creating UPSERT event", name);
-                    processUpsertEvent(ResourceType.REGION, name, region, type, event::markAsProcessed);
+                    processUpsertEvent(ResourceType.REGION, name, region, committer);
                 }
-                case ORG, ORG_FILTER -> {
+                case ORG -> {
                     Org org = metaStore.orgs().get(name);
                     OrgFilters orgFilters = metaStore.orgs().getFilter(name);
                     log.debug("Retrieved org details {}, creating UPSERT event", name);
@@ -87,25 +218,20 @@ public class DefaultMetaStoreChangeListener implements MetaStoreEventListener {
                             EventType.UPSERT,
                             orgDetails,
                             orgDetails.getVersion(),
-                            event::markAsProcessed
+                            committer
                         )
                     );
                 }
-                default -> throw new IllegalArgumentException("Unsupported resource type: " + type);
+                case IAM_POLICY -> {
+                    IamPolicyRecord iamPolicy = ((IamPolicyStore.Provider)metaStore).iamPolicies().get(name);
+                    log.debug("Retrieved iam policy {}, creating UPSERT event", name);
+                    processUpsertEvent(ResourceType.IAM_POLICY, name, iamPolicy, committer);
+                }
+                default -> throw new IllegalArgumentException("Unsupported resource type: " + key.resourceType());
             }
         } catch (ResourceNotFoundException e) {
-            log.debug("Resource not found, creating INVALIDATE event for {} {}", type, name);
-            if (type == MetaStoreEntityType.TOPIC) {
-                processInvalidateEvent(ResourceType.TOPIC, name, event::markAsProcessed);
-            } else if (type == MetaStoreEntityType.SUBSCRIPTION) {
-                processInvalidateEvent(ResourceType.SUBSCRIPTION, name, event::markAsProcessed);
-            } else if (type == MetaStoreEntityType.PROJECT) {
-                processInvalidateEvent(ResourceType.PROJECT, name, event::markAsProcessed);
-            } else if (type == MetaStoreEntityType.ORG) {
-                processInvalidateEvent(ResourceType.ORG, name, event::markAsProcessed);
-            } else if (type == MetaStoreEntityType.REGION) {
-                processInvalidateEvent(ResourceType.REGION, name, event::markAsProcessed);
-            }
+            log.debug("Resource not found, creating INVALIDATE event for {} {}", key.resourceType(), name);
+            processInvalidateEvent(key.resourceType(), name, committer);
         }
     }
 
@@ -113,7 +239,6 @@ public class DefaultMetaStoreChangeListener implements MetaStoreEventListener {
         ResourceType resourceType,
         String name,
         T entity,
-        MetaStoreEntityType metaStoreEntityType,
         Runnable committer
     ) {
         listener.onChange(
@@ -0,0 +1,231 @@
+package com.flipkart.varadhi.controller;
+
+import com.flipkart.varadhi.controller.config.RebalanceConfig;
+import com.flipkart.varadhi.core.cluster.ConsumerInfo;
+import com.flipkart.varadhi.core.cluster.ShardLoad;
+import com.flipkart.varadhi.entities.cluster.Assignment;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * LoadRebalancer -- Re-assign hot shards off the consumer nodes which are overloaded going by the live load the nodes
+ * report in their {@link ConsumerInfo}, rather than by the capacity requested for the shards.
+ * <p>
+ * Each round samples the load of all the active consumer nodes. The consumed qps and the event executor time of a
+ * shard are derived from two samples of it, and the load of a node is the sum over its shards. Both are relative to
+ * the mean of a node, the load being the larger of the two. A node is overloaded once its load has been above the
+ * overload factor for some rounds in a row, and remains so until its load drops to the underload factor. Off an
+ * overloaded node, the largest shard which doesn't take the node below the mean is re-assigned. The moves are limited
+ * per round, and a moved shard isn't moved again within a cooldown.
+ */
+@Slf4j
+public class LoadRebalancer {
+    private final RebalanceConfig config;
+    private final AssignmentManager assignmentManager;
+    private final Function<String, CompletableFuture<ConsumerInfo>> consumerInfoProvider;
+    private final Consumer<Assignment> reAssigner;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // state of the rounds, accessed by one round at a time.
+    private final Map<String, Sample> samples = new HashMap<>();
+    private final Map<String, Integer> overloadedRounds = new HashMap<>();
+    private final Map<String, Long> movedAt = new HashMap<>();
+
+    public LoadRebalancer(
+        RebalanceConfig config,
+        AssignmentManager assignmentManager,
+        Function<String, CompletableFuture<ConsumerInfo>> consumerInfoProvider,
+        Consumer<Assignment> reAssigner,
+        Executor executor,
+        LongSupplier clock
+    ) {
+        this.config = config;
+        this.assignmentManager = assignmentManager;
+        this.consumerInfoProvider = consumerInfoProvider;
+        this.reAssigner = reAssigner;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs a round of rebalancing, unless the previous one is still running. The round reads the assignments and
+     * re-assigns the shards on the executor, once the loads are reported, as these block on the metastore.
+     *
+     * @return the assignments re-assigned in the round.
+     */
+    public CompletableFuture<List<Assignment>> rebalance() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Previous rebalance round is still running, skipping this one.");
+            return CompletableFuture.completedFuture(List.of());
+        }
+        Map<String, CompletableFuture<ConsumerInfo>> infos = new HashMap<>();
+        assignmentManager.getActiveConsumerIds()
+                         .forEach(
+                             consumerId -> infos.put(
+                                 consumerId,
+                                 consumerInfoProvider.apply(consumerId).exceptionally(t -> {
+                                     log.warn("Failed to get the load of ConsumerNode {}: {}.", consumerId, t);
+                                     return null;
+                                 })
+                             )
+                         );
+        return CompletableFuture.allOf(infos.values().toArray(CompletableFuture[]::new)).thenApplyAsync(v -> {
+            Map<String, ConsumerInfo> reported = new HashMap<>();
+            infos.forEach((consumerId, info) -> {
+                if (null != info.join()) {
+                    reported.put(consumerId, info.join());
+                }
+            });
+            return rebalance(reported);
+        }, executor).whenComplete((moves, t) -> {
+            running.set(false);
+            if (null != t) {
+                log.error("Rebalance round failed: {}.", t.getMessage());
+            }
+        });
+    }
+
+    List<Assignment> rebalance(Map<String, ConsumerInfo> infos) {
+        long now = clock.getAsLong();
+        samples.keySet().retainAll(infos.keySet());
+        overloadedRounds.keySet().retainAll(infos.keySet());
+        movedAt.values().removeIf(at -> now - at >= config.getShardCooldownInSeconds() * 1000L);
+
+        List<NodeLoad> nodeLoads = new ArrayList<>();
+        infos.forEach((consumerId, info) -> {
+            Sample current = new Sample(now, null == info.getLoads() ? Map.of() : Map.copyOf(info.getLoads()));
+            Sample previous = samples.put(consumerId, current);
+            if (null != previous && now > previous.at()) {
+                nodeLoads.add(NodeLoad.of(consumerId, previous, current));
+            }
+        });
+        if (nodeLoads.size() < 2) {
+            assignmentManager.setOverloadedNodes(Set.of());
+            return List.of();
+        }
+
+        double meanQps = nodeLoads.stream().mapToDouble(NodeLoad::qps).sum() / nodeLoads.size();
+        double meanCpu = nodeLoads.stream().mapToDouble(NodeLoad::cpu).sum() / nodeLoads.size();
+        List<NodeLoad> overloaded = new ArrayList<>();
+        for (NodeLoad node : nodeLoads) {
+            double load = relativeLoad(node.qps(), node.cpu(), meanQps, meanCpu);
+            int rounds = overloadedRounds.getOrDefault(node.consumerId(), 0);
+            if (load > config.getOverloadFactor()) {
+                rounds++;
+            } else if (load <= config.getUnderloadFactor()) {
+                rounds = 0;
+            }
+            overloadedRounds.put(node.consumerId(), rounds);
+            if (rounds >= config.getSustainedRounds()) {
+                overloaded.add(node);
+            }
+        }
+        assignmentManager.setOverloadedNodes(
+            overloaded.stream().map(NodeLoad::consumerId).collect(Collectors.toSet())
+        );
+        overloaded.sort(
+            Comparator.comparingDouble((NodeLoad node) -> relativeLoad(node.qps(), node.cpu(), meanQps, meanCpu))
+                      .reversed()
+        );
+
+        List<Assignment> moves = new ArrayList<>();
+        for (NodeLoad node : overloaded) {
+            if (moves.size() >= config.getMaxMovesPerRound()) {
+                break;
+            }
+            double excess = relativeLoad(node.qps(), node.cpu(), meanQps, meanCpu) - 1;
+            ShardRate hottest = null;
+            double hottestLoad = 0;
+            for (ShardRate shard : node.shards()) {
+                double load = relativeLoad(shard.qps(), shard.cpu(), meanQps, meanCpu);
+                if (load <= 0 || load > excess || movedAt.containsKey(shard.name())) {
+                    continue;
+                }
+                boolean hotter = load > hottestLoad || (load == hottestLoad && shard.backlog() > hottest.backlog());
+                if (null == hottest || hotter) {
+                    hottest = shard;
+                    hottestLoad = load;
+                }
+            }
+            if (null == hottest) {
+                log.info("ConsumerNode {} is overloaded, but has no shard to move.", node.consumerId());
+                continue;
+            }
+
+            String shardName = hottest.name();
+            Optional<Assignment> assignment = assignmentManager.getConsumerNodeAssignments(node.consumerId())
+                                                               .stream()
+                                                               .filter(a -> a.getName().equals(shardName))
+                                                               .findFirst();
+            if (assignment.isEmpty()) {
+                continue;
+            }
+            log.info(
+                "ConsumerNode {} is overloaded, re-assigning {} with {} qps, {} cores and backlog {}.",
+                node.consumerId(),
+                assignment.get(),
+                Math.round(hottest.qps()),
+                String.format("%.2f", hottest.cpu()),
+                hottest.backlog()
+            );
+            try {
+                reAssigner.accept(assignment.get());
+            } catch (Exception e) {
+                log.error("Failed to re-assign {}: {}.", assignment.get(), e.getMessage());
+                continue;
+            }
+            moves.add(assignment.get());
+            movedAt.put(shardName, now);
+            // the node is to settle with the shard gone, before it is looked at again.
+            overloadedRounds.put(node.consumerId(), 0);
+        }
+        return moves;
+    }
+
+    private static double relativeLoad(double qps, double cpu, double meanQps, double meanCpu) {
+        return Math.max(meanQps > 0 ? qps / meanQps : 0, meanCpu > 0 ? cpu / meanCpu : 0);
+    }
+
+    private record Sample(long at, Map<String, ShardLoad> loads) {
+    }
+
+    private record ShardRate(String name, double qps, double cpu, long backlog) {
+    }
+
+    private record NodeLoad(String consumerId, double qps, double cpu, List<ShardRate> shards) {
+        static NodeLoad of(String consumerId, Sample previous, Sample current) {
+            double seconds = (current.at() - previous.at()) / 1000.0;
+            List<ShardRate> shards = new ArrayList<>();
+            double qps = 0;
+            double cpu = 0;
+            for (Map.Entry<String, ShardLoad> entry : current.loads().entrySet()) {
+                ShardLoad load = entry.getValue();
+                ShardLoad previousLoad = previous.loads().get(entry.getKey());
+                // the shard started on the node since the previous sample, there is no rate yet.
+                if (null == previousLoad || load.consumed() < previousLoad.consumed()) {
+                    continue;
+                }
+                ShardRate rate = new ShardRate(
+                    entry.getKey(),
+                    (load.consumed() - previousLoad.consumed()) / seconds,
+                    (load.executorNanos() - previousLoad.executorNanos()) / (seconds * 1_000_000_000L),
+                    load.backlog()
+                );
+                shards.add(rate);
+                qps += rate.qps();
+                cpu += rate.cpu();
+            }
+            return new NodeLoad(consumerId, qps, cpu, shards);
+        }
+    }
+}
@@ -7,17 +7,21 @@ import com.flipkart.varadhi.spi.db.MetaStoreException;
 import com.flipkart.varadhi.spi.db.OpStore;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class OperationMgr {
+    static final int DEFAULT_MAX_IN_FLIGHT_SHARD_OPS = 32;
+
     private final OpStore opStore;
     private final ExecutorService executor;
     private final ScheduledExecutorService delayedScheduler;
@@ -25,10 +29,41 @@ public class OperationMgr {
     private final Map<String, Deque<OpTask>> opTasks;
     private final RetryPolicy retryPolicy;
 
+    /**
+     * Max shard ops of a sub op being dispatched to the consumers at a time.
+     */
+    @Getter
+    private final int maxInFlightShardOps;
+
+    /**
+     * Shard ops of the sub ops that are in progress by their id, so that working out the progress of a sub op, which
+     * happens on every shard op update, doesn't read all of its shard ops. Loaded from the store's index on first use,
+     * kept up with the shard ops written here, and dropped when the sub op completes.
+     */
+    private final Map<String, Map<String, ShardOperation>> shardOps;
+
+    /**
+     * Count of the shard ops written here, so that the shard ops read while one is being written aren't cached.
+     */
+    private final AtomicLong shardOpWrites = new AtomicLong();
+
+    /**
+     * Shard op updates of the sub ops yet to be applied. The updates which arrive while an update of the same sub op
+     * is being applied, are applied together with a single write.
+     */
+    private final Map<String, List<ShardOpUpdate>> pendingShardOpUpdates;
+
     public OperationMgr(int maxConcurrentOps, OpStore opStore, RetryPolicy retryPolicy) {
+        this(maxConcurrentOps, DEFAULT_MAX_IN_FLIGHT_SHARD_OPS, opStore, retryPolicy);
+    }
+
+    public OperationMgr(int maxConcurrentOps, int maxInFlightShardOps, OpStore opStore, RetryPolicy retryPolicy) {
         this.opStore = opStore;
         this.opTasks = new ConcurrentHashMap<>();
         this.retryOpTasks = new ConcurrentHashMap<>();
+        this.shardOps = new ConcurrentHashMap<>();
+        this.pendingShardOpUpdates = new ConcurrentHashMap<>();
+        this.maxInFlightShardOps = maxInFlightShardOps;
         this.retryPolicy = retryPolicy;
         //TODO::ExecutorService should emit the metrics.
         this.executor = Executors.newFixedThreadPool(
@@ -143,6 +178,8 @@ public class OperationMgr {
 
     private Deque<OpTask> handleCompletedTask(OpTask completed, Deque<OpTask> taskQueue) {
         taskQueue.remove(completed);
+        shardOps.remove(completed.getId());
+        pendingShardOpUpdates.remove(completed.getId());
         log.info("Completed Task({}) removed from the queue.", completed);
 
         // only latest operation should be retried.
@@ -208,11 +245,62 @@ public class OperationMgr {
         if (isRetry) {
             shardOp.reset();
             opStore.updateShardOp(shardOp);
+            cacheShardOp(shardOp);
         } else if (!opStore.shardOpExists(shardOp.getId())) {
             opStore.createShardOp(shardOp);
+            cacheShardOp(shardOp);
         }
     }
 
+    /**
+     * Batch form of {@link #submitShardOp(ShardOperation, boolean)} for the shard ops of a sub op, which writes them
+     * in as few writes as the store allows. The shard ops yet to be created are created even on retry.
+     */
+    public void submitShardOps(List<ShardOperation> ops, boolean isRetry) {
+        if (ops.isEmpty()) {
+            return;
+        }
+        Map<String, ShardOperation> existing = loadShardOpMap(parentOpId(ops));
+        List<ShardOperation> toCreate = new ArrayList<>();
+        List<ShardOperation> toReset = new ArrayList<>();
+        for (ShardOperation shardOp : ops) {
+            if (!existing.containsKey(shardOp.getId())) {
+                toCreate.add(shardOp);
+            } else if (isRetry) {
+                shardOp.reset();
+                toReset.add(shardOp);
+            }
+        }
+        try {
+            if (!toCreate.isEmpty()) {
+                opStore.createShardOps(toCreate);
+            }
+            if (!toReset.isEmpty()) {
+                opStore.updateShardOps(toReset);
+            }
+        } catch (Exception e) {
+            // the writes may have been applied in part, the shard ops are loaded again on next use.
+            shardOps.remove(parentOpId(ops));
+            throw e;
+        }
+        toCreate.forEach(this::cacheShardOp);
+        toReset.forEach(this::cacheShardOp);
+        log.info("Submitted shard ops, created:{} reset:{}.", toCreate.size(), toReset.size());
+    }
+
+    private static String parentOpId(List<ShardOperation> ops) {
+        return ops.get(0).getOpData().getParentOpId();
+    }
+
+    // if not loaded yet, the first lookup loads it along with the rest.
+    private void cacheShardOp(ShardOperation shardOp) {
+        shardOpWrites.incrementAndGet();
+        shardOps.computeIfPresent(shardOp.getOpData().getParentOpId(), (subOpId, ops) -> {
+            ops.put(shardOp.getId(), shardOp);
+            return ops;
+        });
+    }
+
     public void updateSubOp(SubscriptionOperation operation) {
         processOpTaskForOpUpdate(operation, op -> {
             // updating DB status in handler, to avoid version conflict.
@@ -230,12 +318,32 @@ public class OperationMgr {
     }
 
     public void updateShardOp(String subOpId, String shardOpId, ShardOperation.State state, String errorMsg) {
+        pendingShardOpUpdates.compute(subOpId, (id, updates) -> {
+            List<ShardOpUpdate> pending = null == updates ? new ArrayList<>() : updates;
+            pending.add(new ShardOpUpdate(shardOpId, state, errorMsg));
+            return pending;
+        });
+        applyPendingShardOpUpdates(subOpId);
+    }
+
+    private void applyPendingShardOpUpdates(String subOpId) {
         SubscriptionOperation subscriptionOp = opStore.getSubOp(subOpId);
         // updating DB status in handler for both Shard and Subscription op, to avoid version conflict.
-        processOpTaskForOpUpdate(
-            subscriptionOp,
-            subOp -> updateShardAndSubOp((SubscriptionOperation)subOp, shardOpId, state, errorMsg)
-        );
+        processOpTaskForOpUpdate(subscriptionOp, op -> {
+            SubscriptionOperation subOp = (SubscriptionOperation)op;
+            try {
+                if (!applyShardOpUpdates(subOp)) {
+                    return subOp;
+                }
+            } catch (Exception e) {
+                // the updates are pending again, the sub op stays in progress till they are written.
+                int backOffSeconds = retryPolicy.getRetryBackoffSeconds(subOp);
+                log.error("Failed to write shard op updates of {}, retrying in {}s.", subOp, backOffSeconds, e);
+                delayedScheduler.schedule(() -> applyPendingShardOpUpdates(subOpId), backOffSeconds, TimeUnit.SECONDS);
+                return subOp;
+            }
+            return saveSubOpUpdateToStore(subOp);
+        });
     }
 
     List<SubscriptionOperation> getPendingSubOps() {
@@ -244,20 +352,71 @@ public class OperationMgr {
 
 
     public Map<Integer, ShardOperation> getShardOps(String subOpId) {
-        return opStore.getShardOps(subOpId).stream().collect(Collectors.toMap(o -> o.getOpData().getShardId(), o -> o));
+        return loadShardOps(subOpId).stream().collect(Collectors.toMap(o -> o.getOpData().getShardId(), o -> o));
     }
 
-    private SubscriptionOperation updateShardAndSubOp(
-        SubscriptionOperation subOp,
-        String shardOpId,
-        ShardOperation.State state,
-        String errorMsg
-    ) {
-        ShardOperation shardOpLatest = opStore.getShardOp(shardOpId);
-        shardOpLatest.update(state, errorMsg);
-        opStore.updateShardOp(shardOpLatest);
-        subOp.update(opStore.getShardOps(subOp.getId()));
-        return saveSubOpUpdateToStore(subOp);
+    /**
+     * Shard operations of the subscription operation, for the operations with more than one of them per shard.
+     */
+    public List<ShardOperation> listShardOps(String subOpId) {
+        return loadShardOps(subOpId);
+    }
+
+    private List<ShardOperation> loadShardOps(String subOpId) {
+        return new ArrayList<>(loadShardOpMap(subOpId).values());
+    }
+
+    private Map<String, ShardOperation> loadShardOpMap(String subOpId) {
+        Map<String, ShardOperation> cached = shardOps.get(subOpId);
+        if (null != cached) {
+            return cached;
+        }
+        // read outside of the map's compute, as the reads block the other sub ops hashed to the same bin.
+        long writes = shardOpWrites.get();
+        Map<String, ShardOperation> loaded = new ConcurrentHashMap<>();
+        for (String shardOpId : opStore.getShardOpIds(subOpId)) {
+            loaded.put(shardOpId, opStore.getShardOp(shardOpId));
+        }
+        if (writes != shardOpWrites.get()) {
+            // a shard op written meanwhile may be missing from what was read, so it isn't cached.
+            return loaded;
+        }
+        Map<String, ShardOperation> prev = shardOps.putIfAbsent(subOpId, loaded);
+        return null == prev ? loaded : prev;
+    }
+
+    /**
+     * Applies the pending shard op updates of the sub op, and works out the sub op's progress from its shard ops. If
+     * the shard ops fail to be written, the updates are put back ahead of the ones queued meanwhile.
+     *
+     * @return false if there were no updates pending, i.e. they were applied along with an earlier update.
+     */
+    private boolean applyShardOpUpdates(SubscriptionOperation subOp) {
+        List<ShardOpUpdate> updates = pendingShardOpUpdates.remove(subOp.getId());
+        if (null == updates) {
+            return false;
+        }
+        Map<String, ShardOperation> subShardOps;
+        try {
+            subShardOps = loadShardOpMap(subOp.getId());
+            Map<String, ShardOperation> updated = new LinkedHashMap<>();
+            for (ShardOpUpdate update : updates) {
+                ShardOperation shardOp = subShardOps.computeIfAbsent(update.shardOpId(), opStore::getShardOp);
+                shardOp.update(update.state(), update.errorMsg());
+                updated.put(shardOp.getId(), shardOp);
+            }
+            opStore.updateShardOps(new ArrayList<>(updated.values()));
+        } catch (Exception e) {
+            // the shard ops here are ahead of the store now, they are loaded again on next use.
+            shardOps.remove(subOp.getId());
+            pendingShardOpUpdates.merge(subOp.getId(), updates, (queued, failed) -> {
+                failed.addAll(queued);
+                return failed;
+            });
+            throw e;
+        }
+        subOp.update(new ArrayList<>(subShardOps.values()));
+        return true;
     }
 
     private SubscriptionOperation saveSubOpUpdateToStore(SubscriptionOperation subOp) {
@@ -267,6 +426,9 @@ public class OperationMgr {
         return subOpLatest;
     }
 
+    private record ShardOpUpdate(String shardOpId, ShardOperation.State state, String errorMsg) {
+    }
+
     @RequiredArgsConstructor
     class RetryOpTask {
         final OpTask opTask;
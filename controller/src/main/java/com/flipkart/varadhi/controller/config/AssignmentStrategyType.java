@@ -0,0 +1,11 @@
+package com.flipkart.varadhi.controller.config;
+
+/**
+ * Strategy to assign the subscription shards to the consumer nodes with.
+ */
+public enum AssignmentStrategyType {
+    // the node with the most capacity available.
+    LEAST_ASSIGNED,
+    // the node the shard fits best on, see BinPackingStrategy.
+    BIN_PACKING
+}
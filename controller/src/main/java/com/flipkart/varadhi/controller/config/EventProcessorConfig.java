@@ -25,12 +25,24 @@ public class EventProcessorConfig {
     private static final Duration DEFAULT_INITIAL_RETRY_DELAY = Duration.ofMillis(100);
     private static final Duration DEFAULT_MAX_BACKOFF_MS = Duration.ofMillis(30000); // 30 seconds
     private static final long DEFAULT_TASK_JOIN_TIMEOUT_MS = 5000; // 5 seconds
+    private static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 4;
+    private static final int DEFAULT_MAX_EVENTS_PER_BATCH = 100;
 
     private final Duration clusterMemberTimeout;
     private final Duration retryBackoff;
     private final Duration maxRetryBackoff;
     private final long tasksJoinTimeoutMs;
 
+    /**
+     * Number of event batches sent to a member without waiting for their acknowledgement.
+     */
+    private final int maxInFlightBatches;
+
+    /**
+     * Max number of events sent to a member in one cluster message.
+     */
+    private final int maxEventsPerBatch;
+
     /**
      * Creates a new EventProcessorConfig with default values.
      *
@@ -42,6 +54,8 @@ public class EventProcessorConfig {
                                    .retryBackoff(DEFAULT_INITIAL_RETRY_DELAY)
                                    .maxRetryBackoff(DEFAULT_MAX_BACKOFF_MS)
                                    .tasksJoinTimeoutMs(DEFAULT_TASK_JOIN_TIMEOUT_MS)
+                                   .maxInFlightBatches(DEFAULT_MAX_IN_FLIGHT_BATCHES)
+                                   .maxEventsPerBatch(DEFAULT_MAX_EVENTS_PER_BATCH)
                                    .build();
     }
 }
@@ -5,8 +5,11 @@ import lombok.Data;
 @Data
 public class OperationsConfig {
     private int maxConcurrentOps = 2;
+    private int maxInFlightShardOps = 32;
     private int maxRetryAllowed = 3;
     private int retryIntervalInSeconds = 10;
     private int retryMinBackoffInSeconds = 10;
     private int retryMaxBackOffInSeconds = 60;
+    private AssignmentStrategyType assignmentStrategy = AssignmentStrategyType.LEAST_ASSIGNED;
+    private RebalanceConfig rebalanceConfig = new RebalanceConfig();
 }
@@ -0,0 +1,21 @@
+package com.flipkart.varadhi.controller.config;
+
+import lombok.Data;
+
+/**
+ * Config of the rebalancing of the shards by the live load of the consumer nodes, see LoadRebalancer.
+ * The loads are relative to the mean load of a consumer node.
+ */
+@Data
+public class RebalanceConfig {
+    private boolean enabled = false;
+    private int intervalInSeconds = 30;
+    // a node is overloaded above this load, for sustainedRounds rounds in a row.
+    private double overloadFactor = 1.3;
+    private int sustainedRounds = 3;
+    // and remains so until it drops to this load.
+    private double underloadFactor = 1.1;
+    private int maxMovesPerRound = 1;
+    // a moved shard isn't moved again within this.
+    private int shardCooldownInSeconds = 600;
+}
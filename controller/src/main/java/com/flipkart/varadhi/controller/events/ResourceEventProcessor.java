@@ -1,12 +1,15 @@
 package com.flipkart.varadhi.controller.events;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -23,18 +26,23 @@ import com.flipkart.varadhi.core.cluster.messages.ClusterMessage;
 import com.flipkart.varadhi.core.cluster.messages.ResponseMessage;
 import com.flipkart.varadhi.common.Extensions;
 import com.flipkart.varadhi.core.cluster.events.ResourceEvent;
+import com.flipkart.varadhi.core.cluster.events.ResourceEventBatch;
 import com.flipkart.varadhi.core.cluster.events.ResourceEventListener;
 import com.flipkart.varadhi.core.exceptions.EventProcessingException;
 import com.flipkart.varadhi.controller.config.EventProcessorConfig;
 import com.flipkart.varadhi.core.cluster.MemberInfo;
 import com.flipkart.varadhi.entities.Resource;
+import com.flipkart.varadhi.entities.ResourceType;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import dev.failsafe.Failsafe;
 import dev.failsafe.RetryPolicy;
 import io.vertx.core.Future;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
 import lombok.experimental.ExtensionMethod;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.flipkart.varadhi.common.Constants.ENTITY_EVENTS_BATCH_HANDLER;
 import static com.flipkart.varadhi.common.Constants.ENTITY_EVENTS_HANDLER;
 
 /**
@@ -45,7 +53,9 @@ import static com.flipkart.varadhi.common.Constants.ENTITY_EVENTS_HANDLER;
  * This class implements a distributed event processing system where:
  * <ol>
  *     <li>Events are distributed to all active cluster nodes</li>
- *     <li>Each node processes events in its own virtual thread</li>
+ *     <li>Each node has its own virtual thread, which keeps a window of event batches in flight to the node</li>
+ *     <li>Events for a resource that are waiting to be sent to a node are coalesced, only the latest one is sent.
+ *     Events for a resource are never in flight to a node concurrently, so that the node sees them in order</li>
  *     <li>A committer thread tracks completion status and completes futures when all nodes have processed an event</li>
  *     <li>The system handles node joins/leaves dynamically</li>
  * </ol>
@@ -61,13 +71,18 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
     private final MessageExchange messageExchange;
     private final AtomicBoolean isShutdown;
 
-    private final Map<String, BlockingQueue<EventWrapper>> memberEventQueues;
+    private final Map<String, MemberChannel> memberChannels;
     private final Map<String, Thread> memberEventSenders;
     private final Lock membershipChangeLock;
 
     private final BlockingQueue<EventWrapper> inFlightEvents;
     private final Thread eventCommitterTask;
 
+    /**
+     * Reads the resources of the metastore change events. Set once the processor starts listening to them.
+     */
+    private volatile DefaultMetaStoreChangeListener changeListener;
+
     /**
      * Creates and initializes a new EventProcessor.
      *
@@ -91,7 +106,8 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
             processor.setupInitialMember(initialMembers);
 
             // all initialization has happened. Start listening to the entity events
-            metaStore.registerEventListener(new DefaultMetaStoreChangeListener(metaStore, processor));
+            processor.changeListener = new DefaultMetaStoreChangeListener(metaStore, processor);
+            metaStore.registerEventListener(processor.changeListener);
             return Future.succeededFuture(processor);
         });
     }
@@ -109,7 +125,7 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
             eventProcessorConfig :
             EventProcessorConfig.getDefault();
         this.isShutdown = new AtomicBoolean(false);
-        this.memberEventQueues = new ConcurrentHashMap<>();
+        this.memberChannels = new ConcurrentHashMap<>();
         this.memberEventSenders = new ConcurrentHashMap<>();
         this.membershipChangeLock = new ReentrantLock();
         this.inFlightEvents = new LinkedBlockingQueue<>();
@@ -156,10 +172,10 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
         log.info("New member joined: {}", hostname);
 
         membershipChangeLock.lockAndRun(() -> {
-            if (memberEventQueues.get(hostname) != null) {
+            if (memberChannels.get(hostname) != null) {
                 log.warn("The host: {} already is registered. Ignoring the event", hostname);
             } else {
-                memberEventQueues.put(hostname, new LinkedBlockingQueue<>());
+                memberChannels.put(hostname, new MemberChannel(hostname));
                 memberEventSenders.put(hostname, startEventSenderTaskForMember(memberInfo));
             }
         });
@@ -180,13 +196,12 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
             log.warn("host {} has left, but the event sender task was not present to cleanup", hostname);
         }
 
-        var queue = membershipChangeLock.lockAndSupply(() -> memberEventQueues.remove(hostname));
+        var channel = membershipChangeLock.lockAndSupply(() -> memberChannels.remove(hostname));
 
-        if (queue == null) {
+        if (channel == null) {
             log.warn("host {} has left, but the event queue was not present to cleanup", hostname);
         } else {
-            queue.forEach(eventWrapper -> eventWrapper.markNodeAsNonParticipant(hostname));
-            queue.clear();
+            channel.close().forEach(eventWrapper -> eventWrapper.markNodeAsNonParticipant(hostname));
         }
     }
 
@@ -236,10 +251,12 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
      * @param event          The entity event to enqueue
      */
     private void handle(ResourceEvent<?> event) {
-        CompletableFuture<Void> promise = new CompletableFuture<>().thenAccept(r -> event.markAsProcessed());
+        // completing a dependent stage does not run its action, so the commit is attached to the promise itself.
+        CompletableFuture<Void> promise = new CompletableFuture<>();
+        promise.thenRun(event::markAsProcessed);
 
         membershipChangeLock.lockAndRun(() -> {
-            Set<String> currentNodes = Set.copyOf(memberEventQueues.keySet());
+            Set<String> currentNodes = Set.copyOf(memberChannels.keySet());
 
             if (currentNodes.isEmpty()) {
                 log.warn("No nodes available to process the event {} {}", event.resourceType(), event.resourceName());
@@ -251,9 +268,9 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
             inFlightEvents.add(eventWrapper);
 
             for (String hostname : currentNodes) {
-                BlockingQueue<EventWrapper> nodeQueue = memberEventQueues.get(hostname);
-                assert nodeQueue != null : "because we are holding the lock";
-                nodeQueue.add(eventWrapper);
+                MemberChannel channel = memberChannels.get(hostname);
+                assert channel != null : "because we are holding the lock";
+                channel.enqueue(eventWrapper);
             }
 
             log.debug("Enqueued event {} to {} nodes", event.resourceName(), currentNodes.size());
@@ -268,6 +285,9 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
     public void close() {
         if (isShutdown.compareAndSet(false, true)) {
             log.info("Shutting down EventProcessor");
+            if (changeListener != null) {
+                changeListener.close();
+            }
 
             try {
                 // force the pending events to fail
@@ -286,7 +306,7 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
                 }
 
                 memberEventSenders.clear();
-                membershipChangeLock.lockAndRun(memberEventQueues::clear);
+                membershipChangeLock.lockAndRun(memberChannels::clear);
 
             } catch (InterruptedException e) {
                 log.warn("Interrupted while waiting for threads to shut down", e);
@@ -299,12 +319,15 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
 
     /**
      * Main processing loop to send events to cluster members.
-     * Takes events from the member's queue, processes them, and marks them as complete.
+     * Takes batches of events from the member's channel and sends them without waiting for the earlier batches to
+     * be acknowledged, up to the configured window. Acknowledged events are marked as complete for the member.
      * Continues until shutdown is requested or the thread is interrupted.
      */
     class EventSender implements Runnable {
         private final MemberInfo member;
         private final RetryPolicy<String> retryPolicy;
+        // members of an older version have no handler for the batches, they are sent the events one at a time.
+        private volatile boolean batchesHandled = true;
 
         public EventSender(MemberInfo member) {
             this.member = member;
@@ -317,7 +340,7 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
                                           .abortIf((result, failure) -> failure != null && isShutdown.get())
                                           .onRetry(
                                               event -> log.warn(
-                                                  "Attempt #{} failed. Retrying task 'sendEntity' for host: {}. Last Exception: {}",
+                                                  "Attempt #{} failed. Retrying task 'sendEvents' for host: {}. Last Exception: {}",
                                                   event.getAttemptCount(),
                                                   member.hostname(),
                                                   event.getLastException().getMessage()
@@ -330,9 +353,9 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
         @Override
         public void run() {
             final String hostname = member.hostname();
-            final BlockingQueue<EventWrapper> queue = memberEventQueues.get(hostname);
+            final MemberChannel channel = memberChannels.get(hostname);
 
-            if (queue == null) {
+            if (channel == null) {
                 throw new IllegalStateException("event queue was not initialized for host: " + hostname);
             }
 
@@ -340,16 +363,23 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
 
             try {
                 while (!isShutdown.get()) {
-                    EventWrapper eventWrapper = queue.take();
-                    log.debug("Sending {} event to host {}", eventWrapper.event.resourceName(), hostname);
-                    String response = Failsafe.with(retryPolicy).get(() -> sendEvent(eventWrapper.event, hostname));
-                    eventWrapper.markNodeComplete(hostname);
-                    log.debug(
-                        "Received response: {} for {} event from host {}",
-                        response,
-                        eventWrapper.event.resourceName(),
-                        hostname
-                    );
+                    List<PendingEvent> batch = channel.takeBatch();
+                    log.debug("Sending {} events to host {}", batch.size(), hostname);
+                    Failsafe.with(retryPolicy)
+                            .getStageAsync(() -> sendEvents(batch, hostname))
+                            .whenComplete((response, failure) -> {
+                                if (failure != null) {
+                                    log.error("Failed to send {} events to host {}", batch.size(), hostname, failure);
+                                } else {
+                                    log.debug(
+                                        "Received response: {} for {} events from host {}",
+                                        response,
+                                        batch.size(),
+                                        hostname
+                                    );
+                                }
+                                channel.completeBatch(batch, failure == null);
+                            });
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -363,28 +393,201 @@ public final class ResourceEventProcessor implements ResourceEventListener<Resou
         }
 
         /**
-         * Attempts to process an event for a node.
-         * Sends a request to the node and handles the response.
+         * Sends a batch of events to a node in a single cluster message, or an event per message if the node does not
+         * handle the batches.
          *
-         * @param event    The event to process
+         * @param batch    The events to send
          * @param hostname The ID of the node
-         * @return string response from the node
+         * @return future of the string response from the node
          */
-        private String sendEvent(ResourceEvent<?> event, String hostname) throws Exception {
-
-            ClusterMessage message = ClusterMessage.of(event);
-            ResponseMessage response = messageExchange.request(hostname, ENTITY_EVENTS_HANDLER, message)
-                                                      .orTimeout(
-                                                          eventProcessorConfig.getClusterMemberTimeout().toMillis(),
-                                                          TimeUnit.MILLISECONDS
-                                                      )
-                                                      .get();
-            if (response.getException() != null) {
-                throw response.getException();
+        private CompletableFuture<String> sendEvents(List<PendingEvent> batch, String hostname) {
+            List<ResourceEvent<?>> events = new ArrayList<>(batch.size());
+            batch.forEach(pendingEvent -> events.add(pendingEvent.latest().event));
+            if (!batchesHandled) {
+                return sendEachEvent(events, hostname);
             }
 
-            // TODO: enhance the response object later. using string as standin for now.
-            return response.getResponse(String.class);
+            ClusterMessage message = ClusterMessage.of(new ResourceEventBatch(events));
+            return request(hostname, ENTITY_EVENTS_BATCH_HANDLER, message).exceptionallyCompose(failure -> {
+                if (!isNoHandlers(failure)) {
+                    return CompletableFuture.failedFuture(failure);
+                }
+                log.info("Host {} does not handle event batches, sending it the events one at a time", hostname);
+                batchesHandled = false;
+                return sendEachEvent(events, hostname);
+            });
+        }
+
+        private CompletableFuture<String> sendEachEvent(List<ResourceEvent<?>> events, String hostname) {
+            List<CompletableFuture<String>> responses = new ArrayList<>(events.size());
+            events.forEach(event -> responses.add(request(hostname, ENTITY_EVENTS_HANDLER, ClusterMessage.of(event))));
+            return CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                                    .thenApply(v -> String.join(",", responses.stream().map(CompletableFuture::join).toList()));
+        }
+
+        private CompletableFuture<String> request(String hostname, String apiName, ClusterMessage message) {
+            return messageExchange.request(hostname, apiName, message)
+                                  .orTimeout(
+                                      eventProcessorConfig.getClusterMemberTimeout().toMillis(),
+                                      TimeUnit.MILLISECONDS
+                                  )
+                                  // TODO: enhance the response object later. using string as standin for now.
+                                  .thenApply(response -> response.getResponse(String.class));
+        }
+
+        private static boolean isNoHandlers(Throwable failure) {
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            return cause instanceof ReplyException replyException
+                   && replyException.failureType() == ReplyFailure.NO_HANDLERS;
+        }
+    }
+
+
+    /**
+     * Identity of the resource an event is about. Events of the same resource are coalesced.
+     */
+    record ResourceKey(ResourceType resourceType, String resourceName) {
+        static ResourceKey of(ResourceEvent<?> event) {
+            return new ResourceKey(event.resourceType(), event.resourceName());
+        }
+    }
+
+
+    /**
+     * Events of a resource that are yet to be acknowledged by a member. Only the latest one is sent, the earlier ones
+     * are complete for the member once the latest one is.
+     */
+    static final class PendingEvent {
+        private final ResourceKey key;
+        private final List<EventWrapper> events = new ArrayList<>(1);
+
+        PendingEvent(ResourceKey key, EventWrapper event) {
+            this.key = key;
+            this.events.add(event);
+        }
+
+        EventWrapper latest() {
+            return events.get(events.size() - 1);
+        }
+    }
+
+
+    /**
+     * Events to be sent to a member.
+     * <p>
+     * Holds the events waiting to be sent, keyed by resource in the order of their arrival, and the resources that
+     * have an event in flight. An event for a resource with an event in flight waits for it to be acknowledged, so
+     * that the member never sees the events of a resource out of order, even across retries.
+     */
+    final class MemberChannel {
+        private final String hostname;
+        private final Lock lock = new ReentrantLock();
+        private final Condition sendable = lock.newCondition();
+        private final Map<ResourceKey, PendingEvent> pending = new LinkedHashMap<>();
+        private final Map<ResourceKey, PendingEvent> inFlight = new LinkedHashMap<>();
+        private int inFlightBatches;
+        private boolean closed;
+
+        MemberChannel(String hostname) {
+            this.hostname = hostname;
+        }
+
+        void enqueue(EventWrapper eventWrapper) {
+            ResourceKey key = ResourceKey.of(eventWrapper.event);
+            boolean accepted = lock.lockAndSupply(() -> {
+                if (closed) {
+                    return false;
+                }
+                PendingEvent existing = pending.get(key);
+                if (existing == null) {
+                    pending.put(key, new PendingEvent(key, eventWrapper));
+                } else {
+                    existing.events.add(eventWrapper);
+                }
+                sendable.signal();
+                return true;
+            });
+            if (!accepted) {
+                eventWrapper.markNodeAsNonParticipant(hostname);
+            }
+        }
+
+        /**
+         * Waits for a window slot and for events that can be sent, and takes up to a batch of them.
+         */
+        List<PendingEvent> takeBatch() throws InterruptedException {
+            int maxBatchSize = eventProcessorConfig.getMaxEventsPerBatch();
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new InterruptedException("channel for host " + hostname + " is closed");
+                    }
+                    if (inFlightBatches < eventProcessorConfig.getMaxInFlightBatches()) {
+                        List<PendingEvent> batch = new ArrayList<>(Math.min(maxBatchSize, pending.size()));
+                        Iterator<PendingEvent> it = pending.values().iterator();
+                        while (it.hasNext() && batch.size() < maxBatchSize) {
+                            PendingEvent pendingEvent = it.next();
+                            if (!inFlight.containsKey(pendingEvent.key)) {
+                                it.remove();
+                                inFlight.put(pendingEvent.key, pendingEvent);
+                                batch.add(pendingEvent);
+                            }
+                        }
+                        if (!batch.isEmpty()) {
+                            ++inFlightBatches;
+                            return batch;
+                        }
+                    }
+                    sendable.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Marks the events of the batch as complete for the member if it was acknowledged. Otherwise, the events go
+         * back to be sent again, coalesced with the events that arrived since.
+         */
+        void completeBatch(List<PendingEvent> batch, boolean acknowledged) {
+            boolean open = lock.lockAndSupply(() -> {
+                if (closed) {
+                    return false;
+                }
+                --inFlightBatches;
+                for (PendingEvent pendingEvent : batch) {
+                    inFlight.remove(pendingEvent.key);
+                    if (!acknowledged) {
+                        PendingEvent newer = pending.remove(pendingEvent.key);
+                        if (newer != null) {
+                            pendingEvent.events.addAll(newer.events);
+                        }
+                        pending.put(pendingEvent.key, pendingEvent);
+                    }
+                }
+                sendable.signal();
+                return true;
+            });
+            if (open && acknowledged) {
+                batch.forEach(pendingEvent -> pendingEvent.events.forEach(e -> e.markNodeComplete(hostname)));
+            }
+        }
+
+        /**
+         * Closes the channel and returns all the events that are not complete for the member.
+         */
+        List<EventWrapper> close() {
+            return lock.lockAndSupply(() -> {
+                closed = true;
+                List<EventWrapper> remaining = new ArrayList<>();
+                pending.values().forEach(pendingEvent -> remaining.addAll(pendingEvent.events));
+                inFlight.values().forEach(pendingEvent -> remaining.addAll(pendingEvent.events));
+                pending.clear();
+                inFlight.clear();
+                sendable.signalAll();
+                return remaining;
+            });
         }
     }
 
@@ -0,0 +1,329 @@
+package com.flipkart.varadhi.controller.impl;
+
+import com.flipkart.varadhi.controller.AssignmentStrategy;
+import com.flipkart.varadhi.core.cluster.ConsumerNode;
+import com.flipkart.varadhi.core.cluster.NodeCapacity;
+import com.flipkart.varadhi.core.exceptions.CapacityException;
+import com.flipkart.varadhi.entities.SubscriptionUnitShard;
+import com.flipkart.varadhi.entities.TopicCapacityPolicy;
+import com.flipkart.varadhi.entities.VaradhiSubscription;
+import com.flipkart.varadhi.entities.cluster.Assignment;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * BinPackingStrategy -- Allocate the shard to the consumer node it fits best on, i.e. the node left with the least
+ * free qps and throughput after it. Both are relative to the most free of them on any node, so that neither dominates.
+ * This keeps the free capacity together on few nodes, instead of spreading it in slivers which no shard fits in.
+ * Shards of a subscription are spread across the nodes, a node with fewer shards of the subscription is preferred
+ * over a better fit.
+ * <p>
+ * When shards don't fit on any node, {@link #planMoves} finds the fewest shards of other subscriptions to move to
+ * another node to make room for them.
+ */
+@Slf4j
+public class BinPackingStrategy implements AssignmentStrategy {
+
+    // most shards moved to make room for a single shard.
+    static final int MAX_MOVES_PER_SHARD = 4;
+    // most nodes tried to make room on for a single shard, the ones short of the least capacity first.
+    static final int MAX_NODES_PER_SHARD = 32;
+
+    @Override
+    public List<Assignment> assign(
+        List<SubscriptionUnitShard> shards,
+        VaradhiSubscription subscription,
+        List<ConsumerNode> consumerNodes
+    ) {
+        if (consumerNodes.isEmpty()) {
+            throw new CapacityException("No active consumer node for Subscription assignment.");
+        }
+        Scale scale = Scale.of(consumerNodes);
+        Map<String, Integer> spread = new HashMap<>();
+        consumerNodes.forEach(
+            node -> spread.put(node.getConsumerId(), countShards(node.getAssignments(), subscription.getName()))
+        );
+
+        List<Assignment> assignments = new ArrayList<>();
+        List<ConsumerNode> assignedNodes = new ArrayList<>();
+        List<TopicCapacityPolicy> requests = new ArrayList<>();
+        for (SubscriptionUnitShard shard : largestFirst(shards, scale)) {
+            TopicCapacityPolicy request = shard.getCapacityRequest();
+            ConsumerNode consumerNode = null;
+            int bestSpread = 0;
+            double bestSlack = 0;
+            for (ConsumerNode node : consumerNodes) {
+                if (!node.canAllocate(request)) {
+                    continue;
+                }
+                int nodeSpread = spread.get(node.getConsumerId());
+                NodeCapacity available = node.getAvailable();
+                double slack = scale.slack(available.getMaxQps(), available.getMaxThroughputKBps(), request);
+                boolean better = nodeSpread < bestSpread || (nodeSpread == bestSpread && slack < bestSlack);
+                if (null == consumerNode || better) {
+                    consumerNode = node;
+                    bestSpread = nodeSpread;
+                    bestSlack = slack;
+                }
+            }
+
+            if (null == consumerNode) {
+                log.error(
+                    "Subscription:{} Shard:{} Assignment Failure: ResourcesNeeded:{}, not available on any node.",
+                    subscription.getName(),
+                    shard.getShardId(),
+                    request
+                );
+                for (int i = 0; i < assignments.size(); i++) {
+                    assignedNodes.get(i).free(assignments.get(i), requests.get(i));
+                }
+                throw new CapacityException("Not enough Resources for Subscription assignment.");
+            }
+
+            Assignment assignment = new Assignment(
+                subscription.getName(),
+                shard.getShardId(),
+                consumerNode.getConsumerId()
+            );
+            consumerNode.allocate(assignment, request);
+            spread.merge(consumerNode.getConsumerId(), 1, Integer::sum);
+            assignments.add(assignment);
+            assignedNodes.add(consumerNode);
+            requests.add(request);
+        }
+        return assignments;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the shards allocated by this controller are moved, as the capacity of the others isn't known. A shard is
+     * moved to the node it fits best on, and is moved at most once.
+     */
+    @Override
+    public List<Assignment> planMoves(
+        List<SubscriptionUnitShard> shards,
+        VaradhiSubscription subscription,
+        List<ConsumerNode> consumerNodes
+    ) {
+        if (consumerNodes.size() < 2) {
+            return List.of();
+        }
+        Scale scale = Scale.of(consumerNodes);
+        List<Slot> slots = consumerNodes.stream().map(node -> Slot.of(node, subscription.getName())).toList();
+        List<Assignment> moves = new ArrayList<>();
+        for (SubscriptionUnitShard shard : largestFirst(shards, scale)) {
+            TopicCapacityPolicy request = shard.getCapacityRequest();
+            Slot slot = bestFit(slots, request, subscription.getName(), null, scale);
+            if (null == slot) {
+                List<Move> plan = makeRoom(slots, request, scale);
+                if (null == plan) {
+                    log.info(
+                        "Subscription:{} Shard:{} no moves make room for {}.",
+                        subscription.getName(),
+                        shard.getShardId(),
+                        request
+                    );
+                    return List.of();
+                }
+                for (Move move : plan) {
+                    move.from().release(move.shard());
+                    move.to().receive(move.shard());
+                    moves.add(move.shard().assignment());
+                }
+                slot = plan.get(0).from();
+            }
+            slot.take(subscription.getName(), request);
+        }
+        return moves;
+    }
+
+    private static List<Move> makeRoom(List<Slot> slots, TopicCapacityPolicy request, Scale scale) {
+        List<Slot> targets = new ArrayList<>(slots);
+        targets.sort(Comparator.comparingDouble(slot -> scale.deficit(slot, request)));
+        List<Move> best = null;
+        for (Slot target : targets.subList(0, Math.min(targets.size(), MAX_NODES_PER_SHARD))) {
+            List<Move> plan = makeRoomOn(target, slots, request, scale);
+            if (null != plan && (null == best || plan.size() < best.size())) {
+                best = plan;
+                if (best.size() == 1) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the moves which make room for the request on the target, or null if there are none. The moves are not
+     * applied to the slots.
+     */
+    private static List<Move> makeRoomOn(Slot target, List<Slot> slots, TopicCapacityPolicy request, Scale scale) {
+        int neededQps = request.getQps() - target.qps;
+        int neededKBps = request.getThroughputKBps() - target.kbps;
+        List<Movable> candidates = new ArrayList<>(target.movable);
+        candidates.sort(Comparator.comparingDouble(m -> scale.size(m.request())));
+
+        // a single shard, the smallest one which is enough.
+        for (Movable candidate : candidates) {
+            TopicCapacityPolicy r = candidate.request();
+            if (r.getQps() >= neededQps && r.getThroughputKBps() >= neededKBps) {
+                Slot to = bestFit(slots, r, candidate.assignment().getSubscriptionId(), target, scale);
+                if (null != to) {
+                    return List.of(new Move(candidate, target, to));
+                }
+            }
+        }
+
+        // otherwise the largest shards first, until they are enough.
+        List<Move> plan = new ArrayList<>();
+        for (int i = candidates.size() - 1; i >= 0 && plan.size() < MAX_MOVES_PER_SHARD; i--) {
+            Movable candidate = candidates.get(i);
+            TopicCapacityPolicy r = candidate.request();
+            if ((neededQps <= 0 || r.getQps() == 0) && (neededKBps <= 0 || r.getThroughputKBps() == 0)) {
+                continue;
+            }
+            Slot to = bestFit(slots, r, candidate.assignment().getSubscriptionId(), target, scale);
+            if (null == to) {
+                continue;
+            }
+            // taken for now, so that the following moves see it.
+            to.take(candidate.assignment().getSubscriptionId(), r);
+            plan.add(new Move(candidate, target, to));
+            neededQps -= r.getQps();
+            neededKBps -= r.getThroughputKBps();
+            if (neededQps <= 0 && neededKBps <= 0) {
+                break;
+            }
+        }
+        plan.forEach(move -> move.to().give(move.shard().assignment().getSubscriptionId(), move.shard().request()));
+        return neededQps <= 0 && neededKBps <= 0 ? plan : null;
+    }
+
+    private static Slot bestFit(
+        List<Slot> slots,
+        TopicCapacityPolicy request,
+        String subscriptionId,
+        Slot exclude,
+        Scale scale
+    ) {
+        Slot best = null;
+        int bestSpread = 0;
+        double bestSlack = 0;
+        for (Slot slot : slots) {
+            if (slot == exclude || !slot.fits(request)) {
+                continue;
+            }
+            int spread = slot.shards.getOrDefault(subscriptionId, 0);
+            double slack = scale.slack(slot.qps, slot.kbps, request);
+            if (null == best || spread < bestSpread || (spread == bestSpread && slack < bestSlack)) {
+                best = slot;
+                bestSpread = spread;
+                bestSlack = slack;
+            }
+        }
+        return best;
+    }
+
+    private static List<SubscriptionUnitShard> largestFirst(List<SubscriptionUnitShard> shards, Scale scale) {
+        List<SubscriptionUnitShard> sorted = new ArrayList<>(shards);
+        sorted.sort(Comparator.comparingDouble(s -> -scale.size(s.getCapacityRequest())));
+        return sorted;
+    }
+
+    private static int countShards(Map<String, Assignment> assignments, String subscriptionId) {
+        int count = 0;
+        for (Assignment assignment : assignments.values()) {
+            if (subscriptionId.equals(assignment.getSubscriptionId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Most free qps and throughput on any node, to compare the two.
+     */
+    private record Scale(double qps, double kbps) {
+        static Scale of(List<ConsumerNode> consumerNodes) {
+            int qps = 1;
+            int kbps = 1;
+            for (ConsumerNode node : consumerNodes) {
+                qps = Math.max(qps, node.getAvailable().getMaxQps());
+                kbps = Math.max(kbps, node.getAvailable().getMaxThroughputKBps());
+            }
+            return new Scale(qps, kbps);
+        }
+
+        double size(TopicCapacityPolicy request) {
+            return request.getQps() / qps + request.getThroughputKBps() / kbps;
+        }
+
+        double slack(int availableQps, int availableKBps, TopicCapacityPolicy request) {
+            return (availableQps - request.getQps()) / qps + (availableKBps - request.getThroughputKBps()) / kbps;
+        }
+
+        double deficit(Slot slot, TopicCapacityPolicy request) {
+            return Math.max(0, request.getQps() - slot.qps) / qps
+                   + Math.max(0, request.getThroughputKBps() - slot.kbps) / kbps;
+        }
+    }
+
+    private record Movable(Assignment assignment, TopicCapacityPolicy request) {
+    }
+
+    private record Move(Movable shard, Slot from, Slot to) {
+    }
+
+    /**
+     * Copy of a consumer node, to plan the moves on.
+     */
+    private static final class Slot {
+        private int qps;
+        private int kbps;
+        // shards on the node per subscription.
+        private final Map<String, Integer> shards = new HashMap<>();
+        private final List<Movable> movable = new ArrayList<>();
+
+        static Slot of(ConsumerNode node, String subscriptionId) {
+            Slot slot = new Slot();
+            slot.qps = node.getAvailable().getMaxQps();
+            slot.kbps = node.getAvailable().getMaxThroughputKBps();
+            node.getAssignments().values().forEach(a -> slot.shards.merge(a.getSubscriptionId(), 1, Integer::sum));
+            node.getAllocations().forEach((name, request) -> {
+                Assignment assignment = node.getAssignments().get(name);
+                if (null != assignment && !subscriptionId.equals(assignment.getSubscriptionId())) {
+                    slot.movable.add(new Movable(assignment, request));
+                }
+            });
+            return slot;
+        }
+
+        boolean fits(TopicCapacityPolicy request) {
+            return qps >= request.getQps() && kbps >= request.getThroughputKBps();
+        }
+
+        void take(String subscriptionId, TopicCapacityPolicy request) {
+            qps -= request.getQps();
+            kbps -= request.getThroughputKBps();
+            shards.merge(subscriptionId, 1, Integer::sum);
+        }
+
+        void give(String subscriptionId, TopicCapacityPolicy request) {
+            qps += request.getQps();
+            kbps += request.getThroughputKBps();
+            shards.merge(subscriptionId, -1, Integer::sum);
+        }
+
+        void release(Movable shard) {
+            movable.remove(shard);
+            give(shard.assignment().getSubscriptionId(), shard.request());
+        }
+
+        // a moved shard isn't movable on its new node, so that it moves at most once.
+        void receive(Movable shard) {
+            take(shard.assignment().getSubscriptionId(), shard.request());
+        }
+    }
+}
@@ -34,6 +34,7 @@ public class LeastAssignedStrategy implements AssignmentStrategy {
         );
         consumers.addAll(consumerNodes);
         List<ConsumerNode> usedNodes = new ArrayList<>();
+        List<ConsumerNode> allocatedNodes = new ArrayList<>();
         ArrayList<SubscriptionUnitShard> shardsToAssign = new ArrayList<>(shards);
         // Subscription's shards will be equal, so below sorting is no-op for now.
         shardsToAssign.sort(SubscriptionUnitShard.ShardCapacityComparator);
@@ -50,6 +51,10 @@ public class LeastAssignedStrategy implements AssignmentStrategy {
                     shard.getCapacityRequest(),
                     consumerNode.getAvailable()
                 );
+                // free the shards allocated so far, as none of them get assigned.
+                for (int i = 0; i < assignments.size(); i++) {
+                    allocatedNodes.get(i).free(assignments.get(i), shardsToAssign.get(i).getCapacityRequest());
+                }
                 throw new CapacityException("Not enough Resources for Subscription assignment.");
             }
 
@@ -60,6 +65,7 @@ public class LeastAssignedStrategy implements AssignmentStrategy {
             );
             consumerNode.allocate(assignment, shard.getCapacityRequest());
             assignments.add(assignment);
+            allocatedNodes.add(consumerNode);
 
             // For the same subscription prefer next shard allocation on one of remaining consumer node.
             // However, reuse already allocated consumer nodes if assignment is not possible with remaining nodes.
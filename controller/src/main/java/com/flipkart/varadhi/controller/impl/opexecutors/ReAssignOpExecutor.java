@@ -13,7 +13,8 @@ import com.flipkart.varadhi.entities.cluster.SubscriptionOperation;
 import com.flipkart.varadhi.spi.db.SubscriptionStore;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -37,7 +38,9 @@ public class ReAssignOpExecutor extends SubscriptionStartShardExecutor {
 
     /**
      * Re-Assigns shard to a Consumer Node different from current assignment.
-     * Re-Assign = UnAssign -> Assign.
+     * Re-Assign = (Stop) -> UnAssign -> Assign -> Start.
+     * Stop is needed only when the current Consumer Node is still active, e.g. when the shard is moved off an
+     * overloaded node. It frees the capacity of the shard on it as well.
      * If there is a failure during Assign, Subscription shard remains un-assigned.
      * -- Retry (Auto or manual) of failed Re-Assign operation or start of the subscription should fix this.
      */
@@ -45,23 +48,67 @@ public class ReAssignOpExecutor extends SubscriptionStartShardExecutor {
         SubscriptionOperation.ReassignShardData data = (SubscriptionOperation.ReassignShardData)subOp.getData();
         Assignment currentAssignment = data.getAssignment();
         VaradhiSubscription subscription = subscriptionStore.get(currentAssignment.getSubscriptionId());
-        Map<Integer, ShardOperation> shardOps = operationMgr.getShardOps(subOp.getId());
-        return assignmentManager.reAssignShard(currentAssignment, subscription, false).thenCompose(a -> {
-            ConsumerApi consumer = getAssignedConsumer(a);
-            SubscriptionUnitShard shard = subscription.getShards().getShard(currentAssignment.getShardId());
-            ShardOperation shardOp = shardOps.computeIfAbsent(
-                a.getShardId(),
-                shardId -> ShardOperation.startOp(subOp.getId(), shard, subscription)
-            );
-            return startShard(shardOp, subOp.isInRetry(), consumer).thenApply(startScheduled -> {
-                if (!startScheduled) {
-                    log.info("ReAssign {} completed without any shard operations being scheduled.", subOp.getData());
-                    completeSubOperation(subOp);
-                } else {
-                    log.info("Scheduled Re-Assign on Shard({}).", currentAssignment);
-                }
-                return null;
-            });
-        });
+        SubscriptionUnitShard shard = subscription.getShards().getShard(currentAssignment.getShardId());
+        List<ShardOperation> shardOps = operationMgr.listShardOps(subOp.getId());
+        ShardOperation startOp = findShardOp(shardOps, ShardOperation.StartData.class).orElseGet(
+            () -> ShardOperation.startOp(subOp.getId(), shard, subscription)
+        );
+        boolean isMove = assignmentManager.isConsumerNodeActive(currentAssignment.getConsumerId());
+        CompletableFuture<Void> stopped = isMove ?
+            stopOnCurrentNode(subOp, shardOps, currentAssignment, subscription, shard, startOp) :
+            CompletableFuture.completedFuture(null);
+
+        return stopped.thenCompose(v -> assignmentManager.reAssignShard(currentAssignment, subscription, isMove))
+                      .thenCompose(a -> {
+                          ConsumerApi consumer = getAssignedConsumer(a);
+                          return startShard(startOp, subOp.isInRetry(), consumer).thenApply(startScheduled -> {
+                              if (!startScheduled) {
+                                  log.info(
+                                      "ReAssign {} completed without any shard start being scheduled.",
+                                      subOp.getData()
+                                  );
+                                  completeSubOperation(subOp);
+                              } else {
+                                  log.info("Scheduled Re-Assign on Shard({}).", currentAssignment);
+                              }
+                              return null;
+                          });
+                      });
+    }
+
+    /**
+     * Stops the shard on the consumer node it is assigned to. The start is submitted along with the stop, so that the
+     * operation doesn't complete with the stop alone.
+     */
+    private CompletableFuture<Void> stopOnCurrentNode(
+        SubscriptionOperation subOp,
+        List<ShardOperation> shardOps,
+        Assignment assignment,
+        VaradhiSubscription subscription,
+        SubscriptionUnitShard shard,
+        ShardOperation startOp
+    ) {
+        ConsumerApi consumer = getAssignedConsumer(assignment);
+        ShardOperation stopOp = findShardOp(shardOps, ShardOperation.StopData.class).orElseGet(
+            () -> ShardOperation.stopOp(subOp.getId(), shard, subscription)
+        );
+        return consumer.getConsumerState(assignment.getSubscriptionId(), assignment.getShardId())
+                       .thenCompose(state -> {
+                           if (state.isEmpty()) {
+                               log.info("Shard({}) is already stopped on its current node.", assignment);
+                               return CompletableFuture.completedFuture(null);
+                           }
+                           operationMgr.submitShardOp(startOp, subOp.isInRetry());
+                           operationMgr.submitShardOp(stopOp, subOp.isInRetry());
+                           log.info("Stopping Shard({}) to re-assign it.", assignment);
+                           return consumer.stop((ShardOperation.StopData)stopOp.getOpData());
+                       });
+    }
+
+    private static Optional<ShardOperation> findShardOp(
+        List<ShardOperation> shardOps,
+        Class<? extends ShardOperation.OpData> opDataType
+    ) {
+        return shardOps.stream().filter(op -> opDataType.isInstance(op.getOpData())).findFirst();
     }
 }
@@ -38,21 +38,20 @@ public class StartOpExecutor extends SubscriptionStartShardExecutor {
 
     private CompletableFuture<Void> startShards(SubscriptionOperation subOp, VaradhiSubscription subscription) {
         SubscriptionShards shards = subscription.getShards();
-        return getOrCreateShardAssignment(subscription).thenCompose(assignments -> {
-            List<CompletableFuture<Boolean>> shardFutures = scheduleStartOnShards(subscription, subOp, assignments);
+        return getOrCreateShardAssignment(subscription).thenCompose(
+            assignments -> scheduleStartOnShards(subscription, subOp, assignments)
+        ).thenApply(scheduled -> {
             log.info(
                 "Executed Start on {} shards for SubOp({}), Scheduled ShardOperations {}.",
                 shards.getShardCount(),
                 subOp.getData(),
-                shardFutures.size()
+                scheduled.size()
             );
-            return CompletableFuture.allOf(shardFutures.toArray(new CompletableFuture[0])).thenApply(ignore -> {
-                if (allShardsSkipped(shardFutures)) {
-                    log.info("Start {} completed without any shard operations being scheduled.", subOp.getData());
-                    completeSubOperation(subOp);
-                }
-                return null;
-            });
+            if (noneScheduled(scheduled)) {
+                log.info("Start {} completed without any shard operations being scheduled.", subOp.getData());
+                completeSubOperation(subOp);
+            }
+            return null;
         });
     }
 
@@ -70,7 +69,7 @@ public class StartOpExecutor extends SubscriptionStartShardExecutor {
         return unitShards;
     }
 
-    private List<CompletableFuture<Boolean>> scheduleStartOnShards(
+    private CompletableFuture<List<Boolean>> scheduleStartOnShards(
         VaradhiSubscription subscription,
         SubscriptionOperation subOp,
         List<Assignment> assignments
@@ -78,14 +77,18 @@ public class StartOpExecutor extends SubscriptionStartShardExecutor {
         SubscriptionShards shards = subscription.getShards();
         String subOpId = subOp.getData().getOperationId();
         Map<Integer, ShardOperation> shardOps = operationMgr.getShardOps(subOpId);
-        return assignments.stream().map(assignment -> {
-            ConsumerApi consumer = getAssignedConsumer(assignment);
+        List<ShardOperation> startOps = new ArrayList<>(assignments.size());
+        List<ConsumerApi> consumers = new ArrayList<>(assignments.size());
+        for (Assignment assignment : assignments) {
             SubscriptionUnitShard shard = shards.getShard(assignment.getShardId());
-            ShardOperation shardOp = shardOps.computeIfAbsent(
-                assignment.getShardId(),
-                shardId -> ShardOperation.startOp(subOpId, shard, subscription)
+            startOps.add(
+                shardOps.computeIfAbsent(
+                    assignment.getShardId(),
+                    shardId -> ShardOperation.startOp(subOpId, shard, subscription)
+                )
             );
-            return startShard(shardOp, subOp.isInRetry(), consumer);
-        }).toList();
+            consumers.add(getAssignedConsumer(assignment));
+        }
+        return startShards(startOps, consumers, subOp.isInRetry());
     }
 }
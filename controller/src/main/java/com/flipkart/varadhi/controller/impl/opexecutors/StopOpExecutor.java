@@ -17,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 
@@ -48,77 +49,56 @@ public class StopOpExecutor extends SubscriptionOpExecutor {
             shards.getShardCount()
         );
 
-        List<Assignment> stopsFailed = new ArrayList<>();
-        List<CompletableFuture<Boolean>> shardFutures = scheduleStopOnShards(
-            subscription,
-            subOp,
-            assignments,
-            stopsFailed
-        );
-        log.info(
-            "Executed Stop on {} shards for SubOp({}), Scheduled ShardOperations {}.",
-            shards.getShardCount(),
-            subOp.getData(),
-            shardFutures.size()
-        );
+        List<ShardOperation> stopOps = getStopOps(subscription, subOp, assignments);
+        List<ConsumerApi> consumers = assignments.stream().map(this::getAssignedConsumer).toList();
 
         // in case assignments is empty i.e. no assignment exists for this subscription.
         // nothing special is needed. Default flow will take care of marking operation complete.
-        return CompletableFuture.allOf(shardFutures.toArray(new CompletableFuture[0])).thenCompose(v -> {
+        return executeShardOps(
+            stopOps,
+            consumers,
+            subOp.isInRetry(),
+            Optional::isPresent,
+            (consumer, stopOp) -> consumer.stop((ShardOperation.StopData)stopOp.getOpData())
+        ).thenCompose(scheduled -> {
+            log.info(
+                "Executed Stop on {} shards for SubOp({}), Scheduled ShardOperations {}.",
+                shards.getShardCount(),
+                subOp.getData(),
+                scheduled.size()
+            );
             // unAssignShards shouldn't be called for shards which failed to stop.
-            stopsFailed.forEach(assignments::remove);
-            return assignmentManager.unAssignShards(assignments, subscription, true);
-        }).thenApply(ignore -> {
-            if (allShardsSkipped(shardFutures)) {
-                log.info("Stop {} completed without any shard operations being scheduled.", subOp.getData());
-                completeSubOperation(subOp);
+            List<Assignment> stopsFailed = new ArrayList<>();
+            for (int i = 0; i < stopOps.size(); i++) {
+                if (stopOps.get(i).hasFailed()) {
+                    stopsFailed.add(assignments.get(i));
+                }
             }
-            return null;
+            stopsFailed.forEach(assignments::remove);
+            return assignmentManager.unAssignShards(assignments, subscription, true).thenApply(ignore -> {
+                if (noneScheduled(scheduled)) {
+                    log.info("Stop {} completed without any shard operations being scheduled.", subOp.getData());
+                    completeSubOperation(subOp);
+                }
+                return null;
+            });
         });
     }
 
-    private List<CompletableFuture<Boolean>> scheduleStopOnShards(
+    private List<ShardOperation> getStopOps(
         VaradhiSubscription subscription,
         SubscriptionOperation subOp,
-        List<Assignment> assignments,
-        List<Assignment> stopsFailed
+        List<Assignment> assignments
     ) {
         SubscriptionShards shards = subscription.getShards();
         String subOpId = subOp.getData().getOperationId();
         Map<Integer, ShardOperation> shardOps = operationMgr.getShardOps(subOpId);
         return assignments.stream().map(assignment -> {
-            ConsumerApi consumer = getAssignedConsumer(assignment);
             SubscriptionUnitShard shard = shards.getShard(assignment.getShardId());
-            ShardOperation shardOp = shardOps.computeIfAbsent(
+            return shardOps.computeIfAbsent(
                 assignment.getShardId(),
                 shardId -> ShardOperation.stopOp(subOpId, shard, subscription)
             );
-            return stopShard(shardOp, subOp.isInRetry(), consumer).whenComplete((scheduled, throwable) -> {
-                if (shardOp.hasFailed()) {
-                    stopsFailed.add(assignment);
-                }
-            });
         }).toList();
     }
-
-
-    private CompletableFuture<Boolean> stopShard(ShardOperation stopOp, boolean isRetry, ConsumerApi consumer) {
-        String subId = stopOp.getOpData().getSubscriptionId();
-        int shardId = stopOp.getOpData().getShardId();
-        return consumer.getConsumerState(subId, shardId).thenCompose(state -> {
-            // Stop can be executed in starting subscription as well.
-            // in general this shouldn't happen as multiple in-progress operations are not allowed.
-            if (state.isEmpty()) {
-                log.info("Subscription:{} Shard:{} is already Stopped. Skipping.", subId, shardId);
-                return CompletableFuture.completedFuture(false);
-            }
-            operationMgr.submitShardOp(stopOp, isRetry);
-            CompletableFuture<Void> stopFuture = consumer.stop((ShardOperation.StopData)stopOp.getOpData());
-            log.info("Scheduled shard stop({}).", stopOp);
-            return stopFuture.thenApply(v -> true);
-        }).exceptionally(t -> {
-            failShardOperation(stopOp, t);
-            return true;
-        });
-    }
 }
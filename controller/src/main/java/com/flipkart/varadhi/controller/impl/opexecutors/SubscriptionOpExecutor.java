@@ -7,6 +7,7 @@ import com.flipkart.varadhi.core.cluster.consumer.ConsumerApi;
 import com.flipkart.varadhi.core.cluster.consumer.ConsumerClientFactory;
 import com.flipkart.varadhi.entities.VaradhiSubscription;
 import com.flipkart.varadhi.entities.cluster.Assignment;
+import com.flipkart.varadhi.entities.cluster.ConsumerState;
 import com.flipkart.varadhi.entities.cluster.OrderedOperation;
 import com.flipkart.varadhi.entities.cluster.ShardOperation;
 import com.flipkart.varadhi.entities.cluster.SubscriptionOperation;
@@ -14,8 +15,19 @@ import com.flipkart.varadhi.spi.db.SubscriptionStore;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @Slf4j
 @AllArgsConstructor
@@ -49,6 +61,124 @@ public abstract class SubscriptionOpExecutor implements OpExecutor<OrderedOperat
         operationMgr.updateSubOp(subOp);
     }
 
+    /**
+     * Executes the shard operations on the consumers of their shards, in steps:
+     * <ol>
+     * <li>the states of the shards are looked up, to find the shards which need the operation.</li>
+     * <li>the shard operations of those are submitted together, so that they are written in as few writes as the
+     * store allows, and all of them before any of them is dispatched.</li>
+     * <li>the shard operations are dispatched, and complete as the consumers report them done.</li>
+     * </ol>
+     * The consumers are called with at most {@link OperationMgr#getMaxInFlightShardOps()} calls in flight.
+     *
+     * @param shardOps  the shard operations to execute.
+     * @param consumers the consumers of the shards, one per shard operation.
+     * @param needed    whether a shard in the given state needs the operation.
+     * @param dispatch  dispatches the shard operation to the consumer.
+     * @return per shard operation, whether it was scheduled. A shard operation which fails to be dispatched is
+     * scheduled, as it is failed.
+     */
+    CompletableFuture<List<Boolean>> executeShardOps(
+        List<ShardOperation> shardOps,
+        List<ConsumerApi> consumers,
+        boolean isRetry,
+        Predicate<Optional<ConsumerState>> needed,
+        BiFunction<ConsumerApi, ShardOperation, CompletableFuture<Void>> dispatch
+    ) {
+        List<Integer> indexes = IntStream.range(0, shardOps.size()).boxed().toList();
+        Map<Integer, Throwable> lookupFailures = new ConcurrentHashMap<>();
+        return forEachBounded(indexes, i -> {
+            ShardOperation.OpData opData = shardOps.get(i).getOpData();
+            return call(() -> consumers.get(i).getConsumerState(opData.getSubscriptionId(), opData.getShardId()))
+                .handle((state, t) -> {
+                    if (null != t) {
+                        // the shard operation is failed once submitted.
+                        lookupFailures.put(i, t);
+                        return true;
+                    }
+                    if (!needed.test(state)) {
+                        log.info("Shard operation({}) not needed, shard state:{}. Skipping.", opData, state);
+                        return false;
+                    }
+                    return true;
+                });
+        }).thenCompose(toExecute -> {
+            operationMgr.submitShardOps(indexes.stream().filter(toExecute::get).map(shardOps::get).toList(), isRetry);
+            return forEachBounded(indexes, i -> {
+                ShardOperation shardOp = shardOps.get(i);
+                if (!toExecute.get(i)) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                if (lookupFailures.containsKey(i)) {
+                    failShardOperation(shardOp, lookupFailures.get(i));
+                    return CompletableFuture.completedFuture(true);
+                }
+                log.info("Scheduling shard operation({}).", shardOp);
+                return call(() -> dispatch.apply(consumers.get(i), shardOp)).handle((v, t) -> {
+                    if (null != t) {
+                        failShardOperation(shardOp, t);
+                    }
+                    return true;
+                });
+            });
+        });
+    }
+
+    /**
+     * Runs the task on each of the items, with at most {@link OperationMgr#getMaxInFlightShardOps()} of them in
+     * flight at a time.
+     *
+     * @return the results of the tasks, in the order of the items.
+     */
+    <T, R> CompletableFuture<List<R>> forEachBounded(List<T> items, Function<T, CompletableFuture<R>> task) {
+        AtomicReferenceArray<R> results = new AtomicReferenceArray<>(items.size());
+        AtomicInteger next = new AtomicInteger();
+        int lanes = Math.min(items.size(), Math.max(1, operationMgr.getMaxInFlightShardOps()));
+        CompletableFuture<?>[] laneFutures = new CompletableFuture[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            laneFutures[lane] = runNext(items, task, next, results);
+        }
+        return CompletableFuture.allOf(laneFutures).thenApply(v -> {
+            List<R> ordered = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                ordered.add(results.get(i));
+            }
+            return ordered;
+        });
+    }
+
+    // a lane takes up the next item once done with its current one.
+    private static <T, R> CompletableFuture<Void> runNext(
+        List<T> items,
+        Function<T, CompletableFuture<R>> task,
+        AtomicInteger next,
+        AtomicReferenceArray<R> results
+    ) {
+        int i = next.getAndIncrement();
+        if (i >= items.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return call(() -> task.apply(items.get(i))).thenCompose(result -> {
+            results.set(i, result);
+            return runNext(items, task, next, results);
+        });
+    }
+
+    // calls which throw rather than returning a failed future, fail the future.
+    private static <R> CompletableFuture<R> call(Supplier<CompletableFuture<R>> call) {
+        try {
+            return call.get();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    boolean noneScheduled(List<Boolean> scheduled) {
+        long notScheduled = scheduled.stream().filter(s -> !s).count();
+        log.info("Shards total:{} Shards with operation skipped: {}.", scheduled.size(), notScheduled);
+        return notScheduled == scheduled.size();
+    }
+
     boolean allShardsSkipped(List<CompletableFuture<Boolean>> shardFutures) {
         long notScheduled = shardFutures.stream().filter(f -> {
             try {
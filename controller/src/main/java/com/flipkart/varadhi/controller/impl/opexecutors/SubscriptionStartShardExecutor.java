@@ -9,6 +9,8 @@ import com.flipkart.varadhi.entities.cluster.ShardOperation;
 import com.flipkart.varadhi.spi.db.SubscriptionStore;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -24,6 +26,26 @@ public abstract class SubscriptionStartShardExecutor extends SubscriptionOpExecu
         super(subscription, clientFactory, operationMgr, assignmentManager, metaStore);
     }
 
+    /**
+     * Starts the shards on their consumers, the batch form of {@link #startShard}.
+     *
+     * @return per shard, whether its start was scheduled.
+     * @see #executeShardOps
+     */
+    CompletableFuture<List<Boolean>> startShards(
+        List<ShardOperation> startOps,
+        List<ConsumerApi> consumers,
+        boolean isRetry
+    ) {
+        return executeShardOps(
+            startOps,
+            consumers,
+            isRetry,
+            Optional::isEmpty,
+            (consumer, startOp) -> consumer.start((ShardOperation.StartData)startOp.getOpData())
+        );
+    }
+
     CompletableFuture<Boolean> startShard(ShardOperation startOp, boolean isRetry, ConsumerApi consumer) {
         String subId = startOp.getOpData().getSubscriptionId();
         int shardId = startOp.getOpData().getShardId();
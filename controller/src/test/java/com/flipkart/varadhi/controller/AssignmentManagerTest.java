@@ -125,6 +125,57 @@ public class AssignmentManagerTest {
         validateCapacity(c0, c1, c2, nodes);
     }
 
+    @Test
+    public void testAssignShards_MovesShardsToFit() throws Exception {
+        VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
+                                                        .setNumShards(2)
+                                                        .build("project1.sub1", "project1", "project1.topic1");
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(sub1);
+        List<ConsumerNode> nodes = NodeProvider.getConsumerNodes(3);
+        nodes.forEach(this::addConsumerNode);
+        Assignment toMove = new Assignment("project1.sub2", 0, nodes.get(0).getConsumerId());
+        List<Assignment> moved = new ArrayList<>();
+        assignmentManager.setShardMover(assignment -> {
+            moved.add(assignment);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        doReturn(new ArrayList<>()).when(assignmentStore).getSubAssignments(sub1.getName());
+        doThrow(new CapacityException("Not enough capacity.")).doCallRealMethod()
+                                                              .when(strategy)
+                                                              .assign(anyList(), any(), anyList());
+        doReturn(List.of(toMove)).when(strategy).planMoves(anyList(), any(), anyList());
+        CompletableFuture<List<Assignment>> aFuture = assignmentManager.assignShards(shards, sub1, List.of());
+        await().atMost(100, TimeUnit.SECONDS).until(aFuture::isDone);
+
+        assertEquals(shards.size(), aFuture.get().size());
+        assertEquals(List.of(toMove), moved);
+        verify(strategy, times(2)).assign(anyList(), any(), anyList());
+    }
+
+    @Test
+    public void testAssignShards_FailsIfTheShardsDontFitAfterTheMoves() {
+        VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
+                                                        .setNumShards(2)
+                                                        .build("project1.sub1", "project1", "project1.topic1");
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(sub1);
+        List<ConsumerNode> nodes = NodeProvider.getConsumerNodes(3);
+        nodes.forEach(this::addConsumerNode);
+        Assignment toMove = new Assignment("project1.sub2", 0, nodes.get(0).getConsumerId());
+        assignmentManager.setShardMover(assignment -> CompletableFuture.failedFuture(new RuntimeException("failed")));
+
+        doReturn(new ArrayList<>()).when(assignmentStore).getSubAssignments(sub1.getName());
+        doThrow(new CapacityException("Not enough capacity.")).when(strategy).assign(anyList(), any(), anyList());
+        doReturn(List.of(toMove)).when(strategy).planMoves(anyList(), any(), anyList());
+        CompletableFuture<List<Assignment>> aFuture = assignmentManager.assignShards(shards, sub1, List.of());
+        await().atMost(100, TimeUnit.SECONDS).until(aFuture::isDone);
+
+        assertException(aFuture, CapacityException.class, "Not enough capacity.");
+        // the moves are attempted once.
+        verify(strategy, times(1)).planMoves(anyList(), any(), anyList());
+        verify(strategy, times(2)).assign(anyList(), any(), anyList());
+    }
+
     @Test
     public void testUnAssignShards() throws Exception {
         VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
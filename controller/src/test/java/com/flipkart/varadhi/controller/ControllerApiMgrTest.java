@@ -19,6 +19,7 @@ import io.vertx.core.eventbus.ReplyFailure;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -671,7 +672,7 @@ public class ControllerApiMgrTest {
         List<Assignment> consumer0Assignments = new ArrayList<>();
         consumer0Assignments.add(getAssignment(nodes.get(0), sub1, shards1.get(0)));
         consumer0Assignments.add(getAssignment(nodes.get(0), sub2, shards2.get(0)));
-        doAnswer(__ -> new HashMap<>()).when(operationMgr).getShardOps(any());
+        doAnswer(__ -> new ArrayList<>()).when(operationMgr).listShardOps(any());
         doNothing().when(operationMgr).updateSubOp(any());
 
         doReturn(CompletableFuture.completedFuture(getAssignment(nodes.get(1), sub1, shards1.get(0)))).when(
@@ -718,6 +719,44 @@ public class ControllerApiMgrTest {
         verify(consumerApi, times(2)).start(any());
     }
 
+    @Test
+    public void testReAssignShard_ActiveNode_StopsShardOnIt() {
+        VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
+                                                        .setNumShards(2)
+                                                        .build("project1.sub1", "project1", "project1.topic1");
+        List<SubscriptionUnitShard> shards1 = SubscriptionTestUtils.shardsOf(sub1);
+        List<ConsumerNode> nodes = NodeProvider.getConsumerNodes(2);
+        Assignment current = getAssignment(nodes.get(0), sub1, shards1.get(0));
+        doReturn(sub1).when(subscriptionStore).get(sub1.getName());
+        doReturn(true).when(assignmentManager).isConsumerNodeActive(nodes.get(0).getConsumerId());
+        doReturn(CompletableFuture.completedFuture(getAssignment(nodes.get(1), sub1, shards1.get(0)))).when(
+            assignmentManager
+        ).reAssignShard(current, sub1, true);
+        // consuming on the current node, and not on the new one.
+        doReturn(
+            CompletableFuture.completedFuture(Optional.of(ConsumerState.CONSUMING)),
+            CompletableFuture.completedFuture(Optional.empty())
+        ).when(consumerApi).getConsumerState(sub1.getName(), shards1.get(0).getShardId());
+        doReturn(CompletableFuture.completedFuture(null)).when(consumerApi).stop(any());
+        CountDownLatch shardStartLatch = new CountDownLatch(1);
+        doAnswer(invocationOnMock -> {
+            shardStartLatch.countDown();
+            return CompletableFuture.completedFuture(null);
+        }).when(consumerApi).start(any());
+
+        controllerApiMgr.reAssignShard(current);
+        await().atMost(20, TimeUnit.SECONDS).until(() -> shardStartLatch.getCount() == 0);
+
+        InOrder inOrder = inOrder(consumerApi, assignmentManager);
+        inOrder.verify(consumerApi).stop(any());
+        inOrder.verify(assignmentManager).reAssignShard(current, sub1, true);
+        inOrder.verify(consumerApi).start(any());
+        verify(operationMgr, times(2)).submitShardOp(
+            argThat(op -> op.getOpData() instanceof ShardOperation.StartData),
+            eq(false)
+        );
+    }
+
     private void setupSubscriptionForStart(
         VaradhiSubscription sub1,
         List<SubscriptionUnitShard> shards,
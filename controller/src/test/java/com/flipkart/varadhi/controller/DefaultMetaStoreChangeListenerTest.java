@@ -0,0 +1,132 @@
+package com.flipkart.varadhi.controller;
+
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.core.cluster.events.EventType;
+import com.flipkart.varadhi.core.cluster.events.ResourceEvent;
+import com.flipkart.varadhi.entities.MetaStoreEntityType;
+import com.flipkart.varadhi.entities.ResourceType;
+import com.flipkart.varadhi.spi.db.MetaStore;
+import com.flipkart.varadhi.spi.db.MetaStoreChangeEvent;
+import com.flipkart.varadhi.spi.db.TopicStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class DefaultMetaStoreChangeListenerTest {
+
+    private final Queue<ResourceEvent<?>> emitted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final CountDownLatch firstReadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseReads = new CountDownLatch(1);
+    private final AtomicInteger reads = new AtomicInteger();
+    private DefaultMetaStoreChangeListener changeListener;
+
+    @BeforeEach
+    void setUp() {
+        TopicStore topicStore = mock(TopicStore.class);
+        doAnswer(invocation -> {
+            reads.incrementAndGet();
+            firstReadStarted.countDown();
+            releaseReads.await();
+            throw new ResourceNotFoundException("not found");
+        }).when(topicStore).get(anyString());
+        MetaStore metaStore = mock(MetaStore.class);
+        doReturn(topicStore).when(metaStore).topics();
+
+        changeListener = new DefaultMetaStoreChangeListener(metaStore, emitted::add, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseReads.countDown();
+        changeListener.close();
+    }
+
+    @Test
+    void testEventsOfAResourceAreCoalescedWhileItIsRead() throws Exception {
+        changeListener.onEvent(event("topic1"));
+        assertTrue(firstReadStarted.await(5, TimeUnit.SECONDS));
+
+        changeListener.onEvent(event("topic1"));
+        changeListener.onEvent(event("topic1"));
+        changeListener.onEvent(event("topic2"));
+        releaseReads.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(3, emitted.size()));
+        // one read for the first event and one more for the two that arrived during it.
+        assertEquals(3, reads.get());
+        assertEquals(
+            List.of("topic1", "topic1", "topic2"),
+            emitted.stream().map(ResourceEvent::resourceName).sorted().toList()
+        );
+        emitted.forEach(e -> {
+            assertEquals(ResourceType.TOPIC, e.resourceType());
+            assertEquals(EventType.INVALIDATE, e.operation());
+        });
+
+        emitted.forEach(ResourceEvent::markAsProcessed);
+        assertEquals(4, processed.get());
+    }
+
+    @Test
+    void testUnsupportedTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> changeListener.onEvent(event(MetaStoreEntityType.TEAM)));
+    }
+
+    @Test
+    void testEventsAreNotReadAfterClose() {
+        changeListener.close();
+        releaseReads.countDown();
+
+        changeListener.onEvent(event("topic1"));
+        assertEquals(0, reads.get());
+        assertTrue(emitted.isEmpty());
+    }
+
+    private MetaStoreChangeEvent event(String name) {
+        return new TestChangeEvent(name, MetaStoreEntityType.TOPIC);
+    }
+
+    private MetaStoreChangeEvent event(MetaStoreEntityType type) {
+        return new TestChangeEvent("name", type);
+    }
+
+    private class TestChangeEvent implements MetaStoreChangeEvent {
+        private final String name;
+        private final MetaStoreEntityType type;
+
+        TestChangeEvent(String name, MetaStoreEntityType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String getResourceName() {
+            return name;
+        }
+
+        @Override
+        public MetaStoreEntityType getEntityType() {
+            return type;
+        }
+
+        @Override
+        public void markAsProcessed() {
+            processed.incrementAndGet();
+        }
+    }
+}
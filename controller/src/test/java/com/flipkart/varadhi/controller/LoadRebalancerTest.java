@@ -0,0 +1,205 @@
+package com.flipkart.varadhi.controller;
+
+import com.flipkart.varadhi.controller.config.RebalanceConfig;
+import com.flipkart.varadhi.core.cluster.ConsumerInfo;
+import com.flipkart.varadhi.core.cluster.NodeProvider;
+import com.flipkart.varadhi.core.cluster.ShardLoad;
+import com.flipkart.varadhi.entities.cluster.Assignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class LoadRebalancerTest {
+    private static final long ROUND_MILLIS = 10_000;
+
+    AssignmentManager assignmentManager;
+    RebalanceConfig config;
+    AtomicLong clock;
+    List<Assignment> reAssigned;
+    LoadRebalancer rebalancer;
+    int round;
+
+    @BeforeEach
+    public void setUp() {
+        assignmentManager = mock(AssignmentManager.class);
+        config = new RebalanceConfig();
+        config.setSustainedRounds(2);
+        clock = new AtomicLong(0);
+        reAssigned = new ArrayList<>();
+        rebalancer = new LoadRebalancer(config, assignmentManager, null, reAssigned::add, Runnable::run, clock::get);
+        round = 0;
+    }
+
+    @Test
+    public void testRebalance_SustainedOverload_MovesTheLargestShardThatFits() {
+        Assignment hot = new Assignment("sub1", 0, "node0");
+        Assignment warm = new Assignment("sub1", 1, "node0");
+        doReturn(List.of(hot, warm)).when(assignmentManager).getConsumerNodeAssignments("node0");
+        Map<String, Map<String, Integer>> qps = Map.of(
+            "node0",
+            Map.of(hot.getName(), 300, warm.getName(), 100),
+            "node1",
+            Map.of("sub2:0", 100),
+            "node2",
+            Map.of("sub3:0", 100)
+        );
+
+        // the first round only samples the loads, the next one finds node0 overloaded for the first time.
+        assertTrue(nextRound(qps).isEmpty());
+        assertTrue(nextRound(qps).isEmpty());
+        // node0 is at twice the mean, moving the hot shard would take it below the mean.
+        assertEquals(List.of(warm), nextRound(qps));
+        assertEquals(List.of(warm), reAssigned);
+        verify(assignmentManager).setOverloadedNodes(Set.of("node0"));
+
+        // the node settles before it is looked at again.
+        assertTrue(nextRound(qps).isEmpty());
+    }
+
+    @Test
+    public void testRebalance_ShardInCooldown_IsNotMovedAgain() {
+        Assignment hot = new Assignment("sub1", 0, "node0");
+        Assignment warm = new Assignment("sub1", 1, "node0");
+        doReturn(List.of(hot, warm)).when(assignmentManager).getConsumerNodeAssignments("node0");
+        Map<String, Map<String, Integer>> qps = Map.of(
+            "node0",
+            Map.of(hot.getName(), 300, warm.getName(), 100),
+            "node1",
+            Map.of("sub2:0", 100),
+            "node2",
+            Map.of("sub3:0", 100)
+        );
+        for (int i = 0; i < 6; i++) {
+            nextRound(qps);
+        }
+        assertEquals(List.of(warm), reAssigned);
+
+        clock.addAndGet(config.getShardCooldownInSeconds() * 1000L);
+        for (int i = 0; i < 3; i++) {
+            nextRound(qps);
+        }
+        assertEquals(List.of(warm, warm), reAssigned);
+    }
+
+    @Test
+    public void testRebalance_OnlyShardLargerThanExcess_NoMove() {
+        doReturn(List.of(new Assignment("sub1", 0, "node0"))).when(assignmentManager)
+                                                               .getConsumerNodeAssignments("node0");
+        Map<String, Map<String, Integer>> qps = Map.of(
+            "node0",
+            Map.of("sub1:0", 600),
+            "node1",
+            Map.of("sub2:0", 100),
+            "node2",
+            Map.of("sub3:0", 100)
+        );
+        for (int i = 0; i < 4; i++) {
+            assertTrue(nextRound(qps).isEmpty());
+        }
+        assertTrue(reAssigned.isEmpty());
+    }
+
+    @Test
+    public void testRebalance_MovesLimitedPerRound() {
+        doReturn(List.of(new Assignment("sub1", 0, "node0"), new Assignment("sub1", 1, "node0"))).when(
+            assignmentManager
+        ).getConsumerNodeAssignments("node0");
+        doReturn(List.of(new Assignment("sub2", 0, "node1"), new Assignment("sub2", 1, "node1"))).when(
+            assignmentManager
+        ).getConsumerNodeAssignments("node1");
+        Map<String, Map<String, Integer>> qps = Map.of(
+            "node0",
+            Map.of("sub1:0", 200, "sub1:1", 100),
+            "node1",
+            Map.of("sub2:0", 200, "sub2:1", 100),
+            "node2",
+            Map.of("sub3:0", 10),
+            "node3",
+            Map.of("sub4:0", 10)
+        );
+        nextRound(qps);
+        nextRound(qps);
+
+        assertEquals(1, nextRound(qps).size());
+        assertEquals(1, reAssigned.size());
+    }
+
+    @Test
+    public void testRebalance_RoundRunsOnTheExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        ConsumerInfo info = new ConsumerInfo(
+            new ConcurrentHashMap<>(),
+            "node0",
+            NodeProvider.getNodeCapacity(1000, 1000),
+            new ConcurrentHashMap<>()
+        );
+        doReturn(List.of("node0")).when(assignmentManager).getActiveConsumerIds();
+        rebalancer = new LoadRebalancer(
+            config,
+            assignmentManager,
+            consumerId -> CompletableFuture.completedFuture(info),
+            reAssigned::add,
+            tasks::add,
+            clock::get
+        );
+
+        CompletableFuture<List<Assignment>> moves = rebalancer.rebalance();
+        assertEquals(1, tasks.size());
+        assertFalse(moves.isDone());
+        verify(assignmentManager, never()).setOverloadedNodes(any());
+
+        tasks.getFirst().run();
+        assertTrue(moves.join().isEmpty());
+        verify(assignmentManager).setOverloadedNodes(Set.of());
+    }
+
+    @Test
+    public void testRebalance_SingleNode_NothingOverloaded() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(nextRound(Map.of("node0", Map.of("sub1:0", 300))).isEmpty());
+        }
+        verify(assignmentManager, times(4)).setOverloadedNodes(Set.of());
+        verify(assignmentManager, never()).getConsumerNodeAssignments(anyString());
+    }
+
+    /**
+     * Runs a rebalance round after a round's time, with the shards having consumed at the given qps since the
+     * previous one.
+     */
+    private List<Assignment> nextRound(Map<String, Map<String, Integer>> qps) {
+        round++;
+        clock.addAndGet(ROUND_MILLIS);
+        Map<String, ConsumerInfo> infos = new HashMap<>();
+        qps.forEach((consumerId, shards) -> {
+            ConsumerInfo info = new ConsumerInfo(
+                new ConcurrentHashMap<>(),
+                consumerId,
+                NodeProvider.getNodeCapacity(1000, 1000),
+                new ConcurrentHashMap<>()
+            );
+            shards.forEach((name, shardQps) -> {
+                String[] parts = name.split(":");
+                info.addShardLoad(
+                    parts[0],
+                    Integer.parseInt(parts[1]),
+                    new ShardLoad((long)shardQps * round * ROUND_MILLIS / 1000, 0, 0)
+                );
+            });
+            infos.put(consumerId, info);
+        });
+        return rebalancer.rebalance(infos);
+    }
+}
@@ -16,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.*;
 
 import static com.flipkart.varadhi.entities.cluster.Operation.State.ERRORED;
@@ -455,7 +456,7 @@ public class OperationMgrTest {
         doReturn(startSubOp).when(opStore).getSubOp(startSubOp.getId());
         doReturn(shard1Op).when(opStore).getShardOp(shard1Op.getId());
         doReturn(shard2Op).when(opStore).getShardOp(shard2Op.getId());
-        doReturn(List.of(shard1Op, shard2Op)).when(opStore).getShardOps(startSubOp.getId());
+        doReturn(List.of(shard1Op.getId(), shard2Op.getId())).when(opStore).getShardOpIds(startSubOp.getId());
 
         CountDownLatch shard1Latch = completeOperation(shard1Op);
         await().atMost(100, TimeUnit.SECONDS).until(() -> shard1Latch.getCount() == 0);
@@ -467,8 +468,92 @@ public class OperationMgrTest {
         await().atMost(100, TimeUnit.SECONDS)
                .until(() -> operationMgr.getPendingOperations(startSubOp.getOrderingKey()).isEmpty());
         verify(opStore, times(2)).updateSubOp(startSubOp);
-        verify(opStore, times(1)).updateShardOp(shard1Op);
-        verify(opStore, times(1)).updateShardOp(shard2Op);
+        verify(opStore, times(1)).updateShardOps(List.of(shard1Op));
+        verify(opStore, times(1)).updateShardOps(List.of(shard2Op));
+        // the shard ops are read once for the sub op, rather than on every update.
+        verify(opStore, times(1)).getShardOp(shard1Op.getId());
+        verify(opStore, times(1)).getShardOpIds(startSubOp.getId());
+    }
+
+    @Test
+    public void updatesOfShardOpsWaitingOnAnUpdateAreAppliedTogether() throws InterruptedException {
+        VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
+                                                        .setNumShards(3)
+                                                        .build("project1.sub1", "project1", "project1.topic1");
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(sub1);
+        SubscriptionOperation startSubOp = getStartOp(sub1);
+        List<ShardOperation> shardOps = shards.stream()
+                                              .map(shard -> getShardStartOp(startSubOp.getId(), shard, sub1))
+                                              .toList();
+
+        operationMgr.enqueue(startSubOp, operation -> CompletableFuture.completedFuture(null));
+        doReturn(startSubOp).when(opStore).getSubOp(startSubOp.getId());
+        shardOps.forEach(shardOp -> doReturn(shardOp).when(opStore).getShardOp(shardOp.getId()));
+        doReturn(shardOps.stream().map(ShardOperation::getId).toList()).when(opStore)
+                                                                       .getShardOpIds(startSubOp.getId());
+        // the first update holds up the ones after it.
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch firstWriteAllowed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstWriteStarted.countDown();
+            waitForExecution(firstWriteAllowed);
+            return null;
+        }).doNothing().when(opStore).updateShardOps(any());
+
+        CountDownLatch shard1Latch = completeOperation(shardOps.get(0));
+        assertTrue(firstWriteStarted.await(100, TimeUnit.SECONDS));
+        CountDownLatch shard2Latch = completeOperation(shardOps.get(1));
+        CountDownLatch shard3Latch = completeOperation(shardOps.get(2));
+        await().atMost(100, TimeUnit.SECONDS)
+               .until(() -> mockingDetails(opStore).getInvocations()
+                                                   .stream()
+                                                   .filter(i -> i.getMethod().getName().equals("getSubOp"))
+                                                   .count() >= 3);
+        firstWriteAllowed.countDown();
+        await().atMost(100, TimeUnit.SECONDS)
+               .until(() -> shard1Latch.getCount() == 0 && shard2Latch.getCount() == 0 && shard3Latch.getCount() == 0);
+
+        await().atMost(100, TimeUnit.SECONDS)
+               .until(() -> operationMgr.getPendingOperations(startSubOp.getOrderingKey()).isEmpty());
+        ArgumentCaptor<List<ShardOperation>> writes = ArgumentCaptor.captor();
+        verify(opStore, times(2)).updateShardOps(writes.capture());
+        assertEquals(List.of(shardOps.get(0)), writes.getAllValues().get(0));
+        assertEquals(Set.of(shardOps.get(1), shardOps.get(2)), Set.copyOf(writes.getAllValues().get(1)));
+    }
+
+    @Test
+    public void shardOpUpdatesAreKeptWhenTheirWriteFails() {
+        VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
+                                                        .setNumShards(2)
+                                                        .build("project1.sub1", "project1", "project1.topic1");
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(sub1);
+        SubscriptionOperation startSubOp = getStartOp(sub1);
+        ShardOperation shard1Op = getShardStartOp(startSubOp.getId(), shards.get(0), sub1);
+        ShardOperation shard2Op = getShardStartOp(startSubOp.getId(), shards.get(1), sub1);
+
+        operationMgr.enqueue(startSubOp, operation -> CompletableFuture.completedFuture(null));
+        doReturn(startSubOp).when(opStore).getSubOp(startSubOp.getId());
+        doReturn(shard1Op).when(opStore).getShardOp(shard1Op.getId());
+        doReturn(shard2Op).when(opStore).getShardOp(shard2Op.getId());
+        doReturn(List.of(shard1Op.getId(), shard2Op.getId())).when(opStore).getShardOpIds(startSubOp.getId());
+        doThrow(new MetaStoreException("Failed to write shard ops")).doNothing().when(opStore).updateShardOps(any());
+
+        CountDownLatch shard1Latch = completeOperation(shard1Op);
+        await().atMost(100, TimeUnit.SECONDS).until(() -> shard1Latch.getCount() == 0);
+        // the failed write neither fails the sub op nor loses the update.
+        assertEquals(1, operationMgr.getPendingOperations(startSubOp.getOrderingKey()).size());
+        assertFalse(startSubOp.hasFailed());
+
+        CountDownLatch shard2Latch = completeOperation(shard2Op);
+        await().atMost(100, TimeUnit.SECONDS).until(() -> shard2Latch.getCount() == 0);
+        await().atMost(100, TimeUnit.SECONDS)
+               .until(() -> operationMgr.getPendingOperations(startSubOp.getOrderingKey()).isEmpty());
+
+        ArgumentCaptor<List<ShardOperation>> writes = ArgumentCaptor.captor();
+        verify(opStore, times(2)).updateShardOps(writes.capture());
+        assertEquals(List.of(shard1Op), writes.getAllValues().get(0));
+        assertEquals(List.of(shard1Op, shard2Op), writes.getAllValues().get(1));
+        assertFalse(startSubOp.hasFailed());
     }
 
     @Test
@@ -499,6 +584,56 @@ public class OperationMgrTest {
         verify(opStore, never()).createShardOp(shard2Op);
     }
 
+    @Test
+    public void testSubmitShardOps_CreatesNewOnesTogether() {
+        VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
+                                                        .setNumShards(3)
+                                                        .build("project1.sub1", "project1", "project1.topic1");
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(sub1);
+        SubscriptionOperation startSubOp = getStartOp(sub1);
+        ShardOperation shard1Op = getShardStartOp(startSubOp.getId(), shards.get(0), sub1);
+        ShardOperation shard2Op = getShardStartOp(startSubOp.getId(), shards.get(1), sub1);
+        ShardOperation shard3Op = getShardStartOp(startSubOp.getId(), shards.get(2), sub1);
+        doReturn(List.of(shard1Op.getId())).when(opStore).getShardOpIds(startSubOp.getId());
+        doReturn(shard1Op).when(opStore).getShardOp(shard1Op.getId());
+
+        operationMgr.submitShardOps(List.of(shard1Op, shard2Op, shard3Op), false);
+        verify(opStore, times(1)).createShardOps(List.of(shard2Op, shard3Op));
+        verify(opStore, never()).updateShardOps(any());
+        verify(opStore, never()).shardOpExists(anyString());
+
+        // on retry, the existing ones are reset.
+        operationMgr.submitShardOps(List.of(shard1Op, shard2Op, shard3Op), true);
+        verify(opStore, times(1)).updateShardOps(List.of(shard1Op, shard2Op, shard3Op));
+        verify(opStore, times(1)).createShardOps(any());
+    }
+
+    @Test
+    public void testSubmitShardOps_FailedCreateReloadsShardOps() {
+        VaradhiSubscription sub1 = SubscriptionTestUtils.builder()
+                                                        .setNumShards(2)
+                                                        .build("project1.sub1", "project1", "project1.topic1");
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(sub1);
+        SubscriptionOperation startSubOp = getStartOp(sub1);
+        ShardOperation shard1Op = getShardStartOp(startSubOp.getId(), shards.get(0), sub1);
+        ShardOperation shard2Op = getShardStartOp(startSubOp.getId(), shards.get(1), sub1);
+        doReturn(List.of()).when(opStore).getShardOpIds(startSubOp.getId());
+        doThrow(new MetaStoreException("Some failure.")).when(opStore).createShardOps(any());
+
+        assertThrows(
+            MetaStoreException.class,
+            () -> operationMgr.submitShardOps(List.of(shard1Op, shard2Op), false)
+        );
+
+        // the first of them got created before the failure, which is known only to the store.
+        doReturn(List.of(shard1Op.getId())).when(opStore).getShardOpIds(startSubOp.getId());
+        doReturn(shard1Op).when(opStore).getShardOp(shard1Op.getId());
+        doNothing().when(opStore).createShardOps(any());
+        operationMgr.submitShardOps(List.of(shard1Op, shard2Op), false);
+        verify(opStore, times(2)).getShardOpIds(startSubOp.getId());
+        verify(opStore, times(1)).createShardOps(List.of(shard2Op));
+    }
+
     @Test
     public void failedOperationShouldBeRetried() {
         RetryPolicy retryPolicy = new RetryPolicy(1, 1, 1, 1);
@@ -0,0 +1,210 @@
+package com.flipkart.varadhi.controller.events;
+
+import com.flipkart.varadhi.controller.config.EventProcessorConfig;
+import com.flipkart.varadhi.core.cluster.ComponentKind;
+import com.flipkart.varadhi.core.cluster.MemberInfo;
+import com.flipkart.varadhi.core.cluster.MessageExchange;
+import com.flipkart.varadhi.core.cluster.VaradhiClusterManager;
+import com.flipkart.varadhi.core.cluster.events.EventType;
+import com.flipkart.varadhi.core.cluster.events.ResourceEvent;
+import com.flipkart.varadhi.core.cluster.events.ResourceEventBatch;
+import com.flipkart.varadhi.core.cluster.messages.ClusterMessage;
+import com.flipkart.varadhi.core.cluster.messages.ResponseMessage;
+import com.flipkart.varadhi.entities.ResourceType;
+import com.flipkart.varadhi.spi.db.MetaStore;
+import io.vertx.core.Future;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.flipkart.varadhi.common.Constants.ENTITY_EVENTS_BATCH_HANDLER;
+import static com.flipkart.varadhi.common.Constants.ENTITY_EVENTS_HANDLER;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ResourceEventProcessorTest {
+
+    private static final String HOST = "host1";
+
+    private final BlockingQueue<SentBatch> sent = new LinkedBlockingQueue<>();
+    private final Queue<String> committed = new ConcurrentLinkedQueue<>();
+    private MessageExchange messageExchange;
+    private ResourceEventProcessor processor;
+
+    record SentBatch(List<String> events, CompletableFuture<ResponseMessage> response) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        messageExchange = mock(MessageExchange.class);
+        doAnswer(invocation -> {
+            ClusterMessage message = invocation.getArgument(2);
+            CompletableFuture<ResponseMessage> response = new CompletableFuture<>();
+            List<String> events = message.getData(ResourceEventBatch.class)
+                                         .events()
+                                         .stream()
+                                         .map(e -> e.resourceName() + ":" + e.version())
+                                         .toList();
+            sent.add(new SentBatch(events, response));
+            return response;
+        }).when(messageExchange).request(eq(HOST), eq(ENTITY_EVENTS_BATCH_HANDLER), any());
+
+        VaradhiClusterManager clusterManager = mock(VaradhiClusterManager.class);
+        ComponentKind[] roles = new ComponentKind[] {ComponentKind.Server};
+        MemberInfo member = new MemberInfo(HOST, "localhost", 0, roles, null, null);
+        doReturn(Future.succeededFuture(List.of(member))).when(clusterManager).getAllMembers();
+
+        EventProcessorConfig config = EventProcessorConfig.builder()
+                                                          .clusterMemberTimeout(Duration.ofSeconds(10))
+                                                          .retryBackoff(Duration.ofMillis(10))
+                                                          .maxRetryBackoff(Duration.ofMillis(100))
+                                                          .tasksJoinTimeoutMs(1000)
+                                                          .maxInFlightBatches(2)
+                                                          .maxEventsPerBatch(10)
+                                                          .build();
+        processor = ResourceEventProcessor.create(messageExchange, clusterManager, mock(MetaStore.class), config)
+                                          .result();
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.close();
+    }
+
+    @Test
+    void testEventsOfAResourceAreCoalescedWhileInFlight() throws Exception {
+        processor.onChange(event("topic1", 1));
+        SentBatch first = next();
+        assertEquals(List.of("topic1:1"), first.events());
+
+        processor.onChange(event("topic1", 2));
+        processor.onChange(event("topic1", 3));
+        processor.onChange(event("topic2", 1));
+        // topic1 waits for its event in flight, topic2 does not.
+        SentBatch second = next();
+        assertEquals(List.of("topic2:1"), second.events());
+
+        first.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        SentBatch third = next();
+        assertEquals(List.of("topic1:3"), third.events());
+
+        second.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        third.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(
+                   () -> assertEquals(List.of("topic1:1", "topic1:2", "topic1:3", "topic2:1"), List.copyOf(committed))
+               );
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testPendingEventsAreBatchedUpToTheWindow() throws Exception {
+        processor.onChange(event("topic1", 1));
+        processor.onChange(event("topic2", 1));
+        SentBatch first = next();
+        SentBatch second = first.events().size() == 2 ? null : next();
+
+        for (int i = 3; i <= 20; ++i) {
+            processor.onChange(event("topic" + i, 1));
+        }
+        if (second == null) {
+            second = next();
+        }
+        // the window is full, so the rest waits.
+        assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+
+        first.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        SentBatch third = next();
+        assertTrue(third.events().size() <= 10);
+
+        second.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        third.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        int sentEvents = first.events().size() + second.events().size() + third.events().size();
+        while (sentEvents < 20) {
+            SentBatch batch = next();
+            sentEvents += batch.events().size();
+            batch.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        }
+        assertEquals(20, sentEvents);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(20, committed.size()));
+    }
+
+    @Test
+    void testFailedBatchIsSentAgainWithTheNewerEvents() throws Exception {
+        processor.onChange(event("topic1", 1));
+        SentBatch first = next();
+        processor.onChange(event("topic1", 2));
+
+        // fails all the attempts of the retry policy.
+        first.response().completeExceptionally(new IllegalStateException("failed"));
+        for (int attempt = 1; attempt < 3; ++attempt) {
+            SentBatch retry = next();
+            assertEquals(List.of("topic1:1"), retry.events());
+            retry.response().completeExceptionally(new IllegalStateException("failed"));
+        }
+
+        SentBatch resent = next();
+        assertEquals(List.of("topic1:2"), resent.events());
+        resent.response().complete(ResponseMessage.fromPayload("OK", "id"));
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> assertEquals(List.of("topic1:1", "topic1:2"), List.copyOf(committed)));
+    }
+
+    @Test
+    void testEventsAreSentOneAtATimeToMembersWithoutTheBatchHandler() throws Exception {
+        Queue<String> sentEvents = new ConcurrentLinkedQueue<>();
+        doReturn(
+            CompletableFuture.failedFuture(new ReplyException(ReplyFailure.NO_HANDLERS, "No handlers"))
+        ).when(messageExchange).request(eq(HOST), eq(ENTITY_EVENTS_BATCH_HANDLER), any());
+        doAnswer(invocation -> {
+            ResourceEvent<?> event = invocation.<ClusterMessage>getArgument(2).getData(ResourceEvent.class);
+            sentEvents.add(event.resourceName() + ":" + event.version());
+            return CompletableFuture.completedFuture(ResponseMessage.fromPayload("OK", "id"));
+        }).when(messageExchange).request(eq(HOST), eq(ENTITY_EVENTS_HANDLER), any());
+
+        processor.onChange(event("topic1", 1));
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> assertEquals(List.of("topic1:1"), List.copyOf(committed)));
+        processor.onChange(event("topic2", 1));
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(2, committed.size()));
+
+        assertEquals(List.of("topic1:1", "topic2:1"), List.copyOf(sentEvents));
+        // once the member is known to not handle the batches, they are not sent to it anymore.
+        verify(messageExchange, times(1)).request(eq(HOST), eq(ENTITY_EVENTS_BATCH_HANDLER), any());
+    }
+
+    private SentBatch next() throws InterruptedException {
+        SentBatch batch = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch, "expected a batch to be sent");
+        return batch;
+    }
+
+    private ResourceEvent<?> event(String name, int version) {
+        return new ResourceEvent<>(
+            ResourceType.TOPIC,
+            name,
+            EventType.INVALIDATE,
+            null,
+            version,
+            () -> committed.add(name + ":" + version)
+        );
+    }
+}
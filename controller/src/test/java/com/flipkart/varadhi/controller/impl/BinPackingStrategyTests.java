@@ -0,0 +1,162 @@
+package com.flipkart.varadhi.controller.impl;
+
+import com.flipkart.varadhi.core.cluster.ConsumerNode;
+import com.flipkart.varadhi.core.cluster.NodeCapacity;
+import com.flipkart.varadhi.core.cluster.NodeProvider;
+import com.flipkart.varadhi.core.exceptions.CapacityException;
+import com.flipkart.varadhi.entities.SubscriptionTestUtils;
+import com.flipkart.varadhi.entities.SubscriptionUnitShard;
+import com.flipkart.varadhi.entities.VaradhiSubscription;
+import com.flipkart.varadhi.entities.cluster.Assignment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinPackingStrategyTests {
+    private BinPackingStrategy strategy;
+
+    @BeforeEach
+    public void setUp() {
+        strategy = new BinPackingStrategy();
+    }
+
+    @Test
+    public void testAssign_NoConsumerNodes_ThrowsException() {
+        VaradhiSubscription subscription = subscription("sub1", 1, 100, 100);
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(subscription);
+        assertThrows(
+            CapacityException.class,
+            () -> strategy.assign(shards, subscription, Collections.emptyList())
+        );
+    }
+
+    @Test
+    public void testAssign_PicksTheBestFit() {
+        VaradhiSubscription subscription = subscription("sub1", 1, 400, 400);
+        List<ConsumerNode> nodes = new ArrayList<>();
+        nodes.add(NodeProvider.getConsumerNode("node1", NodeProvider.getNodeCapacity(1000, 1000)));
+        nodes.add(NodeProvider.getConsumerNode("node2", NodeProvider.getNodeCapacity(500, 500)));
+        nodes.add(NodeProvider.getConsumerNode("node3", NodeProvider.getNodeCapacity(300, 300)));
+
+        List<Assignment> assignments = strategy.assign(
+            SubscriptionTestUtils.shardsOf(subscription),
+            subscription,
+            nodes
+        );
+
+        assertEquals(1, assignments.size());
+        assertEquals("node2", assignments.get(0).getConsumerId());
+        assertEquals(new NodeCapacity(100, 100), nodes.get(1).getAvailable());
+        assertEquals(1, nodes.get(1).getAllocations().size());
+    }
+
+    @Test
+    public void testAssign_SpreadsShardsOfSubscription() {
+        VaradhiSubscription subscription = subscription("sub1", 3, 100, 100);
+        List<ConsumerNode> nodes = new ArrayList<>();
+        nodes.add(NodeProvider.getConsumerNode("node1", NodeProvider.getNodeCapacity(1000, 1000)));
+        nodes.add(NodeProvider.getConsumerNode("node2", NodeProvider.getNodeCapacity(500, 500)));
+
+        List<Assignment> assignments = strategy.assign(
+            SubscriptionTestUtils.shardsOf(subscription),
+            subscription,
+            nodes
+        );
+
+        // one shard on each node before the best fit gets the third one.
+        assertEquals(3, assignments.size());
+        assertEquals(1, nodes.get(0).getAssignments().size());
+        assertEquals(2, nodes.get(1).getAssignments().size());
+    }
+
+    @Test
+    public void testAssign_NotEnoughResources_FreesAllocations() {
+        VaradhiSubscription subscription = subscription("sub1", 3, 400, 400);
+        List<ConsumerNode> nodes = NodeProvider.getConsumerNodes(2, NodeProvider.getNodeCapacity(500, 500));
+
+        assertThrows(
+            CapacityException.class,
+            () -> strategy.assign(SubscriptionTestUtils.shardsOf(subscription), subscription, nodes)
+        );
+        nodes.forEach(node -> {
+            assertEquals(new NodeCapacity(500, 500), node.getAvailable());
+            assertTrue(node.getAssignments().isEmpty());
+            assertTrue(node.getAllocations().isEmpty());
+        });
+    }
+
+    @Test
+    public void testPlanMoves_MovesFewestShardsToMakeRoom() {
+        ConsumerNode node1 = NodeProvider.getConsumerNode("node1", NodeProvider.getNodeCapacity(1000, 1000));
+        ConsumerNode node2 = NodeProvider.getConsumerNode("node2", NodeProvider.getNodeCapacity(1000, 1000));
+        Assignment small = new Assignment("sub1", 0, "node1");
+        node1.allocate(small, SubscriptionTestUtils.getCapacity(300, 300));
+        node2.allocate(new Assignment("sub2", 0, "node2"), SubscriptionTestUtils.getCapacity(700, 700));
+        List<ConsumerNode> nodes = List.of(node1, node2);
+
+        VaradhiSubscription subscription = subscription("sub3", 1, 800, 800);
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(subscription);
+        assertThrows(CapacityException.class, () -> strategy.assign(shards, subscription, nodes));
+
+        List<Assignment> moves = strategy.planMoves(shards, subscription, nodes);
+
+        assertEquals(List.of(small), moves);
+        // planning doesn't change the nodes.
+        assertEquals(new NodeCapacity(700, 700), node1.getAvailable());
+        assertEquals(new NodeCapacity(300, 300), node2.getAvailable());
+    }
+
+    @Test
+    public void testPlanMoves_NoRoom_ReturnsEmpty() {
+        List<ConsumerNode> nodes = NodeProvider.getConsumerNodes(2, NodeProvider.getNodeCapacity(500, 500));
+        ConsumerNode node = nodes.get(0);
+        node.allocate(new Assignment("sub1", 0, node.getConsumerId()), SubscriptionTestUtils.getCapacity(300, 300));
+
+        VaradhiSubscription subscription = subscription("sub2", 1, 800, 800);
+        List<Assignment> moves = strategy.planMoves(
+            SubscriptionTestUtils.shardsOf(subscription),
+            subscription,
+            nodes
+        );
+
+        assertTrue(moves.isEmpty());
+    }
+
+    @Test
+    public void testPlanMoves_ShardsOfUnknownCapacity_AreNotMoved() {
+        List<ConsumerNode> nodes = NodeProvider.getConsumerNodes(2, NodeProvider.getNodeCapacity(1000, 1000));
+        ConsumerNode node = nodes.get(0);
+        node.allocate(new Assignment("sub1", 0, node.getConsumerId()), SubscriptionTestUtils.getCapacity(300, 300));
+        nodes.get(1).allocate(
+            new Assignment("sub2", 0, nodes.get(1).getConsumerId()),
+            SubscriptionTestUtils.getCapacity(700, 700)
+        );
+        // as if known only from the consumer info.
+        nodes.forEach(n -> n.getAllocations().clear());
+
+        VaradhiSubscription subscription = subscription("sub3", 1, 800, 800);
+        List<Assignment> moves = strategy.planMoves(
+            SubscriptionTestUtils.shardsOf(subscription),
+            subscription,
+            nodes
+        );
+
+        assertTrue(moves.isEmpty());
+    }
+
+    private static VaradhiSubscription subscription(String name, int numShards, int qps, int throughputKBps) {
+        return SubscriptionTestUtils.builder()
+                                    .setShards(
+                                        SubscriptionTestUtils.getShards(
+                                            numShards,
+                                            SubscriptionTestUtils.getCapacity(qps, throughputKBps)
+                                        )
+                                    )
+                                    .build(name, "subProject1", "subProject1.topic");
+    }
+}
@@ -75,7 +75,7 @@ public class CoreServices {
 
     private MessagingStackProvider setupMessagingStackProvider(MessagingStackOptions messagingStackOptions) {
         MessagingStackProvider provider = loadClass(messagingStackOptions.getProviderClassName());
-        provider.init(messagingStackOptions, JsonMapper.getMapper());
+        provider.init(messagingStackOptions, JsonMapper.getMapper(), getMeterRegistry());
         return provider;
     }
 
@@ -25,12 +25,18 @@ public class OrgReadCache extends ResourceReadCache<OrgDetails> {
 
         if (operation == EventType.UPSERT) {
             resources.merge(orgName, event.resource(), OrgReadCache::merge);
+            changed(orgName);
         } else if (operation == EventType.INVALIDATE) {
             log.info("Invalidating OrgDetails: {}", orgName);
             invalidate(orgName);
         }
     }
 
+    /**
+     * Keeps the newer of the org and of its filters. The filters instance is kept as is unless a newer version
+     * replaces it, so filters compiled by it (see {@link OrgFilters#getCompiledFilter(String)}) are reused until
+     * then, and are dropped along with the replaced version.
+     */
     static OrgDetails merge(OrgDetails previous, OrgDetails value) {
         if (previous == null) {
             log.info("New Org {}, version: {}", value.getOrg().getName(), value.getOrg().getVersion());
@@ -12,12 +12,20 @@ import io.vertx.core.Vertx;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -57,7 +65,52 @@ public class ResourceReadCache<T extends Resource> implements ResourceEventListe
      */
     private final Supplier<List<T>> resourceLoader;
 
+    /**
+     * The snapshot to start from and to keep saving the resources to, null if the cache does not use one.
+     */
+    private final Snapshot<T> snapshot;
+
+    /**
+     * Revisions of the resources as of when they were preloaded, saved along with them to the snapshot. A resource
+     * changed after the preload has none, so that the next start loads it again.
+     */
+    private final ConcurrentHashMap<String, Long> revisions = new ConcurrentHashMap<>();
+
     private final CopyOnWriteArrayList<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Snapshot of the cache on the local disk, so that a restart reads only the resources that changed since the
+     * snapshot was saved, instead of all of them.
+     *
+     * @param file            the snapshot file
+     * @param revisionsLoader the strategy for loading the revisions of all resource by name, without the resources.
+     *                        The revision of a resource changes whenever it is updated, or deleted and created again
+     * @param resourceLoader  the strategy for loading a resource by name, throws {@link ResourceNotFoundException} if
+     *                        the resource does not exist
+     * @param parallelism     the number of resources that are loaded concurrently
+     * @param saveIntervalMs  the interval to save the snapshot at, 0 to save it only after the preload and on
+     *                        {@link #saveSnapshot()}
+     */
+    public record Snapshot<T extends Resource>(
+        Path file,
+        Supplier<Map<String, Long>> revisionsLoader,
+        Function<String, T> resourceLoader,
+        int parallelism,
+        long saveIntervalMs
+    ) {
+        public Snapshot {
+            Objects.requireNonNull(file, "Snapshot file cannot be null");
+            Objects.requireNonNull(revisionsLoader, "Revisions loader cannot be null");
+            Objects.requireNonNull(resourceLoader, "Resource loader cannot be null");
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Snapshot parallelism must be positive");
+            }
+            if (saveIntervalMs < 0) {
+                throw new IllegalArgumentException("Snapshot save interval cannot be negative");
+            }
+        }
+    }
 
     /**
      * Creates a new entity cache for the specified resource type with the provided loading strategy.
@@ -66,8 +119,20 @@ public class ResourceReadCache<T extends Resource> implements ResourceEventListe
      * @param resourceLoader the strategy for loading all resource
      */
     ResourceReadCache(ResourceType resourceType, Supplier<List<T>> resourceLoader) {
+        this(resourceType, resourceLoader, null);
+    }
+
+    /**
+     * Creates a new entity cache for the specified resource type, that starts from the snapshot if it has one.
+     *
+     * @param resourceType the type of resource managed by this provider
+     * @param resourceLoader the strategy for loading all resource, used when there is no usable snapshot
+     * @param snapshot the snapshot of the cache, null for none
+     */
+    ResourceReadCache(ResourceType resourceType, Supplier<List<T>> resourceLoader, Snapshot<T> snapshot) {
         this.resourceType = resourceType;
         this.resourceLoader = resourceLoader;
+        this.snapshot = snapshot;
         this.resources = new ConcurrentHashMap<>();
     }
 
@@ -100,6 +165,37 @@ public class ResourceReadCache<T extends Resource> implements ResourceEventListe
         return preload(cache, vertx);
     }
 
+    /**
+     * Creates a new entity cache that starts from its snapshot, and preloads it.
+     * <p>
+     * Only the resources whose revision differs from the one in the snapshot are loaded, the others are taken from
+     * the snapshot. Without a usable snapshot, all the resources are loaded as by
+     * {@link #create(ResourceType, Supplier, Vertx)}. The snapshot is saved once the cache is preloaded, and then
+     * periodically if so configured.
+     *
+     * @param <T> the entity type managed by the cache
+     * @param resourceType the type of resource managed by this provider
+     * @param resourceLoader the strategy for loading resource
+     * @param snapshot the snapshot of the cache
+     * @param vertx the Vert.x instance to use for non-blocking operations
+     * @return a future that completes with the created and preloaded cache
+     * @throws NullPointerException if any parameter is null
+     */
+    public static <T extends Resource> Future<ResourceReadCache<T>> create(
+        ResourceType resourceType,
+        Supplier<List<T>> resourceLoader,
+        Snapshot<T> snapshot,
+        Vertx vertx
+    ) {
+        Objects.requireNonNull(resourceType, "Resource type cannot be null");
+        Objects.requireNonNull(resourceLoader, "Resource loader cannot be null");
+        Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+        Objects.requireNonNull(vertx, "Vertx instance cannot be null");
+
+        ResourceReadCache<T> cache = new ResourceReadCache<>(resourceType, resourceLoader, snapshot);
+        return preload(cache, vertx);
+    }
+
     public static <T extends Resource, C extends ResourceReadCache<T>> Future<C> preload(C cache, Vertx vertx) {
         return cache.preload(vertx).map(v -> {
             return cache;
@@ -124,6 +220,29 @@ public class ResourceReadCache<T extends Resource> implements ResourceEventListe
     Future<Void> preload(Vertx vertx) {
         log.info("Preloading {}", resourceType);
 
+        if (snapshot != null) {
+            return vertx.<Void>executeBlocking(() -> {
+                resources.putAll(loadWithSnapshot());
+                try {
+                    saveSnapshot();
+                } catch (UncheckedIOException e) {
+                    // the cache is usable without the snapshot, the next start loads all the resources.
+                    log.warn("Failed to save {} snapshot", resourceType, e);
+                }
+                return null;
+            }, false).onSuccess(v -> {
+                if (snapshot.saveIntervalMs() > 0) {
+                    vertx.setPeriodic(
+                        snapshot.saveIntervalMs(),
+                        id -> vertx.executeBlocking(() -> {
+                            saveSnapshot();
+                            return null;
+                        }, false).onFailure(e -> log.warn("Failed to save {} snapshot", resourceType, e))
+                    );
+                }
+            }).onFailure(e -> log.error("Failed to preload {}: {}", resourceType, e.getMessage()));
+        }
+
         return vertx.executeBlocking(resourceLoader::get, false).<Void>map(entityList -> {
             Map<String, T> entityMap = entityList.stream().collect(Collectors.toMap(T::getName, Function.identity()));
             resources.putAll(entityMap);
@@ -132,6 +251,105 @@ public class ResourceReadCache<T extends Resource> implements ResourceEventListe
         }).onFailure(e -> log.error("Failed to preload {}: {}", resourceType, e.getMessage()));
     }
 
+    /**
+     * Loads the resources starting from the snapshot. The resources that are not in the metastore anymore are
+     * dropped, and the ones that are new or of another revision are loaded in parallel. Without a usable snapshot, or
+     * the revisions to reconcile it with, all the resources are loaded.
+     */
+    private Map<String, T> loadWithSnapshot() throws InterruptedException, ExecutionException {
+        Optional<Map<String, ResourceSnapshot.Entry<T>>> saved = ResourceSnapshot.read(snapshot.file(), resourceType);
+        // read before the resources, so that no resource is saved with a revision newer than itself.
+        Map<String, Long> current = loadRevisions();
+        if (saved.isEmpty() || current == null) {
+            List<T> entityList = resourceLoader.get();
+            if (current != null) {
+                revisions.putAll(current);
+            }
+            log.info("Preloaded {} {} without a snapshot", entityList.size(), resourceType);
+            return entityList.stream().collect(Collectors.toMap(T::getName, Function.identity()));
+        }
+
+        Map<String, T> loaded = new HashMap<>(Math.max(16, (int)(current.size() / 0.75f) + 1));
+        int removed = 0;
+        for (Map.Entry<String, ResourceSnapshot.Entry<T>> entry : saved.get().entrySet()) {
+            Long revision = current.get(entry.getKey());
+            if (revision == null) {
+                ++removed;
+            } else if (revision == entry.getValue().revision()) {
+                loaded.put(entry.getKey(), entry.getValue().resource());
+            }
+        }
+        List<String> changed = current.keySet().stream().filter(name -> !loaded.containsKey(name)).toList();
+
+        int chunks = Math.min(snapshot.parallelism(), changed.size());
+        List<java.util.concurrent.Future<Map<String, T>>> chunkLoads = new ArrayList<>(chunks);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                List<String> names = changed.subList(
+                    chunk * changed.size() / chunks,
+                    (chunk + 1) * changed.size() / chunks
+                );
+                chunkLoads.add(executor.submit(() -> loadAll(names)));
+            }
+            for (java.util.concurrent.Future<Map<String, T>> chunkLoad : chunkLoads) {
+                loaded.putAll(chunkLoad.get());
+            }
+        }
+        revisions.putAll(current);
+
+        log.info(
+            "Preloaded {} {} from the snapshot, {} loaded as changed and {} removed",
+            loaded.size(),
+            resourceType,
+            changed.size(),
+            removed
+        );
+        return loaded;
+    }
+
+    /**
+     * @return the revisions of all the resources, null if they could not be loaded.
+     */
+    private Map<String, Long> loadRevisions() {
+        try {
+            return snapshot.revisionsLoader().get();
+        } catch (RuntimeException e) {
+            log.warn("Failed to load the revisions of {}, loading all of them: {}", resourceType, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, T> loadAll(List<String> names) {
+        Map<String, T> loaded = new HashMap<>();
+        for (String name : names) {
+            try {
+                loaded.put(name, snapshot.resourceLoader().apply(name));
+            } catch (ResourceNotFoundException e) {
+                // deleted after its revision was read, the delete event invalidates it if it was cached.
+                log.debug("{} {} was deleted while preloading", resourceType, name);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Saves the resources to the snapshot, if the cache has one. This is a blocking call.
+     *
+     * @throws UncheckedIOException if the snapshot could not be written
+     */
+    public synchronized void saveSnapshot() {
+        if (snapshot == null) {
+            return;
+        }
+        List<T> copy = List.copyOf(resources.values());
+        try {
+            ResourceSnapshot.write(snapshot.file(), resourceType, copy, revisions);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save the " + resourceType + " snapshot", e);
+        }
+        log.debug("Saved {} {} to the snapshot {}", copy.size(), resourceType, snapshot.file());
+    }
+
     /**
      * Returns the entity with the given name.
      *
@@ -164,13 +382,35 @@ public class ResourceReadCache<T extends Resource> implements ResourceEventListe
         invalidationListeners.add(listener);
     }
 
+    /**
+     * Registers a callback invoked after this cache applies any event to a resource, whether an update or an
+     * invalidation. Meant for state derived from the cached resources, which the listener drops to have it derived
+     * again from the changed resource.
+     */
+    public void addOnChange(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
     protected void invalidate(String entityName) {
         resources.remove(entityName);
-        invalidationListeners.forEach(listener -> {
+        notifyListeners(invalidationListeners, entityName);
+        changed(entityName);
+    }
+
+    /**
+     * To be called after the cached resource is updated in place of the previous one.
+     */
+    protected void changed(String entityName) {
+        revisions.remove(entityName);
+        notifyListeners(changeListeners, entityName);
+    }
+
+    private void notifyListeners(List<Consumer<String>> listeners, String entityName) {
+        listeners.forEach(listener -> {
             try {
                 listener.accept(entityName);
             } catch (Exception e) {
-                log.error("Invalidation listener failed for {}", entityName, e);
+                log.error("Change listener failed for {}", entityName, e);
             }
         });
     }
@@ -202,6 +442,7 @@ public class ResourceReadCache<T extends Resource> implements ResourceEventListe
                     }
                     return existingResource;
                 });
+                changed(entityName);
             }
         } else if (operation == EventType.INVALIDATE) {
             invalidate(entityName);
@@ -0,0 +1,163 @@
+package com.flipkart.varadhi.core;
+
+import com.flipkart.varadhi.entities.JsonMapper;
+import com.flipkart.varadhi.entities.Resource;
+import com.flipkart.varadhi.entities.ResourceType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Snapshot file of the resources of a {@link ResourceReadCache}, to start the cache from it instead of reading all
+ * the resources from the metastore.
+ * <p>
+ * The file is written as:
+ * <pre>
+ * snapshot := magic formatVersion resourceType count resource*
+ * resource := name revision length json
+ * string   := int length followed by the utf-8 bytes
+ * </pre>
+ * The magic, formatVersion, count and length are big endian ints, and the revision is a big endian long. The
+ * revision is that of the resource in the metastore as of when it was loaded, {@link #UNKNOWN_REVISION} if the
+ * resource changed since. The json is that of the {@link Resource}, as it is put on the event bus. The file is
+ * written to a temporary file and moved over the previous snapshot, so a crash never leaves a partially written
+ * snapshot behind. It is read through a memory mapping, and a snapshot that can't be read, or is of another format
+ * or resource type, is treated as absent.
+ */
+@Slf4j
+final class ResourceSnapshot {
+
+    static final int MAGIC = 0x56524353;
+    static final int FORMAT_VERSION = 2;
+    static final long UNKNOWN_REVISION = -1;
+
+    /**
+     * A resource of the snapshot along with its revision.
+     */
+    record Entry<T extends Resource>(T resource, long revision) {
+    }
+
+    private ResourceSnapshot() {
+    }
+
+    /**
+     * Writes the resources to the snapshot file, replacing the existing one.
+     *
+     * @param revisions the revisions of the resources by name, the resources without one are written with
+     *                  {@link #UNKNOWN_REVISION}
+     */
+    static <T extends Resource> void write(
+        Path file,
+        ResourceType resourceType,
+        Collection<T> resources,
+        Map<String, Long> revisions
+    ) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmpFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmpFile), 1 << 16)
+            )) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, resourceType.name());
+                out.writeInt(resources.size());
+                for (T resource : resources) {
+                    writeString(out, resource.getName());
+                    out.writeLong(revisions.getOrDefault(resource.getName(), UNKNOWN_REVISION));
+                    byte[] json = JsonMapper.jsonSerializeAsBytes(resource);
+                    out.writeInt(json.length);
+                    out.write(json);
+                }
+            }
+            Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Reads the resources of the snapshot file by name.
+     *
+     * @return the resources with their revisions, or empty if there is no usable snapshot of the resource type.
+     */
+    @SuppressWarnings ("unchecked")
+    static <T extends Resource> Optional<Map<String, Entry<T>>> read(Path file, ResourceType resourceType) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                log.warn("Ignoring {} snapshot {}, it is not a snapshot file", resourceType, file);
+                return Optional.empty();
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                log.warn("Ignoring {} snapshot {} of format version {}", resourceType, file, formatVersion);
+                return Optional.empty();
+            }
+            String snapshotType = readString(buffer);
+            if (!resourceType.name().equals(snapshotType)) {
+                log.warn("Ignoring {} snapshot {}, it is of {}", resourceType, file, snapshotType);
+                return Optional.empty();
+            }
+
+            int count = buffer.getInt();
+            Map<String, Entry<T>> resources = new HashMap<>(Math.max(16, (int)(count / 0.75f) + 1));
+            byte[] json = new byte[0];
+            for (int i = 0; i < count; ++i) {
+                String name = readString(buffer);
+                long revision = buffer.getLong();
+                int length = buffer.getInt();
+                if (json.length < length) {
+                    json = new byte[Math.max(length, json.length * 2)];
+                }
+                buffer.get(json, 0, length);
+                T resource = (T)JsonMapper.jsonDeserialize(json, 0, length, Resource.class);
+                if (!name.equals(resource.getName())) {
+                    log.warn("Ignoring {} snapshot {}, its entry for {} is inconsistent", resourceType, file, name);
+                    return Optional.empty();
+                }
+                resources.put(name, new Entry<>(resource, revision));
+            }
+            return Optional.of(resources);
+        } catch (NoSuchFileException e) {
+            log.info("No {} snapshot at {}", resourceType, file);
+            return Optional.empty();
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | ClassCastException | JsonMapper.JsonParseException e) {
+            log.warn("Ignoring {} snapshot {}, it could not be read: {}", resourceType, file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
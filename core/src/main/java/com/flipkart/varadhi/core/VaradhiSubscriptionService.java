@@ -61,12 +61,16 @@ public class VaradhiSubscriptionService {
      * @return the list of subscription names
      */
     public List<String> getSubscriptionList(String projectName, boolean includeInactive) {
-        return subscriptionStore.getAllNames(projectName)
+        List<String> subscriptionNames = subscriptionStore.getAllNames(projectName);
+        if (includeInactive) {
+            return subscriptionNames;
+        }
+        // the subscriptions are read at once, the ones deleted since they were listed are left out.
+        return subscriptionStore.getMany(subscriptionNames)
+                                .values()
                                 .stream()
-                                .filter(
-                                    subscriptionName -> includeInactive || subscriptionStore.get(subscriptionName)
-                                                                                            .isActive()
-                                )
+                                .filter(VaradhiSubscription::isActive)
+                                .map(VaradhiSubscription::getName)
                                 .toList();
     }
 
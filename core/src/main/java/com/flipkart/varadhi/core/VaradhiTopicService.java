@@ -317,9 +317,16 @@ public class VaradhiTopicService {
      * @return a list of Varadhi topic names
      */
     public List<String> list(String projectName, boolean includeInactive) {
-        return topicStore.getAllNames(projectName)
+        List<String> topicNames = topicStore.getAllNames(projectName);
+        if (includeInactive) {
+            return topicNames;
+        }
+        // the topics are read at once, the ones deleted since they were listed are left out.
+        return topicStore.getMany(topicNames)
+                         .values()
                          .stream()
-                         .filter(topicName -> includeInactive || topicStore.get(topicName).isActive())
+                         .filter(VaradhiTopic::isActive)
+                         .map(VaradhiTopic::getName)
                          .toList();
     }
 
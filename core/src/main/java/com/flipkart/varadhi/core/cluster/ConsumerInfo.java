@@ -18,12 +18,15 @@ public class ConsumerInfo {
     private final Map<String, Assignment> assignments;
     private String consumerId;
     private NodeCapacity available;
+    // live load of the shards by assignment name. null when reported by a node which doesn't report it.
+    private final Map<String, ShardLoad> loads;
 
     public static ConsumerInfo from(MemberInfo memberInfo) {
         return new ConsumerInfo(
             new ConcurrentHashMap<>(),
             memberInfo.hostname(),
-            memberInfo.provisionedCapacity().clone()
+            memberInfo.provisionedCapacity().clone(),
+            new ConcurrentHashMap<>()
         );
     }
 
@@ -44,4 +47,8 @@ public class ConsumerInfo {
             throw new IllegalStateException("Assignment does not exist for " + assignment.getName());
         }
     }
+
+    public void addShardLoad(String subscriptionName, int shardId, ShardLoad load) {
+        loads.put(new Assignment(subscriptionName, shardId, consumerId).getName(), load);
+    }
 }
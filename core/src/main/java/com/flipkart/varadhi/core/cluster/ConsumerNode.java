@@ -17,16 +17,21 @@ public class ConsumerNode {
     private final String consumerId;
     private NodeCapacity available;
     private final Map<String, Assignment> assignments;
+    // capacity of the assignments allocated by this controller. Assignments known only from the ConsumerInfo are not
+    // in it, as their capacity isn't known.
+    private final Map<String, TopicCapacityPolicy> allocations;
 
     public ConsumerNode(MemberInfo memberInfo) {
         this.consumerId = memberInfo.hostname();
         this.available = memberInfo.provisionedCapacity().clone();
         this.assignments = new HashMap<>();
+        this.allocations = new HashMap<>();
     }
 
     public void initFromConsumerInfo(ConsumerInfo consumerInfo) {
         available = consumerInfo.getAvailable().clone();
         assignments.clear();
+        allocations.clear();
         assignments.putAll(consumerInfo.getAssignments());
     }
 
@@ -39,12 +44,14 @@ public class ConsumerNode {
     // ShardAssigner is a single threaded executor.
     public void allocate(Assignment a, TopicCapacityPolicy requests) {
         if (null == assignments.putIfAbsent(a.getName(), a)) {
+            allocations.put(a.getName(), requests);
             available.allocate(requests);
         }
     }
 
     public void free(Assignment a, TopicCapacityPolicy requests) {
         if (null != assignments.remove(a.getName())) {
+            allocations.remove(a.getName());
             available.free(requests);
         }
     }
@@ -1,6 +1,7 @@
 package com.flipkart.varadhi.core.cluster;
 
 import com.flipkart.varadhi.core.cluster.messages.ClusterMessage;
+import com.flipkart.varadhi.core.cluster.messages.ClusterMessageCodec;
 import com.flipkart.varadhi.core.cluster.messages.ResponseMessage;
 import com.flipkart.varadhi.entities.JsonMapper;
 import io.vertx.core.eventbus.DeliveryOptions;
@@ -22,16 +23,27 @@ public class MessageExchange {
     EventBus vertxEventBus;
     DeliveryOptions deliveryOptions;
 
+    /**
+     * Whether the messages are sent with {@link ClusterMessageCodec}, or as json for the nodes of the older versions.
+     */
+    boolean binaryMessages;
+
     public MessageExchange(EventBus vertxEventBus, DeliveryOptions deliveryOptions) {
+        this(vertxEventBus, deliveryOptions, false);
+    }
+
+    public MessageExchange(EventBus vertxEventBus, DeliveryOptions deliveryOptions, boolean binaryMessages) {
         this.vertxEventBus = vertxEventBus;
         this.deliveryOptions = deliveryOptions;
+        this.binaryMessages = binaryMessages;
+        ClusterMessageCodec.register(vertxEventBus);
     }
 
     public CompletableFuture<Void> send(String routeName, String apiName, ClusterMessage msg) {
         CompletableFuture<Void> future = new CompletableFuture<>();
         String apiPath = getPath(routeName, apiName, RouteMethod.SEND);
         try {
-            vertxEventBus.request(apiPath, JsonMapper.jsonSerialize(msg), deliveryOptions, ar -> {
+            vertxEventBus.request(apiPath, toBody(msg), deliveryOptions, ar -> {
                 if (ar.succeeded()) {
                     log.debug("send({}, {}) delivered successfully.", apiPath, msg.getId());
                     future.complete(null);
@@ -55,13 +67,10 @@ public class MessageExchange {
         CompletableFuture<ResponseMessage> future = new CompletableFuture<>();
         String apiPath = getPath(routeName, apiName, RouteMethod.REQUEST);
         try {
-            vertxEventBus.request(apiPath, JsonMapper.jsonSerialize(msg), deliveryOptions, ar -> {
+            vertxEventBus.request(apiPath, toBody(msg), deliveryOptions, ar -> {
                 if (ar.succeeded()) {
                     log.debug("request({}, {}) delivered. {}.", apiPath, msg.getId(), ar.result().body());
-                    ResponseMessage response = JsonMapper.jsonDeserialize(
-                        (String)ar.result().body(),
-                        ResponseMessage.class
-                    );
+                    ResponseMessage response = toResponseMessage(ar.result().body());
                     if (response.getException() != null) {
                         future.completeExceptionally(response.getException());
                     } else {
@@ -79,6 +88,19 @@ public class MessageExchange {
         }
     }
 
+    private Object toBody(ClusterMessage msg) {
+        return binaryMessages ? msg : JsonMapper.jsonSerialize(msg);
+    }
+
+    /**
+     * Requests sent as json are replied to with the json of the response.
+     */
+    private static ResponseMessage toResponseMessage(Object body) {
+        return body instanceof String json ?
+            JsonMapper.jsonDeserialize(json, ResponseMessage.class) :
+            (ResponseMessage)body;
+    }
+
     private String getPath(String routeName, String apiName, RouteMethod method) {
         return String.format("%s.%s.%s", routeName, apiName, method);
     }
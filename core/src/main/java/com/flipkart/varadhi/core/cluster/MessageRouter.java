@@ -33,12 +33,13 @@ public class MessageRouter {
     public MessageRouter(EventBus vertxEventBus, DeliveryOptions deliveryOptions) {
         this.vertxEventBus = vertxEventBus;
         this.deliveryOptions = deliveryOptions;
+        ClusterMessageCodec.register(vertxEventBus);
     }
 
     public void sendHandler(String routeName, String apiName, MsgHandler handler) {
         String apiPath = getApiPath(routeName, apiName, RouteMethod.SEND);
         vertxEventBus.consumer(apiPath, message -> {
-            ClusterMessage msg = JsonMapper.jsonDeserialize((String)message.body(), ClusterMessage.class);
+            ClusterMessage msg = toClusterMessage(message.body());
             log.debug("Received msg via - send({}, {})", apiPath, msg.getId());
             try {
                 // this is async invocation.
@@ -57,11 +58,11 @@ public class MessageRouter {
     public void requestHandler(String routeName, String apiName, RequestHandler handler) {
         String apiPath = getApiPath(routeName, apiName, RouteMethod.REQUEST);
         vertxEventBus.consumer(apiPath, message -> {
-            ClusterMessage msg = JsonMapper.jsonDeserialize((String)message.body(), ClusterMessage.class);
+            ClusterMessage msg = toClusterMessage(message.body());
             log.debug("Received msg via - request({}, {})", apiPath, msg.getId());
             try {
                 handler.handle(msg)
-                       .thenAccept(response -> message.reply(JsonMapper.jsonSerialize(response), deliveryOptions))
+                       .thenAccept(response -> message.reply(toReplyBody(message.body(), response), deliveryOptions))
                        .exceptionally(t -> {
                            log.error("request handler completed exceptionally: {}", t.getMessage());
                            //TODO::exception exchange is not working always. ser(de) is failing for some exception.
@@ -74,13 +75,13 @@ public class MessageRouter {
                                failure = new VaradhiException(t);
                            }
                            ResponseMessage response = msg.getResponseMessage(failure);
-                           message.reply(JsonMapper.jsonSerialize(response), deliveryOptions);
+                           message.reply(toReplyBody(message.body(), response), deliveryOptions);
                            return null;
                        });
             } catch (Exception e) {
                 log.error("request handler Unhandled exception: {}", e.getMessage());
                 ResponseMessage response = msg.getResponseMessage(e);
-                message.reply(JsonMapper.jsonSerialize(response), deliveryOptions);
+                message.reply(toReplyBody(message.body(), response), deliveryOptions);
             }
         });
     }
@@ -89,6 +90,22 @@ public class MessageRouter {
         throw new UnsupportedOperationException("handlePublish not implemented");
     }
 
+    /**
+     * Nodes running an older version send the json of the message.
+     */
+    private static ClusterMessage toClusterMessage(Object body) {
+        return body instanceof String json ?
+            JsonMapper.jsonDeserialize(json, ClusterMessage.class) :
+            (ClusterMessage)body;
+    }
+
+    /**
+     * The reply is in the format of the request, as the nodes running an older version can't decode the codec's.
+     */
+    private static Object toReplyBody(Object requestBody, ResponseMessage response) {
+        return requestBody instanceof String ? JsonMapper.jsonSerialize(response) : response;
+    }
+
     private String getApiPath(String routeName, String apiName, RouteMethod method) {
         return String.format("%s.%s.%s", routeName, apiName, method);
     }
@@ -0,0 +1,12 @@
+package com.flipkart.varadhi.core.cluster;
+
+/**
+ * Live load of a subscription shard on the consumer node consuming it, as reported to the controller. The counters
+ * are cumulative since the shard started on the node, the rates are derived from two reports of it.
+ *
+ * @param consumed      messages consumed, i.e. delivered or given up on, across all the internal queues.
+ * @param backlog       messages taken up for consumption and not yet consumed.
+ * @param executorNanos time spent running the tasks of the shard on its event executor.
+ */
+public record ShardLoad(long consumed, long backlog, long executorNanos) {
+}
@@ -33,6 +33,7 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class VaradhiZkClusterManager extends ZookeeperClusterManager implements VaradhiClusterManager {
     private final DeliveryOptions deliveryOptions;
+    private final boolean binaryMessages;
     private final RetryPolicy<NodeInfo> nodeInfoRetryPolicy = RetryPolicy.<NodeInfo>builder()
                                                                          .withMaxAttempts(10)
                                                                          .withDelay(Duration.ofMillis(200))
@@ -46,10 +47,20 @@ public class VaradhiZkClusterManager extends ZookeeperClusterManager implements
                                                                          .build();
 
     public VaradhiZkClusterManager(CuratorFramework curatorFramework, DeliveryOptions deliveryOptions, String host) {
+        this(curatorFramework, deliveryOptions, false, host);
+    }
+
+    public VaradhiZkClusterManager(
+        CuratorFramework curatorFramework,
+        DeliveryOptions deliveryOptions,
+        boolean binaryMessages,
+        String host
+    ) {
         super(curatorFramework, host);
         this.deliveryOptions = deliveryOptions == null ?
             new DeliveryOptions().setSendTimeout(1000).setTracingPolicy(TracingPolicy.PROPAGATE) :
             deliveryOptions;
+        this.binaryMessages = binaryMessages;
     }
 
     @Override
@@ -137,7 +148,7 @@ public class VaradhiZkClusterManager extends ZookeeperClusterManager implements
 
     @Override
     public MessageExchange getExchange(Vertx vertx) {
-        return new MessageExchange(vertx.eventBus(), deliveryOptions);
+        return new MessageExchange(vertx.eventBus(), deliveryOptions, binaryMessages);
     }
 
     private Future<NodeInfo> fetchNodeInfo(String nodeId) {
@@ -0,0 +1,11 @@
+package com.flipkart.varadhi.core.cluster.events;
+
+import java.util.List;
+
+/**
+ * Resource events sent to a node in a single cluster message. The node applies them in the given order.
+ *
+ * @param events the events, at most one per resource
+ */
+public record ResourceEventBatch(List<ResourceEvent<?>> events) {
+}
@@ -18,6 +18,7 @@ import com.flipkart.varadhi.entities.ResourceType;
 import io.vertx.core.Vertx;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.flipkart.varadhi.common.Constants.ENTITY_EVENTS_BATCH_HANDLER;
 import static com.flipkart.varadhi.common.Constants.ENTITY_EVENTS_HANDLER;
 
 /**
@@ -63,40 +64,74 @@ public final class ResourceEventDispatcher {
      * and routes it to the appropriate listener based on the resource type.
      *
      * @param message the cluster message containing the resource event
-     * @param <T>     the type of resource in the event, must extend Resource
      * @return a future that completes with the response message
      */
-    @SuppressWarnings ("unchecked")
-    public <T extends Resource> CompletableFuture<ResponseMessage> processEvent(ClusterMessage message) {
+    public CompletableFuture<ResponseMessage> processEvent(ClusterMessage message) {
         String messageId = message.getId();
 
         try {
-            ResourceEvent<?> rawEvent = message.getData(ResourceEvent.class);
-            ResourceType resourceType = rawEvent.resourceType();
-
-            if (!supportedTypes.contains(resourceType)) {
-                return CompletableFuture.completedFuture(ResponseMessage.fromPayload("Skipped", messageId));
-            }
-
-            ResourceEventListener<T> listener = (ResourceEventListener<T>)listeners.get(resourceType);
-            T typedResource = convertResource(rawEvent.resource(), resourceType);
+            boolean dispatched = dispatch(message.getData(ResourceEvent.class));
+            String response = dispatched ? "OK" : "Skipped";
+            return CompletableFuture.completedFuture(ResponseMessage.fromPayload(response, messageId));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseMessage.fromException(e, messageId));
+        }
+    }
 
-            ResourceEvent<T> typedEvent = new ResourceEvent<>(
-                resourceType,
-                rawEvent.resourceName(),
-                rawEvent.operation(),
-                typedResource,
-                rawEvent.version(),
-                rawEvent.commiter()
-            );
+    /**
+     * Processes a batch of resource events from a cluster message, in order.
+     * <p>
+     * Processing stops at the first failing event and the batch fails as a whole. The sender retries it, which is
+     * safe as the listeners apply an event only once.
+     *
+     * @param message the cluster message containing the {@link ResourceEventBatch}
+     * @return a future that completes with the response message
+     */
+    public CompletableFuture<ResponseMessage> processEvents(ClusterMessage message) {
+        String messageId = message.getId();
 
-            listener.onChange(typedEvent);
+        try {
+            ResourceEventBatch batch = message.getData(ResourceEventBatch.class);
+            for (ResourceEvent<?> event : batch.events()) {
+                dispatch(event);
+            }
             return CompletableFuture.completedFuture(ResponseMessage.fromPayload("OK", messageId));
         } catch (Exception e) {
             return CompletableFuture.completedFuture(ResponseMessage.fromException(e, messageId));
         }
     }
 
+    /**
+     * Routes the event to the listener of its resource type.
+     *
+     * @param rawEvent the event as deserialized from the message
+     * @param <T>      the type of resource in the event, must extend Resource
+     * @return false if there is no listener for the resource type
+     */
+    @SuppressWarnings ("unchecked")
+    private <T extends Resource> boolean dispatch(ResourceEvent<?> rawEvent) {
+        ResourceType resourceType = rawEvent.resourceType();
+
+        if (!supportedTypes.contains(resourceType)) {
+            return false;
+        }
+
+        ResourceEventListener<T> listener = (ResourceEventListener<T>)listeners.get(resourceType);
+        T typedResource = convertResource(rawEvent.resource(), resourceType);
+
+        ResourceEvent<T> typedEvent = new ResourceEvent<>(
+            resourceType,
+            rawEvent.resourceName(),
+            rawEvent.operation(),
+            typedResource,
+            rawEvent.version(),
+            rawEvent.commiter()
+        );
+
+        listener.onChange(typedEvent);
+        return true;
+    }
+
     /**
      * Converts a raw resource object to the appropriate entity type.
      *
@@ -109,8 +144,7 @@ public final class ResourceEventDispatcher {
     @SuppressWarnings ("unchecked")
     private <T extends Resource> T convertResource(Object rawResource, ResourceType resourceType) {
         if (rawResource instanceof Map) {
-            String json = JsonMapper.jsonSerialize(rawResource);
-            return JsonMapper.jsonDeserialize(json, getResourceClass(resourceType));
+            return JsonMapper.getMapper().convertValue(rawResource, getResourceClass(resourceType));
         }
         return (T)rawResource;
     }
@@ -157,6 +191,7 @@ public final class ResourceEventDispatcher {
 
         MessageRouter messageRouter = clusterManager.getRouter(vertx);
         messageRouter.requestHandler(hostname, ENTITY_EVENTS_HANDLER, dispatcher::processEvent);
+        messageRouter.requestHandler(hostname, ENTITY_EVENTS_BATCH_HANDLER, dispatcher::processEvents);
 
         log.info("Entity event handlers initialized with {} listeners", listenersAdded);
     }
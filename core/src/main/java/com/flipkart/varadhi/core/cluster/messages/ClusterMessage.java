@@ -27,20 +27,22 @@ public class ClusterMessage {
     }
 
     public static ClusterMessage of(ShardOperation.OpData operation) {
-        // This will result in double serialization of the operation object, below and during eventbus call.
         return new ClusterMessage(JsonMapper.jsonSerialize(operation));
     }
 
     public static ClusterMessage of(SubscriptionOperation.OpData operation) {
-        // This will result in double serialization of the operation object, below and during eventbus call.
         return new ClusterMessage(JsonMapper.jsonSerialize(operation));
     }
 
     public static ClusterMessage of(ShardStatusRequest request) {
-        // This will result in double serialization of the operation object, below and during eventbus call.
         return new ClusterMessage(JsonMapper.jsonSerialize(request));
     }
 
+    /**
+     * The payload is serialized to json here. By default the message is also sent as json, which serializes the
+     * payload a second time. Only with deliveryOptions.binaryMessages is the message put on the eventbus by
+     * {@link ClusterMessageCodec}, which carries the payload json as is.
+     */
     public static <T> ClusterMessage of(T payload) {
         return new ClusterMessage(JsonMapper.jsonSerialize(payload));
     }
@@ -0,0 +1,144 @@
+package com.flipkart.varadhi.core.cluster.messages;
+
+import com.flipkart.varadhi.entities.JsonMapper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Event bus codec of the cluster messages, so that they are put on the event bus as is, instead of as json strings.
+ * <p>
+ * Messages delivered locally are passed through, as they are immutable. Messages sent to other nodes are encoded as:
+ * <pre>
+ * message  := version kind id timeStamp payload [requestId exception]
+ * version  := byte, {@link #VERSION}
+ * kind     := byte, 0 for {@link ClusterMessage} and 1 for {@link ResponseMessage}
+ * string   := int length, -1 for null, followed by the utf-8 bytes
+ * </pre>
+ * The id, payload, requestId and exception are strings, the timeStamp is a long. The payload stays the json of the
+ * operation, request or event, and the exception is json encoded as before. Decoding rejects the versions it does not
+ * know, so that the format can be changed without misreading the messages of the other nodes.
+ */
+public final class ClusterMessageCodec<T extends ClusterMessage> implements MessageCodec<T, T> {
+
+    static final byte VERSION = 1;
+    private static final byte KIND_MESSAGE = 0;
+    private static final byte KIND_RESPONSE = 1;
+
+    public static final ClusterMessageCodec<ClusterMessage> MESSAGE_CODEC =
+        new ClusterMessageCodec<>("varadhi-cluster-message", ClusterMessage.class);
+    public static final ClusterMessageCodec<ResponseMessage> RESPONSE_CODEC =
+        new ClusterMessageCodec<>("varadhi-response-message", ResponseMessage.class);
+
+    private static final Set<EventBus> REGISTERED = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final String name;
+    private final Class<T> messageClass;
+
+    private ClusterMessageCodec(String name, Class<T> messageClass) {
+        this.name = name;
+        this.messageClass = messageClass;
+    }
+
+    /**
+     * Registers the codecs as the default ones for the cluster messages, once per event bus.
+     */
+    public static void register(EventBus eventBus) {
+        synchronized (REGISTERED) {
+            if (REGISTERED.add(eventBus)) {
+                eventBus.registerDefaultCodec(ClusterMessage.class, MESSAGE_CODEC);
+                eventBus.registerDefaultCodec(ResponseMessage.class, RESPONSE_CODEC);
+            }
+        }
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer, T message) {
+        boolean isResponse = message instanceof ResponseMessage;
+        buffer.appendByte(VERSION);
+        buffer.appendByte(isResponse ? KIND_RESPONSE : KIND_MESSAGE);
+        appendString(buffer, message.getId());
+        buffer.appendLong(message.getTimeStamp());
+        appendString(buffer, message.getPayload());
+        if (isResponse) {
+            ResponseMessage response = (ResponseMessage)message;
+            appendString(buffer, response.getRequestId());
+            appendString(
+                buffer,
+                response.getException() == null ? null : JsonMapper.jsonSerialize(response.getException())
+            );
+        }
+    }
+
+    @Override
+    public T decodeFromWire(int pos, Buffer buffer) {
+        byte version = buffer.getByte(pos++);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported cluster message version: " + version);
+        }
+        byte kind = buffer.getByte(pos++);
+
+        int[] cursor = {pos};
+        String id = readString(buffer, cursor);
+        long timeStamp = buffer.getLong(cursor[0]);
+        cursor[0] += Long.BYTES;
+        String payload = readString(buffer, cursor);
+
+        ClusterMessage message;
+        if (kind == KIND_RESPONSE) {
+            String requestId = readString(buffer, cursor);
+            String exception = readString(buffer, cursor);
+            message = new ResponseMessage(
+                id,
+                timeStamp,
+                payload,
+                requestId,
+                exception == null ? null : JsonMapper.jsonDeserialize(exception, Exception.class)
+            );
+        } else {
+            message = new ClusterMessage(id, timeStamp, payload);
+        }
+        return messageClass.cast(message);
+    }
+
+    @Override
+    public T transform(T message) {
+        return message;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+
+    private static void appendString(Buffer buffer, String value) {
+        if (value == null) {
+            buffer.appendInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.appendInt(bytes.length);
+        buffer.appendBytes(bytes);
+    }
+
+    private static String readString(Buffer buffer, int[] cursor) {
+        int length = buffer.getInt(cursor[0]);
+        cursor[0] += Integer.BYTES;
+        if (length < 0) {
+            return null;
+        }
+        String value = buffer.getString(cursor[0], cursor[0] + length, StandardCharsets.UTF_8.name());
+        cursor[0] += length;
+        return value;
+    }
+}
@@ -24,12 +24,10 @@ public class ResponseMessage extends ClusterMessage {
     }
 
     public static ResponseMessage fromPayload(Object payload, String requestId) {
-        // This will result in double serialization of the operation object, below and during eventbus call.
         return new ResponseMessage(JsonMapper.jsonSerialize(payload), null, requestId);
     }
 
     public static ResponseMessage fromException(Exception exception, String requestId) {
-        // This will result in double serialization of the operation object, below and during eventbus call.
         return new ResponseMessage(null, exception, requestId);
     }
 
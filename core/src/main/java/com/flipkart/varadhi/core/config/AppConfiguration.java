@@ -75,6 +75,17 @@ public class AppConfiguration implements Validatable {
 
     private boolean tracesEnabled = true;
 
+    /**
+     * Snapshots of the topic and project caches on the local disk, for a faster startup. Absent to load the caches
+     * fully from the metastore on every start.
+     */
+    @Valid
+    private ResourceSnapshotOptions resourceSnapshotOptions;
+
+    @NotNull
+    @Valid
+    private ConsumerOptions consumerOptions = new ConsumerOptions();
+
     @Override
     public void validate() {
         Validatable.super.validate();
@@ -0,0 +1,65 @@
+package com.flipkart.varadhi.core.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Options of the consumer component, i.e. of the subscription shards consumed on this node.
+ */
+@Data
+public class ConsumerOptions {
+
+    /**
+     * Whether the group pointers of the grouped subscriptions are kept in local files under the
+     * groupPointerDirectory, instead of the metastore. The pointers hold the groups with failed messages, which are
+     * lost for a shard that moves to another node, hence meant for tests and development only.
+     */
+    private boolean localGroupPointerStore = false;
+
+    /**
+     * Directory to keep the group pointers in, one file per subscription shard. Used only with the
+     * localGroupPointerStore.
+     */
+    @NotBlank
+    private String groupPointerDirectory = "data/groups";
+
+    /**
+     * Number of event executors, i.e. threads, that the subscription shards are spread over. 0 for one per available
+     * processor.
+     */
+    @Min (0)
+    private int executorCount = 0;
+
+    /**
+     * Whether the event executors take their tasks from a bounded lock free queue, instead of an unbounded
+     * LinkedBlockingQueue. Tasks that do not fit in a full queue overflow to an unbounded queue, they are not dropped.
+     */
+    private boolean lockFreeTaskQueue = false;
+
+    /**
+     * Capacity of the lock free task queue of each event executor, beyond which the tasks overflow. Should account for
+     * all the in-flight messages of the subscription shards pinned to an executor.
+     */
+    @Min (1)
+    private int taskQueueCapacity = 64 * 1024;
+
+    /**
+     * Number of times an idle executor polls the lock free task queue before parking. 0 parks right away.
+     */
+    @Min (0)
+    private int taskQueueSpinCount = 0;
+
+    /**
+     * Whether the delivery concurrency of a subscription shard adapts to the latency of its endpoint, up to the max
+     * parallelism of the subscription. Otherwise the concurrency is fixed at the max parallelism.
+     */
+    private boolean adaptiveConcurrency = false;
+
+    /**
+     * @return the executor count, with 0 resolved to the number of available processors
+     */
+    public int resolveExecutorCount() {
+        return executorCount == 0 ? Runtime.getRuntime().availableProcessors() : executorCount;
+    }
+}
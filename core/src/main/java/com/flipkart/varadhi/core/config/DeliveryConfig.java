@@ -17,4 +17,10 @@ import lombok.Data;
 public class DeliveryConfig {
     private int timeoutMs = 10000;
     private TracingPolicy tracingPolicy = TracingPolicy.PROPAGATE;
+
+    /**
+     * Put the cluster messages on the event bus with the binary codec instead of as json. Nodes of the older versions
+     * can't decode them, so this is to be turned on only once all the nodes of the cluster understand the codec.
+     */
+    private boolean binaryMessages = false;
 }
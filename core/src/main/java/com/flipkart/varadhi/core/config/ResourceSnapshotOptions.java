@@ -0,0 +1,31 @@
+package com.flipkart.varadhi.core.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Options of the snapshots of the resource caches, that let a restart read only the resources that changed since the
+ * snapshots were saved.
+ */
+@Data
+public class ResourceSnapshotOptions {
+
+    /**
+     * Directory to keep the snapshot files in, one file per cached resource type.
+     */
+    @NotBlank
+    private String directory;
+
+    /**
+     * Interval to save the snapshots at, besides after the startup and on shutdown. 0 disables the periodic saves.
+     */
+    @Min (0)
+    private long saveIntervalMs = 300_000;
+
+    /**
+     * Number of changed resources that are read from the metastore concurrently on startup.
+     */
+    @Min (1)
+    private int parallelism = 16;
+}
@@ -1,13 +1,28 @@
 package com.flipkart.varadhi.core;
 
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.core.cluster.events.EventType;
 import com.flipkart.varadhi.core.cluster.events.ResourceEvent;
+import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.entities.Resource;
 import com.flipkart.varadhi.entities.ResourceType;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -47,6 +62,149 @@ class ResourceReadCacheTest {
         assertTrue(cache.get("topic-a").isPresent());
     }
 
+    @Test
+    void addOnChange_NotifiedOnUpsertAndInvalidate() {
+        ResourceReadCache<Resource> cache = new ResourceReadCache<>(ResourceType.TOPIC, List::of);
+        Queue<String> changed = new ConcurrentLinkedQueue<>();
+        cache.addOnChange(name -> changed.add(name + "@" + cache.get(name).map(Resource::getVersion).orElse(0)));
+
+        cache.onChange(
+            new ResourceEvent<>(
+                ResourceType.TOPIC,
+                "topic-a",
+                EventType.UPSERT,
+                new Resource("topic-a", 1, ResourceType.TOPIC),
+                1,
+                null
+            )
+        );
+        cache.onChange(invalidateEvent("topic-a"));
+
+        // listeners see the cache after the event is applied.
+        assertEquals(List.of("topic-a@1", "topic-a@0"), List.copyOf(changed));
+    }
+
+    @Test
+    void snapshot_OnlyChangedResourcesAreLoaded(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("project.snapshot");
+        ProjectStore store = new ProjectStore();
+        Queue<String> loaded = new ConcurrentLinkedQueue<>();
+        for (String name : List.of("p1", "p2", "p3", "p5")) {
+            store.put(Project.of(name, "", "team", "org"));
+        }
+
+        Vertx vertx = Vertx.vertx();
+        try {
+            ResourceReadCache<Resource.EntityResource<Project>> first =
+                await(createWithSnapshot(file, store, store::revisions, loaded, vertx));
+            // no snapshot to start from, so all of them are loaded at once, and the snapshot is saved.
+            assertTrue(loaded.isEmpty());
+            assertTrue(Files.exists(file));
+            assertEquals(4, store.projects.keySet().stream().filter(n -> first.get(n).isPresent()).count());
+
+            Project changed = Project.of("p2", "changed", "team", "org");
+            changed.setVersion(changed.getVersion() + 1);
+            store.put(changed);
+            store.projects.remove("p3");
+            store.put(Project.of("p4", "", "team", "org"));
+            // deleted and created again, so it is of the same version but another revision.
+            store.put(Project.of("p5", "recreated", "team", "org"));
+
+            ResourceReadCache<Resource.EntityResource<Project>> second =
+                await(createWithSnapshot(file, store, store::revisions, loaded, vertx));
+            assertEquals(List.of("p2", "p4", "p5"), loaded.stream().sorted().toList());
+            assertEquals("changed", second.getOrThrow("p2").getEntity().getDescription());
+            assertEquals("recreated", second.getOrThrow("p5").getEntity().getDescription());
+            assertTrue(second.get("p1").isPresent());
+            assertTrue(second.get("p3").isEmpty());
+            assertTrue(second.get("p4").isPresent());
+        } finally {
+            await(vertx.close());
+        }
+    }
+
+    @Test
+    void snapshot_AllResourcesAreLoadedWithoutRevisions(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("project.snapshot");
+        ProjectStore store = new ProjectStore();
+        Queue<String> loaded = new ConcurrentLinkedQueue<>();
+        store.put(Project.of("p1", "", "team", "org"));
+
+        Vertx vertx = Vertx.vertx();
+        try {
+            await(createWithSnapshot(file, store, store::revisions, loaded, vertx));
+            store.put(Project.of("p1", "recreated", "team", "org"));
+
+            ResourceReadCache<Resource.EntityResource<Project>> second = await(createWithSnapshot(file, store, () -> {
+                throw new UnsupportedOperationException("Revisions of the projects are not supported");
+            }, loaded, vertx));
+            assertTrue(loaded.isEmpty());
+            assertEquals("recreated", second.getOrThrow("p1").getEntity().getDescription());
+        } finally {
+            await(vertx.close());
+        }
+    }
+
+    @Test
+    void snapshot_UnreadableSnapshotIsIgnored(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("project.snapshot");
+        Files.writeString(file, "not a snapshot");
+
+        assertTrue(ResourceSnapshot.read(file, ResourceType.PROJECT).isEmpty());
+        assertTrue(ResourceSnapshot.read(dir.resolve("absent.snapshot"), ResourceType.PROJECT).isEmpty());
+
+        Resource project = Resource.of(Project.of("p1", "", "team", "org"), ResourceType.PROJECT);
+        ResourceSnapshot.write(file, ResourceType.PROJECT, List.of(project), Map.of("p1", 7L));
+        assertTrue(ResourceSnapshot.read(file, ResourceType.TOPIC).isEmpty());
+        assertEquals(7L, ResourceSnapshot.read(file, ResourceType.PROJECT).orElseThrow().get("p1").revision());
+    }
+
+    private static Future<ResourceReadCache<Resource.EntityResource<Project>>> createWithSnapshot(
+        Path file,
+        ProjectStore store,
+        Supplier<Map<String, Long>> revisionsLoader,
+        Queue<String> loaded,
+        Vertx vertx
+    ) {
+        return ResourceReadCache.create(
+            ResourceType.PROJECT,
+            () -> store.projects.values().stream().map(p -> Resource.of(p, ResourceType.PROJECT)).toList(),
+            new ResourceReadCache.Snapshot<>(file, revisionsLoader, name -> {
+                loaded.add(name);
+                Project project = store.projects.get(name);
+                if (project == null) {
+                    throw new ResourceNotFoundException("Project(" + name + ") not found");
+                }
+                return Resource.of(project, ResourceType.PROJECT);
+            }, 2, 0),
+            vertx
+        );
+    }
+
+    /**
+     * Projects along with their revisions, which like zxids increase with every write.
+     */
+    private static class ProjectStore {
+        private final Map<String, Project> projects = new ConcurrentHashMap<>();
+        private final Map<String, Long> revisions = new ConcurrentHashMap<>();
+        private final AtomicLong lastRevision = new AtomicLong();
+
+        void put(Project project) {
+            projects.put(project.getName(), project);
+            revisions.put(project.getName(), lastRevision.incrementAndGet());
+        }
+
+        Map<String, Long> revisions() {
+            Map<String, Long> current = new HashMap<>(revisions);
+            current.keySet().retainAll(projects.keySet());
+            return current;
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
     private static ResourceEvent<Resource> invalidateEvent(String resourceName) {
         return new ResourceEvent<>(ResourceType.TOPIC, resourceName, EventType.INVALIDATE, null, 1, null);
     }
@@ -188,7 +188,7 @@ class VaradhiSubscriptionServiceTest {
             1
         );
 
-        ConsumptionPolicy consumptionPolicy = new ConsumptionPolicy(10, 1, 1, false, 1, null);
+        ConsumptionPolicy consumptionPolicy = new ConsumptionPolicy(10, 1, 1, false, 1, null, null);
 
         TopicCapacityPolicy capacity = Constants.DEFAULT_TOPIC_CAPACITY;
         String region = "default";
@@ -331,15 +331,28 @@ class VaradhiSubscriptionServiceTest {
         when(subscriptionStore.getAllNames(project1.getName())).thenReturn(
             List.of(subscription1.getName(), subscription2.getName())
         );
-        when(subscriptionStore.get(subscription1.getName())).thenReturn(subscription1);
-        when(subscriptionStore.get(subscription2.getName())).thenReturn(subscription2);
 
         List<String> actualSubscriptions = varadhiSubscriptionService.getSubscriptionList(project1.getName(), false);
 
         assertEquals(List.of(subscription1.getName()), actualSubscriptions);
         verify(subscriptionStore, times(1)).getAllNames(project1.getName());
-        verify(subscriptionStore, times(1)).get(subscription1.getName());
-        verify(subscriptionStore, times(1)).get(subscription2.getName());
+        verify(subscriptionStore, times(1)).getAsync(subscription1.getName());
+        verify(subscriptionStore, times(1)).getAsync(subscription2.getName());
+        verify(subscriptionStore, never()).get(subscription1.getName());
+    }
+
+    @Test
+    void getSubscriptionList_SubscriptionDeletedAfterListing_IsLeftOut() {
+        doReturn(unGroupedTopic).when(topicStore).get(unGroupedTopic.getName());
+        varadhiSubscriptionService.createSubscription(unGroupedTopic, subscription1, project1);
+
+        when(subscriptionStore.getAllNames(project1.getName())).thenReturn(
+            List.of(subscription1.getName(), subscription2.getName())
+        );
+
+        List<String> actualSubscriptions = varadhiSubscriptionService.getSubscriptionList(project1.getName(), false);
+
+        assertEquals(List.of(subscription1.getName()), actualSubscriptions);
     }
 
     @Test
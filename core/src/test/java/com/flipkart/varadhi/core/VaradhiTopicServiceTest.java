@@ -29,7 +29,9 @@ import org.mockito.MockitoAnnotations;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -648,10 +650,13 @@ class VaradhiTopicServiceTest {
             throw new IllegalArgumentException("Topic names and statuses lists must have the same size");
         }
         when(metaStore.topics().getAllNames(projectName)).thenReturn(topicNames);
+        Map<String, VaradhiTopic> topics = new LinkedHashMap<>();
         for (int i = 0; i < topicNames.size(); i++) {
             VaradhiTopic topic = mock(VaradhiTopic.class);
-            when(metaStore.topics().get(topicNames.get(i))).thenReturn(topic);
+            when(topic.getName()).thenReturn(topicNames.get(i));
             when(topic.isActive()).thenReturn(topicStatuses.get(i));
+            topics.put(topicNames.get(i), topic);
         }
+        when(metaStore.topics().getMany(topicNames)).thenReturn(topics);
     }
 }
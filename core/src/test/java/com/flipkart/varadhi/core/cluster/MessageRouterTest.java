@@ -1,6 +1,8 @@
 package com.flipkart.varadhi.core.cluster;
 
 import com.flipkart.varadhi.core.cluster.messages.ClusterMessage;
+import com.flipkart.varadhi.core.cluster.messages.ResponseMessage;
+import com.flipkart.varadhi.entities.JsonMapper;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
@@ -16,6 +18,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
 
 @ExtendWith (VertxExtension.class)
 public class MessageRouterTest {
@@ -72,6 +79,46 @@ public class MessageRouterTest {
               .onComplete(testContext.succeeding(v -> checkpoint.flag()));
     }
 
+    @Test
+    public void testJsonRequestIsRepliedToWithJson(VertxTestContext testContext) throws Exception {
+        Vertx vertx = createClusteredVertx();
+        MessageRouter mr = vZkCm.getRouter(vertx);
+        mr.requestHandler(
+            "testAddress",
+            "customApi",
+            message -> CompletableFuture.completedFuture(
+                message.getResponseMessage(message.getData(String.class) + "-reply")
+            )
+        );
+        // as sent by the nodes running an older version.
+        ClusterMessage cm = getClusterMessage("foo");
+        vertx.eventBus()
+             .request("testAddress.customApi.request", JsonMapper.jsonSerialize(cm))
+             .onComplete(testContext.succeeding(reply -> testContext.verify(() -> {
+                 String json = assertInstanceOf(String.class, reply.body());
+                 ResponseMessage response = JsonMapper.jsonDeserialize(json, ResponseMessage.class);
+                 assertEquals(cm.getId(), response.getRequestId());
+                 assertEquals("foo-reply", response.getResponse(String.class));
+                 testContext.completeNow();
+             })));
+    }
+
+    @Test
+    public void testJsonRequestsAreSentUnlessBinaryMessagesAreEnabled(VertxTestContext testContext) throws Exception {
+        Vertx vertx = createClusteredVertx();
+        MessageExchange me = vZkCm.getExchange(vertx);
+        vertx.eventBus().consumer("testAddress.customApi.request", message -> testContext.verify(() -> {
+            String json = assertInstanceOf(String.class, message.body());
+            ClusterMessage request = JsonMapper.jsonDeserialize(json, ClusterMessage.class);
+            message.reply(JsonMapper.jsonSerialize(request.getResponseMessage("bar")));
+        }));
+        Future.fromCompletionStage(me.request("testAddress", "customApi", getClusterMessage("foo")))
+              .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+                  assertEquals("bar", response.getResponse(String.class));
+                  testContext.completeNow();
+              })));
+    }
+
     ClusterMessage getClusterMessage(String data) {
         return ClusterMessage.of(data);
     }
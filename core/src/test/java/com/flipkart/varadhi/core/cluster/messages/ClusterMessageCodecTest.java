@@ -0,0 +1,68 @@
+package com.flipkart.varadhi.core.cluster.messages;
+
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterMessageCodecTest {
+
+    @Test
+    void testMessageRoundTrip() {
+        ClusterMessage message = ClusterMessage.of(Map.of("name", "sub1", "shard", "été"));
+        Buffer buffer = Buffer.buffer();
+        buffer.appendString("prefix");
+        ClusterMessageCodec.MESSAGE_CODEC.encodeToWire(buffer, message);
+
+        ClusterMessage decoded = ClusterMessageCodec.MESSAGE_CODEC.decodeFromWire("prefix".length(), buffer);
+        assertEquals(message.getId(), decoded.getId());
+        assertEquals(message.getTimeStamp(), decoded.getTimeStamp());
+        assertEquals(message.getPayload(), decoded.getPayload());
+        assertEquals(Map.of("name", "sub1", "shard", "été"), decoded.getData(Map.class));
+    }
+
+    @Test
+    void testResponseRoundTrip() {
+        ResponseMessage response = ResponseMessage.fromPayload("OK", "request1");
+        Buffer buffer = Buffer.buffer();
+        ClusterMessageCodec.RESPONSE_CODEC.encodeToWire(buffer, response);
+
+        ResponseMessage decoded = ClusterMessageCodec.RESPONSE_CODEC.decodeFromWire(0, buffer);
+        assertEquals(response.getId(), decoded.getId());
+        assertEquals("request1", decoded.getRequestId());
+        assertEquals("OK", decoded.getResponse(String.class));
+        assertNull(decoded.getException());
+    }
+
+    @Test
+    void testEmptyMessageAndExceptionRoundTrip() {
+        ClusterMessage message = ClusterMessage.of();
+        Buffer buffer = Buffer.buffer();
+        ClusterMessageCodec.MESSAGE_CODEC.encodeToWire(buffer, message);
+        assertNull(ClusterMessageCodec.MESSAGE_CODEC.decodeFromWire(0, buffer).getPayload());
+
+        ResponseMessage response = message.getResponseMessage(new IllegalStateException("failed"));
+        buffer = Buffer.buffer();
+        ClusterMessageCodec.RESPONSE_CODEC.encodeToWire(buffer, response);
+        ResponseMessage decoded = ClusterMessageCodec.RESPONSE_CODEC.decodeFromWire(0, buffer);
+        assertEquals(message.getId(), decoded.getRequestId());
+        assertNotNull(decoded.getException());
+        assertEquals("failed", decoded.getException().getMessage());
+    }
+
+    @Test
+    void testLocalDeliveryPassesTheMessageThrough() {
+        ClusterMessage message = ClusterMessage.of("data");
+        assertSame(message, ClusterMessageCodec.MESSAGE_CODEC.transform(message));
+    }
+
+    @Test
+    void testUnknownVersionIsRejected() {
+        Buffer buffer = Buffer.buffer();
+        ClusterMessageCodec.MESSAGE_CODEC.encodeToWire(buffer, ClusterMessage.of("data"));
+        buffer.setByte(0, (byte)(ClusterMessageCodec.VERSION + 1));
+        assertThrows(IllegalArgumentException.class, () -> ClusterMessageCodec.MESSAGE_CODEC.decodeFromWire(0, buffer));
+    }
+}
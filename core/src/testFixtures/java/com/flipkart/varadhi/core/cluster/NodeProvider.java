@@ -64,7 +64,12 @@ public class NodeProvider {
         VaradhiSubscription subscription,
         List<SubscriptionUnitShard> shards
     ) {
-        ConsumerInfo info = new ConsumerInfo(new ConcurrentHashMap<>(), node.getConsumerId(), node.getAvailable());
+        ConsumerInfo info = new ConsumerInfo(
+            new ConcurrentHashMap<>(),
+            node.getConsumerId(),
+            node.getAvailable(),
+            new ConcurrentHashMap<>()
+        );
         shards.forEach(s -> info.addShardCapacity(subscription.getName(), s.getShardId(), s.getCapacityRequest()));
         return info;
     }
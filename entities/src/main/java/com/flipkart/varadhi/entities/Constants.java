@@ -36,7 +36,7 @@ public class Constants {
             1,
             3
         );
-        public static final ConsumptionPolicy CONSUMPTION_POLICY = new ConsumptionPolicy(10, 1, 1, false, 1, null);
+        public static final ConsumptionPolicy CONSUMPTION_POLICY = new ConsumptionPolicy(10, 1, 1, false, 1, null, null);
 
         /**
          * Default subscription properties when a queue body omits {@code properties} (aligned with subscription test defaults).
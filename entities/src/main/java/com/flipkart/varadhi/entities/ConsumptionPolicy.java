@@ -25,4 +25,9 @@ public class ConsumptionPolicy {
     private final float maxErrorThreshold;
 
     private final ThrottlePolicy throttlePolicy;
+
+    /**
+     * null if each message is delivered in its own request.
+     */
+    private final DeliveryBatchPolicy deliveryBatchPolicy;
 }
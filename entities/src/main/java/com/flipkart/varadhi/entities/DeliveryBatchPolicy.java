@@ -0,0 +1,36 @@
+package com.flipkart.varadhi.entities;
+
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Opt-in delivery of multiple messages per request to the subscriber endpoint. The endpoint must accept the framed
+ * batch body and reply with the per message status.
+ */
+@Data
+public class DeliveryBatchPolicy {
+
+    /**
+     * Http methods whose request can carry the framed batch body.
+     */
+    private static final Set<String> BATCH_METHODS = Set.of("POST", "PUT", "PATCH");
+
+    /**
+     * Max messages in one request.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Max time a message waits for the batch to fill up, before the partial batch is delivered.
+     */
+    private final int maxBatchDelayMs;
+
+    /**
+     * @return true if the batch can be delivered to the endpoint in a single request.
+     */
+    public static boolean isSupportedBy(Endpoint endpoint) {
+        return endpoint instanceof Endpoint.HttpEndpoint httpEndpoint && httpEndpoint.getMethod() != null
+               && BATCH_METHODS.contains(httpEndpoint.getMethod().toUpperCase());
+    }
+}
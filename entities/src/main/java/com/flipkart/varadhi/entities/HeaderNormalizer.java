@@ -0,0 +1,129 @@
+package com.flipkart.varadhi.entities;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Normalizes the header names of produced messages: upper cases them and drops the ones not starting with an allowed
+ * prefix. Built once from the header config and shared, it is immutable and thread safe.
+ * <p>
+ * The allowed prefixes are kept in a trie walked case-insensitively over the name, so non-compliant headers are
+ * dropped without upper casing them first. The names of the std headers are interned, so that the headers of all
+ * messages share the configured name strings.
+ */
+public final class HeaderNormalizer {
+
+    private final PrefixTrie allowedPrefixes;
+    private final Map<String, String> canonicalNames;
+    private final boolean filterNonCompliant;
+
+    public HeaderNormalizer(
+        List<String> allowedPrefixes,
+        Collection<String> stdHeaderNames,
+        boolean filterNonCompliant
+    ) {
+        this.allowedPrefixes = new PrefixTrie(allowedPrefixes);
+        this.canonicalNames = new HashMap<>();
+        stdHeaderNames.forEach(name -> canonicalNames.put(name, name));
+        this.filterNonCompliant = filterNonCompliant;
+    }
+
+    public static HeaderNormalizer of(StdHeaders stdHeaders, boolean filterNonCompliant) {
+        return new HeaderNormalizer(stdHeaders.allowedPrefix(), stdHeaders.getAllHeaderNames(), filterNonCompliant);
+    }
+
+    /**
+     * @return the upper cased name, or null if the header is not compliant and is to be dropped
+     */
+    public String normalize(String name) {
+        if (filterNonCompliant && !allowedPrefixes.matchesIgnoreCase(name)) {
+            return null;
+        }
+        String upperCased = toUpperCase(name);
+        String canonical = canonicalNames.get(upperCased);
+        return canonical == null ? upperCased : canonical;
+    }
+
+    /**
+     * @param expectedNames number of distinct header names expected, to size the headers for
+     */
+    public HeadersBuilder newHeaders(int expectedNames) {
+        return new HeadersBuilder(this, expectedNames);
+    }
+
+    /**
+     * Returns the name itself when it has nothing to upper case, which is the common case of std headers.
+     */
+    private static String toUpperCase(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c >= 'a' && c <= 'z') || c > PrefixTrie.MAX_ASCII) {
+                return name.toUpperCase();
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Trie of upper cased prefixes over the ascii chars. Non-ascii names fall back to matching the upper cased name.
+     */
+    private static final class PrefixTrie {
+        private static final char MAX_ASCII = 127;
+
+        private final Node root = new Node();
+
+        PrefixTrie(List<String> prefixes) {
+            for (String prefix : prefixes) {
+                Node node = root;
+                for (int i = 0; i < prefix.length(); i++) {
+                    char c = prefix.charAt(i);
+                    if (c > MAX_ASCII) {
+                        throw new IllegalArgumentException("Header prefix must be ascii: " + prefix);
+                    }
+                    if (node.next[c] == null) {
+                        node.next[c] = new Node();
+                    }
+                    node = node.next[c];
+                }
+                node.terminal = true;
+            }
+        }
+
+        boolean matchesIgnoreCase(String name) {
+            Node node = root;
+            for (int i = 0; i < name.length() && !node.terminal; i++) {
+                char c = name.charAt(i);
+                if (c > MAX_ASCII) {
+                    return matches(name.toUpperCase());
+                }
+                if (c >= 'a' && c <= 'z') {
+                    c -= 'a' - 'A';
+                }
+                node = node.next[c];
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.terminal;
+        }
+
+        private boolean matches(String upperCased) {
+            Node node = root;
+            for (int i = 0; i < upperCased.length() && !node.terminal; i++) {
+                char c = upperCased.charAt(i);
+                node = c > MAX_ASCII ? null : node.next[c];
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.terminal;
+        }
+
+        private static final class Node {
+            private final Node[] next = new Node[MAX_ASCII + 1];
+            private boolean terminal;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.flipkart.varadhi.entities;
+
+import com.google.common.base.Utf8;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Collects the headers of a message being produced in a single pass over the request headers. The names are
+ * normalized as they are added, and the encoded size of the headers is kept up to date, so neither needs another walk
+ * over the headers later. Not thread safe.
+ * <p>
+ * The headers are handed over to the message built by {@link #toMessage(byte[])} without a copy, after which the
+ * builder can't be used any more.
+ */
+public final class HeadersBuilder {
+
+    private final HeaderNormalizer normalizer;
+    private ArrayListMultimap<String, String> headers;
+    private int sizeBytes;
+
+    HeadersBuilder(HeaderNormalizer normalizer, int expectedNames) {
+        // most headers have a single value, the default of 3 values per name mostly goes unused.
+        this(normalizer, ArrayListMultimap.create(expectedNames, 1), 0);
+    }
+
+    private HeadersBuilder(HeaderNormalizer normalizer, ArrayListMultimap<String, String> headers, int sizeBytes) {
+        this.normalizer = normalizer;
+        this.headers = headers;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Adds the header, if compliant.
+     *
+     * @return false if the header was dropped as non-compliant
+     */
+    public boolean add(String name, String value) {
+        String key = normalizer.normalize(name);
+        if (key == null) {
+            return false;
+        }
+        headers().put(key, value);
+        sizeBytes += sizeOf(key, value);
+        return true;
+    }
+
+    /**
+     * Replaces all the values of the header with the given ones, if compliant.
+     *
+     * @return false if the header was dropped as non-compliant
+     */
+    public boolean replace(String name, Collection<String> values) {
+        String key = normalizer.normalize(name);
+        if (key == null) {
+            return false;
+        }
+        List<String> replaced = headers().replaceValues(key, values);
+        for (String value : replaced) {
+            sizeBytes -= sizeOf(key, value);
+        }
+        for (String value : values) {
+            sizeBytes += sizeOf(key, value);
+        }
+        return true;
+    }
+
+    /**
+     * @return a builder starting with the headers added so far, which leaves this one unaffected.
+     */
+    public HeadersBuilder copy() {
+        return new HeadersBuilder(normalizer, ArrayListMultimap.create(headers()), sizeBytes);
+    }
+
+    /**
+     * The normalized headers, as a live view.
+     */
+    public Multimap<String, String> headers() {
+        if (headers == null) {
+            throw new IllegalStateException("Headers have already been handed over to a message.");
+        }
+        return headers;
+    }
+
+    /**
+     * @return the utf-8 encoded size of the names and the values of all the headers
+     */
+    public int sizeBytes() {
+        return sizeBytes;
+    }
+
+    public SimpleMessage toMessage(byte[] payload) {
+        SimpleMessage message = new SimpleMessage(payload, headers(), sizeBytes);
+        headers = null;
+        return message;
+    }
+
+    static int sizeOf(String key, String value) {
+        return Utf8.encodedLength(key) + Utf8.encodedLength(value);
+    }
+}
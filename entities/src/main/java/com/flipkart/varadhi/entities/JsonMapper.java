@@ -61,6 +61,14 @@ public class JsonMapper {
         }
     }
 
+    public static <T> T jsonDeserialize(byte[] data, int offset, int length, Class<T> clazz) {
+        try {
+            return mapper.readValue(data, offset, length, clazz);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
     public static class JsonParseException extends RuntimeException {
         public JsonParseException(Throwable cause) {
             super(cause);
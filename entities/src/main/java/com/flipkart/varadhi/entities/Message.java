@@ -19,6 +19,10 @@ public interface Message {
 
     List<String> getHeaders(String key);
 
+    /**
+     * The returned array may be shared with the source of the message (e.g. the http request body) and must be
+     * treated as read-only.
+     */
     byte[] getPayload();
 
     Multimap<String, String> getHeaders();
@@ -33,7 +37,9 @@ public interface Message {
         return this;
     }
 
-    // TODO: add support for caching the calculated size.
+    /**
+     * Encoded size of the headers and the payload. Computed on every call here, implementations may cache it.
+     */
     @JsonIgnore
     default int getTotalSizeBytes() {
         int headersAndBodySize = 0;
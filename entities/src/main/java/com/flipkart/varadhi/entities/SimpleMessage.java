@@ -9,6 +9,7 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 
@@ -21,11 +22,28 @@ public class SimpleMessage implements Message, Serializable {
     private final byte[] payload;
     private final ArrayListMultimap<String, String> requestHeaders;
 
+    /**
+     * Encoded size of the headers, valid when {@link #headersSizeKnown}. Kept up to date by {@link #withHeader} and
+     * {@link #withoutHeader}; changing the headers returned by {@link #getHeaders()} directly leaves it stale.
+     */
+    private transient int headersSizeBytes;
+    private transient boolean headersSizeKnown;
+
     public SimpleMessage(byte[] payload, Multimap<String, String> requestHeaders) {
         this.payload = payload;
         this.requestHeaders = ArrayListMultimap.create(requestHeaders);
     }
 
+    /**
+     * Takes over the headers, without a copy, along with their already computed size.
+     */
+    SimpleMessage(byte[] payload, ArrayListMultimap<String, String> requestHeaders, int headersSizeBytes) {
+        this.payload = payload;
+        this.requestHeaders = requestHeaders;
+        this.headersSizeBytes = headersSizeBytes;
+        this.headersSizeKnown = true;
+    }
+
     public SimpleMessage(Message msg) {
         this.payload = msg.getPayload();
         this.requestHeaders = ArrayListMultimap.create(msg.getHeaders());
@@ -77,6 +95,36 @@ public class SimpleMessage implements Message, Serializable {
         return requestHeaders;
     }
 
+    @Override
+    public Message withHeader(String key, String value) {
+        requestHeaders.put(key, value);
+        if (headersSizeKnown) {
+            headersSizeBytes += HeadersBuilder.sizeOf(key, value);
+        }
+        return this;
+    }
+
+    @Override
+    public Message withoutHeader(String key) {
+        List<String> removed = requestHeaders.removeAll(key);
+        if (headersSizeKnown) {
+            for (String value : removed) {
+                headersSizeBytes -= HeadersBuilder.sizeOf(key, value);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    @JsonIgnore
+    public int getTotalSizeBytes() {
+        if (!headersSizeKnown) {
+            headersSizeBytes = Message.super.getTotalSizeBytes() - payload.length;
+            headersSizeKnown = true;
+        }
+        return headersSizeBytes + payload.length;
+    }
+
     public byte[] serialize() throws IOException {
         try (
             ByteArrayOutputStream bos = new ByteArrayOutputStream();
@@ -25,6 +25,14 @@ public class SubscriptionOperation extends MetaStoreEntity implements OrderedOpe
     private final List<OpResult> results;
     private long endTime;
 
+    /**
+     * Whether the operation is done as of its version in the store. Carried along with the version, so that the
+     * store can tell a change in the done state of the operation without reading it.
+     */
+    @JsonIgnore
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private boolean doneInStore;
 
     @JsonCreator
     SubscriptionOperation(
@@ -44,6 +52,7 @@ public class SubscriptionOperation extends MetaStoreEntity implements OrderedOpe
         this.data = data;
         this.retryAttempt = retryAttempt;
         this.results = results;
+        this.doneInStore = !results.isEmpty() && results.get(0).isDone();
     }
 
     SubscriptionOperation(OpData data, String requestedBy) {
@@ -81,7 +90,7 @@ public class SubscriptionOperation extends MetaStoreEntity implements OrderedOpe
     public SubscriptionOperation nextRetry() {
         int attempt = retryAttempt + 1;
         results.add(0, OpResult.of(attempt));
-        return new SubscriptionOperation(
+        SubscriptionOperation retry = new SubscriptionOperation(
             getId(),
             getVersion(),
             requestedBy,
@@ -91,6 +100,8 @@ public class SubscriptionOperation extends MetaStoreEntity implements OrderedOpe
             attempt,
             results
         );
+        retry.doneInStore = doneInStore;
+        return retry;
     }
 
     @JsonIgnore
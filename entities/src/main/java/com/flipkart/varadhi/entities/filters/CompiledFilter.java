@@ -0,0 +1,278 @@
+package com.flipkart.varadhi.entities.filters;
+
+import com.google.common.collect.Multimap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Condition} compiled for evaluating it against the headers of many messages. It evaluates the same as the
+ * condition, with less work per message:
+ * <ul>
+ *   <li>the header keys of the condition are numbered into slots, and the values of a key are looked up at most once
+ *   per message, when first needed.</li>
+ *   <li>the values of {@code in} conditions are held in a hash set.</li>
+ *   <li>the header values are matched in plain loops, with no streams.</li>
+ *   <li>equal sub conditions are compiled once, and the ones occurring more than once are evaluated at most once per
+ *   message.</li>
+ * </ul>
+ * Immutable and thread safe.
+ */
+public final class CompiledFilter {
+
+    private final Node root;
+    private final String[] keys;
+    private final int sharedNodes;
+
+    private CompiledFilter(Node root, String[] keys, int sharedNodes) {
+        this.root = root;
+        this.keys = keys;
+        this.sharedNodes = sharedNodes;
+    }
+
+    public static CompiledFilter compile(Condition condition) {
+        Compiler compiler = new Compiler();
+        compiler.countOccurrences(condition);
+        Node root = compiler.compile(condition);
+        return new CompiledFilter(root, compiler.slots.keySet().toArray(new String[0]), compiler.sharedNodes);
+    }
+
+    /**
+     * @return same as {@link Condition#evaluate(Multimap)} of the condition compiled
+     */
+    public boolean evaluate(Multimap<String, String> headers) {
+        return root.test(new Frame(headers, keys, sharedNodes));
+    }
+
+    /**
+     * Per message state of an evaluation.
+     */
+    private static final class Frame {
+        private static final byte TRUE = 1;
+        private static final byte FALSE = 2;
+
+        private final Multimap<String, String> headers;
+        private final String[] keys;
+        private final Collection<String>[] values;
+        private final byte[] results;
+
+        @SuppressWarnings ("unchecked")
+        Frame(Multimap<String, String> headers, String[] keys, int sharedNodes) {
+            this.headers = headers;
+            this.keys = keys;
+            this.values = new Collection[keys.length];
+            this.results = sharedNodes == 0 ? null : new byte[sharedNodes];
+        }
+
+        Collection<String> values(int slot) {
+            Collection<String> slotValues = values[slot];
+            if (slotValues == null) {
+                slotValues = headers.get(keys[slot]);
+                values[slot] = slotValues;
+            }
+            return slotValues;
+        }
+    }
+
+
+    private interface Node {
+        boolean test(Frame frame);
+    }
+
+
+    private record Exists(int slot) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            return !frame.values(slot).isEmpty();
+        }
+    }
+
+
+    private record StartsWith(int slot, String value) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            for (String headerValue : frame.values(slot)) {
+                if (headerValue.startsWith(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+    private record EndsWith(int slot, String value) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            for (String headerValue : frame.values(slot)) {
+                if (headerValue.endsWith(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+    private record Contains(int slot, String value) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            for (String headerValue : frame.values(slot)) {
+                if (headerValue.contains(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+    private record In(int slot, Set<String> values) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            for (String headerValue : frame.values(slot)) {
+                if (values.contains(headerValue)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+    private record All(Node[] nodes) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            for (Node node : nodes) {
+                if (!node.test(frame)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+
+    private record Any(Node[] nodes) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            for (Node node : nodes) {
+                if (node.test(frame)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+
+    private record Not(Node node) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            return !node.test(frame);
+        }
+    }
+
+
+    /**
+     * A node occurring more than once in the filter, whose result is kept for the rest of the evaluation.
+     */
+    private record Shared(Node node, int index) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            byte result = frame.results[index];
+            if (result == 0) {
+                boolean value = node.test(frame);
+                frame.results[index] = value ? Frame.TRUE : Frame.FALSE;
+                return value;
+            }
+            return result == Frame.TRUE;
+        }
+    }
+
+
+    /**
+     * Conditions of other types, evaluated as they are.
+     */
+    private record Uncompiled(Condition condition) implements Node {
+        @Override
+        public boolean test(Frame frame) {
+            return condition.evaluate(frame.headers);
+        }
+    }
+
+
+    private static final class Compiler {
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+        private final Map<Condition, Integer> occurrences = new HashMap<>();
+        private final Map<Condition, Node> compiled = new HashMap<>();
+        private int sharedNodes;
+
+        /**
+         * Counts the occurrences of the conditions. The sub conditions of a repeated condition are counted once, as
+         * they are evaluated only as part of it.
+         */
+        void countOccurrences(Condition condition) {
+            if (occurrences.merge(condition, 1, Integer::sum) > 1) {
+                return;
+            }
+            children(condition).forEach(this::countOccurrences);
+        }
+
+        Node compile(Condition condition) {
+            Node node = compiled.get(condition);
+            if (node == null) {
+                node = compileNode(condition);
+                if (occurrences.getOrDefault(condition, 1) > 1) {
+                    node = new Shared(node, sharedNodes++);
+                }
+                compiled.put(condition, node);
+            }
+            return node;
+        }
+
+        private Node compileNode(Condition condition) {
+            return switch (condition) {
+                case StringConditions.ExistsCondition c -> new Exists(slot(c.key()));
+                case StringConditions.StartsWithCondition c -> new StartsWith(slot(c.key()), c.value());
+                case StringConditions.EndsWithCondition c -> new EndsWith(slot(c.key()), c.value());
+                case StringConditions.ContainsCondition c -> new Contains(slot(c.key()), c.value());
+                case StringConditions.InCondition c -> new In(slot(c.key()), new HashSet<>(c.values()));
+                case BooleanConditions.AndCondition c -> new All(compileAll(c.values()));
+                case BooleanConditions.OrCondition c -> new Any(compileAll(c.values()));
+                case BooleanConditions.NandCondition c -> new Not(new All(compileAll(c.values())));
+                case BooleanConditions.NorCondition c -> new Not(new Any(compileAll(c.values())));
+                case BooleanConditions.NotCondition c -> new Not(compile(c.value()));
+                default -> new Uncompiled(condition);
+            };
+        }
+
+        private Node[] compileAll(List<Condition> conditions) {
+            Node[] nodes = new Node[conditions.size()];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = compile(conditions.get(i));
+            }
+            return nodes;
+        }
+
+        private int slot(String key) {
+            return slots.computeIfAbsent(key, k -> slots.size());
+        }
+
+        private static List<Condition> children(Condition condition) {
+            return switch (condition) {
+                case BooleanConditions.AndCondition c -> c.values();
+                case BooleanConditions.OrCondition c -> c.values();
+                case BooleanConditions.NandCondition c -> c.values();
+                case BooleanConditions.NorCondition c -> c.values();
+                case BooleanConditions.NotCondition c -> List.of(c.value());
+                default -> List.of();
+            };
+        }
+    }
+}
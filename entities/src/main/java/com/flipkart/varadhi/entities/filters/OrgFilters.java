@@ -3,8 +3,11 @@ package com.flipkart.varadhi.entities.filters;
 import com.flipkart.varadhi.entities.MetaStoreEntity;
 import com.flipkart.varadhi.entities.MetaStoreEntityType;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.Map;
@@ -18,9 +21,30 @@ public class OrgFilters extends MetaStoreEntity {
      */
     private final Map<String, Condition> filters;
 
+    /**
+     * The filters compiled on first use. Held by the instance, so they are compiled once per version of the filters
+     * held by the org cache.
+     */
+    @JsonIgnore
+    @Getter (AccessLevel.NONE)
+    private volatile Map<String, CompiledFilter> compiledFilters;
+
     @JsonCreator
     public OrgFilters(@JsonProperty ("version") int version, @JsonProperty ("filters") Map<String, Condition> filters) {
         super("NamedFilters", version, MetaStoreEntityType.ORG_FILTER);
         this.filters = ImmutableMap.copyOf(filters);
     }
+
+    /**
+     * @return the named filter compiled for evaluation, or null if there is no such filter.
+     */
+    public CompiledFilter getCompiledFilter(String name) {
+        Map<String, CompiledFilter> compiled = compiledFilters;
+        if (compiled == null) {
+            // racing compilations are equivalent, any of them can be kept.
+            compiled = ImmutableMap.copyOf(Maps.transformValues(filters, CompiledFilter::compile));
+            compiledFilters = compiled;
+        }
+        return compiled.get(name);
+    }
 }
@@ -0,0 +1,17 @@
+package com.flipkart.varadhi.entities.web;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * A single message in a batch produce request. The batch is sent as application/json-seq, with one record per
+ * message. Payload is base64 encoded in json. Headers here are message specific, and are added to the headers of the
+ * produce request which are common to all the messages of the batch.
+ */
+@Data
+public class ProduceBatchRecord {
+    private final Map<String, List<String>> headers;
+    private final byte[] payload;
+}
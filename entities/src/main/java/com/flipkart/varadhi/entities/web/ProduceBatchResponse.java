@@ -0,0 +1,29 @@
+package com.flipkart.varadhi.entities.web;
+
+import java.util.List;
+
+import com.flipkart.varadhi.entities.ProduceStatus;
+import lombok.Data;
+
+/**
+ * Response of a batch produce request, with a status per message in the same order as the messages in the request.
+ */
+@Data
+public class ProduceBatchResponse {
+    private final List<MessageStatus> messages;
+
+    @Data
+    public static class MessageStatus {
+        private final String messageId;
+        private final ProduceStatus status;
+        private final String error;
+
+        public static MessageStatus success(String messageId) {
+            return new MessageStatus(messageId, ProduceStatus.Success, null);
+        }
+
+        public static MessageStatus failure(String messageId, ProduceStatus status, String error) {
+            return new MessageStatus(messageId, status, error);
+        }
+    }
+}
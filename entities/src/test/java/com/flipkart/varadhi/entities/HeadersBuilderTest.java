@@ -0,0 +1,146 @@
+package com.flipkart.varadhi.entities;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadersBuilderTest {
+
+    private final StdHeaders stdHeaders = TestStdHeaders.get();
+    private final HeaderNormalizer normalizer = HeaderNormalizer.of(stdHeaders, true);
+
+    @Test
+    void normalize_MatchesPrefixesIgnoringCase() {
+        assertEquals("X_LOWER", normalizer.normalize("x_lower"));
+        assertEquals("X-MIXED_CASE", normalizer.normalize("x-Mixed_Case"));
+        assertEquals("X_", normalizer.normalize("X_"));
+        assertNull(normalizer.normalize("xy_header"));
+        assertNull(normalizer.normalize("x"));
+        assertNull(normalizer.normalize("header"));
+        assertNull(normalizer.normalize("ẋ_header"));
+    }
+
+    @Test
+    void normalize_WithoutFiltering_KeepsAllHeaders() {
+        HeaderNormalizer unfiltered = HeaderNormalizer.of(stdHeaders, false);
+        assertEquals("XY_HEADER", unfiltered.normalize("xy_Header"));
+        assertEquals("X_LOWER", unfiltered.normalize("x_lower"));
+    }
+
+    @Test
+    void normalize_StdHeaderNames_AreInterned() {
+        assertSame(stdHeaders.msgId(), normalizer.normalize("x_message_id"));
+        assertSame(stdHeaders.msgId(), normalizer.normalize(new String("X_MESSAGE_ID")));
+    }
+
+    @Test
+    void build_SizeIsKeptUpToDate() {
+        HeadersBuilder builder = normalizer.newHeaders(4);
+        assertTrue(builder.add("x_message_id", "id1"));
+        assertTrue(builder.add("x_multi", "value1"));
+        assertTrue(builder.add("X_MULTI", "välue2"));
+        assertFalse(builder.add("header", "dropped"));
+        assertEquals(sizeOf(builder), builder.sizeBytes());
+
+        assertTrue(builder.replace("x_multi", List.of("value3")));
+        assertFalse(builder.replace("header", List.of("dropped")));
+        assertEquals(List.of("value3"), builder.headers().get("X_MULTI"));
+        assertEquals(sizeOf(builder), builder.sizeBytes());
+    }
+
+    @Test
+    void copy_IsIndependentOfTheOriginal() {
+        HeadersBuilder builder = normalizer.newHeaders(2);
+        builder.add("x_common", "value");
+        int size = builder.sizeBytes();
+
+        HeadersBuilder copy = builder.copy();
+        copy.replace("x_common", List.of("other", "values"));
+        copy.add("x_extra", "value");
+
+        assertEquals(List.of("value"), builder.headers().get("X_COMMON"));
+        assertEquals(size, builder.sizeBytes());
+        assertEquals(sizeOf(copy), copy.sizeBytes());
+    }
+
+    @Test
+    void toMessage_HandsOverHeadersWithTheirSize() {
+        HeadersBuilder builder = normalizer.newHeaders(2);
+        builder.add("x_message_id", "id1");
+        builder.add("x_group_id", "group1");
+        byte[] payload = "payload".getBytes();
+
+        Message message = builder.toMessage(payload);
+        assertEquals("id1", message.getHeader(stdHeaders.msgId()));
+        assertEquals(expectedSize(message), message.getTotalSizeBytes());
+        assertThrows(IllegalStateException.class, builder::headers);
+
+        message.withHeader(stdHeaders.produceRegion().value(), "region1");
+        assertEquals(expectedSize(message), message.getTotalSizeBytes());
+        message.withoutHeader(stdHeaders.groupId());
+        assertEquals(expectedSize(message), message.getTotalSizeBytes());
+    }
+
+    @Test
+    void simpleMessage_ComputesTheSizeOnce_WhenNotHandedOver() {
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("X_HEADER", "value");
+        Message message = new SimpleMessage("payload".getBytes(), headers);
+        assertEquals(expectedSize(message), message.getTotalSizeBytes());
+
+        message.withHeader("X_OTHER", "other");
+        assertEquals(expectedSize(message), message.getTotalSizeBytes());
+    }
+
+    private static int sizeOf(HeadersBuilder builder) {
+        return new SimpleMessage(new byte[0], builder.headers()).getTotalSizeBytes();
+    }
+
+    /**
+     * Size as computed afresh, by the default implementation.
+     */
+    private static int expectedSize(Message message) {
+        return new UncachedMessage(message).getTotalSizeBytes();
+    }
+
+    private record UncachedMessage(Message message) implements Message {
+        @Override
+        public String getMessageId() {
+            return message.getMessageId();
+        }
+
+        @Override
+        public String getGroupId() {
+            return message.getGroupId();
+        }
+
+        @Override
+        public boolean hasHeader(String key) {
+            return message.hasHeader(key);
+        }
+
+        @Override
+        public String getHeader(String key) {
+            return message.getHeader(key);
+        }
+
+        @Override
+        public List<String> getHeaders(String key) {
+            return message.getHeaders(key);
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return message.getPayload();
+        }
+
+        @Override
+        public Multimap<String, String> getHeaders() {
+            return message.getHeaders();
+        }
+    }
+}
@@ -38,7 +38,7 @@ class SubscriptionTest {
         1,
         3
     );
-    private static final ConsumptionPolicy DEFAULT_CONSUMPTION_POLICY = new ConsumptionPolicy(10, 1, 1, false, 1, null);
+    private static final ConsumptionPolicy DEFAULT_CONSUMPTION_POLICY = new ConsumptionPolicy(10, 1, 1, false, 1, null, null);
     private static final SubscriptionShards DEFAULT_SHARDS = new SubscriptionUnitShard(
         0,
         new TopicCapacityPolicy(1, 10, 1, 2),
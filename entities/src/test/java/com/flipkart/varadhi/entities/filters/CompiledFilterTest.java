@@ -0,0 +1,104 @@
+package com.flipkart.varadhi.entities.filters;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledFilterTest {
+
+    private static final Condition STARTS_WITH = new StringConditions.StartsWithCondition("X_A", "pre");
+    private static final Condition ENDS_WITH = new StringConditions.EndsWithCondition("X_A", "fix");
+    private static final Condition CONTAINS = new StringConditions.ContainsCondition("X_B", "mid");
+    private static final Condition EXISTS = new StringConditions.ExistsCondition("X_C");
+    private static final Condition IN = new StringConditions.InCondition("X_B", List.of("v1", "v2"));
+
+    private static final List<Condition> CONDITIONS = List.of(
+        STARTS_WITH,
+        ENDS_WITH,
+        CONTAINS,
+        EXISTS,
+        IN,
+        new BooleanConditions.AndCondition(List.of(STARTS_WITH, ENDS_WITH)),
+        new BooleanConditions.OrCondition(List.of(CONTAINS, EXISTS)),
+        new BooleanConditions.NandCondition(List.of(STARTS_WITH, IN)),
+        new BooleanConditions.NorCondition(List.of(ENDS_WITH, EXISTS)),
+        new BooleanConditions.NotCondition(IN),
+        new BooleanConditions.AndCondition(List.of()),
+        new BooleanConditions.OrCondition(List.of()),
+        new BooleanConditions.OrCondition(
+            List.of(
+                new BooleanConditions.AndCondition(List.of(STARTS_WITH, IN)),
+                new BooleanConditions.AndCondition(List.of(new BooleanConditions.NotCondition(IN), EXISTS)),
+                new BooleanConditions.AndCondition(List.of(STARTS_WITH, IN))
+            )
+        )
+    );
+
+    private static final List<Map<String, List<String>>> HEADERS = List.of(
+        Map.of(),
+        Map.of("X_A", List.of("prefix")),
+        Map.of("X_A", List.of("other", "pre_value"), "X_B", List.of("v2")),
+        Map.of("X_A", List.of("pre"), "X_B", List.of("a_mid_b", "v3"), "X_C", List.of("")),
+        Map.of("X_B", List.of("v1"), "X_C", List.of("c")),
+        Map.of("x_a", List.of("prefix"), "X_B", List.of("V1"))
+    );
+
+    @Test
+    void evaluate_SameAsTheCondition() {
+        for (Condition condition : CONDITIONS) {
+            CompiledFilter filter = CompiledFilter.compile(condition);
+            for (Map<String, List<String>> headers : HEADERS) {
+                Multimap<String, String> multimap = multimap(headers);
+                assertEquals(condition.evaluate(multimap), filter.evaluate(multimap), condition + " on " + headers);
+            }
+        }
+    }
+
+    @Test
+    void evaluate_RepeatedConditionIsEvaluatedOncePerMessage() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Condition counted = new Condition() {
+            @Override
+            public boolean evaluate(Multimap<String, String> headers) {
+                evaluations.incrementAndGet();
+                return headers.containsKey("X_A");
+            }
+        };
+        Condition condition = new BooleanConditions.AndCondition(
+            List.of(
+                new BooleanConditions.OrCondition(List.of(EXISTS, counted)),
+                new BooleanConditions.NotCondition(counted),
+                counted
+            )
+        );
+        CompiledFilter filter = CompiledFilter.compile(condition);
+
+        assertFalse(filter.evaluate(multimap(Map.of("X_A", List.of("a")))));
+        assertEquals(1, evaluations.get());
+        assertFalse(filter.evaluate(multimap(Map.of("X_A", List.of("a")))));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    void getCompiledFilter_CompiledOncePerInstance() {
+        OrgFilters orgFilters = new OrgFilters(1, Map.of("nfr", STARTS_WITH));
+
+        CompiledFilter filter = orgFilters.getCompiledFilter("nfr");
+        assertNotNull(filter);
+        assertSame(filter, orgFilters.getCompiledFilter("nfr"));
+        assertNull(orgFilters.getCompiledFilter("absent"));
+        assertTrue(filter.evaluate(multimap(Map.of("X_A", List.of("prefix")))));
+    }
+
+    private static Multimap<String, String> multimap(Map<String, List<String>> headers) {
+        Multimap<String, String> multimap = ArrayListMultimap.create();
+        headers.forEach(multimap::putAll);
+        return multimap;
+    }
+}
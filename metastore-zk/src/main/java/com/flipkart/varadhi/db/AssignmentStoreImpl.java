@@ -3,19 +3,32 @@ package com.flipkart.varadhi.db;
 import com.flipkart.varadhi.entities.cluster.Assignment;
 import com.flipkart.varadhi.spi.db.AssignmentStore;
 import com.flipkart.varadhi.spi.db.MetaStoreException;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 import static com.flipkart.varadhi.db.ZNode.ASSIGNMENT;
+import static com.flipkart.varadhi.db.ZNode.NODE_ASSIGNMENTS;
+import static com.flipkart.varadhi.db.ZNode.SUB_ASSIGNMENTS;
 
 /**
  * ZooKeeper-based implementation of the AssignmentStore interface.
  * Manages persistence and retrieval of Assignment entity in ZooKeeper.
+ * <p>
+ * Each assignment is also indexed under its subscription and under its consumer node, in the same transaction. The
+ * lookups are answered from an in-memory {@link AssignmentView} of the assignments, and from the indexes until the
+ * view has loaded. The view sees the changes made through this store right away and the changes made by the other
+ * nodes once the cache catches up, so it is eventually consistent with ZooKeeper, like the rest of the cluster state.
  */
-public final class AssignmentStoreImpl implements AssignmentStore {
+@Slf4j
+public final class AssignmentStoreImpl implements AssignmentStore, AutoCloseable {
     private static final String SEPARATOR = ":";
+    private static final String INDEX_VERSION = "v1";
     private final ZKMetaStore zkMetaStore;
+    private final AssignmentView view;
 
     /**
      * Constructs a new AssignmentStoreImpl with the given ZooKeeper MetaStore.
@@ -25,6 +38,10 @@ public final class AssignmentStoreImpl implements AssignmentStore {
     public AssignmentStoreImpl(ZKMetaStore zkMetaStore) {
         this.zkMetaStore = zkMetaStore;
         ensureEntityTypePathExists();
+        ensureIndexesBuilt();
+        ZNode root = ZNode.ofEntityType(ASSIGNMENT);
+        this.view = new AssignmentView(zkMetaStore.buildCache(root), root.getPath(), this::getAssignment);
+        this.view.start();
     }
 
     /**
@@ -35,6 +52,32 @@ public final class AssignmentStoreImpl implements AssignmentStore {
      */
     private void ensureEntityTypePathExists() {
         zkMetaStore.createZNode(ZNode.ofEntityType(ASSIGNMENT));
+        zkMetaStore.createZNode(ZNode.ofEntityType(SUB_ASSIGNMENTS));
+        zkMetaStore.createZNode(ZNode.ofEntityType(NODE_ASSIGNMENTS));
+    }
+
+    /**
+     * Builds the indexes for the assignments created before the indexes existed, once per index version. The build
+     * is idempotent, so an interrupted build is completed by the next start.
+     *
+     * @throws MetaStoreException if the build fails
+     */
+    private void ensureIndexesBuilt() {
+        ZNode indexVersion = ZNode.ofAssignmentIndex(INDEX_VERSION);
+        if (zkMetaStore.zkPathExist(indexVersion)) {
+            return;
+        }
+
+        List<String> mappings = zkMetaStore.listChildren(ZNode.ofEntityType(ASSIGNMENT));
+        log.info("Building assignment indexes for {} assignments.", mappings.size());
+        for (String mapping : mappings) {
+            Assignment assignment = getAssignment(mapping);
+            zkMetaStore.createZNode(subscriptionIndexNode(assignment));
+            zkMetaStore.createZNode(consumerNodeIndexNode(assignment));
+        }
+
+        zkMetaStore.createZNode(indexVersion);
+        log.info("Built assignment indexes {}.", INDEX_VERSION);
     }
 
     /**
@@ -45,8 +88,18 @@ public final class AssignmentStoreImpl implements AssignmentStore {
      */
     @Override
     public void createAssignments(List<Assignment> assignments) {
-        var nodesToCreate = assignments.stream().map(this::createAssignmentNode).toList();
-        zkMetaStore.executeInTransaction(nodesToCreate, List.of());
+        Set<String> subscriptions = new LinkedHashSet<>();
+        Set<String> consumerNodes = new LinkedHashSet<>();
+        assignments.forEach(assignment -> {
+            subscriptions.add(assignment.getSubscriptionId());
+            consumerNodes.add(assignment.getConsumerId());
+        });
+        // parents are created outside the transaction. They are shared by the assignments and are never removed.
+        subscriptions.forEach(sub -> zkMetaStore.createZNode(ZNode.ofSubscriptionAssignments(sub)));
+        consumerNodes.forEach(node -> zkMetaStore.createZNode(ZNode.ofConsumerNodeAssignments(node)));
+
+        zkMetaStore.executeInTransaction(withIndexes(assignments), List.of());
+        assignments.forEach(view::added);
     }
 
     /**
@@ -57,7 +110,17 @@ public final class AssignmentStoreImpl implements AssignmentStore {
      */
     @Override
     public List<Assignment> getSubAssignments(String subscriptionName) {
-        return getAssignments(subscriptionName, ".*");
+        if (view.isInitialized()) {
+            return view.ofSubscription(subscriptionName);
+        }
+        ZNode parent = ZNode.ofSubscriptionAssignments(subscriptionName);
+        if (!zkMetaStore.zkPathExist(parent)) {
+            return List.of();
+        }
+        return zkMetaStore.listChildren(parent)
+                          .stream()
+                          .map(mapping -> getAssignment(subscriptionName + SEPARATOR + mapping))
+                          .toList();
     }
 
     /**
@@ -68,7 +131,17 @@ public final class AssignmentStoreImpl implements AssignmentStore {
      */
     @Override
     public List<Assignment> getConsumerNodeAssignments(String consumerNodeId) {
-        return getAssignments(".*", consumerNodeId);
+        if (view.isInitialized()) {
+            return view.ofConsumerNode(consumerNodeId);
+        }
+        ZNode parent = ZNode.ofConsumerNodeAssignments(consumerNodeId);
+        if (!zkMetaStore.zkPathExist(parent)) {
+            return List.of();
+        }
+        return zkMetaStore.listChildren(parent)
+                          .stream()
+                          .map(mapping -> getAssignment(mapping + SEPARATOR + consumerNodeId))
+                          .toList();
     }
 
     /**
@@ -78,7 +151,10 @@ public final class AssignmentStoreImpl implements AssignmentStore {
      */
     @Override
     public List<Assignment> getAllAssignments() {
-        return getAssignments(".*", ".*");
+        if (view.isInitialized()) {
+            return view.all();
+        }
+        return zkMetaStore.listChildren(ZNode.ofEntityType(ASSIGNMENT)).stream().map(this::getAssignment).toList();
     }
 
     /**
@@ -101,8 +177,29 @@ public final class AssignmentStoreImpl implements AssignmentStore {
      */
     @Override
     public void deleteAssignments(List<Assignment> assignments) {
-        var nodesToDelete = assignments.stream().map(this::createAssignmentNode).toList();
-        zkMetaStore.executeInTransaction(List.of(), nodesToDelete);
+        zkMetaStore.executeInTransaction(List.of(), withIndexes(assignments));
+        assignments.forEach(view::removed);
+    }
+
+    @Override
+    public void close() {
+        view.close();
+    }
+
+    /**
+     * Lists the ZNodes of the given assignments along with their index entries.
+     *
+     * @param assignments The assignments
+     * @return ZNodes to be created or deleted together
+     */
+    private List<ZNode> withIndexes(List<Assignment> assignments) {
+        List<ZNode> nodes = new ArrayList<>(assignments.size() * 3);
+        for (Assignment assignment : assignments) {
+            nodes.add(createAssignmentNode(assignment));
+            nodes.add(subscriptionIndexNode(assignment));
+            nodes.add(consumerNodeIndexNode(assignment));
+        }
+        return nodes;
     }
 
     /**
@@ -115,23 +212,18 @@ public final class AssignmentStoreImpl implements AssignmentStore {
         return ZNode.ofAssignment(getAssignmentMapping(assignment));
     }
 
-    /**
-     * Retrieves assignments based on subscription name and consumer node ID patterns.
-     *
-     * @param subscriptionName Subscription name pattern
-     * @param consumerNodeId   Consumer node ID pattern
-     * @return List of matching assignments
-     */
-    private List<Assignment> getAssignments(String subscriptionName, String consumerNodeId) {
-        var filter = Pattern.compile(
-            String.format("^%s%s.*%s%s$", subscriptionName, SEPARATOR, SEPARATOR, consumerNodeId)
+    private ZNode subscriptionIndexNode(Assignment assignment) {
+        return ZNode.ofSubscriptionAssignment(
+            assignment.getSubscriptionId(),
+            assignment.getShardId() + SEPARATOR + assignment.getConsumerId()
         );
+    }
 
-        return zkMetaStore.listChildren(ZNode.ofEntityType(ZNode.ASSIGNMENT))
-                          .stream()
-                          .filter(filter.asPredicate())
-                          .map(this::getAssignment)
-                          .toList();
+    private ZNode consumerNodeIndexNode(Assignment assignment) {
+        return ZNode.ofConsumerNodeAssignment(
+            assignment.getConsumerId(),
+            assignment.getSubscriptionId() + SEPARATOR + assignment.getShardId()
+        );
     }
 
     /**
@@ -0,0 +1,125 @@
+package com.flipkart.varadhi.db;
+
+import com.flipkart.varadhi.entities.cluster.Assignment;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory view of the assignments, grouped by subscription and by consumer node.
+ * <p>
+ * Kept up to date by a {@link CuratorCache} on the assignment nodes, for the changes made by the other nodes. The
+ * changes made through this node are applied right away as well, so that they are visible to the reads that follow.
+ * Applying a change twice is harmless.
+ * <p>
+ * The view is usable only after the cache has loaded the existing assignments, see {@link #isInitialized()}.
+ */
+@Slf4j
+final class AssignmentView implements AutoCloseable {
+
+    private final CuratorCache cache;
+    private final String rootPath;
+    private final Function<String, Assignment> parser;
+
+    private final Map<String, Set<Assignment>> bySubscription = new ConcurrentHashMap<>();
+    private final Map<String, Set<Assignment>> byConsumerNode = new ConcurrentHashMap<>();
+
+    private volatile boolean initialized = false;
+
+    /**
+     * @param cache    unstarted cache of the assignment nodes.
+     * @param rootPath path of the parent of the assignment nodes.
+     * @param parser   parses the assignment from its node name.
+     */
+    AssignmentView(CuratorCache cache, String rootPath, Function<String, Assignment> parser) {
+        this.cache = cache;
+        this.rootPath = rootPath;
+        this.parser = parser;
+    }
+
+    void start() {
+        cache.listenable().addListener(CuratorCacheListener.builder().forCreates(data -> {
+            Assignment assignment = parse(data);
+            if (assignment != null) {
+                added(assignment);
+            }
+        }).forDeletes(data -> {
+            Assignment assignment = parse(data);
+            if (assignment != null) {
+                removed(assignment);
+            }
+        }).forInitialized(() -> {
+            initialized = true;
+            log.info("Assignment view initialized with {} subscriptions.", bySubscription.size());
+        }).build());
+        cache.start();
+    }
+
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    void added(Assignment assignment) {
+        add(bySubscription, assignment.getSubscriptionId(), assignment);
+        add(byConsumerNode, assignment.getConsumerId(), assignment);
+    }
+
+    void removed(Assignment assignment) {
+        remove(bySubscription, assignment.getSubscriptionId(), assignment);
+        remove(byConsumerNode, assignment.getConsumerId(), assignment);
+    }
+
+    List<Assignment> ofSubscription(String subscriptionName) {
+        return copyOf(bySubscription.get(subscriptionName));
+    }
+
+    List<Assignment> ofConsumerNode(String consumerNodeId) {
+        return copyOf(byConsumerNode.get(consumerNodeId));
+    }
+
+    List<Assignment> all() {
+        List<Assignment> all = new ArrayList<>();
+        bySubscription.values().forEach(all::addAll);
+        return all;
+    }
+
+    @Override
+    public void close() {
+        cache.close();
+    }
+
+    private Assignment parse(ChildData data) {
+        if (rootPath.equals(data.getPath())) {
+            return null;
+        }
+        return parser.apply(Path.of(data.getPath()).getFileName().toString());
+    }
+
+    private static void add(Map<String, Set<Assignment>> index, String key, Assignment assignment) {
+        index.compute(key, (k, assignments) -> {
+            Set<Assignment> updated = assignments == null ? ConcurrentHashMap.newKeySet() : assignments;
+            updated.add(assignment);
+            return updated;
+        });
+    }
+
+    private static void remove(Map<String, Set<Assignment>> index, String key, Assignment assignment) {
+        index.computeIfPresent(key, (k, assignments) -> {
+            assignments.remove(assignment);
+            return assignments.isEmpty() ? null : assignments;
+        });
+    }
+
+    private static List<Assignment> copyOf(Set<Assignment> assignments) {
+        return assignments == null ? List.of() : List.copyOf(assignments);
+    }
+}
@@ -0,0 +1,96 @@
+package com.flipkart.varadhi.db;
+
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
+import com.flipkart.varadhi.spi.db.MetaStoreException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.flipkart.varadhi.db.ZNode.GROUP_STATES;
+
+/**
+ * ZooKeeper-based implementation of the GroupStateStore interface.
+ * <p>
+ * The state of a group is kept in a ZNode of its own under the ZNode of the subscription shard, so that saving a group
+ * writes only its own state. Group ids may hold characters which ZNode names can't, so the names are the url safe
+ * base64 encoding of the group ids. Only the groups with failed messages have a state, so there are few of them.
+ */
+public final class GroupStateStoreImpl implements GroupStateStore {
+    private static final String SEPARATOR = ":";
+    private final ZKMetaStore zkMetaStore;
+
+    /**
+     * Constructs a new GroupStateStoreImpl with the given ZooKeeper MetaStore.
+     *
+     * @throws MetaStoreException if unable to create required ZooKeeper paths
+     */
+    public GroupStateStoreImpl(ZKMetaStore zkMetaStore) {
+        this.zkMetaStore = zkMetaStore;
+        zkMetaStore.createZNode(ZNode.ofEntityType(GROUP_STATES));
+    }
+
+    /**
+     * Retrieves the state of all the groups of a subscription shard.
+     *
+     * @return state of the groups by group id, empty if the shard has never had a failed group
+     * @throws MetaStoreException if there's an error during retrieval
+     */
+    @Override
+    public Map<String, byte[]> getAll(String subscription, int shardId) {
+        String shard = subscriptionShard(subscription, shardId);
+        ZNode parent = ZNode.ofGroupStates(shard);
+        if (!zkMetaStore.zkPathExist(parent)) {
+            return Map.of();
+        }
+        List<String> groups = zkMetaStore.listChildren(parent);
+        Map<String, byte[]> states = new HashMap<>(groups.size());
+        for (String group : groups) {
+            try {
+                states.put(decode(group), zkMetaStore.getZNodeData(ZNode.ofGroupState(shard, group)));
+            } catch (ResourceNotFoundException e) {
+                // deleted since listed, the group no longer has a state.
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Saves the state of a group, creating the ZNodes of the group and of the subscription shard if needed.
+     *
+     * @throws MetaStoreException if the write fails
+     */
+    @Override
+    public void put(String subscription, int shardId, String groupId, byte[] state) {
+        zkMetaStore.setZNodeData(ZNode.ofGroupState(subscriptionShard(subscription, shardId), encode(groupId)), state);
+    }
+
+    /**
+     * Deletes the state of a group, if there is any.
+     *
+     * @throws MetaStoreException if the delete fails
+     */
+    @Override
+    public void delete(String subscription, int shardId, String groupId) {
+        try {
+            zkMetaStore.deleteZNode(ZNode.ofGroupState(subscriptionShard(subscription, shardId), encode(groupId)));
+        } catch (ResourceNotFoundException e) {
+            // already deleted.
+        }
+    }
+
+    private static String subscriptionShard(String subscription, int shardId) {
+        return subscription + SEPARATOR + shardId;
+    }
+
+    private static String encode(String groupId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(groupId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String group) {
+        return new String(Base64.getUrlDecoder().decode(group), StandardCharsets.UTF_8);
+    }
+}
@@ -1,20 +1,50 @@
 package com.flipkart.varadhi.db;
 
+import com.flipkart.varadhi.common.exceptions.DuplicateResourceException;
+import com.flipkart.varadhi.common.exceptions.InvalidOperationForResourceException;
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.entities.cluster.ShardOperation;
 import com.flipkart.varadhi.entities.cluster.SubscriptionOperation;
 import com.flipkart.varadhi.spi.db.MetaStoreException;
 import com.flipkart.varadhi.spi.db.OpStore;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import static com.flipkart.varadhi.db.ZNode.PENDING_SUB_OP;
 import static com.flipkart.varadhi.db.ZNode.SHARD_OP;
 import static com.flipkart.varadhi.db.ZNode.SUB_OP;
+import static com.flipkart.varadhi.db.ZNode.SUB_OP_SHARD_OPS;
 
 /**
  * Implementation of the Operation Store using ZooKeeper as the underlying storage.
  * This class manages subscription and shard operations persistence.
+ * <p>
+ * The operations are never deleted, so listing and filtering all of them gets slower over time. Instead, the
+ * lookups go through index nodes that are written in the same transaction as the operations:
+ * <ul>
+ *     <li>a marker per pending subscription operation, removed once it is done.</li>
+ *     <li>a node per shard operation, under its subscription operation.</li>
+ * </ul>
+ * So the lookups read only the operations they return.
  */
+@Slf4j
 public class OpStoreImpl implements OpStore {
+
+    /**
+     * Version of the index layout. A new version is built from the operations on the first start with it.
+     */
+    static final String INDEX_VERSION = "v1";
+
+    /**
+     * Shard operations written per transaction by the batch writes, to keep the transaction well within the request
+     * size limit of ZooKeeper.
+     */
+    static final int MAX_SHARD_OPS_PER_TRANSACTION = 64;
+
     private final ZKMetaStore zkMetaStore;
 
     /**
@@ -25,6 +55,7 @@ public class OpStoreImpl implements OpStore {
     public OpStoreImpl(ZKMetaStore zkMetaStore) {
         this.zkMetaStore = zkMetaStore;
         ensureEntityTypePathExists();
+        ensureIndexesBuilt();
     }
 
     /**
@@ -36,6 +67,40 @@ public class OpStoreImpl implements OpStore {
     private void ensureEntityTypePathExists() {
         zkMetaStore.createZNode(ZNode.ofEntityType(SUB_OP));
         zkMetaStore.createZNode(ZNode.ofEntityType(SHARD_OP));
+        zkMetaStore.createZNode(ZNode.ofEntityType(PENDING_SUB_OP));
+        zkMetaStore.createZNode(ZNode.ofEntityType(SUB_OP_SHARD_OPS));
+    }
+
+    /**
+     * Builds the indexes for the operations created before the indexes existed. This is the only place that goes
+     * over all the operations, once per index version. The build is idempotent, so an interrupted build is
+     * completed by the next start.
+     *
+     * @throws MetaStoreException if the build fails
+     */
+    private void ensureIndexesBuilt() {
+        ZNode indexVersion = ZNode.ofOperationIndex(INDEX_VERSION);
+        if (zkMetaStore.zkPathExist(indexVersion)) {
+            return;
+        }
+
+        List<String> subOpIds = zkMetaStore.listChildren(ZNode.ofEntityType(SUB_OP));
+        List<String> shardOpIds = zkMetaStore.listChildren(ZNode.ofEntityType(SHARD_OP));
+        log.info("Building operation indexes for {} sub ops and {} shard ops.", subOpIds.size(), shardOpIds.size());
+
+        for (String subOpId : subOpIds) {
+            zkMetaStore.createZNode(ZNode.ofSubOperationShardOps(subOpId));
+            if (!getSubOp(subOpId).isDone()) {
+                zkMetaStore.createZNode(ZNode.ofPendingSubOperation(subOpId));
+            }
+        }
+        for (String shardOpId : shardOpIds) {
+            String subOpId = getShardOp(shardOpId).getOpData().getParentOpId();
+            zkMetaStore.createZNode(ZNode.ofSubOperationShardOp(subOpId, shardOpId));
+        }
+
+        zkMetaStore.createZNode(indexVersion);
+        log.info("Built operation indexes {}.", INDEX_VERSION);
     }
 
     /**
@@ -46,8 +111,13 @@ public class OpStoreImpl implements OpStore {
      */
     @Override
     public void createSubOp(SubscriptionOperation operation) {
-        ZNode znode = ZNode.ofSubOperation(operation.getName());
-        zkMetaStore.createZNodeWithData(znode, operation);
+        String id = operation.getName();
+        ZNode znode = ZNode.ofSubOperation(id);
+        List<ZNode> indexes = operation.isDone() ?
+            List.of(ZNode.ofSubOperationShardOps(id)) :
+            List.of(ZNode.ofSubOperationShardOps(id), ZNode.ofPendingSubOperation(id));
+        zkMetaStore.createZNodeWithData(znode, operation, indexes);
+        operation.setDoneInStore(operation.isDone());
     }
 
     /**
@@ -72,7 +142,18 @@ public class OpStoreImpl implements OpStore {
     @Override
     public void updateSubOp(SubscriptionOperation operation) {
         ZNode znode = ZNode.ofSubOperation(operation.getName());
-        zkMetaStore.updateZNodeWithData(znode, operation);
+        // an operation can go back to pending on retry, so the marker is changed both ways. The marker is in the
+        // state the operation had as of its version, which the write is checked against.
+        ZNode pending = ZNode.ofPendingSubOperation(operation.getName());
+        boolean markedPending = !operation.isDoneInStore();
+        boolean isPending = !operation.isDone();
+        zkMetaStore.updateZNodeWithData(
+            znode,
+            operation,
+            isPending && !markedPending ? List.of(pending) : List.of(),
+            !isPending && markedPending ? List.of(pending) : List.of()
+        );
+        operation.setDoneInStore(!isPending);
     }
 
     /**
@@ -84,7 +165,46 @@ public class OpStoreImpl implements OpStore {
     @Override
     public void createShardOp(ShardOperation operation) {
         ZNode znode = ZNode.ofShardOperation(operation.getName());
-        zkMetaStore.createZNodeWithData(znode, operation);
+        String subOpId = operation.getOpData().getParentOpId();
+        ZNode subOpShardOps = ZNode.ofSubOperationShardOps(subOpId);
+        ZNode index = ZNode.ofSubOperationShardOp(subOpId, operation.getName());
+        // the parent is created along with the sub op, unless the sub op was written without the indexes.
+        List<ZNode> indexes = zkMetaStore.zkPathExist(subOpShardOps) ? List.of(index) : List.of(subOpShardOps, index);
+        zkMetaStore.createZNodeWithData(znode, operation, indexes);
+    }
+
+    /**
+     * Creates the shard operations along with their indexes, in a transaction per
+     * {@link #MAX_SHARD_OPS_PER_TRANSACTION} operations.
+     *
+     * The transactions before a failed one stay applied, so the callers caching the operations have to drop them
+     * on a failure.
+     *
+     * @param operations The shard operations to create
+     * @throws DuplicateResourceException if any of the operations in a transaction exists, none of which are created
+     */
+    @Override
+    public void createShardOps(List<ShardOperation> operations) {
+        Set<String> parentsChecked = new HashSet<>();
+        for (int from = 0; from < operations.size(); from += MAX_SHARD_OPS_PER_TRANSACTION) {
+            List<ShardOperation> batch = operations.subList(
+                from,
+                Math.min(from + MAX_SHARD_OPS_PER_TRANSACTION, operations.size())
+            );
+            List<ZNode> znodes = new ArrayList<>(batch.size());
+            List<ZNode> indexes = new ArrayList<>(batch.size() + 1);
+            for (ShardOperation operation : batch) {
+                String subOpId = operation.getOpData().getParentOpId();
+                ZNode subOpShardOps = ZNode.ofSubOperationShardOps(subOpId);
+                // same as for a single shard op, the parent is created unless it was created along with the sub op.
+                if (parentsChecked.add(subOpId) && !zkMetaStore.zkPathExist(subOpShardOps)) {
+                    indexes.add(subOpShardOps);
+                }
+                znodes.add(ZNode.ofShardOperation(operation.getName()));
+                indexes.add(ZNode.ofSubOperationShardOp(subOpId, operation.getName()));
+            }
+            zkMetaStore.createZNodesWithData(znodes, batch, indexes);
+        }
     }
 
     /**
@@ -108,12 +228,22 @@ public class OpStoreImpl implements OpStore {
      */
     @Override
     public List<ShardOperation> getShardOps(String subOpId) {
-        // TODO: This needs to improvise i.e shouldn't need to deserialize all.
-        return zkMetaStore.listChildren(ZNode.ofEntityType(SHARD_OP))
-                          .stream()
-                          .map(id -> zkMetaStore.getZNodeDataAsPojo(ZNode.ofShardOperation(id), ShardOperation.class))
-                          .filter(shardOp -> subOpId.equals(shardOp.getOpData().getParentOpId()))
-                          .toList();
+        return getShardOpIds(subOpId).stream().map(this::getShardOp).toList();
+    }
+
+    /**
+     * Retrieves the ids of the shard operations of a subscription operation, from the index.
+     *
+     * @param subOpId The subscription operation ID
+     * @return List of shard operation ids, empty if the subscription operation has none
+     */
+    @Override
+    public List<String> getShardOpIds(String subOpId) {
+        try {
+            return zkMetaStore.listChildren(ZNode.ofSubOperationShardOps(subOpId));
+        } catch (ResourceNotFoundException e) {
+            return List.of();
+        }
     }
 
     /**
@@ -123,15 +253,9 @@ public class OpStoreImpl implements OpStore {
      */
     @Override
     public List<SubscriptionOperation> getPendingSubOps() {
-        // TODO: This needs to improvise i.e shouldn't need to deserialize all.
-        return zkMetaStore.listChildren(ZNode.ofEntityType(SUB_OP))
+        return zkMetaStore.listChildren(ZNode.ofEntityType(PENDING_SUB_OP))
                           .stream()
-                          .map(
-                              id -> zkMetaStore.getZNodeDataAsPojo(
-                                  ZNode.ofSubOperation(id),
-                                  SubscriptionOperation.class
-                              )
-                          )
+                          .map(this::getSubOp)
                           .filter(subOp -> !subOp.isDone())
                           .toList();
     }
@@ -160,4 +284,26 @@ public class OpStoreImpl implements OpStore {
         ZNode znode = ZNode.ofShardOperation(operation.getName());
         zkMetaStore.updateZNodeWithData(znode, operation);
     }
+
+    /**
+     * Updates the shard operations, in a transaction per {@link #MAX_SHARD_OPS_PER_TRANSACTION} operations. As with
+     * {@link #createShardOps(List)}, the transactions before a failed one stay applied.
+     *
+     * @param operations The shard operations to update
+     * @throws InvalidOperationForResourceException if any of the operations in a transaction has a version conflict,
+     *                                              none of which are updated
+     */
+    @Override
+    public void updateShardOps(List<ShardOperation> operations) {
+        for (int from = 0; from < operations.size(); from += MAX_SHARD_OPS_PER_TRANSACTION) {
+            List<ShardOperation> batch = operations.subList(
+                from,
+                Math.min(from + MAX_SHARD_OPS_PER_TRANSACTION, operations.size())
+            );
+            zkMetaStore.updateZNodesWithData(
+                batch.stream().map(operation -> ZNode.ofShardOperation(operation.getName())).toList(),
+                batch
+            );
+        }
+    }
 }
@@ -20,6 +20,8 @@ import com.flipkart.varadhi.spi.db.TopicStore;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.flipkart.varadhi.db.ZNode.EVENT;
 import static com.flipkart.varadhi.db.ZNode.IAM_POLICY;
@@ -321,6 +323,18 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.getZNodeDataAsPojo(znode, Project.class);
         }
 
+        /**
+         * Retrieves a project by its name, without blocking.
+         *
+         * @param projectName the name of the project
+         * @return future of the project entity, failed with ResourceNotFoundException if it doesn't exist
+         */
+        @Override
+        public CompletableFuture<Project> getAsync(String projectName) {
+            ZNode znode = ZNode.ofProject(projectName);
+            return zkMetaStore.getZNodeDataAsPojoAsync(znode, Project.class);
+        }
+
         /**
          * Retrieves all projects for a team.
          *
@@ -352,6 +366,17 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.listChildren(znode).stream().map(this::get).toList();
         }
 
+        /**
+         * Retrieves the revisions of all projects, i.e. the zxids of their last modifications, without reading them.
+         *
+         * @return revisions of the projects by name
+         * @throws MetaStoreException if there's an error during retrieval
+         */
+        @Override
+        public Map<String, Long> getAllRevisions() {
+            return zkMetaStore.getChildRevisions(ZNode.ofEntityType(PROJECT));
+        }
+
         /**
          * Checks if a project exists.
          *
@@ -365,6 +390,18 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.zkPathExist(znode);
         }
 
+        /**
+         * Checks if a project exists, without blocking.
+         *
+         * @param projectName the name of the project
+         * @return future of whether the project exists
+         */
+        @Override
+        public CompletableFuture<Boolean> existsAsync(String projectName) {
+            ZNode znode = ZNode.ofProject(projectName);
+            return zkMetaStore.zkPathExistAsync(znode);
+        }
+
         /**
          * Updates an existing project.
          *
@@ -475,6 +512,18 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.getZNodeDataAsPojo(znode, VaradhiTopic.class);
         }
 
+        /**
+         * Retrieves a topic by its name, without blocking.
+         *
+         * @param topicName the name of the topic
+         * @return future of the topic entity, failed with ResourceNotFoundException if it doesn't exist
+         */
+        @Override
+        public CompletableFuture<VaradhiTopic> getAsync(String topicName) {
+            ZNode znode = ZNode.ofTopic(topicName);
+            return zkMetaStore.getZNodeDataAsPojoAsync(znode, VaradhiTopic.class);
+        }
+
         /**
          * Retrieves topic names for a project.
          *
@@ -502,6 +551,17 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.listChildren(znode).stream().map(this::get).toList();
         }
 
+        /**
+         * Retrieves the revisions of all topics, i.e. the zxids of their last modifications, without reading them.
+         *
+         * @return revisions of the topics by name
+         * @throws MetaStoreException if there's an error during retrieval
+         */
+        @Override
+        public Map<String, Long> getAllRevisions() {
+            return zkMetaStore.getChildRevisions(ZNode.ofEntityType(TOPIC));
+        }
+
         /**
          * Checks if a topic exists.
          *
@@ -515,6 +575,18 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.zkPathExist(znode);
         }
 
+        /**
+         * Checks if a topic exists, without blocking.
+         *
+         * @param topicName the name of the topic
+         * @return future of whether the topic exists
+         */
+        @Override
+        public CompletableFuture<Boolean> existsAsync(String topicName) {
+            ZNode znode = ZNode.ofTopic(topicName);
+            return zkMetaStore.zkPathExistAsync(znode);
+        }
+
         /**
          * Updates an existing topic.
          *
@@ -575,6 +647,18 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.getZNodeDataAsPojo(znode, VaradhiSubscription.class);
         }
 
+        /**
+         * Retrieves a subscription by its name, without blocking.
+         *
+         * @param subscriptionName the name of the subscription
+         * @return future of the subscription entity, failed with ResourceNotFoundException if it doesn't exist
+         */
+        @Override
+        public CompletableFuture<VaradhiSubscription> getAsync(String subscriptionName) {
+            ZNode znode = ZNode.ofSubscription(subscriptionName);
+            return zkMetaStore.getZNodeDataAsPojoAsync(znode, VaradhiSubscription.class);
+        }
+
         /**
          * Retrieves all subscription names across all projects.
          *
@@ -615,6 +699,18 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.zkPathExist(znode);
         }
 
+        /**
+         * Checks if a subscription exists, without blocking.
+         *
+         * @param subscriptionName the name of the subscription
+         * @return future of whether the subscription exists
+         */
+        @Override
+        public CompletableFuture<Boolean> existsAsync(String subscriptionName) {
+            ZNode znode = ZNode.ofSubscription(subscriptionName);
+            return zkMetaStore.zkPathExistAsync(znode);
+        }
+
         /**
          * Updates an existing subscription.
          *
@@ -656,7 +752,7 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
         @Override
         public void create(IamPolicyRecord iamPolicyRecord) {
             ZNode znode = ZNode.ofIamPolicy(iamPolicyRecord.getName());
-            zkMetaStore.createZNodeWithData(znode, iamPolicyRecord);
+            zkMetaStore.createTrackedZNodeWithData(znode, iamPolicyRecord, MetaStoreEntityType.IAM_POLICY);
         }
 
         /**
@@ -674,6 +770,18 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
             return zkMetaStore.getZNodeDataAsPojo(znode, IamPolicyRecord.class);
         }
 
+        /**
+         * Retrieves all IAM policy records.
+         *
+         * @return list of all IAM policy records
+         * @throws MetaStoreException if there's an error during retrieval
+         */
+        @Override
+        public List<IamPolicyRecord> getAll() {
+            ZNode znode = ZNode.ofEntityType(IAM_POLICY);
+            return zkMetaStore.listChildren(znode).stream().map(this::get).toList();
+        }
+
         /**
          * Checks if an IAM policy record exists for the given resource ID.
          *
@@ -700,7 +808,7 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
         @Override
         public void update(IamPolicyRecord iamPolicyRecord) {
             ZNode znode = ZNode.ofIamPolicy(iamPolicyRecord.getName());
-            zkMetaStore.updateZNodeWithData(znode, iamPolicyRecord);
+            zkMetaStore.updateTrackedZNodeWithData(znode, iamPolicyRecord, MetaStoreEntityType.IAM_POLICY);
         }
 
         /**
@@ -714,7 +822,7 @@ public final class VaradhiMetaStore implements MetaStore, IamPolicyStore.Provide
         @Override
         public void delete(String authResourceId) {
             ZNode znode = ZNode.ofIamPolicy(authResourceId);
-            zkMetaStore.deleteZNode(znode);
+            zkMetaStore.deleteTrackedZNode(znode, MetaStoreEntityType.IAM_POLICY);
         }
     };
 
@@ -24,7 +24,13 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static com.flipkart.varadhi.db.ZNode.EVENT;
 
@@ -61,6 +67,7 @@ public class ZKMetaStore implements AutoCloseable {
 
     private final CuratorFramework zkCurator;
     private final CuratorCache eventCache;
+    private final Semaphore inFlightReads;
 
     /**
      * Constants for event node naming and structure.
@@ -69,6 +76,16 @@ public class ZKMetaStore implements AutoCloseable {
     private static final String EVENT_DELIMITER = "-";
     private static final String LISTENER_NODE = "change_event_listener";
 
+    /**
+     * Bound on getting the revisions of all the children of a node, the callers fall back to reading the children.
+     */
+    static final long CHILD_REVISIONS_TIMEOUT_MS = 60_000;
+
+    /**
+     * Default bound on the background reads in flight, across all the callers of the store.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT_READS = 1000;
+
     /**
      * Constructs a new ZKMetaStore instance.
      *
@@ -80,8 +97,22 @@ public class ZKMetaStore implements AutoCloseable {
      * @throws IllegalArgumentException if zkCurator is null
      */
     public ZKMetaStore(CuratorFramework zkCurator) {
+        this(zkCurator, DEFAULT_MAX_IN_FLIGHT_READS);
+    }
+
+    /**
+     * @param zkCurator        The curator framework instance for ZooKeeper operations
+     * @param maxInFlightReads Bound on the background reads in flight, so that reading the revisions of many children
+     *                         doesn't queue them all up on the connection at once
+     * @throws IllegalArgumentException if zkCurator is null or maxInFlightReads is less than 1
+     */
+    public ZKMetaStore(CuratorFramework zkCurator, int maxInFlightReads) {
+        if (maxInFlightReads < 1) {
+            throw new IllegalArgumentException("maxInFlightReads must be at least 1, got " + maxInFlightReads);
+        }
         this.zkCurator = Objects.requireNonNull(zkCurator, "zkCurator must not be null");
         this.eventCache = CuratorCache.build(zkCurator, ZNode.ofEntityType(EVENT).getPath());
+        this.inFlightReads = new Semaphore(maxInFlightReads);
     }
 
     /**
@@ -97,6 +128,8 @@ public class ZKMetaStore implements AutoCloseable {
                 zkCurator.create().creatingParentsIfNeeded().withMode(CreateMode.PERSISTENT).forPath(znode.getPath());
                 log.debug("Created ZNode: {}", znode);
             }
+        } catch (KeeperException.NodeExistsException e) {
+            log.debug("ZNode {} got created concurrently", znode);
         } catch (Exception e) {
             throw new MetaStoreException(String.format("Failed to create ZNode at path %s", znode.getPath()), e);
         }
@@ -123,6 +156,74 @@ public class ZKMetaStore implements AutoCloseable {
         }
     }
 
+    /**
+     * Creates a new ZNode with data, along with the given data-less ZNodes, in a single transaction. Used for
+     * maintaining the indexes of an entity along with the entity.
+     *
+     * @param <T>        Type of the MetaStoreEntity
+     * @param znode      The ZNode to create
+     * @param dataObject The entity to store in the ZNode
+     * @param alsoCreate The ZNodes to create along, in order. Their parents must exist or be created before them.
+     * @throws DuplicateResourceException if any of the ZNodes already exists
+     * @throws MetaStoreException         if creation fails
+     */
+    <T extends MetaStoreEntity> void createZNodeWithData(ZNode znode, T dataObject, List<ZNode> alsoCreate) {
+        try {
+            byte[] jsonData = JsonMapper.jsonSerialize(dataObject).getBytes(StandardCharsets.UTF_8);
+            var ops = new ArrayList<CuratorOp>(1 + alsoCreate.size());
+            ops.add(
+                zkCurator.transactionOp().create().withMode(CreateMode.PERSISTENT).forPath(znode.getPath(), jsonData)
+            );
+            alsoCreate.forEach(zNode -> ops.add(addCreateZNodeOp(zNode)));
+
+            zkCurator.transaction().forOperations(ops);
+            dataObject.setVersion(0);
+            log.debug("Created ZNode {} with data, along with {}", znode, alsoCreate);
+        } catch (Exception e) {
+            handleCreateException(znode, e);
+        }
+    }
+
+    /**
+     * Creates new ZNodes with data, along with the given data-less ZNodes, in a single transaction. Used for writing
+     * a batch of entities, along with their indexes, in one round trip.
+     *
+     * @param <T>         Type of the MetaStoreEntity
+     * @param znodes      The ZNodes to create
+     * @param dataObjects The entities to store in the ZNodes, one per ZNode in the same order
+     * @param alsoCreate  The ZNodes to create along, in order. Their parents must exist or be created before them.
+     * @throws DuplicateResourceException if any of the ZNodes already exists, reported against the first ZNode
+     * @throws MetaStoreException         if creation fails
+     */
+    <T extends MetaStoreEntity> void createZNodesWithData(
+        List<ZNode> znodes,
+        List<T> dataObjects,
+        List<ZNode> alsoCreate
+    ) {
+        var ops = new ArrayList<CuratorOp>(znodes.size() + alsoCreate.size());
+        try {
+            for (int i = 0; i < znodes.size(); i++) {
+                byte[] jsonData = JsonMapper.jsonSerialize(dataObjects.get(i)).getBytes(StandardCharsets.UTF_8);
+                ops.add(
+                    zkCurator.transactionOp()
+                             .create()
+                             .withMode(CreateMode.PERSISTENT)
+                             .forPath(znodes.get(i).getPath(), jsonData)
+                );
+            }
+            alsoCreate.forEach(zNode -> ops.add(addCreateZNodeOp(zNode)));
+
+            zkCurator.transaction().forOperations(ops);
+            dataObjects.forEach(dataObject -> dataObject.setVersion(0));
+            log.debug("Created {} ZNodes with data, along with {}", znodes.size(), alsoCreate);
+        } catch (Exception e) {
+            if (e instanceof KeeperException keeperException) {
+                logKeeperExceptionDetails(keeperException, ops);
+            }
+            handleCreateException(znodes.get(0), e);
+        }
+    }
+
     /**
      * Creates a new ZNode with data and tracks the creation with an event node.
      * This operation is performed atomically in a transaction.
@@ -204,6 +305,88 @@ public class ZKMetaStore implements AutoCloseable {
         }
     }
 
+    /**
+     * Updates the data of an existing ZNode, along with creating & deleting the given data-less ZNodes, in a single
+     * transaction. Used for maintaining the indexes of an entity along with the entity.
+     *
+     * @param <T>        Type of the MetaStoreEntity
+     * @param znode      The ZNode to update
+     * @param dataObject The entity containing the new data
+     * @param alsoCreate The ZNodes to create along
+     * @param alsoDelete The ZNodes to delete along
+     * @throws ResourceNotFoundException            if the ZNode does not exist
+     * @throws InvalidOperationForResourceException if there's a version conflict
+     * @throws MetaStoreException                   for other update failures
+     */
+    <T extends MetaStoreEntity> void updateZNodeWithData(
+        ZNode znode,
+        T dataObject,
+        List<ZNode> alsoCreate,
+        List<ZNode> alsoDelete
+    ) {
+        if (alsoCreate.isEmpty() && alsoDelete.isEmpty()) {
+            updateZNodeWithData(znode, dataObject);
+            return;
+        }
+        try {
+            byte[] jsonData = JsonMapper.jsonSerialize(dataObject).getBytes(StandardCharsets.UTF_8);
+            var ops = new ArrayList<CuratorOp>(1 + alsoCreate.size() + alsoDelete.size());
+            ops.add(
+                zkCurator.transactionOp()
+                         .setData()
+                         .withVersion(dataObject.getVersion())
+                         .forPath(znode.getPath(), jsonData)
+            );
+            alsoCreate.forEach(zNode -> ops.add(addCreateZNodeOp(zNode)));
+            alsoDelete.forEach(zNode -> ops.add(addDeleteZNodeOp(zNode)));
+
+            var results = zkCurator.transaction().forOperations(ops);
+            updateDataObjectVersion(dataObject, results);
+            log.debug("Updated {}, along with created: {}, deleted: {}", znode, alsoCreate, alsoDelete);
+        } catch (Exception e) {
+            handleUpdateException(znode, e);
+        }
+    }
+
+    /**
+     * Updates the data of existing ZNodes in a single transaction, each against the version of its entity. Used for
+     * writing a batch of entities in one round trip.
+     *
+     * @param <T>         Type of the MetaStoreEntity
+     * @param znodes      The ZNodes to update
+     * @param dataObjects The entities containing the new data, one per ZNode in the same order
+     * @throws ResourceNotFoundException            if any of the ZNodes does not exist, reported against the first
+     * @throws InvalidOperationForResourceException if there's a version conflict on any of the ZNodes
+     * @throws MetaStoreException                   for other update failures
+     */
+    <T extends MetaStoreEntity> void updateZNodesWithData(List<ZNode> znodes, List<T> dataObjects) {
+        var ops = new ArrayList<CuratorOp>(znodes.size());
+        try {
+            for (int i = 0; i < znodes.size(); i++) {
+                T dataObject = dataObjects.get(i);
+                byte[] jsonData = JsonMapper.jsonSerialize(dataObject).getBytes(StandardCharsets.UTF_8);
+                ops.add(
+                    zkCurator.transactionOp()
+                             .setData()
+                             .withVersion(dataObject.getVersion())
+                             .forPath(znodes.get(i).getPath(), jsonData)
+                );
+            }
+
+            var results = zkCurator.transaction().forOperations(ops);
+            // results are in the order of the operations.
+            for (int i = 0; i < results.size(); i++) {
+                dataObjects.get(i).setVersion(results.get(i).getResultStat().getVersion());
+            }
+            log.debug("Updated {} ZNodes with data", znodes.size());
+        } catch (Exception e) {
+            if (e instanceof KeeperException keeperException) {
+                logKeeperExceptionDetails(keeperException, ops);
+            }
+            handleUpdateException(znodes.get(0), e);
+        }
+    }
+
     /**
      * Updates a ZNode's data and creates an event node to track the update.
      * This operation is performed atomically in a transaction.
@@ -322,6 +505,53 @@ public class ZKMetaStore implements AutoCloseable {
         }
     }
 
+    /**
+     * Retrieves the raw data of a ZNode.
+     *
+     * @param znode The ZNode to retrieve data from
+     * @return the data of the ZNode
+     * @throws ResourceNotFoundException if the ZNode does not exist
+     * @throws MetaStoreException        if there's an error retrieving the data
+     */
+    byte[] getZNodeData(ZNode znode) {
+        try {
+            return zkCurator.getData().forPath(znode.getPath());
+        } catch (KeeperException.NoNodeException e) {
+            throw new ResourceNotFoundException(
+                String.format("%s(%s) not found.", znode.getKind(), znode.getName()),
+                e
+            );
+        } catch (Exception e) {
+            throw new MetaStoreException(
+                String.format("Failed to find %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
+                e
+            );
+        }
+    }
+
+    /**
+     * Sets the raw data of a ZNode, creating it along with its parents if it does not exist. The write is not
+     * versioned, so it is meant for the data written by a single owner.
+     *
+     * @param znode The ZNode to write
+     * @param data  The data to set
+     * @throws MetaStoreException if the write fails
+     */
+    void setZNodeData(ZNode znode, byte[] data) {
+        try {
+            zkCurator.create()
+                     .orSetData()
+                     .creatingParentsIfNeeded()
+                     .withMode(CreateMode.PERSISTENT)
+                     .forPath(znode.getPath(), data);
+        } catch (Exception e) {
+            throw new MetaStoreException(
+                String.format("Failed to set data of %s(%s) at %s", znode.getKind(), znode.getName(), znode.getPath()),
+                e
+            );
+        }
+    }
+
     /**
      * Checks if a ZNode exists at the specified path.
      *
@@ -340,6 +570,87 @@ public class ZKMetaStore implements AutoCloseable {
         }
     }
 
+    /**
+     * Asynchronous variant of {@link #getZNodeDataAsPojo(ZNode, Class)}. The read is issued in the background and the
+     * future is completed on the Curator event thread, so the dependent stages of the future must not block.
+     *
+     * @return future of the deserialized instance, failed with {@link ResourceNotFoundException} if the ZNode does
+     * not exist and with {@link MetaStoreException} for other errors
+     */
+    <T extends MetaStoreEntity> CompletableFuture<T> getZNodeDataAsPojoAsync(ZNode znode, Class<T> pojoClazz) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        String failure = String.format(
+            "Failed to find %s(%s) at %s.",
+            znode.getKind(),
+            znode.getName(),
+            znode.getPath()
+        );
+        try {
+            zkCurator.getData().inBackground((client, event) -> {
+                int resultCode = event.getResultCode();
+                if (resultCode == KeeperException.Code.OK.intValue()) {
+                    try {
+                        var res = JsonMapper.jsonDeserialize(
+                            new String(event.getData(), StandardCharsets.UTF_8),
+                            pojoClazz
+                        );
+                        res.setVersion(event.getStat().getVersion());
+                        result.complete(res);
+                    } catch (Exception e) {
+                        result.completeExceptionally(new MetaStoreException(failure, e));
+                    }
+                } else if (resultCode == KeeperException.Code.NONODE.intValue()) {
+                    result.completeExceptionally(
+                        new ResourceNotFoundException(
+                            String.format("%s(%s) not found.", znode.getKind(), znode.getName()),
+                            KeeperException.create(KeeperException.Code.NONODE, znode.getPath())
+                        )
+                    );
+                } else {
+                    result.completeExceptionally(
+                        new MetaStoreException(
+                            failure,
+                            KeeperException.create(KeeperException.Code.get(resultCode), znode.getPath())
+                        )
+                    );
+                }
+            }).forPath(znode.getPath());
+        } catch (Exception e) {
+            result.completeExceptionally(new MetaStoreException(failure, e));
+        }
+        return result;
+    }
+
+    /**
+     * Asynchronous variant of {@link #zkPathExist(ZNode)}, completed on the Curator event thread.
+     *
+     * @return future of whether the ZNode exists, failed with {@link MetaStoreException} if the check fails
+     */
+    CompletableFuture<Boolean> zkPathExistAsync(ZNode znode) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        String failure = String.format("Failed to check existence of %s at %s", znode.getName(), znode.getPath());
+        try {
+            zkCurator.checkExists().inBackground((client, event) -> {
+                int resultCode = event.getResultCode();
+                if (resultCode == KeeperException.Code.OK.intValue()) {
+                    result.complete(true);
+                } else if (resultCode == KeeperException.Code.NONODE.intValue()) {
+                    result.complete(false);
+                } else {
+                    result.completeExceptionally(
+                        new MetaStoreException(
+                            failure,
+                            KeeperException.create(KeeperException.Code.get(resultCode), znode.getPath())
+                        )
+                    );
+                }
+            }).forPath(znode.getPath());
+        } catch (Exception e) {
+            result.completeExceptionally(new MetaStoreException(failure, e));
+        }
+        return result;
+    }
+
     /**
      * Deletes a ZNode from ZooKeeper.
      *
@@ -427,6 +738,72 @@ public class ZKMetaStore implements AutoCloseable {
         }
     }
 
+    /**
+     * Gets the revisions of all the child nodes under the specified ZNode, without reading their data. The revision
+     * is the zxid of the last modification, which unlike the version also changes when a node is deleted and created
+     * again. The existence checks are pipelined in the background, so this is much cheaper than reading the children
+     * one by one. The checks in flight are bounded by the maxInFlightReads of the store.
+     *
+     * @param znode The parent ZNode
+     * @return Revisions of the children by their names. Children deleted meanwhile are left out.
+     * @throws ResourceNotFoundException if the parent ZNode does not exist
+     * @throws MetaStoreException        if there's an error retrieving the revisions, or they take longer than
+     *                                   {@link #CHILD_REVISIONS_TIMEOUT_MS}
+     */
+    Map<String, Long> getChildRevisions(ZNode znode) {
+        List<String> children = listChildren(znode);
+        Map<String, Long> revisions = new ConcurrentHashMap<>(children.size());
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+        CountDownLatch pending = new CountDownLatch(children.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CHILD_REVISIONS_TIMEOUT_MS);
+        try {
+            for (String child : children) {
+                // a permit per read in flight, given back as its result arrives.
+                if (!inFlightReads.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new MetaStoreException(
+                        String.format("Timed out issuing revision reads of children at path %s", znode.getPath())
+                    );
+                }
+                try {
+                    zkCurator.checkExists().inBackground((client, event) -> {
+                        inFlightReads.release();
+                        if (event.getResultCode() == KeeperException.Code.OK.intValue()) {
+                            revisions.put(child, event.getStat().getMzxid());
+                        } else if (event.getResultCode() != KeeperException.Code.NONODE.intValue()) {
+                            failures.put(child, event.getResultCode());
+                        }
+                        pending.countDown();
+                    }).forPath(Path.of(znode.getPath(), child).toString());
+                } catch (Exception e) {
+                    inFlightReads.release();
+                    throw e;
+                }
+            }
+            if (!pending.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new MetaStoreException(
+                    String.format(
+                        "Timed out getting revisions of %d children at path %s",
+                        pending.getCount(),
+                        znode.getPath()
+                    )
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MetaStoreException("Interrupted while getting revisions at path " + znode.getPath(), e);
+        } catch (MetaStoreException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MetaStoreException("Failed to get revisions at path " + znode.getPath(), e);
+        }
+        if (!failures.isEmpty()) {
+            throw new MetaStoreException(
+                String.format("Failed to get revisions of %d children at path %s", failures.size(), znode.getPath())
+            );
+        }
+        return revisions;
+    }
+
     /**
      * Executes multiple ZNode operations in a single atomic transaction.
      * All operations will either succeed or fail together - there is no partial success.
@@ -577,6 +954,16 @@ public class ZKMetaStore implements AutoCloseable {
         }
     }
 
+    /**
+     * Builds a cache of the ZNode and its descendants. The caller owns the cache, i.e. starts and closes it.
+     *
+     * @param znode The root ZNode of the cache
+     * @return An unstarted CuratorCache
+     */
+    CuratorCache buildCache(ZNode znode) {
+        return CuratorCache.build(zkCurator, znode.getPath());
+    }
+
     /**
      * Registers an event listener for metadata changes.
      * Creates an ephemeral node to track the listener's presence and initializes the cache listener.
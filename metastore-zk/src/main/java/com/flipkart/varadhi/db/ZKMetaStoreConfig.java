@@ -20,4 +20,9 @@ import lombok.Data;
 @Data
 public class ZKMetaStoreConfig {
     private ZookeeperConnectConfig zookeeperOptions;
+
+    /**
+     * Bound on the background reads in flight, such as the revision reads of the children of a node.
+     */
+    private int maxInFlightReads = ZKMetaStore.DEFAULT_MAX_IN_FLIGHT_READS;
 }
@@ -19,6 +19,8 @@ import lombok.Getter;
  *     <li>SUBSCRIPTION - Subscription nodes</li>
  *     <li>SUB_OP - Subscription Operation nodes</li>
  *     <li>SHARD_OP - Shard Operation nodes</li>
+ *     <li>PENDING_SUB_OP, SUB_OP_SHARD_OP, OP_INDEX - Indexes of the operations</li>
+ *     <li>SUB_ASSIGNMENT, NODE_ASSIGNMENT, ASSIGNMENT_INDEX - Indexes of the assignments</li>
  *     <li>ASSIGNMENT - Assignment nodes</li>
  *     <li>EVENT - Event nodes</li>
  *     <li>REGION - Region nodes</li>
@@ -51,6 +53,36 @@ public final class ZNode {
     public static final ZNodeKind SHARD_OP = new ZNodeKind("ShardOperation", "%s");
     public static final ZNodeKind EVENT = new ZNodeKind("ChangeEvent", "%s");
 
+    /*
+     *   Indexes of the operations, written in the same transaction as the operations.
+     *   /PendingSubOperation/{sub_op_id}                  present while the sub op is not done.
+     *   /SubOperationShardOps/{sub_op_id}/{shard_op_id}   shard ops of a sub op.
+     *   /OperationIndex/{version}                         the indexes cover all the operations created before.
+     */
+    public static final ZNodeKind PENDING_SUB_OP = new ZNodeKind("PendingSubOperation", "%s");
+    public static final ZNodeKind SUB_OP_SHARD_OPS = new ZNodeKind("SubOperationShardOps", "%s");
+    public static final ZNodeKind SUB_OP_SHARD_OP = new ZNodeKind("SubOperationShardOps", "%s/%s");
+    public static final ZNodeKind OP_INDEX = new ZNodeKind("OperationIndex", "%s");
+
+    /*
+     *   Indexes of the assignments, written in the same transaction as the assignments.
+     *   /SubscriptionAssignment/{subscription}/{shard}:{consumer_node}
+     *   /ConsumerNodeAssignment/{consumer_node}/{subscription}:{shard}
+     *   /AssignmentIndex/{version}     the indexes cover all the assignments created before.
+     */
+    public static final ZNodeKind SUB_ASSIGNMENTS = new ZNodeKind("SubscriptionAssignment", "%s");
+    public static final ZNodeKind SUB_ASSIGNMENT = new ZNodeKind("SubscriptionAssignment", "%s/%s");
+    public static final ZNodeKind NODE_ASSIGNMENTS = new ZNodeKind("ConsumerNodeAssignment", "%s");
+    public static final ZNodeKind NODE_ASSIGNMENT = new ZNodeKind("ConsumerNodeAssignment", "%s/%s");
+    public static final ZNodeKind ASSIGNMENT_INDEX = new ZNodeKind("AssignmentIndex", "%s");
+
+    /*
+     *   State of the groups with failed messages, of the grouped subscription shards.
+     *   /GroupState/{subscription}:{shard}/{group}     group is url safe base64 encoded.
+     */
+    public static final ZNodeKind GROUP_STATES = new ZNodeKind("GroupState", "%s");
+    public static final ZNodeKind GROUP_STATE = new ZNodeKind("GroupState", "%s/%s");
+
     private final String name;
     private final String kind;
     private final String path;
@@ -108,10 +140,86 @@ public final class ZNode {
         return new ZNode(operationId, SHARD_OP.kind(), SHARD_OP.resolvePath(ENTITIES_BASE_PATH, operationId));
     }
 
+    public static ZNode ofPendingSubOperation(String operationId) {
+        return new ZNode(
+            operationId,
+            PENDING_SUB_OP.kind(),
+            PENDING_SUB_OP.resolvePath(ENTITIES_BASE_PATH, operationId)
+        );
+    }
+
+    public static ZNode ofSubOperationShardOps(String subOpId) {
+        return new ZNode(subOpId, SUB_OP_SHARD_OPS.kind(), SUB_OP_SHARD_OPS.resolvePath(ENTITIES_BASE_PATH, subOpId));
+    }
+
+    public static ZNode ofSubOperationShardOp(String subOpId, String shardOpId) {
+        return new ZNode(
+            shardOpId,
+            SUB_OP_SHARD_OP.kind(),
+            SUB_OP_SHARD_OP.resolvePath(ENTITIES_BASE_PATH, subOpId, shardOpId)
+        );
+    }
+
+    public static ZNode ofOperationIndex(String version) {
+        return new ZNode(version, OP_INDEX.kind(), OP_INDEX.resolvePath(ENTITIES_BASE_PATH, version));
+    }
+
     public static ZNode ofAssignment(String assignment) {
         return new ZNode(assignment, ASSIGNMENT.kind(), ASSIGNMENT.resolvePath(ENTITIES_BASE_PATH, assignment));
     }
 
+    public static ZNode ofSubscriptionAssignments(String subscriptionName) {
+        return new ZNode(
+            subscriptionName,
+            SUB_ASSIGNMENTS.kind(),
+            SUB_ASSIGNMENTS.resolvePath(ENTITIES_BASE_PATH, subscriptionName)
+        );
+    }
+
+    public static ZNode ofSubscriptionAssignment(String subscriptionName, String assignment) {
+        return new ZNode(
+            assignment,
+            SUB_ASSIGNMENT.kind(),
+            SUB_ASSIGNMENT.resolvePath(ENTITIES_BASE_PATH, subscriptionName, assignment)
+        );
+    }
+
+    public static ZNode ofConsumerNodeAssignments(String consumerNodeId) {
+        return new ZNode(
+            consumerNodeId,
+            NODE_ASSIGNMENTS.kind(),
+            NODE_ASSIGNMENTS.resolvePath(ENTITIES_BASE_PATH, consumerNodeId)
+        );
+    }
+
+    public static ZNode ofConsumerNodeAssignment(String consumerNodeId, String assignment) {
+        return new ZNode(
+            assignment,
+            NODE_ASSIGNMENT.kind(),
+            NODE_ASSIGNMENT.resolvePath(ENTITIES_BASE_PATH, consumerNodeId, assignment)
+        );
+    }
+
+    public static ZNode ofAssignmentIndex(String version) {
+        return new ZNode(version, ASSIGNMENT_INDEX.kind(), ASSIGNMENT_INDEX.resolvePath(ENTITIES_BASE_PATH, version));
+    }
+
+    public static ZNode ofGroupStates(String subscriptionShard) {
+        return new ZNode(
+            subscriptionShard,
+            GROUP_STATES.kind(),
+            GROUP_STATES.resolvePath(ENTITIES_BASE_PATH, subscriptionShard)
+        );
+    }
+
+    public static ZNode ofGroupState(String subscriptionShard, String group) {
+        return new ZNode(
+            group,
+            GROUP_STATE.kind(),
+            GROUP_STATE.resolvePath(ENTITIES_BASE_PATH, subscriptionShard, group)
+        );
+    }
+
     public static ZNode ofEntityChange(String changeNodeName) {
         return new ZNode(changeNodeName, EVENT.kind(), EVENT.resolvePath(ENTITIES_BASE_PATH, changeNodeName));
     }
@@ -3,6 +3,7 @@ package com.flipkart.varadhi.db;
 import com.flipkart.varadhi.common.ZookeeperConnectConfig;
 import com.flipkart.varadhi.common.utils.YamlLoader;
 import com.flipkart.varadhi.spi.db.AssignmentStore;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreOptions;
 import com.flipkart.varadhi.spi.db.MetaStoreProvider;
@@ -25,6 +26,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *     <li>Metadata Store - For general metadata operations</li>
  *     <li>Operation Store - For managing operational tasks</li>
  *     <li>Assignment Store - For handling resource assignments</li>
+ *     <li>Group State Store - For the state of the groups of the grouped subscriptions</li>
  * </ul>
  *
  * <p>Thread-safety is ensured through atomic operations and proper resource management.
@@ -34,6 +36,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @see VaradhiMetaStore
  * @see OpStoreImpl
  * @see AssignmentStoreImpl
+ * @see GroupStateStoreImpl
  */
 @Slf4j
 public class ZookeeperProvider implements MetaStoreProvider {
@@ -44,6 +47,7 @@ public class ZookeeperProvider implements MetaStoreProvider {
     private VaradhiMetaStore varadhiMetaStore;
     private OpStoreImpl opStore;
     private AssignmentStoreImpl assignmentStore;
+    private GroupStateStoreImpl groupStateStore;
 
     /**
      * {@inheritDoc}
@@ -57,7 +61,7 @@ public class ZookeeperProvider implements MetaStoreProvider {
                     ZKMetaStoreConfig.class
                 );
                 zkCurator = create(zkMetaStoreConfig.getZookeeperOptions());
-                initializeStores();
+                initializeStores(zkMetaStoreConfig);
             } catch (Exception e) {
                 initialized.set(false);
                 throw new IllegalStateException("Failed to initialize ZookeeperProvider", e);
@@ -69,11 +73,12 @@ public class ZookeeperProvider implements MetaStoreProvider {
      * Initializes all store implementations with the configured ZooKeeper curator.
      * This method should only be called once during initialization.
      */
-    private void initializeStores() {
-        zkMetaStore = new ZKMetaStore(zkCurator);
+    private void initializeStores(ZKMetaStoreConfig config) {
+        zkMetaStore = new ZKMetaStore(zkCurator, config.getMaxInFlightReads());
         varadhiMetaStore = new VaradhiMetaStore(zkMetaStore);
         opStore = new OpStoreImpl(zkMetaStore);
         assignmentStore = new AssignmentStoreImpl(zkMetaStore);
+        groupStateStore = new GroupStateStoreImpl(zkMetaStore);
     }
 
     /**
@@ -103,6 +108,15 @@ public class ZookeeperProvider implements MetaStoreProvider {
         return assignmentStore;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GroupStateStore getGroupStateStore() {
+        checkInitialized();
+        return groupStateStore;
+    }
+
     /**
      * Verifies that the provider has been properly initialized.
      *
@@ -123,6 +137,9 @@ public class ZookeeperProvider implements MetaStoreProvider {
     public void close() {
         if (initialized.get() && zkCurator != null) {
             try {
+                if (assignmentStore != null) {
+                    assignmentStore.close();
+                }
                 if (zkMetaStore != null) {
                     zkMetaStore.close();
                 }
@@ -0,0 +1,109 @@
+package com.flipkart.varadhi.db;
+
+import com.flipkart.varadhi.entities.cluster.Assignment;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.flipkart.varadhi.db.ZNode.ASSIGNMENT;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssignmentStoreImplTest {
+
+    private TestingServer zkServer;
+    private CuratorFramework zkCurator;
+    private ZKMetaStore zkMetaStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        zkServer = new TestingServer();
+        zkCurator = CuratorFrameworkFactory.newClient(
+            zkServer.getConnectString(),
+            new ExponentialBackoffRetry(1000, 1)
+        );
+        zkCurator.start();
+        zkMetaStore = new ZKMetaStore(zkCurator);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        zkCurator.close();
+        zkServer.close();
+    }
+
+    @Test
+    void testAssignmentsAreLookedUpPerSubscriptionAndNode() {
+        Assignment a1 = new Assignment("project1.sub1", 0, "node1");
+        Assignment a2 = new Assignment("project1.sub1", 1, "node2");
+        Assignment a3 = new Assignment("project1.sub2", 0, "node1");
+
+        try (AssignmentStoreImpl store = new AssignmentStoreImpl(zkMetaStore)) {
+            store.createAssignments(List.of(a1, a2, a3));
+            assertLookups(store, a1, a2, a3);
+            assertTrue(store.exists(a2));
+
+            store.deleteAssignments(List.of(a1));
+            assertEquals(Set.of(a2), Set.copyOf(store.getSubAssignments("project1.sub1")));
+            assertEquals(Set.of(a3), Set.copyOf(store.getConsumerNodeAssignments("node1")));
+            assertFalse(store.exists(a1));
+            assertFalse(zkMetaStore.zkPathExist(ZNode.ofSubscriptionAssignment("project1.sub1", "0:node1")));
+            assertFalse(zkMetaStore.zkPathExist(ZNode.ofConsumerNodeAssignment("node1", "project1.sub1:0")));
+        }
+    }
+
+    @Test
+    void testViewFollowsChangesFromOtherStores() {
+        Assignment a1 = new Assignment("project1.sub1", 0, "node1");
+        try (
+            AssignmentStoreImpl writer = new AssignmentStoreImpl(zkMetaStore);
+            AssignmentStoreImpl reader = new AssignmentStoreImpl(zkMetaStore)
+        ) {
+            writer.createAssignments(List.of(a1));
+            await().atMost(5, TimeUnit.SECONDS)
+                   .untilAsserted(() -> assertEquals(List.of(a1), reader.getConsumerNodeAssignments("node1")));
+
+            writer.deleteAssignments(List.of(a1));
+            await().atMost(5, TimeUnit.SECONDS)
+                   .untilAsserted(() -> assertTrue(reader.getSubAssignments("project1.sub1").isEmpty()));
+        }
+    }
+
+    @Test
+    void testIndexesAreBuiltForAssignmentsWrittenWithoutThem() {
+        // assignments as written before the indexes existed.
+        zkMetaStore.createZNode(ZNode.ofEntityType(ASSIGNMENT));
+        zkMetaStore.createZNode(ZNode.ofAssignment("project1.sub1:0:node1"));
+        zkMetaStore.createZNode(ZNode.ofAssignment("project1.sub2:3:node1"));
+        Assignment a1 = new Assignment("project1.sub1", 0, "node1");
+        Assignment a2 = new Assignment("project1.sub2", 3, "node1");
+
+        try (AssignmentStoreImpl store = new AssignmentStoreImpl(zkMetaStore)) {
+            assertTrue(zkMetaStore.zkPathExist(ZNode.ofAssignmentIndex("v1")));
+            assertTrue(zkMetaStore.zkPathExist(ZNode.ofSubscriptionAssignment("project1.sub2", "3:node1")));
+            assertTrue(zkMetaStore.zkPathExist(ZNode.ofConsumerNodeAssignment("node1", "project1.sub1:0")));
+            await().atMost(5, TimeUnit.SECONDS)
+                   .untilAsserted(() -> assertEquals(Set.of(a1, a2), Set.copyOf(store.getAllAssignments())));
+
+            store.deleteAssignments(List.of(a1, a2));
+            assertTrue(store.getConsumerNodeAssignments("node1").isEmpty());
+        }
+    }
+
+    private static void assertLookups(AssignmentStoreImpl store, Assignment a1, Assignment a2, Assignment a3) {
+        assertEquals(Set.of(a1, a2), Set.copyOf(store.getSubAssignments("project1.sub1")));
+        assertEquals(Set.of(a3), Set.copyOf(store.getSubAssignments("project1.sub2")));
+        assertEquals(Set.of(a1, a3), Set.copyOf(store.getConsumerNodeAssignments("node1")));
+        assertEquals(Set.of(a2), Set.copyOf(store.getConsumerNodeAssignments("node2")));
+        assertEquals(Set.of(a1, a2, a3), Set.copyOf(store.getAllAssignments()));
+        assertTrue(store.getSubAssignments("unknown").isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package com.flipkart.varadhi.db;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupStateStoreImplTest {
+
+    private TestingServer zkServer;
+    private CuratorFramework zkCurator;
+    private ZKMetaStore zkMetaStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        zkServer = new TestingServer();
+        zkCurator = CuratorFrameworkFactory.newClient(
+            zkServer.getConnectString(),
+            new ExponentialBackoffRetry(1000, 1)
+        );
+        zkCurator.start();
+        zkMetaStore = new ZKMetaStore(zkCurator);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        zkCurator.close();
+        zkServer.close();
+    }
+
+    @Test
+    void testGroupStatesAreKeptPerSubscriptionShard() {
+        GroupStateStoreImpl store = new GroupStateStoreImpl(zkMetaStore);
+        assertTrue(store.getAll("project1.sub1", 0).isEmpty());
+
+        // group ids are free form, including the characters ZNode names can't hold.
+        store.put("project1.sub1", 0, "orders/42", bytes("v1"));
+        store.put("project1.sub1", 0, "..", bytes("v1"));
+        store.put("project1.sub1", 1, "orders/42", bytes("other shard"));
+        store.put("project1.sub1", 0, "orders/42", bytes("v2"));
+
+        Map<String, byte[]> states = store.getAll("project1.sub1", 0);
+        assertEquals(2, states.size());
+        assertEquals("v2", string(states.get("orders/42")));
+        assertEquals("v1", string(states.get("..")));
+
+        store.delete("project1.sub1", 0, "orders/42");
+        store.delete("project1.sub1", 0, "unknown");
+        assertEquals(Set.of(".."), store.getAll("project1.sub1", 0).keySet());
+        assertEquals("other shard", string(store.getAll("project1.sub1", 1).get("orders/42")));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,168 @@
+package com.flipkart.varadhi.db;
+
+import com.flipkart.varadhi.common.exceptions.DuplicateResourceException;
+import com.flipkart.varadhi.entities.SubscriptionTestUtils;
+import com.flipkart.varadhi.entities.SubscriptionUnitShard;
+import com.flipkart.varadhi.entities.VaradhiSubscription;
+import com.flipkart.varadhi.entities.cluster.ShardOperation;
+import com.flipkart.varadhi.entities.cluster.SubscriptionOperation;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.flipkart.varadhi.db.ZNode.SHARD_OP;
+import static com.flipkart.varadhi.db.ZNode.SUB_OP;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpStoreImplTest {
+
+    private TestingServer zkServer;
+    private CuratorFramework zkCurator;
+    private ZKMetaStore zkMetaStore;
+    private VaradhiSubscription subscription;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        zkServer = new TestingServer();
+        zkCurator = CuratorFrameworkFactory.newClient(
+            zkServer.getConnectString(),
+            new ExponentialBackoffRetry(1000, 1)
+        );
+        zkCurator.start();
+        zkMetaStore = new ZKMetaStore(zkCurator);
+        subscription = SubscriptionTestUtils.builder().setNumShards(2).build("project1.sub1", "project1", "topic1");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        zkCurator.close();
+        zkServer.close();
+    }
+
+    @Test
+    void testPendingSubOpsFollowTheOpState() {
+        OpStoreImpl opStore = new OpStoreImpl(zkMetaStore);
+        SubscriptionOperation startOp = SubscriptionOperation.startOp(subscription.getName(), "test");
+        SubscriptionOperation stopOp = SubscriptionOperation.stopOp(subscription.getName(), "test");
+        opStore.createSubOp(startOp);
+        opStore.createSubOp(stopOp);
+        assertEquals(Set.of(startOp.getId(), stopOp.getId()), ids(opStore.getPendingSubOps()));
+
+        startOp.markCompleted();
+        opStore.updateSubOp(startOp);
+        assertEquals(Set.of(stopOp.getId()), ids(opStore.getPendingSubOps()));
+        assertFalse(zkMetaStore.zkPathExist(ZNode.ofPendingSubOperation(startOp.getId())));
+
+        stopOp.markFail("failed");
+        opStore.updateSubOp(stopOp);
+        assertTrue(opStore.getPendingSubOps().isEmpty());
+    }
+
+    @Test
+    void testRetriedSubOpIsPendingAgain() {
+        OpStoreImpl opStore = new OpStoreImpl(zkMetaStore);
+        SubscriptionOperation startOp = SubscriptionOperation.startOp(subscription.getName(), "test");
+        opStore.createSubOp(startOp);
+        startOp.markFail("failed");
+        opStore.updateSubOp(startOp);
+        assertTrue(opStore.getPendingSubOps().isEmpty());
+
+        // the retry is written from the op read back, as well as from the one in hand.
+        SubscriptionOperation retryOp = opStore.getSubOp(startOp.getId()).nextRetry();
+        opStore.updateSubOp(retryOp);
+        assertEquals(Set.of(startOp.getId()), ids(opStore.getPendingSubOps()));
+
+        retryOp.markCompleted();
+        opStore.updateSubOp(retryOp);
+        assertTrue(opStore.getPendingSubOps().isEmpty());
+        assertFalse(zkMetaStore.zkPathExist(ZNode.ofPendingSubOperation(startOp.getId())));
+    }
+
+    @Test
+    void testShardOpsAreLookedUpPerSubOp() {
+        OpStoreImpl opStore = new OpStoreImpl(zkMetaStore);
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(subscription);
+        SubscriptionOperation startOp = SubscriptionOperation.startOp(subscription.getName(), "test");
+        SubscriptionOperation stopOp = SubscriptionOperation.stopOp(subscription.getName(), "test");
+        opStore.createSubOp(startOp);
+        opStore.createSubOp(stopOp);
+
+        ShardOperation start0 = ShardOperation.startOp(startOp.getId(), shards.get(0), subscription);
+        ShardOperation start1 = ShardOperation.startOp(startOp.getId(), shards.get(1), subscription);
+        ShardOperation stop0 = ShardOperation.stopOp(stopOp.getId(), shards.get(0), subscription);
+        opStore.createShardOp(start0);
+        opStore.createShardOp(start1);
+        opStore.createShardOp(stop0);
+
+        assertEquals(Set.of(start0.getId(), start1.getId()), Set.copyOf(opStore.getShardOpIds(startOp.getId())));
+        assertEquals(
+            Set.of(start0.getId(), start1.getId()),
+            opStore.getShardOps(startOp.getId()).stream().map(ShardOperation::getId).collect(Collectors.toSet())
+        );
+        assertEquals(List.of(stop0.getId()), opStore.getShardOpIds(stopOp.getId()));
+        assertTrue(opStore.getShardOps("unknown").isEmpty());
+    }
+
+    @Test
+    void testShardOpsAreWrittenInBatches() {
+        OpStoreImpl opStore = new OpStoreImpl(zkMetaStore);
+        int numShards = OpStoreImpl.MAX_SHARD_OPS_PER_TRANSACTION + 2;
+        VaradhiSubscription largeSub = SubscriptionTestUtils.builder()
+                                                            .setNumShards(numShards)
+                                                            .build("project1.sub2", "project1", "topic1");
+        SubscriptionOperation startOp = SubscriptionOperation.startOp(largeSub.getName(), "test");
+        opStore.createSubOp(startOp);
+        List<ShardOperation> shardOps = new ArrayList<>();
+        for (SubscriptionUnitShard shard : SubscriptionTestUtils.shardsOf(largeSub)) {
+            shardOps.add(ShardOperation.startOp(startOp.getId(), shard, largeSub));
+        }
+
+        opStore.createShardOps(shardOps);
+        assertEquals(numShards, opStore.getShardOpIds(startOp.getId()).size());
+
+        shardOps.forEach(ShardOperation::markCompleted);
+        opStore.updateShardOps(shardOps);
+        // versions are kept up, so the ops can be written again.
+        opStore.updateShardOps(shardOps);
+        assertTrue(opStore.getShardOps(startOp.getId()).stream().allMatch(ShardOperation::isDone));
+        assertThrows(DuplicateResourceException.class, () -> opStore.createShardOps(shardOps.subList(0, 1)));
+    }
+
+    @Test
+    void testIndexesAreBuiltForOpsWrittenWithoutThem() {
+        // operations as written before the indexes existed.
+        zkMetaStore.createZNode(ZNode.ofEntityType(SUB_OP));
+        zkMetaStore.createZNode(ZNode.ofEntityType(SHARD_OP));
+        List<SubscriptionUnitShard> shards = SubscriptionTestUtils.shardsOf(subscription);
+        SubscriptionOperation doneOp = SubscriptionOperation.startOp(subscription.getName(), "test");
+        doneOp.markCompleted();
+        SubscriptionOperation pendingOp = SubscriptionOperation.stopOp(subscription.getName(), "test");
+        ShardOperation shardOp = ShardOperation.stopOp(pendingOp.getId(), shards.get(0), subscription);
+        zkMetaStore.createZNodeWithData(ZNode.ofSubOperation(doneOp.getId()), doneOp);
+        zkMetaStore.createZNodeWithData(ZNode.ofSubOperation(pendingOp.getId()), pendingOp);
+        zkMetaStore.createZNodeWithData(ZNode.ofShardOperation(shardOp.getId()), shardOp);
+
+        OpStoreImpl opStore = new OpStoreImpl(zkMetaStore);
+
+        assertTrue(zkMetaStore.zkPathExist(ZNode.ofOperationIndex(OpStoreImpl.INDEX_VERSION)));
+        assertEquals(Set.of(pendingOp.getId()), ids(opStore.getPendingSubOps()));
+        assertEquals(List.of(shardOp.getId()), opStore.getShardOpIds(pendingOp.getId()));
+        assertTrue(opStore.getShardOpIds(doneOp.getId()).isEmpty());
+
+        // a restart finds the indexes built.
+        assertEquals(Set.of(pendingOp.getId()), ids(new OpStoreImpl(zkMetaStore).getPendingSubOps()));
+    }
+
+    private static Set<String> ids(List<SubscriptionOperation> ops) {
+        return ops.stream().map(SubscriptionOperation::getId).collect(Collectors.toSet());
+    }
+}
@@ -4,7 +4,9 @@ import com.flipkart.varadhi.common.exceptions.DuplicateResourceException;
 import com.flipkart.varadhi.common.exceptions.InvalidOperationForResourceException;
 import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.entities.Org;
+import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.spi.db.MetaStoreException;
+import com.flipkart.varadhi.spi.db.ProjectStore;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.*;
@@ -17,7 +19,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -77,6 +83,53 @@ public class ZKMetaStoreTests {
         Assertions.assertEquals(String.format("%s(%s) not found.", testKind.kind(), data1.getName()), e.getMessage());
     }
 
+    @Test
+    public void testChildRevisionsWithFewReadsInFlight() {
+        ZKMetaStore boundedStore = new ZKMetaStore(zkCuratorFramework, 2);
+        List<ZNode> children = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ZNode child = getZnode("child-" + i);
+            boundedStore.createZNode(child);
+            children.add(child);
+        }
+
+        Map<String, Long> revisions = boundedStore.getChildRevisions(ZNode.ofEntityType(testKind));
+        Assertions.assertEquals(children.stream().map(ZNode::getName).collect(Collectors.toSet()), revisions.keySet());
+        // the permits are given back, so the reads go through again.
+        Assertions.assertEquals(revisions, boundedStore.getChildRevisions(ZNode.ofEntityType(testKind)));
+
+        children.forEach(boundedStore::deleteZNode);
+    }
+
+    @Test
+    public void testAsyncReads() {
+        zkMetaStore.createZNodeWithData(zn, data1);
+
+        Org read = zkMetaStore.getZNodeDataAsPojoAsync(zn, Org.class).join();
+        Assertions.assertEquals(data1, read);
+        Assertions.assertTrue(zkMetaStore.zkPathExistAsync(zn).join());
+
+        ZNode absent = getZnode("absent");
+        Assertions.assertFalse(zkMetaStore.zkPathExistAsync(absent).join());
+        CompletionException e = Assertions.assertThrows(
+            CompletionException.class,
+            () -> zkMetaStore.getZNodeDataAsPojoAsync(absent, Org.class).join()
+        );
+        Assertions.assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    public void testMultiGetLeavesOutAbsentEntities() {
+        ProjectStore projects = new VaradhiMetaStore(zkMetaStore).projects();
+        projects.create(Project.of("project1", "", "team1", "org1"));
+        projects.create(Project.of("project2", "", "team1", "org1"));
+
+        Map<String, Project> read = projects.multiGet(List.of("project2", "absent", "project1", "project2")).join();
+
+        Assertions.assertEquals(List.of("project2", "project1"), List.copyOf(read.keySet()));
+        Assertions.assertEquals(projects.get("project1"), read.get("project1"));
+    }
+
     private ZNode getZnode(String name) {
         return ZNode.ofKind(testKind, name);
     }
@@ -1,7 +1,8 @@
 package com.flipkart.varadhi.produce;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -12,7 +13,7 @@ import com.flipkart.varadhi.common.Result;
 import com.flipkart.varadhi.common.exceptions.ProduceException;
 import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.entities.*;
-import com.flipkart.varadhi.entities.filters.Condition;
+import com.flipkart.varadhi.entities.filters.CompiledFilter;
 import com.flipkart.varadhi.entities.filters.OrgFilters;
 import com.flipkart.varadhi.core.config.ProducerOptions;
 import com.flipkart.varadhi.produce.ratelimit.ProduceRateLimiter;
@@ -74,6 +75,10 @@ public final class ProducerService {
 
     private final ResourceReadCache<Resource.EntityResource<VaradhiTopic>> topicCache;
 
+    /**
+     * Produce contexts of the topics produced to, by topic name. Dropped whenever the topic changes in the topic cache.
+     */
+    private final Map<String, TopicProduceContext> contexts = new ConcurrentHashMap<>();
     private final Map<String, ProducerMetrics> metrics = new ConcurrentHashMap<>();
     private final Function<String, ProducerMetrics> metricsProvider;
     private final ProduceRateLimiter rateLimiter;
@@ -161,6 +166,7 @@ public final class ProducerService {
                                      .recordStats()
                                      .build(key -> loadProducerObject(produceRegion, producerFactory, key));
         this.metricsProvider = metricsRecorderProvider;
+        topicCache.addOnChange(contexts::remove);
     }
 
     private Producer<? extends Offset> loadProducerObject(
@@ -187,6 +193,34 @@ public final class ProducerService {
         return metrics.computeIfAbsent(topicFQN, metricsProvider);
     }
 
+    /**
+     * @return the produce context of the topic, or null if the topic does not exist
+     */
+    private TopicProduceContext getContext(String topicFQN) {
+        TopicProduceContext context = contexts.get(topicFQN);
+        if (context == null) {
+            // the topic is read from the cache under the lock of the mapping, and the mapping is removed under the
+            // same lock after the cache changes. So a context resolved from a topic that has since changed is always
+            // removed.
+            context = contexts.computeIfAbsent(topicFQN, this::resolveContext);
+        }
+        return context;
+    }
+
+    private TopicProduceContext resolveContext(String topicFQN) {
+        return topicCache.get(topicFQN)
+                         .map(Resource.EntityResource::getEntity)
+                         .map(
+                             topic -> new TopicProduceContext(
+                                 topic,
+                                 topic.getProduceTopicForRegion(produceRegion),
+                                 getMetrics(topicFQN),
+                                 rateLimiter.forTopic(topic)
+                             )
+                         )
+                         .orElse(null);
+    }
+
     /**
      * Produces a message to the specified Varadhi topic.
      * <p>
@@ -206,34 +240,127 @@ public final class ProducerService {
      * @throws ProduceException          if production fails due to an internal error
      */
     public CompletableFuture<ProduceResult> produceToTopic(Message message, String topicFQN) {
-        Optional<Resource.EntityResource<VaradhiTopic>> topic = topicCache.get(topicFQN);
+        TopicProduceContext context = getContext(topicFQN);
 
-        if (topic.isEmpty() || !topic.get().getEntity().isActive()) {
+        if (context == null || !context.topic().isActive()) {
             throw new ResourceNotFoundException(
-                "Topic(%s) ".formatted(topicFQN) + (topic.isEmpty() ? "does not exist" : "is not active")
+                "Topic(%s) ".formatted(topicFQN) + (context == null ? "does not exist" : "is not active")
             );
         }
 
-        ProducerMetrics metrics = getMetrics(topicFQN);
+        ProducerMetrics metrics = context.metrics();
         metrics.received(message.getPayload().length, message.getTotalSizeBytes());
 
-        return produceToValidTopic(topic.get().getEntity(), message).whenComplete(
+        return produceToValidTopic(context, message).whenComplete(
             (result, t) -> metrics.accepted(result, t, message.getTotalSizeBytes())
         );
     }
 
+    /**
+     * Produces a batch of messages to the specified Varadhi topic.
+     * <p>
+     * Per-topic work is done once for the whole batch: topic and region resolution, produce state check, org filter
+     * lookup, rate limiting (tokens for all the unfiltered messages are reserved in a single call) and producer
+     * lookup. All the messages are then sent without waiting on each other.
+     *
+     * @param messages the messages to produce, all to the same topic
+     * @param topicFQN the name of the Varadhi topic to produce to
+     * @return a future that completes with a result per message, in the same order as {@code messages}. It does not
+     * complete exceptionally for individual produce failures, they are reported as {@link ProduceStatus#Failed}.
+     * @throws ResourceNotFoundException if the topic does not exist or is not available in the region
+     */
+    public CompletableFuture<List<ProduceResult>> produceBatchToTopic(List<Message> messages, String topicFQN) {
+        TopicProduceContext context = getContext(topicFQN);
+
+        if (context == null || !context.topic().isActive()) {
+            throw new ResourceNotFoundException(
+                "Topic(%s) ".formatted(topicFQN) + (context == null ? "does not exist" : "is not active")
+            );
+        }
+
+        VaradhiTopic topic = context.topic();
+        SegmentedStorageTopic internalTopic = context.internalTopic();
+        if (internalTopic == null) {
+            throw new ResourceNotFoundException(String.format("Topic not found for region(%s).", produceRegion));
+        }
+
+        ProducerMetrics metrics = context.metrics();
+        int count = messages.size();
+        int[] msgSizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            Message message = messages.get(i);
+            msgSizes[i] = message.getTotalSizeBytes();
+            metrics.received(message.getPayload().length, msgSizes[i]);
+        }
+
+        List<CompletableFuture<ProduceResult>> results = new ArrayList<>(count);
+        if (!internalTopic.getTopicState().isProduceAllowed()) {
+            for (Message message : messages) {
+                results.add(
+                    CompletableFuture.completedFuture(
+                        ProduceResult.ofNonProducingTopic(message.getMessageId(), internalTopic.getTopicState())
+                    )
+                );
+            }
+        } else {
+            CompiledFilter orgFilter = resolveOrgFilter(topic);
+            boolean[] filtered = new boolean[count];
+            int toProduceCount = 0;
+            long toProduceBytes = 0;
+            for (int i = 0; i < count; i++) {
+                filtered[i] = orgFilter != null && orgFilter.evaluate(messages.get(i).getHeaders());
+                if (!filtered[i]) {
+                    toProduceCount++;
+                    toProduceBytes += msgSizes[i];
+                }
+            }
+
+            boolean throttled = context.rateLimit().check(toProduceCount, toProduceBytes);
+            StorageTopic storageTopic = internalTopic.getTopicToProduce();
+            CompletableFuture<Producer<? extends Offset>> producer = toProduceCount > 0 && !throttled ?
+                getProducer(topic.getName(), storageTopic) :
+                null;
+
+            for (int i = 0; i < count; i++) {
+                Message message = messages.get(i);
+                if (filtered[i]) {
+                    results.add(
+                        CompletableFuture.completedFuture(ProduceResult.ofFilteredMessage(message.getMessageId()))
+                    );
+                } else if (throttled) {
+                    results.add(
+                        CompletableFuture.completedFuture(ProduceResult.ofThrottled(message.getMessageId()))
+                    );
+                } else {
+                    results.add(
+                        producer.thenCompose(p -> doProduce(p, storageTopic.getName(), message))
+                                .exceptionally(t -> ProduceResult.of(message.getMessageId(), Result.of(t)))
+                    );
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int msgSize = msgSizes[i];
+            results.get(i).whenComplete((result, t) -> metrics.accepted(result, t, msgSize));
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                                .thenApply(v -> results.stream().map(CompletableFuture::join).toList());
+    }
+
     /**
      * Produces a message to a valid Varadhi topic.
      *
+     * @param context   the produce context of the Varadhi topic to produce to
      * @param message   the message to produce
-     * @param topic     the Varadhi topic to produce to
      *
      * @return a future that completes with the result of the produce operation
      * @throws ResourceNotFoundException if the topic is not available in the region
      * @throws ProduceException          if production fails due to an internal error
      */
-    private CompletableFuture<ProduceResult> produceToValidTopic(VaradhiTopic topic, Message message) {
-        SegmentedStorageTopic internalTopic = topic.getProduceTopicForRegion(produceRegion);
+    private CompletableFuture<ProduceResult> produceToValidTopic(TopicProduceContext context, Message message) {
+        VaradhiTopic topic = context.topic();
+        SegmentedStorageTopic internalTopic = context.internalTopic();
 
         if (internalTopic == null) {
             throw new ResourceNotFoundException(String.format("Topic not found for region(%s).", produceRegion));
@@ -249,7 +376,7 @@ public final class ProducerService {
             return CompletableFuture.completedFuture(ProduceResult.ofFilteredMessage(message.getMessageId()));
         }
 
-        if (rateLimiter.check(topic, message.getTotalSizeBytes())) {
+        if (context.rateLimit().check(1, message.getTotalSizeBytes())) {
             return CompletableFuture.completedFuture(ProduceResult.ofThrottled(message.getMessageId()));
         }
 
@@ -326,24 +453,32 @@ public final class ProducerService {
     }
 
     private boolean applyOrgFilter(VaradhiTopic varadhiTopic, Message message) {
+        CompiledFilter orgFilter = resolveOrgFilter(varadhiTopic);
+        return orgFilter != null && orgFilter.evaluate(message.getHeaders());
+    }
+
+    /**
+     * @return the org filter applicable to the topic, compiled, or null if there is none.
+     */
+    private CompiledFilter resolveOrgFilter(VaradhiTopic varadhiTopic) {
+        String nfrStrategy = varadhiTopic.getNfrFilterName();
+        if (nfrStrategy == null) {
+            return null;
+        }
+
         var projectOptional = projectCache.get(varadhiTopic.getProjectName());
         if (projectOptional.isEmpty()) {
-            return false;
+            return null;
         }
         Project project = projectOptional.get().getEntity();
 
         var orgDetailsOptional = orgCache.get(project.getOrg());
         if (orgDetailsOptional.isEmpty()) {
-            return false;
+            return null;
         }
         OrgDetails orgDetails = orgDetailsOptional.get();
 
-        String nfrStrategy = varadhiTopic.getNfrFilterName();
-        Condition condition = Optional.ofNullable(orgDetails.getOrgFilters())
-                                      .map(OrgFilters::getFilters)
-                                      .map(filters -> filters.get(nfrStrategy))
-                                      .orElse(null);
-
-        return nfrStrategy != null && condition != null && condition.evaluate(message.getHeaders());
+        OrgFilters orgFilters = orgDetails.getOrgFilters();
+        return orgFilters == null ? null : orgFilters.getCompiledFilter(nfrStrategy);
     }
 }
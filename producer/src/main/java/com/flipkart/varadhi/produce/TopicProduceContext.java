@@ -0,0 +1,24 @@
+package com.flipkart.varadhi.produce;
+
+import com.flipkart.varadhi.entities.SegmentedStorageTopic;
+import com.flipkart.varadhi.entities.VaradhiTopic;
+import com.flipkart.varadhi.produce.ratelimit.ProduceRateLimiter;
+import com.flipkart.varadhi.produce.telemetry.ProducerMetrics;
+
+/**
+ * Per topic state of the produce path, resolved once from the cached topic, so that a produce request needs a single
+ * lookup by the topic name. It is tied to the version of the topic it was resolved from, and is dropped when the
+ * topic changes in the cache.
+ *
+ * @param topic         the topic as cached
+ * @param internalTopic the topic of the produce region, null if the topic is not available in the region
+ * @param metrics       the produce metrics of the topic, with their meters registered
+ * @param rateLimit     the rate limiting of the topic
+ */
+record TopicProduceContext(
+    VaradhiTopic topic,
+    SegmentedStorageTopic internalTopic,
+    ProducerMetrics metrics,
+    ProduceRateLimiter.TopicHandle rateLimit
+) {
+}
@@ -87,7 +87,18 @@ public final class ProduceRateLimiter {
      * @return {@code true} if produce should be throttled (429)
      */
     public boolean check(VaradhiTopic topic, long messageBytes) {
-        if (!enabled) {
+        return check(topic, 1, messageBytes);
+    }
+
+    /**
+     * Checks a batch of messages in one go, reserving tokens for all of them together.
+     *
+     * @param messageCount number of messages in the batch
+     * @param totalBytes   combined produce cost of all the messages
+     * @return {@code true} if the whole batch should be throttled (429)
+     */
+    public boolean check(VaradhiTopic topic, int messageCount, long totalBytes) {
+        if (!enabled || messageCount <= 0) {
             return false;
         }
         try {
@@ -95,19 +106,74 @@ public final class ProduceRateLimiter {
             if (mode == RateLimiterMode.disabled) {
                 return false;
             }
-            TopicRateLimiter limiter = resolveLimiter(topic);
-            if (limiter.tryAcquire(messageBytes)) {
+            return isThrottled(topic, mode, resolveEntry(topic), messageCount, totalBytes);
+        } catch (RuntimeException e) {
+            log.warn("Rate limit check failed open for topic {}", topic.getName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the rate limiting of the topic once, for the checks of many produce requests to it without looking it
+     * up every time. The handle is meant to be dropped when the topic changes, to be resolved again for the new
+     * version of the topic.
+     */
+    public TopicHandle forTopic(VaradhiTopic topic) {
+        return new TopicHandle(topic, enabled ? resolveMode(topic) : RateLimiterMode.disabled);
+    }
+
+    /**
+     * Rate limiting of a single version of a topic. Thread safe.
+     */
+    public final class TopicHandle {
+        private final VaradhiTopic topic;
+        private final RateLimiterMode mode;
+        private volatile RegistryEntry entry;
+
+        private TopicHandle(VaradhiTopic topic, RateLimiterMode mode) {
+            this.topic = topic;
+            this.mode = mode;
+        }
+
+        /**
+         * @return {@code true} if produce should be throttled (429)
+         * @see ProduceRateLimiter#check(VaradhiTopic, int, long)
+         */
+        public boolean check(int messageCount, long totalBytes) {
+            if (mode == RateLimiterMode.disabled || messageCount <= 0) {
                 return false;
             }
-            if (mode == RateLimiterMode.shadow) {
-                telemetry.shadowRejected(topic, messageBytes);
+            try {
+                // racing resolutions get the same entry from the registry.
+                RegistryEntry resolved = entry;
+                if (resolved == null) {
+                    resolved = resolveEntry(topic);
+                    entry = resolved;
+                }
+                return isThrottled(topic, mode, resolved, messageCount, totalBytes);
+            } catch (RuntimeException e) {
+                log.warn("Rate limit check failed open for topic {}", topic.getName(), e);
                 return false;
             }
-            return true;
-        } catch (RuntimeException e) {
-            log.warn("Rate limit check failed open for topic {}", topic.getName(), e);
+        }
+    }
+
+    private boolean isThrottled(
+        VaradhiTopic topic,
+        RateLimiterMode mode,
+        RegistryEntry entry,
+        int messageCount,
+        long totalBytes
+    ) {
+        refreshQuotaIfStale(entry, topic);
+        if (entry.limiter.tryAcquire(messageCount, totalBytes)) {
             return false;
         }
+        if (mode == RateLimiterMode.shadow) {
+            telemetry.shadowRejected(topic, totalBytes);
+            return false;
+        }
+        return true;
     }
 
     public void removeTopic(String topicFqn) {
@@ -117,11 +183,15 @@ public final class ProduceRateLimiter {
     }
 
     TopicRateLimiter resolveLimiter(VaradhiTopic topic) {
-        RegistryEntry entry = registry.computeIfAbsent(topic.getName(), ignored -> createEntry(topic));
+        RegistryEntry entry = resolveEntry(topic);
         refreshQuotaIfStale(entry, topic);
         return entry.limiter;
     }
 
+    private RegistryEntry resolveEntry(VaradhiTopic topic) {
+        return registry.computeIfAbsent(topic.getName(), ignored -> createEntry(topic));
+    }
+
     private RateLimiterMode resolveMode(VaradhiTopic topic) {
         RateLimiterMode mode = topic.getRateLimiterMode();
         return mode != null ? mode : defaultMode;
@@ -65,10 +65,23 @@ public final class TopicRateLimiter {
      * debited)
      */
     public boolean tryAcquire(long messageBytes) {
-        long bytesCost = Math.max(0L, messageBytes);
+        return tryAcquire(1, messageBytes);
+    }
+
+    /**
+     * Batch variant: admits or rejects {@code messageCount} messages as a unit with a single clock read and one
+     * debit per bucket. Like the single message path, admission only needs positive credit, so an admitted batch
+     * may push the buckets into (bounded) debt.
+     *
+     * @param messageCount number of messages in the batch, non-negative
+     * @param totalBytes   full produce cost of all messages in the batch; negative is clamped to zero
+     * @return {@code true} if the whole batch is admitted; {@code false} if rejected (neither bucket debited)
+     */
+    public boolean tryAcquire(int messageCount, long totalBytes) {
+        long bytesCost = Math.max(0L, totalBytes);
         long now = ticker.read();
         if (qpsBucket.hasPositiveCredit(now) && bytesBucket.hasPositiveCredit(now)) {
-            qpsBucket.debit(1, now);
+            qpsBucket.debit(Math.max(0, messageCount), now);
             bytesBucket.debit(bytesCost, now);
             return true;
         }
@@ -22,12 +22,15 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -103,7 +106,8 @@ class ProducerServiceTests {
         Assertions.assertNull(rc.throwable);
         verify(producer, times(1)).produceAsync(msg2);
         verify(producerFactory, times(1)).newProducer(any(), any());
-        verify(topicReadCache, times(3)).get(vt.getName());
+        // once for the produce context of the topic, and once for the producer.
+        verify(topicReadCache, times(2)).get(vt.getName());
     }
 
     @Test
@@ -186,6 +190,27 @@ class ProducerServiceTests {
         verify(producer, never()).produceAsync(any());
     }
 
+    @Test
+    void testProduceAfterTopicChange_SeesTheChangedTopic() throws InterruptedException {
+        ArgumentCaptor<Consumer<String>> onChange = ArgumentCaptor.captor();
+        verify(topicReadCache).addOnChange(onChange.capture());
+        String topicFQN = VaradhiTopic.fqn(project.getName(), topic);
+        when(topicReadCache.get(topicFQN)).thenReturn(Optional.of(getTopic(topic, project, region)));
+
+        ResultCapture rc = getResult(service.produceToTopic(getMessage(0, 1, null, 0), topicFQN));
+        Assertions.assertEquals(ProduceStatus.Success, rc.produceResult.getProduceStatus());
+
+        VaradhiTopic blocked = getTopic(TopicState.Blocked, topic, project, region);
+        when(topicReadCache.get(topicFQN)).thenReturn(Optional.of(Resource.of(blocked, ResourceType.TOPIC)));
+        rc = getResult(service.produceToTopic(getMessage(0, 1, null, 0), topicFQN));
+        // the topic is not looked up again until the cache reports the change.
+        Assertions.assertEquals(ProduceStatus.Success, rc.produceResult.getProduceStatus());
+
+        onChange.getValue().accept(topicFQN);
+        rc = getResult(service.produceToTopic(getMessage(0, 1, null, 0), topicFQN));
+        Assertions.assertEquals(ProduceStatus.Blocked, rc.produceResult.getProduceStatus());
+    }
+
     @Test
     void testProduceWithUnknownExceptionInGetProducer() {
         Message msg1 = getMessage(0, 1, null, 0);
@@ -260,6 +285,84 @@ class ProducerServiceTests {
         verify(producerFactory, times(1)).newProducer(any(), any());
     }
 
+    @Test
+    void testProduceBatch() {
+        Message msg1 = getMessage(0, 1, null, 10);
+        Message msg2 = getMessage(0, 2, null, 20);
+        Resource.EntityResource<VaradhiTopic> vt = getTopic(topic, project, region);
+        when(topicReadCache.get(vt.getName())).thenReturn(Optional.of(vt));
+
+        List<ProduceResult> results = service.produceBatchToTopic(
+            List.of(msg1, msg2),
+            VaradhiTopic.fqn(project.getName(), topic)
+        ).join();
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals(msg1.getMessageId(), results.get(0).getMessageId());
+        Assertions.assertEquals(msg2.getMessageId(), results.get(1).getMessageId());
+        assertTrue(results.stream().allMatch(ProduceResult::isSuccess));
+        verify(producer, times(1)).produceAsync(eq(msg1));
+        verify(producer, times(1)).produceAsync(eq(msg2));
+        verify(producerFactory, times(1)).newProducer(any(), any());
+    }
+
+    @Test
+    void testProduceBatchReportsPerMessageFailure() {
+        Message msg1 = getMessage(0, 1, null, 10);
+        Message msg2 = getMessage(0, 2, UnsupportedOperationException.class.getName(), 0);
+        Resource.EntityResource<VaradhiTopic> vt = getTopic(topic, project, region);
+        when(topicReadCache.get(vt.getName())).thenReturn(Optional.of(vt));
+
+        List<ProduceResult> results = service.produceBatchToTopic(
+            List.of(msg1, msg2),
+            VaradhiTopic.fqn(project.getName(), topic)
+        ).join();
+
+        Assertions.assertEquals(ProduceStatus.Success, results.get(0).getProduceStatus());
+        Assertions.assertEquals(ProduceStatus.Failed, results.get(1).getProduceStatus());
+    }
+
+    @Test
+    void testProduceBatchToBlockedTopic() {
+        Message msg1 = getMessage(0, 1, null, 10);
+        Message msg2 = getMessage(0, 2, null, 10);
+        VaradhiTopic vt = getTopic(TopicState.Blocked, topic, project, region);
+        when(topicReadCache.get(vt.getName())).thenReturn(Optional.of(Resource.of(vt, ResourceType.TOPIC)));
+
+        List<ProduceResult> results = service.produceBatchToTopic(
+            List.of(msg1, msg2),
+            VaradhiTopic.fqn(project.getName(), topic)
+        ).join();
+
+        assertTrue(results.stream().allMatch(r -> r.getProduceStatus() == ProduceStatus.Blocked));
+        verify(producer, never()).produceAsync(any());
+    }
+
+    @Test
+    void testProduceBatchWithFailureInGetProducer() {
+        Message msg1 = getMessage(0, 1, null, 10);
+        Resource.EntityResource<VaradhiTopic> vt = getTopic(topic, project, region);
+        when(topicReadCache.get(vt.getName())).thenReturn(Optional.of(vt));
+        ProducerFactory failingProducerProvider = (st, c) -> {
+            throw new RuntimeException("Unknown Error.");
+        };
+        ProducerService failingService = new ProducerService(
+            region,
+            failingProducerProvider,
+            orgCache,
+            projectCache,
+            topicReadCache
+        );
+
+        List<ProduceResult> results = failingService.produceBatchToTopic(
+            List.of(msg1),
+            VaradhiTopic.fqn(project.getName(), topic)
+        ).join();
+
+        Assertions.assertEquals(ProduceStatus.Failed, results.get(0).getProduceStatus());
+        assertTrue(results.get(0).getFailureReason().contains("Unknown Error."));
+    }
+
     // TODO: this test expectation looks wrong. the metric emit failure should not lead to api failure.
     @Test
     void testMetricEmitFailureNotIgnored() throws InterruptedException {
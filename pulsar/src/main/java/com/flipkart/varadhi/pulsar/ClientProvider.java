@@ -4,23 +4,39 @@ import com.flipkart.varadhi.pulsar.config.PulsarAdminOptions;
 import com.flipkart.varadhi.pulsar.config.PulsarClientOptions;
 import com.flipkart.varadhi.pulsar.config.PulsarConfig;
 import com.flipkart.varadhi.spi.services.MessagingException;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.pulsar.client.admin.PulsarAdmin;
 import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class ClientProvider {
+@Slf4j
+public class ClientProvider implements AutoCloseable {
     private static final TimeUnit TimeUnitMillis = TimeUnit.MILLISECONDS;
     private PulsarClient pulsarClient;
+    private List<PulsarClient> producerClients;
     private PulsarAdmin adminClient;
 
     public ClientProvider(PulsarConfig pulsarConfig) {
-        this.pulsarClient = buildPulsarClient(pulsarConfig.getPulsarClientOptions());
+        PulsarClientOptions clientOptions = pulsarConfig.getPulsarClientOptions();
+        this.pulsarClient = buildPulsarClient(clientOptions);
+        this.producerClients = buildProducerClients(clientOptions);
         this.adminClient = buildPulsarAdminClient(pulsarConfig.getPulsarAdminOptions());
     }
 
+    private List<PulsarClient> buildProducerClients(PulsarClientOptions options) {
+        List<PulsarClient> clients = new ArrayList<>();
+        clients.add(pulsarClient);
+        for (int i = 1; i < options.getProducerClients(); i++) {
+            clients.add(buildPulsarClient(options));
+        }
+        return List.copyOf(clients);
+    }
+
     //TODO::Add authentication to PulsarClient and PulsarAdmin. It should be optional however.
     private PulsarClient buildPulsarClient(PulsarClientOptions options) {
         try {
@@ -51,7 +67,34 @@ public class ClientProvider {
         return pulsarClient;
     }
 
+    /**
+     * @return clients to spread the producers of a topic over, the first of which is {@link #getPulsarClient()}
+     */
+    public List<PulsarClient> getProducerClients() {
+        return producerClients;
+    }
+
     public PulsarAdmin getAdminClient() {
         return adminClient;
     }
+
+    /**
+     * Closes all the clients, including the ones only used by the producer pools.
+     */
+    @Override
+    public void close() {
+        for (PulsarClient client : producerClients) {
+            closeClient(client);
+        }
+        // the first producer client is the pulsarClient, closed above.
+        adminClient.close();
+    }
+
+    private static void closeClient(PulsarClient client) {
+        try {
+            client.close();
+        } catch (PulsarClientException e) {
+            log.warn("Failed to close PulsarClient. Error: {}.", e.getMessage(), e);
+        }
+    }
 }
@@ -14,6 +14,7 @@ import com.flipkart.varadhi.spi.services.*;
 import com.flipkart.varadhi.common.utils.HostUtils;
 import com.flipkart.varadhi.common.utils.YamlLoader;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -25,6 +26,7 @@ public class PulsarStackProvider implements MessagingStackProvider {
     private PulsarSubscriptionFactory subscriptionFactory;
     private PulsarSubscriptionService subscriptionService;
     private PulsarConsumerFactory consumerFactory;
+    private ClientProvider clientProvider;
     private volatile boolean initialised = false;
 
     @Override
@@ -32,7 +34,16 @@ public class PulsarStackProvider implements MessagingStackProvider {
         return "pulsar";
     }
 
-    public synchronized void init(MessagingStackOptions messagingStackOptions, ObjectMapper mapper) {
+    public void init(MessagingStackOptions messagingStackOptions, ObjectMapper mapper) {
+        init(messagingStackOptions, mapper, null);
+    }
+
+    @Override
+    public synchronized void init(
+        MessagingStackOptions messagingStackOptions,
+        ObjectMapper mapper,
+        MeterRegistry meterRegistry
+    ) {
         if (initialised) {
             return;
         }
@@ -40,17 +51,18 @@ public class PulsarStackProvider implements MessagingStackProvider {
         PulsarConfig pulsarConfig = getPulsarConfig(messagingStackOptions.getConfigFile());
         TopicPlanner planner = new TopicPlanner(pulsarConfig);
         topicFactory = new PulsarTopicFactory(planner);
-        ClientProvider clientProvider = new ClientProvider(pulsarConfig);
+        clientProvider = new ClientProvider(pulsarConfig);
         topicService = new PulsarTopicService(clientProvider, planner);
         PulsarTelemetryOptions pulsarTelemetryOptions = null;
         if (pulsarConfig.isEnableTelemetry()) {
             pulsarTelemetryOptions = new PulsarTelemetryOptions();
         }
         producerFactory = new PulsarProducerFactory(
-            clientProvider.getPulsarClient(),
+            clientProvider.getProducerClients(),
             pulsarConfig.getProducerOptions(),
             hostName,
-            pulsarTelemetryOptions
+            pulsarTelemetryOptions,
+            meterRegistry
         );
         consumerFactory = new PulsarConsumerFactory(
             clientProvider.getPulsarClient(),
@@ -99,6 +111,13 @@ public class PulsarStackProvider implements MessagingStackProvider {
         return consumerFactory;
     }
 
+    @Override
+    public synchronized void close() {
+        if (clientProvider != null) {
+            clientProvider.close();
+        }
+    }
+
     private void registerSubtypes(ObjectMapper mapper) {
         mapper.registerSubtypes(new NamedType(PulsarStorageTopic.class, "PulsarTopic"));
         mapper.registerSubtypes(new NamedType(PulsarSubscription.class, "PulsarSubscription"));
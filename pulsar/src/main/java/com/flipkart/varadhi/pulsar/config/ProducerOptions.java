@@ -1,5 +1,6 @@
 package com.flipkart.varadhi.pulsar.config;
 
+import com.flipkart.varadhi.entities.TopicCapacityPolicy;
 import lombok.Data;
 import org.apache.pulsar.client.api.CompressionType;
 
@@ -48,6 +49,24 @@ public class ProducerOptions {
     @NotNull
     private CompressionType compressionType = CompressionType.SNAPPY;
 
+    /**
+     * Topics with a capacity of more than this qps are produced to by a pool of {@link #producerPoolSize} producers,
+     * as a single producer's pending queue and connection bound the rate a topic can be produced at. 0 disables it.
+     */
+    @NotNull
+    private Integer producerPoolMinQps = 0;
+
+    /** Number of producers in the pool of a topic above {@link #producerPoolMinQps}. */
+    @NotNull
+    private Integer producerPoolSize = 4;
+
+    /**
+     * @return number of producers to produce to a topic of the given capacity with.
+     */
+    public int producerCount(TopicCapacityPolicy capacity) {
+        return producerPoolMinQps > 0 && capacity.getQps() > producerPoolMinQps ? Math.max(1, producerPoolSize) : 1;
+    }
+
 
     public synchronized Map<String, Object> asMap() {
         Map<String, Object> configMap = new HashMap<>();
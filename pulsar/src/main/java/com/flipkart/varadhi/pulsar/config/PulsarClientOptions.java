@@ -26,6 +26,9 @@ public class PulsarClientOptions {
     private long initialBackoffIntervalMs = 500; // some random value.
     private long maxBackoffIntervalMs = operationTimeoutMs / 2;
     // set it half of operation timeout, to allow for minimum 1 retry.
+    private int producerClients = 1;
+    // clients the producer pools of hot topics are spread over, each with its own connections and io threads.
+    // Not a Pulsar client setting.
 
     // Not enabled/configured below client options for now
     // enableTcpNoDelay  -- default is false. Keep it as it is. Revisit later if needed.
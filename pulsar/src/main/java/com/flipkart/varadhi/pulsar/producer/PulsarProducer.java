@@ -13,6 +13,8 @@ import com.flipkart.varadhi.pulsar.entities.PulsarOffset;
 import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
 import com.flipkart.varadhi.pulsar.util.PropertyHelper;
 import com.flipkart.varadhi.spi.services.Producer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.RandomStringGenerator;
 import org.apache.pulsar.client.api.ProducerAccessMode;
@@ -30,6 +32,12 @@ public class PulsarProducer implements Producer<PulsarOffset> {
     private final RandomStringGenerator stringGenerator;
     private final org.apache.pulsar.client.api.Producer<byte[]> pulsarProducer;
 
+    /**
+     * Set only if the producer publishes its own pending queue size, i.e. when it is not in a pool.
+     */
+    private MeterRegistry meterRegistry;
+    private Gauge pendingQueueGauge;
+
     public PulsarProducer(
         PulsarClient pulsarClient,
         PulsarStorageTopic storageTopic,
@@ -37,11 +45,32 @@ public class PulsarProducer implements Producer<PulsarOffset> {
         ProducerOptions producerOptions,
         String hostName,
         TelemetryOptions telemetryOptions
+    ) throws PulsarClientException {
+        this(
+            pulsarClient,
+            storageTopic,
+            capacity,
+            producerOptions,
+            telemetryOptions,
+            getProducerName(storageTopic.getName(), hostName)
+        );
+    }
+
+    /**
+     * @param producerName name of the producer, unique among the producers of the topic
+     */
+    PulsarProducer(
+        PulsarClient pulsarClient,
+        PulsarStorageTopic storageTopic,
+        TopicCapacityPolicy capacity,
+        ProducerOptions producerOptions,
+        TelemetryOptions telemetryOptions,
+        String producerName
     ) throws PulsarClientException {
         this.stringGenerator = new RandomStringGenerator.Builder().withinRange('0', 'z')
                                                                   .filteredBy(DIGITS, LETTERS)
                                                                   .build();
-        this.pulsarProducer = getProducer(pulsarClient, storageTopic, capacity, producerOptions, hostName);
+        this.pulsarProducer = getProducer(pulsarClient, storageTopic, capacity, producerOptions, producerName);
         if (telemetryOptions != null) {
             telemetryOptions.recordTelemetry(this.pulsarProducer);
         }
@@ -101,14 +130,41 @@ public class PulsarProducer implements Producer<PulsarOffset> {
         PulsarStorageTopic topic,
         TopicCapacityPolicy capacity,
         ProducerOptions options,
-        String hostname
+        String producerName
     ) throws PulsarClientException {
-        Map<String, Object> producerConfig = getProducerConfig(topic, capacity, options, hostname);
+        Map<String, Object> producerConfig = getProducerConfig(topic, capacity, options, producerName);
         return pulsarClient.newProducer().loadConf(producerConfig).create();
     }
 
+    /**
+     * @return number of messages sent and pending acknowledgement from the broker
+     */
+    public int getPendingQueueSize() {
+        return pulsarProducer.getStats().getPendingQueueSize();
+    }
+
+    /**
+     * Publishes the pending queue size of the producer until it is closed. Producers of a pool are published by the
+     * pool instead.
+     */
+    void publishPendingQueueSize(String topic, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pendingQueueGauge = pendingQueueGauge(this, topic, 0, meterRegistry);
+    }
+
+    static Gauge pendingQueueGauge(PulsarProducer producer, String topic, int index, MeterRegistry meterRegistry) {
+        return Gauge.builder("pulsar.producer.pending.queue.size", producer, PulsarProducer::getPendingQueueSize)
+                    .tag("topic", topic)
+                    .tag("index", String.valueOf(index))
+                    .register(meterRegistry);
+    }
+
     @Override
     public void close() throws IOException {
+        if (pendingQueueGauge != null) {
+            meterRegistry.remove(pendingQueueGauge);
+            pendingQueueGauge = null;
+        }
         this.pulsarProducer.close();
     }
 
@@ -116,7 +172,7 @@ public class PulsarProducer implements Producer<PulsarOffset> {
         PulsarStorageTopic topic,
         TopicCapacityPolicy capacity,
         ProducerOptions options,
-        String hostName
+        String producerName
     ) {
 
         // System Configured::
@@ -127,7 +183,7 @@ public class PulsarProducer implements Producer<PulsarOffset> {
         // batchingMaxPublishDelay
 
         // Fixed::
-        // name = topic + hostname
+        // name = topic + hostname, and the index of the producer in the pool of a hot topic
         // topic = topic name
         // access mode -- shared.
         //
@@ -141,7 +197,7 @@ public class PulsarProducer implements Producer<PulsarOffset> {
 
         Map<String, Object> producerConfig = options.asMap();
         producerConfig.put("topicName", topic.getName());
-        producerConfig.put("producerName", getProducerName(topic.getName(), hostName));
+        producerConfig.put("producerName", producerName);
         producerConfig.put("accessMode", ProducerAccessMode.Shared);
 
         int topicMaxQps = capacity.getQps();
@@ -1,5 +1,9 @@
 package com.flipkart.varadhi.pulsar.producer;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.flipkart.varadhi.common.exceptions.ProduceException;
 import com.flipkart.varadhi.entities.StorageTopic;
 import com.flipkart.varadhi.entities.TopicCapacityPolicy;
@@ -10,6 +14,7 @@ import com.flipkart.varadhi.pulsar.entities.PulsarOffset;
 import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
 import com.flipkart.varadhi.spi.services.Producer;
 import com.flipkart.varadhi.spi.services.ProducerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
@@ -17,11 +22,16 @@ import org.apache.pulsar.client.api.PulsarClientException;
 
 @Slf4j
 public class PulsarProducerFactory implements ProducerFactory {
-    private final PulsarClient pulsarClient;
+    private final List<PulsarClient> pulsarClients;
     private final String hostName;
     private final ProducerOptions producerOptions;
     private final TelemetryOptions telemetryOptions;
 
+    /**
+     * null if the metrics of the producer pools are not exported.
+     */
+    private final MeterRegistry meterRegistry;
+
 
     public PulsarProducerFactory(
         PulsarClient pulsarClient,
@@ -29,7 +39,23 @@ public class PulsarProducerFactory implements ProducerFactory {
         String hostName,
         TelemetryOptions telemetryOptions
     ) {
-        this.pulsarClient = pulsarClient;
+        this(List.of(pulsarClient), producerOptions, hostName, telemetryOptions, null);
+    }
+
+    /**
+     * @param pulsarClients clients to spread the producers of a topic with a producer pool over. Topics with a single
+     *                      producer use the first one.
+     * @param meterRegistry for the pending queue size of each producer. null to not export it.
+     */
+    public PulsarProducerFactory(
+        List<PulsarClient> pulsarClients,
+        ProducerOptions producerOptions,
+        String hostName,
+        TelemetryOptions telemetryOptions,
+        MeterRegistry meterRegistry
+    ) {
+        this.pulsarClients = pulsarClients;
+        this.meterRegistry = meterRegistry;
         this.hostName = hostName;
         this.producerOptions = null == producerOptions ? new ProducerOptions() : producerOptions;
         this.telemetryOptions = telemetryOptions;
@@ -38,8 +64,49 @@ public class PulsarProducerFactory implements ProducerFactory {
     @Override
     public Producer<PulsarOffset> newProducer(StorageTopic _topic, TopicCapacityPolicy capacity) {
         var topic = TypeUtil.safeCast(_topic, PulsarStorageTopic.class);
+        String producerName = PulsarProducer.getProducerName(topic.getName(), hostName);
+        int producerCount = producerOptions.producerCount(capacity);
+        if (producerCount == 1) {
+            PulsarProducer producer = newProducer(pulsarClients.get(0), topic, capacity, producerName);
+            if (meterRegistry != null) {
+                producer.publishPendingQueueSize(topic.getName(), meterRegistry);
+            }
+            return producer;
+        }
+
+        // each producer of the pool takes its share of the topic capacity, which its pending queue and batches are
+        // sized by.
+        TopicCapacityPolicy producerCapacity = capacity.from(
+            1.0 / producerCount,
+            capacity.getReadFanOut(),
+            capacity.getRetentionPeriodInDays()
+        );
+        List<PulsarProducer> producers = new ArrayList<>(producerCount);
+        try {
+            for (int i = 0; i < producerCount; i++) {
+                PulsarClient pulsarClient = pulsarClients.get(i % pulsarClients.size());
+                producers.add(newProducer(pulsarClient, topic, producerCapacity, producerName + "." + i));
+            }
+        } catch (RuntimeException e) {
+            try {
+                PulsarProducerPool.closeAll(producers);
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        log.info("Created a pool of {} producers for {}.", producerCount, topic.getName());
+        return new PulsarProducerPool(producers, topic.getName(), meterRegistry);
+    }
+
+    private PulsarProducer newProducer(
+        PulsarClient pulsarClient,
+        PulsarStorageTopic topic,
+        TopicCapacityPolicy capacity,
+        String producerName
+    ) {
         try {
-            return new PulsarProducer(pulsarClient, topic, capacity, producerOptions, hostName, telemetryOptions);
+            return new PulsarProducer(pulsarClient, topic, capacity, producerOptions, telemetryOptions, producerName);
         } catch (PulsarClientException e) {
             throw new ProduceException(
                 String.format("Failed to create Pulsar producer for %s. %s", topic.getName(), e.getMessage()),
@@ -0,0 +1,107 @@
+package com.flipkart.varadhi.pulsar.producer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.StdHeaders;
+import com.flipkart.varadhi.pulsar.entities.PulsarOffset;
+import com.flipkart.varadhi.spi.services.Producer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Producers of a single topic, for topics produced at more than a single producer keeps up with, as bound by its
+ * pending queue and the io thread of its connection. The producers can be over different clients.
+ * <p>
+ * Messages with a group id are dispatched by the hash of the group id, so that the messages of a group go through
+ * the same producer and are produced in order. The others are dispatched round-robin.
+ * <p>
+ * The pending queue size of each producer is published as a gauge, tagged by the topic and the index of the producer
+ * in the pool, to tell if the pool is large enough.
+ */
+public class PulsarProducerPool implements Producer<PulsarOffset> {
+    private final PulsarProducer[] producers;
+    private final AtomicInteger next = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final List<Gauge> gauges = new ArrayList<>();
+
+    PulsarProducerPool(List<PulsarProducer> producers) {
+        this(producers, null, null);
+    }
+
+    /**
+     * @param meterRegistry null to not publish the pending queue sizes.
+     */
+    PulsarProducerPool(List<PulsarProducer> producers, String topic, MeterRegistry meterRegistry) {
+        if (producers.isEmpty()) {
+            throw new IllegalArgumentException("Producer pool needs at least one producer.");
+        }
+        this.producers = producers.toArray(new PulsarProducer[0]);
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            for (int i = 0; i < this.producers.length; i++) {
+                gauges.add(PulsarProducer.pendingQueueGauge(this.producers[i], topic, i, meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<PulsarOffset> produceAsync(Message message) {
+        return select(message).produceAsync(message);
+    }
+
+    PulsarProducer select(Message message) {
+        String groupId = message.getHeader(StdHeaders.get().groupId());
+        int hash = groupId == null ? next.getAndIncrement() : groupId.hashCode();
+        return producers[Math.floorMod(hash, producers.length)];
+    }
+
+    public int size() {
+        return producers.length;
+    }
+
+    /**
+     * @return number of messages pending acknowledgement from the broker, per producer of the pool
+     */
+    public int[] getPendingQueueSizes() {
+        int[] sizes = new int[producers.length];
+        for (int i = 0; i < producers.length; i++) {
+            sizes[i] = producers[i].getPendingQueueSize();
+        }
+        return sizes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Gauge gauge : gauges) {
+            meterRegistry.remove(gauge);
+        }
+        gauges.clear();
+        closeAll(List.of(producers));
+    }
+
+    /**
+     * Closes all the producers, even if closing some of them fails.
+     */
+    static void closeAll(List<PulsarProducer> producers) throws IOException {
+        IOException failure = null;
+        for (PulsarProducer producer : producers) {
+            try {
+                producer.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
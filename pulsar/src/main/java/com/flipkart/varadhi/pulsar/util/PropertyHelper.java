@@ -9,7 +9,11 @@ public class PropertyHelper {
 
     //TODO:: This needs value sanitization or another form of encoding.
     public static String encodePropertyValues(Collection<String> values) {
-        return String.join(PROPERTY_MULTI_VALUE_SEPARATOR, values.stream().toList());
+        // most headers have a single value, which is its own encoding.
+        if (values.size() == 1) {
+            return values.iterator().next();
+        }
+        return String.join(PROPERTY_MULTI_VALUE_SEPARATOR, values);
     }
 
     public static Collection<String> decodePropertyValues(String values) {
@@ -1,19 +1,26 @@
 package com.flipkart.varadhi.pulsar;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 import com.flipkart.varadhi.common.Constants;
 import com.flipkart.varadhi.common.exceptions.ProduceException;
 import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.entities.TopicCapacityPolicy;
+import com.flipkart.varadhi.pulsar.config.ProducerOptions;
 import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
 import com.flipkart.varadhi.pulsar.producer.PulsarProducerFactory;
+import com.flipkart.varadhi.pulsar.producer.PulsarProducerPool;
 import com.flipkart.varadhi.spi.services.Producer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.pulsar.client.api.ProducerBuilder;
 import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import static org.mockito.Mockito.*;
 
@@ -67,4 +74,87 @@ public class PulsarProducerFactoryTest extends PulsarTestBase {
         verify(builder, times(1)).create();
         Assertions.assertEquals("Random error check", re.getMessage());
     }
+
+    @Test
+    public void testGetProducerPoolForHotTopic() {
+        PulsarClient otherClient = mock(PulsarClient.class);
+        doReturn(builder).when(otherClient).newProducer();
+        ArgumentCaptor<Map<String, Object>> configCaptor = ArgumentCaptor.captor();
+        doReturn(builder).when(builder).loadConf(configCaptor.capture());
+        ProducerOptions options = new ProducerOptions();
+        options.setProducerPoolMinQps(50);
+        options.setProducerPoolSize(3);
+        PulsarProducerFactory factory = new PulsarProducerFactory(
+            List.of(pClient, otherClient),
+            options,
+            "localhost",
+            null,
+            null
+        );
+
+        Producer<? extends Offset> p = factory.newProducer(topic, Constants.DEFAULT_TOPIC_CAPACITY);
+        Assertions.assertEquals(3, ((PulsarProducerPool)p).size());
+        verify(pClient, times(2)).newProducer();
+        verify(otherClient, times(1)).newProducer();
+        Assertions.assertEquals(
+            List.of("testTopic.localhost.0", "testTopic.localhost.1", "testTopic.localhost.2"),
+            configCaptor.getAllValues().stream().map(config -> config.get("producerName")).toList()
+        );
+
+        options.setProducerPoolMinQps(Constants.DEFAULT_TOPIC_CAPACITY.getQps());
+        p = factory.newProducer(topic, Constants.DEFAULT_TOPIC_CAPACITY);
+        Assertions.assertFalse(p instanceof PulsarProducerPool);
+    }
+
+    @Test
+    public void testPooledProducersShareTheTopicCapacity() {
+        ArgumentCaptor<Map<String, Object>> configCaptor = ArgumentCaptor.captor();
+        doReturn(builder).when(builder).loadConf(configCaptor.capture());
+        ProducerOptions options = new ProducerOptions();
+        options.setProducerPoolMinQps(50);
+        options.setProducerPoolSize(3);
+        PulsarProducerFactory factory = new PulsarProducerFactory(pClient, options, "localhost", null);
+
+        factory.newProducer(topic, new TopicCapacityPolicy(1500, 3000, 2, 2));
+        Assertions.assertEquals(
+            List.of(500, 500, 500),
+            configCaptor.getAllValues().stream().map(config -> config.get("maxPendingMessages")).toList()
+        );
+    }
+
+    @Test
+    public void testSingleProducerPublishesPendingQueueSize() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PulsarProducerFactory factory = new PulsarProducerFactory(
+            List.of(pClient),
+            null,
+            "localhost",
+            null,
+            registry
+        );
+
+        Producer<? extends Offset> p = factory.newProducer(topic, Constants.DEFAULT_TOPIC_CAPACITY);
+        Assertions.assertNotNull(
+            registry.find("pulsar.producer.pending.queue.size").tag("topic", "testTopic").tag("index", "0").gauge()
+        );
+        p.close();
+        Assertions.assertNull(registry.find("pulsar.producer.pending.queue.size").gauge());
+    }
+
+    @Test
+    public void testGetProducerPoolClosesCreatedProducersOnFailure() throws PulsarClientException {
+        org.apache.pulsar.client.api.Producer created = mock(org.apache.pulsar.client.api.Producer.class);
+        doReturn(created).doThrow(new PulsarClientException.NotFoundException("Topic not found"))
+                         .when(builder)
+                         .create();
+        ProducerOptions options = new ProducerOptions();
+        options.setProducerPoolMinQps(50);
+        PulsarProducerFactory factory = new PulsarProducerFactory(pClient, options, "localhost", null);
+
+        Assertions.assertThrows(
+            ProduceException.class,
+            () -> factory.newProducer(topic, Constants.DEFAULT_TOPIC_CAPACITY)
+        );
+        verify(created, times(1)).close();
+    }
 }
@@ -0,0 +1,101 @@
+package com.flipkart.varadhi.pulsar.producer;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.SimpleMessage;
+import com.flipkart.varadhi.entities.StdHeaders;
+import com.flipkart.varadhi.pulsar.PulsarTestBase;
+import com.google.common.collect.ArrayListMultimap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+public class PulsarProducerPoolTest extends PulsarTestBase {
+    List<PulsarProducer> producers;
+    PulsarProducerPool pool;
+
+    @BeforeEach
+    public void preTest() {
+        producers = List.of(mock(PulsarProducer.class), mock(PulsarProducer.class), mock(PulsarProducer.class));
+        pool = new PulsarProducerPool(producers);
+    }
+
+    @Test
+    public void testMessagesWithoutGroupAreDispatchedRoundRobin() {
+        Message message = getMessage(null);
+        List<PulsarProducer> selected = List.of(
+            pool.select(message),
+            pool.select(message),
+            pool.select(message),
+            pool.select(message)
+        );
+        Assertions.assertEquals(Set.copyOf(producers), new HashSet<>(selected.subList(0, 3)));
+        Assertions.assertSame(selected.get(0), selected.get(3));
+    }
+
+    @Test
+    public void testMessagesOfAGroupGoThroughTheSameProducer() {
+        Set<PulsarProducer> selected = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            PulsarProducer producer = pool.select(getMessage("group" + i));
+            Assertions.assertSame(producer, pool.select(getMessage("group" + i)));
+            selected.add(producer);
+        }
+        Assertions.assertTrue(selected.size() > 1);
+    }
+
+    @Test
+    public void testPendingQueueSizesPerProducer() {
+        for (int i = 0; i < producers.size(); i++) {
+            doReturn(i * 10).when(producers.get(i)).getPendingQueueSize();
+        }
+        Assertions.assertArrayEquals(new int[] {0, 10, 20}, pool.getPendingQueueSizes());
+    }
+
+    @Test
+    public void testPendingQueueSizeGaugePerProducer() throws IOException {
+        for (int i = 0; i < producers.size(); i++) {
+            doReturn(i * 10).when(producers.get(i)).getPendingQueueSize();
+        }
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PulsarProducerPool meteredPool = new PulsarProducerPool(producers, "topic1", registry);
+        for (int i = 0; i < producers.size(); i++) {
+            Assertions.assertEquals(
+                i * 10,
+                registry.get("pulsar.producer.pending.queue.size")
+                        .tag("topic", "topic1")
+                        .tag("index", String.valueOf(i))
+                        .gauge()
+                        .value()
+            );
+        }
+
+        meteredPool.close();
+        Assertions.assertNull(registry.find("pulsar.producer.pending.queue.size").gauge());
+    }
+
+    @Test
+    public void testCloseClosesAllProducers() throws IOException {
+        doThrow(new IOException("close failed")).when(producers.get(0)).close();
+        IOException e = Assertions.assertThrows(IOException.class, () -> pool.close());
+        Assertions.assertEquals("close failed", e.getMessage());
+        for (PulsarProducer producer : producers) {
+            verify(producer, times(1)).close();
+        }
+    }
+
+    Message getMessage(String groupId) {
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        if (groupId != null) {
+            headers.put(StdHeaders.get().groupId(), groupId);
+        }
+        return new SimpleMessage("payload".getBytes(), headers);
+    }
+}
@@ -15,22 +15,28 @@ import com.flipkart.varadhi.common.utils.HostUtils;
 import com.flipkart.varadhi.entities.JsonMapper;
 import com.flipkart.varadhi.core.config.AppConfiguration;
 import com.flipkart.varadhi.core.config.MemberConfig;
+import com.flipkart.varadhi.core.config.ResourceSnapshotOptions;
 import com.flipkart.varadhi.core.cluster.ComponentKind;
 import com.flipkart.varadhi.core.cluster.MemberInfo;
 import com.flipkart.varadhi.core.cluster.NodeCapacity;
 import com.flipkart.varadhi.entities.*;
+import com.flipkart.varadhi.entities.auth.IamPolicyRecord;
 import com.flipkart.varadhi.core.cluster.events.ResourceEventDispatcher;
 import com.flipkart.varadhi.spi.ConfigFile;
 import com.flipkart.varadhi.spi.ConfigFileResolver;
+import com.flipkart.varadhi.spi.db.IamPolicyStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.utils.CuratorFrameworkCreator;
 import com.flipkart.varadhi.web.WebServerVerticle;
+import com.flipkart.varadhi.web.authz.DefaultAuthorizationProvider;
 import com.flipkart.varadhi.web.config.WebConfiguration;
+import com.flipkart.varadhi.web.spi.authz.AuthorizationOptions;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.vertx.config.ConfigRetriever;
 import io.vertx.config.ConfigRetrieverOptions;
 import io.vertx.config.ConfigStoreOptions;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
@@ -54,6 +60,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -91,32 +98,48 @@ public class VaradhiApplication {
 
         // Set up member info and core services
         CoreServices services = new CoreServices(config.base, configResolver);
+        Runtime.getRuntime()
+               .addShutdownHook(
+                   new Thread(() -> services.getMessagingStackProvider().close(), "messaging-stack-closer")
+               );
 
         MemberInfo memberInfo = getMemberInfo(config.base.getMember(), config.base.getDeployedRegion());
         validateMemberRegion(memberInfo, services.getMetaStoreProvider().getMetaStore().regions().getAll());
 
         VaradhiZkClusterManager clusterManager = getClusterManager(config.base, memberInfo.hostname());
+        ResourceSnapshotOptions snapshotOptions = config.base.getResourceSnapshotOptions();
 
-        Future<Pair<Vertx, Map<ComponentKind, Verticle>>> initFuture = createClusteredVertx(
+        Future<Pair<Vertx, Map<ComponentKind, ComponentDeployment>>> initFuture = createClusteredVertx(
             config.base,
             clusterManager,
             services,
             memberInfo
-        ).compose(vertx -> initializeEventManager(services, clusterManager, memberInfo, vertx).map(cacheRegistry -> {
-            log.info("Caches and event handlers initialized successfully");
-
-            // Get component verticles
-            Map<ComponentKind, Verticle> verticles = getComponentVerticles(
-                config,
+        ).compose(
+            vertx -> initializeEventManager(
                 services,
                 clusterManager,
                 memberInfo,
-                cacheRegistry
-            );
-
-            // Return both for the next step
-            return Pair.of(vertx, verticles);
-        }));
+                snapshotOptions,
+                isIamPolicyCacheNeeded(config.web),
+                vertx
+            ).map(
+                cacheRegistry -> {
+                    log.info("Caches and event handlers initialized successfully");
+
+                    // Get component verticles
+                    Map<ComponentKind, ComponentDeployment> verticles = getComponentVerticles(
+                        config,
+                        services,
+                        clusterManager,
+                        memberInfo,
+                        cacheRegistry
+                    );
+
+                    // Return both for the next step
+                    return Pair.of(vertx, verticles);
+                }
+            )
+        );
 
         // Deploy verticles and handle success/failure
         initFuture.compose(pair -> deployVerticles(pair.getLeft(), pair.getRight()))
@@ -164,7 +187,12 @@ public class VaradhiApplication {
             config.getDeliveryOptions().getTracingPolicy()
         ).setSendTimeout(config.getDeliveryOptions().getTimeoutMs());
 
-        return new VaradhiZkClusterManager(curatorFramework, deliveryOptions, host);
+        return new VaradhiZkClusterManager(
+            curatorFramework,
+            deliveryOptions,
+            config.getDeliveryOptions().isBinaryMessages(),
+            host
+        );
     }
 
     /**
@@ -214,16 +242,20 @@ public class VaradhiApplication {
     /**
      * Initializes the EventManager to set up caches and event handlers.
      *
-     * @param services       core services
-     * @param clusterManager cluster manager
-     * @param memberInfo     member information
-     * @param vertx          the Vert.x instance to use for event handling
+     * @param services        core services
+     * @param clusterManager  cluster manager
+     * @param memberInfo      member information
+     * @param snapshotOptions options of the cache snapshots, null to not use snapshots
+     * @param cacheIamPolicies whether to cache the iam policies of the metastore
+     * @param vertx           the Vert.x instance to use for event handling
      * @return a future that completes with the initialized ResourceReadCacheRegistry
      */
     private static Future<ResourceReadCacheRegistry> initializeEventManager(
         CoreServices services,
         VaradhiClusterManager clusterManager,
         MemberInfo memberInfo,
+        ResourceSnapshotOptions snapshotOptions,
+        boolean cacheIamPolicies,
         Vertx vertx
     ) {
         // Create registry and prepare cache creation futures
@@ -231,20 +263,45 @@ public class VaradhiApplication {
         ResourceReadCacheRegistry registry = new ResourceReadCacheRegistry();
 
         // Create futures for cache creation and preloading
-        Future<ResourceReadCache<Resource.EntityResource<Project>>> projectCacheFuture = ResourceReadCache.create(
-            ResourceType.PROJECT,
-            () -> metaStore.projects()
-                           .getAll()
-                           .stream()
-                           .map(project -> Resource.of(project, ResourceType.PROJECT))
-                           .toList(),
-            vertx
-        );
-        Future<ResourceReadCache<Resource.EntityResource<VaradhiTopic>>> topicCacheFuture = ResourceReadCache.create(
-            ResourceType.TOPIC,
-            () -> metaStore.topics().getAll().stream().map(topic -> Resource.of(topic, ResourceType.TOPIC)).toList(),
-            vertx
-        );
+        Function<Project, Resource.EntityResource<Project>> toProjectResource =
+            project -> Resource.of(project, ResourceType.PROJECT);
+        Function<VaradhiTopic, Resource.EntityResource<VaradhiTopic>> toTopicResource =
+            topic -> Resource.of(topic, ResourceType.TOPIC);
+        Supplier<List<Resource.EntityResource<Project>>> projectLoader =
+            () -> metaStore.projects().getAll().stream().map(toProjectResource).toList();
+        Supplier<List<Resource.EntityResource<VaradhiTopic>>> topicLoader =
+            () -> metaStore.topics().getAll().stream().map(toTopicResource).toList();
+
+        Future<ResourceReadCache<Resource.EntityResource<Project>>> projectCacheFuture;
+        Future<ResourceReadCache<Resource.EntityResource<VaradhiTopic>>> topicCacheFuture;
+        if (snapshotOptions == null) {
+            projectCacheFuture = ResourceReadCache.create(ResourceType.PROJECT, projectLoader, vertx);
+            topicCacheFuture = ResourceReadCache.create(ResourceType.TOPIC, topicLoader, vertx);
+        } else {
+            // only the resources changed since the snapshots were saved are read from the metastore.
+            projectCacheFuture = ResourceReadCache.create(
+                ResourceType.PROJECT,
+                projectLoader,
+                snapshotOf(
+                    ResourceType.PROJECT,
+                    snapshotOptions,
+                    metaStore.projects()::getAllRevisions,
+                    name -> toProjectResource.apply(metaStore.projects().get(name))
+                ),
+                vertx
+            );
+            topicCacheFuture = ResourceReadCache.create(
+                ResourceType.TOPIC,
+                topicLoader,
+                snapshotOf(
+                    ResourceType.TOPIC,
+                    snapshotOptions,
+                    metaStore.topics()::getAllRevisions,
+                    name -> toTopicResource.apply(metaStore.topics().get(name))
+                ),
+                vertx
+            );
+        }
 
         Future<OrgReadCache> orgCacheFuture = ResourceReadCache.preload(
             new OrgReadCache(ResourceType.ORG, metaStore.orgs()::getAllOrgDetails),
@@ -252,17 +309,76 @@ public class VaradhiApplication {
         );
 
 
+        // Iam policies are cached only when the metastore holds them, and the DefaultAuthorizationProvider reads them.
+        Future<ResourceReadCache<Resource.EntityResource<IamPolicyRecord>>> iamPolicyCacheFuture =
+            cacheIamPolicies && metaStore instanceof IamPolicyStore.Provider iamPolicyProvider ?
+                ResourceReadCache.create(
+                    ResourceType.IAM_POLICY,
+                    () -> iamPolicyProvider.iamPolicies()
+                                           .getAll()
+                                           .stream()
+                                           .map(policy -> Resource.of(policy, ResourceType.IAM_POLICY))
+                                           .toList(),
+                    vertx
+                ) :
+                Future.succeededFuture(null);
+
         // Combine futures and register caches when they're ready
-        return Future.all(projectCacheFuture, topicCacheFuture, orgCacheFuture).map(v -> {
+        return Future.all(projectCacheFuture, topicCacheFuture, orgCacheFuture, iamPolicyCacheFuture).map(v -> {
             // Register preloaded caches
             registry.register(ResourceType.PROJECT, projectCacheFuture.result());
             registry.register(ResourceType.TOPIC, topicCacheFuture.result());
             registry.register(ResourceType.ORG, orgCacheFuture.result());
+            if (iamPolicyCacheFuture.result() != null) {
+                registry.register(ResourceType.IAM_POLICY, iamPolicyCacheFuture.result());
+            }
             ResourceEventDispatcher.bindToClusterEntityEvents(vertx, memberInfo, clusterManager, registry);
+            if (snapshotOptions != null) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    saveSnapshot(projectCacheFuture.result());
+                    saveSnapshot(topicCacheFuture.result());
+                }, "resource-snapshot-saver"));
+            }
             return registry;
         });
     }
 
+    /**
+     * @return whether the web server authorizes requests with the {@link DefaultAuthorizationProvider}, the only
+     * reader of the iam policy cache
+     */
+    private static boolean isIamPolicyCacheNeeded(WebConfiguration webConfig) {
+        if (webConfig == null || webConfig.getAuthorizationOptions() == null) {
+            return false;
+        }
+        AuthorizationOptions options = webConfig.getAuthorizationOptions();
+        return options.isEnabled()
+               && DefaultAuthorizationProvider.class.getName().equals(options.getProviderClassName());
+    }
+
+    private static <T extends Resource> ResourceReadCache.Snapshot<T> snapshotOf(
+        ResourceType resourceType,
+        ResourceSnapshotOptions snapshotOptions,
+        Supplier<Map<String, Long>> revisionsLoader,
+        Function<String, T> resourceLoader
+    ) {
+        return new ResourceReadCache.Snapshot<>(
+            Paths.get(snapshotOptions.getDirectory(), resourceType.name().toLowerCase() + ".snapshot"),
+            revisionsLoader,
+            resourceLoader,
+            snapshotOptions.getParallelism(),
+            snapshotOptions.getSaveIntervalMs()
+        );
+    }
+
+    private static void saveSnapshot(ResourceReadCache<?> cache) {
+        try {
+            cache.saveSnapshot();
+        } catch (Exception e) {
+            log.warn("Failed to save the {} snapshot on shutdown", cache.getResourceType(), e);
+        }
+    }
+
     /**
      * Creates a clustered Vert.x instance with the specified configuration.
      *
@@ -317,15 +433,15 @@ public class VaradhiApplication {
      * Deploys verticles for all components.
      *
      * @param vertx     the Vert.x instance
-     * @param verticles map of component kinds to verticle instances
+     * @param verticles map of component kinds to their verticle deployments
      * @return a future that completes when all verticles are deployed
      */
-    private static Future<Void> deployVerticles(Vertx vertx, Map<ComponentKind, Verticle> verticles) {
+    private static Future<Void> deployVerticles(Vertx vertx, Map<ComponentKind, ComponentDeployment> verticles) {
         return Future.all(verticles.entrySet().stream().map(entry -> {
             ComponentKind kind = entry.getKey();
-            Verticle verticle = entry.getValue();
+            ComponentDeployment deployment = entry.getValue();
 
-            return vertx.deployVerticle(verticle).onComplete(ar -> {
+            return vertx.deployVerticle(deployment.verticle(), deployment.options()).onComplete(ar -> {
                 if (!ar.succeeded()) {
                     log.error("Component '{}' failed to start: {}", kind, ar.cause().getMessage());
                 }
@@ -441,9 +557,9 @@ public class VaradhiApplication {
      * @param coreServices   core services
      * @param clusterManager cluster manager
      * @param memberInfo     member information
-     * @return a map of component kinds to verticle instances
+     * @return a map of component kinds to their verticle deployments
      */
-    private static Map<ComponentKind, Verticle> getComponentVerticles(
+    private static Map<ComponentKind, ComponentDeployment> getComponentVerticles(
         ComponentConfigurations config,
         CoreServices coreServices,
         VaradhiClusterManager clusterManager,
@@ -455,17 +571,45 @@ public class VaradhiApplication {
         return Arrays.stream(memberInfo.roles())
                      .distinct()
                      .collect(Collectors.toMap(Function.identity(), kind -> switch (kind) {
-                         case Server -> new WebServerVerticle(config.web, coreServices, clusterManager, cacheRegistry);
-                         case Controller -> new ControllerVerticle(
-                             coreServices,
-                             clusterManager,
-                             config.controller.getOperationsConfig(),
-                             config.controller.getEventProcessorConfig()
+                         case Server -> new ComponentDeployment(
+                             WebServerVerticle.supplier(
+                                 config.web,
+                                 coreServices,
+                                 clusterManager,
+                                 cacheRegistry,
+                                 WebServerVerticle.APIUsecases.ALL
+                             ),
+                             new DeploymentOptions(config.base.getVerticleDeploymentOptions())
+                         );
+                         case Controller -> ComponentDeployment.single(
+                             new ControllerVerticle(
+                                 coreServices,
+                                 clusterManager,
+                                 config.controller.getOperationsConfig(),
+                                 config.controller.getEventProcessorConfig()
+                             )
+                         );
+                         case Consumer -> ComponentDeployment.single(
+                             new ConsumerVerticle(
+                                 coreServices,
+                                 memberInfo,
+                                 clusterManager,
+                                 config.base.getConsumerOptions()
+                             )
                          );
-                         case Consumer -> new ConsumerVerticle(coreServices, memberInfo, clusterManager);
                      }));
     }
 
+    /**
+     * How a component's verticle is deployed. Only the web server can run as several instances, one per event loop
+     * at most; the controller and consumer verticles own cluster wide state and are always deployed once.
+     */
+    private record ComponentDeployment(Supplier<Verticle> verticle, DeploymentOptions options) {
+        static ComponentDeployment single(Verticle verticle) {
+            return new ComponentDeployment(() -> verticle, new DeploymentOptions());
+        }
+    }
+
     public record ComponentConfigurations(
         AppConfiguration base,
         WebConfiguration web,
@@ -132,7 +132,8 @@ public class QueueTests extends E2EBase {
             cp.getMaxRecoveryAllocation(),
             cp.isDltRecoveryPreferred(),
             cp.getMaxErrorThreshold(),
-            cp.getThrottlePolicy()
+            cp.getThrottlePolicy(),
+            cp.getDeliveryBatchPolicy()
         );
         body.setConsumptionPolicy(newCp);
 
@@ -50,7 +50,7 @@ public class SubscriptionTests extends E2EBase {
         1,
         3
     );
-    private final ConsumptionPolicy consumptionPolicy = new ConsumptionPolicy(10, 1, 1, false, 1, null);
+    private final ConsumptionPolicy consumptionPolicy = new ConsumptionPolicy(10, 1, 1, false, 1, null, null);
 
     @BeforeAll
     public static void setup() {
@@ -7,4 +7,5 @@ zookeeperOptions:
   connectUrl: {{ .Values.metastore.zookeeper.connectUrl }}
   sessionTimeoutMs: {{ .Values.metastore.zookeeper.sessionTimeoutMs }}
   connectTimeoutMs: {{ .Values.metastore.zookeeper.connectTimeoutMs }}
+maxInFlightReads: {{ .Values.metastore.zookeeper.maxInFlightReads | default 1000 }}
 {{- end }}
@@ -0,0 +1,94 @@
+package com.flipkart.varadhi.spi.db;
+
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.entities.MetaStoreEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking reads of the entities of a store, so that callers on an event loop don't need to hop onto a worker
+ * pool to read them, and can issue many reads at once.
+ * <p>
+ * The defaults do the blocking reads on the calling thread and return completed futures. Stores that can read
+ * asynchronously should override {@link #getAsync(String)} and {@link #existsAsync(String)}, {@link #multiGet}
+ * then issues all its reads at once.
+ *
+ * @param <T> the type of the entities of the store
+ */
+public interface AsyncReads<T extends MetaStoreEntity> {
+
+    T get(String name);
+
+    boolean exists(String name);
+
+    /**
+     * Reads the entity, the future fails with {@link ResourceNotFoundException} if it does not exist.
+     */
+    default CompletableFuture<T> getAsync(String name) {
+        try {
+            return CompletableFuture.completedFuture(get(name));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default CompletableFuture<Boolean> existsAsync(String name) {
+        try {
+            return CompletableFuture.completedFuture(exists(name));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Blocking variant of {@link #multiGet}, for callers off the event loop that still want the reads to be issued
+     * at once. Failures are thrown as they are, instead of wrapped in a {@link CompletionException}.
+     */
+    default Map<String, T> getMany(Collection<String> names) {
+        try {
+            return multiGet(names).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the entities with the given names. The entities that do not exist are left out of the result, any other
+     * failure to read an entity fails the future.
+     *
+     * @return the entities by name, in the order of the names
+     */
+    default CompletableFuture<Map<String, T>> multiGet(Collection<String> names) {
+        List<String> distinctNames = new ArrayList<>(new LinkedHashSet<>(names));
+        List<CompletableFuture<T>> reads = new ArrayList<>(distinctNames.size());
+        for (String name : distinctNames) {
+            reads.add(getAsync(name).exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof ResourceNotFoundException) {
+                    return null;
+                }
+                throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+            }));
+        }
+        return CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).thenApply(v -> {
+            Map<String, T> entities = LinkedHashMap.newLinkedHashMap(distinctNames.size());
+            for (int i = 0; i < distinctNames.size(); ++i) {
+                T entity = reads.get(i).join();
+                if (entity != null) {
+                    entities.put(distinctNames.get(i), entity);
+                }
+            }
+            return entities;
+        });
+    }
+}
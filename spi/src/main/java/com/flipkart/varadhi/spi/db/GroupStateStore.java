@@ -0,0 +1,26 @@
+package com.flipkart.varadhi.spi.db;
+
+import java.util.Map;
+
+/**
+ * Interface for storing the state of the groups of the grouped subscription shards, i.e. of the groups with failed
+ * messages. The state outlives the consumer node, so that a shard moved to another node resumes with the state of its
+ * groups. The state of a group is opaque to the store, and is written only by the node consuming the shard.
+ */
+public interface GroupStateStore {
+
+    /**
+     * @return the state of all the groups of the subscription shard, by group id
+     */
+    Map<String, byte[]> getAll(String subscription, int shardId);
+
+    /**
+     * Saves the state of the group, replacing the existing one.
+     */
+    void put(String subscription, int shardId, String groupId, byte[] state);
+
+    /**
+     * Deletes the state of the group, if there is any.
+     */
+    void delete(String subscription, int shardId, String groupId);
+}
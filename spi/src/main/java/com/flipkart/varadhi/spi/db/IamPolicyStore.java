@@ -2,6 +2,8 @@ package com.flipkart.varadhi.spi.db;
 
 import com.flipkart.varadhi.entities.auth.IamPolicyRecord;
 
+import java.util.List;
+
 /**
  * Interface for storing and managing IAM policy records.
  * This interface provides methods for creating, updating, deleting, and checking
@@ -18,6 +20,8 @@ public interface IamPolicyStore {
 
     IamPolicyRecord get(String authResourceId);
 
+    List<IamPolicyRecord> getAll();
+
     boolean exists(String authResourceId);
 
     void update(IamPolicyRecord iamPolicyRecord);
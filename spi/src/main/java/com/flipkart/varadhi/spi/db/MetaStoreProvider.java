@@ -17,6 +17,7 @@ package com.flipkart.varadhi.spi.db;
  * @see MetaStore
  * @see OpStore
  * @see AssignmentStore
+ * @see GroupStateStore
  */
 public interface MetaStoreProvider extends AutoCloseable {
 
@@ -53,4 +54,12 @@ public interface MetaStoreProvider extends AutoCloseable {
      * @throws IllegalStateException if provider is not initialized
      */
     AssignmentStore getAssignmentStore();
+
+    /**
+     * Returns the group state store implementation.
+     *
+     * @return The group state store instance
+     * @throws IllegalStateException if provider is not initialized
+     */
+    GroupStateStore getGroupStateStore();
 }
@@ -22,11 +22,26 @@ public interface OpStore {
 
     void createShardOp(ShardOperation operation);
 
+    /**
+     * Creates the shard operations in as few writes as the store allows, rather than one write per operation.
+     */
+    void createShardOps(List<ShardOperation> operations);
+
     ShardOperation getShardOp(String operationId);
 
     List<ShardOperation> getShardOps(String subOpId);
 
+    /**
+     * @return ids of the shard operations of the subscription operation, empty if there are none.
+     */
+    List<String> getShardOpIds(String subOpId);
+
     boolean shardOpExists(String shardOpId);
 
     void updateShardOp(ShardOperation operation);
+
+    /**
+     * Updates the shard operations in as few writes as the store allows, rather than one write per operation.
+     */
+    void updateShardOps(List<ShardOperation> operations);
 }
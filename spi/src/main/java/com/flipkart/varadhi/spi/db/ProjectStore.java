@@ -3,8 +3,9 @@ package com.flipkart.varadhi.spi.db;
 import com.flipkart.varadhi.entities.Project;
 
 import java.util.List;
+import java.util.Map;
 
-public interface ProjectStore {
+public interface ProjectStore extends AsyncReads<Project> {
     void create(Project project);
 
     Project get(String projectName);
@@ -13,6 +14,18 @@ public interface ProjectStore {
 
     List<Project> getAll();
 
+    /**
+     * Revisions of all the projects by name, used to reconcile a cached copy of the projects without reading them. The
+     * revision of one changes whenever it is updated, or deleted and created again.
+     *
+     * @throws UnsupportedOperationException if the store can't tell the revisions
+     */
+    default Map<String, Long> getAllRevisions() {
+        throw new UnsupportedOperationException(
+            "Revisions of the projects are not supported by " + getClass().getName()
+        );
+    }
+
     boolean exists(String projectName);
 
     void update(Project project);
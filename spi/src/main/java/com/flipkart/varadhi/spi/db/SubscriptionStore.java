@@ -4,7 +4,7 @@ import com.flipkart.varadhi.entities.VaradhiSubscription;
 
 import java.util.List;
 
-public interface SubscriptionStore {
+public interface SubscriptionStore extends AsyncReads<VaradhiSubscription> {
     void create(VaradhiSubscription subscription);
 
     VaradhiSubscription get(String subscriptionName);
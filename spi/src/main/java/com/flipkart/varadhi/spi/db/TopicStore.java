@@ -3,8 +3,9 @@ package com.flipkart.varadhi.spi.db;
 import com.flipkart.varadhi.entities.VaradhiTopic;
 
 import java.util.List;
+import java.util.Map;
 
-public interface TopicStore {
+public interface TopicStore extends AsyncReads<VaradhiTopic> {
     void create(VaradhiTopic topic);
 
     VaradhiTopic get(String topicName);
@@ -13,6 +14,18 @@ public interface TopicStore {
 
     List<VaradhiTopic> getAll();
 
+    /**
+     * Revisions of all the topics by name, used to reconcile a cached copy of the topics without reading them. The
+     * revision of one changes whenever it is updated, or deleted and created again.
+     *
+     * @throws UnsupportedOperationException if the store can't tell the revisions
+     */
+    default Map<String, Long> getAllRevisions() {
+        throw new UnsupportedOperationException(
+            "Revisions of the topics are not supported by " + getClass().getName()
+        );
+    }
+
     boolean exists(String topicName);
 
     void update(VaradhiTopic topic);
@@ -3,6 +3,7 @@ package com.flipkart.varadhi.spi.services;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flipkart.varadhi.entities.StorageSubscription;
 import com.flipkart.varadhi.entities.StorageTopic;
+import io.micrometer.core.instrument.MeterRegistry;
 
 public interface MessagingStackProvider {
 
@@ -10,6 +11,15 @@ public interface MessagingStackProvider {
 
     void init(MessagingStackOptions messagingStackOptions, ObjectMapper mapper);
 
+    /**
+     * Same as {@link #init(MessagingStackOptions, ObjectMapper)}, for a stack that publishes its own metrics.
+     *
+     * @param meterRegistry null if the metrics are not exported.
+     */
+    default void init(MessagingStackOptions messagingStackOptions, ObjectMapper mapper, MeterRegistry meterRegistry) {
+        init(messagingStackOptions, mapper);
+    }
+
     StorageTopicFactory<? extends StorageTopic> getStorageTopicFactory();
 
     StorageSubscriptionFactory<? extends StorageSubscription<? extends StorageTopic>> getSubscriptionFactory();
@@ -21,4 +31,10 @@ public interface MessagingStackProvider {
     ProducerFactory getProducerFactory();
 
     ConsumerFactory getConsumerFactory();
+
+    /**
+     * Releases the clients of the stack. Called once, on shutdown.
+     */
+    default void close() {
+    }
 }
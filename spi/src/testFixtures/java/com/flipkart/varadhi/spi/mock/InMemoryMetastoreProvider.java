@@ -1,6 +1,7 @@
 package com.flipkart.varadhi.spi.mock;
 
 import com.flipkart.varadhi.spi.db.AssignmentStore;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
 import com.flipkart.varadhi.spi.db.MetaStoreOptions;
 import com.flipkart.varadhi.spi.db.MetaStoreProvider;
 import com.flipkart.varadhi.spi.db.OpStore;
@@ -30,6 +31,11 @@ public class InMemoryMetastoreProvider implements MetaStoreProvider {
         throw new UnsupportedOperationException("Unimplemented method 'getAssignmentStore'");
     }
 
+    @Override
+    public GroupStateStore getGroupStateStore() {
+        throw new UnsupportedOperationException("Unimplemented method 'getGroupStateStore'");
+    }
+
     @Override
     public void close() throws Exception {
     }
@@ -0,0 +1,134 @@
+package com.flipkart.varadhi.web;
+
+import com.flipkart.varadhi.common.TestExtensions;
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.core.ResourceReadCache;
+import com.flipkart.varadhi.entities.JsonMapper;
+import com.flipkart.varadhi.entities.Project;
+import com.flipkart.varadhi.entities.Resource;
+import com.flipkart.varadhi.entities.ResourceType;
+import io.vertx.core.Vertx;
+import lombok.experimental.ExtensionMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the startup of a {@link ResourceReadCache} of projects, with and without a snapshot.
+ * <p>
+ * snapshot=false loads all the projects, as a start without a snapshot does. snapshot=true starts from a snapshot
+ * saved before the trial, in which {@link #CHANGED_PERCENT}% of the projects have since changed, and loads only those.
+ * <p>
+ * The store keeps the projects as json and deserializes them on every read, like the metastore does. It excludes the
+ * metastore round trip of every read, which is what the snapshot saves the most of in production.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.SingleShotTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@ExtensionMethod ({TestExtensions.FutureExtensions.class})
+public class ResourceCacheBootstrapBenchmarkTest {
+
+    static final int CHANGED_PERCENT = 1;
+    static final int PARALLELISM = 16;
+
+    @Param ({"10000", "100000", "500000"})
+    private int numResources;
+
+    @Param ({"false", "true"})
+    private boolean snapshot;
+
+    private Vertx vertx;
+    private Path snapshotDir;
+    private Path snapshotFile;
+    private Path savedSnapshotFile;
+    private Map<String, byte[]> store;
+    private Map<String, Long> revisions;
+    private long lastRevision;
+
+    @Setup (Level.Trial)
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        snapshotDir = Files.createTempDirectory("resourceSnapshot");
+        snapshotFile = snapshotDir.resolve("project.snapshot");
+        savedSnapshotFile = snapshotDir.resolve("project.snapshot.saved");
+        store = new HashMap<>();
+        revisions = new HashMap<>();
+        for (int i = 0; i < numResources; i++) {
+            put(Project.of("project" + i, "project " + i, "team" + i % 100, "org" + i % 10));
+        }
+
+        // the first bootstrap has no snapshot to start from and saves it. Some of the projects change after it.
+        create(true).blockingGet();
+        Files.copy(snapshotFile, savedSnapshotFile);
+        Random random = new Random(42);
+        for (int i = 0; i < numResources * CHANGED_PERCENT / 100; i++) {
+            Project project = read("project" + random.nextInt(numResources));
+            project.setVersion(project.getVersion() + 1);
+            put(project);
+        }
+    }
+
+    /**
+     * Every bootstrap saves the snapshot it started with, so the snapshot of the trial is restored for each one.
+     */
+    @Setup (Level.Iteration)
+    public void restoreSnapshot() throws Exception {
+        Files.copy(savedSnapshotFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @TearDown (Level.Trial)
+    public void tearDown() throws Exception {
+        vertx.close().blockingGet();
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(savedSnapshotFile);
+        Files.deleteIfExists(snapshotDir);
+    }
+
+    @Benchmark
+    public ResourceReadCache<Resource.EntityResource<Project>> bootstrap() {
+        return create(snapshot).blockingGet();
+    }
+
+    private io.vertx.core.Future<ResourceReadCache<Resource.EntityResource<Project>>> create(boolean withSnapshot) {
+        if (!withSnapshot) {
+            return ResourceReadCache.create(ResourceType.PROJECT, this::readAll, vertx);
+        }
+        // saveIntervalMs 0, so that the caches created by the iterations do not keep saving.
+        return ResourceReadCache.create(
+            ResourceType.PROJECT,
+            this::readAll,
+            new ResourceReadCache.Snapshot<>(
+                snapshotFile,
+                () -> new HashMap<>(revisions),
+                name -> Resource.of(read(name), ResourceType.PROJECT),
+                PARALLELISM,
+                0
+            ),
+            vertx
+        );
+    }
+
+    private List<Resource.EntityResource<Project>> readAll() {
+        return store.keySet().stream().map(name -> Resource.of(read(name), ResourceType.PROJECT)).toList();
+    }
+
+    private Project read(String name) {
+        byte[] json = store.get(name);
+        if (json == null) {
+            throw new ResourceNotFoundException("Project(" + name + ") not found");
+        }
+        return JsonMapper.jsonDeserialize(json, Project.class);
+    }
+
+    private void put(Project project) {
+        store.put(project.getName(), JsonMapper.jsonSerializeAsBytes(project));
+        revisions.put(project.getName(), ++lastRevision);
+    }
+}
@@ -0,0 +1,241 @@
+package com.flipkart.varadhi.web.authz;
+
+import com.flipkart.varadhi.common.TestExtensions;
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.core.ResourceReadCache;
+import com.flipkart.varadhi.entities.Resource;
+import com.flipkart.varadhi.entities.ResourceType;
+import com.flipkart.varadhi.entities.TestUser;
+import com.flipkart.varadhi.entities.auth.IamPolicyRecord;
+import com.flipkart.varadhi.entities.auth.ResourceAction;
+import com.flipkart.varadhi.entities.auth.UserContext;
+import com.flipkart.varadhi.spi.db.IamPolicyStore;
+import com.flipkart.varadhi.web.spi.authz.AuthorizationOptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+import lombok.experimental.ExtensionMethod;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.flipkart.varadhi.web.authz.IamPolicyService.getAuthResourceFQN;
+
+/**
+ * JMH benchmark for authorization decisions of the {@link DefaultAuthorizationProvider} with 100k iam policies.
+ * <p>
+ * Policies are bound at the topic level for 99 topics of each of the 1000 projects, and at the project level for
+ * every project. grantLevel decides where the checked subject is bound, and hence how many levels of the resource
+ * hierarchy are walked for a decision: TOPIC (1), PROJECT (2) or NONE (all the 4, and denied).
+ * <p>
+ * policyCache=true evaluates policies from the in-memory policy cache. policyCache=false reads the policy of each
+ * level from the IamPolicyStore. The store used here is an in-memory map, so it excludes the metastore round trip
+ * that the uncached path pays in production.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@ExtensionMethod ({TestExtensions.FutureExtensions.class})
+public class AuthorizationBenchmarkTest {
+
+    static final int NUM_ORGS = 10;
+    static final int TEAMS_PER_ORG = 10;
+    static final int NUM_PROJECTS = 1000;
+    static final int TOPICS_PER_PROJECT = 99;
+    static final int NUM_REQUESTS = 4096;
+
+    @Param ({"true", "false"})
+    private boolean policyCache;
+
+    @Param ({"TOPIC", "PROJECT", "NONE"})
+    private String grantLevel;
+
+    private Vertx vertx;
+    private Path configFile;
+    private DefaultAuthorizationProvider provider;
+    private AuthzRequest[] requests;
+
+    record AuthzRequest(UserContext user, String resourcePath) {
+    }
+
+    @State (Scope.Thread)
+    public static class ThreadState {
+        private int index = 0;
+
+        AuthzRequest next(AuthzRequest[] requests) {
+            AuthzRequest request = requests[index];
+            index = (index + 1) % requests.length;
+            return request;
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        Map<String, IamPolicyRecord> policies = createPolicies();
+
+        configFile = Files.createTempFile("authorizationConfig", ".yml");
+        Files.writeString(configFile, """
+            superUsers: [ "admin" ]
+            metaStoreOptions:
+              providerClassName: ""
+              configFile: ""
+            roleDefinitions:
+              project.admin:
+                roleId: project.admin
+                permissions:
+                  - PROJECT_GET
+                  - TOPIC_GET
+                  - TOPIC_PRODUCE
+              topic.producer:
+                roleId: topic.producer
+                permissions:
+                  - TOPIC_GET
+                  - TOPIC_PRODUCE
+            """);
+        AuthorizationOptions options = new AuthorizationOptions();
+        options.setConfigFile(configFile.toString());
+
+        IamPolicyService policyService = new IamPolicyService(null, new InMemoryIamPolicyStore(policies));
+        provider = new DefaultAuthorizationProvider() {
+            @Override
+            protected IamPolicyService getAuthZService() {
+                return policyService;
+            }
+        };
+        provider.init(p -> p, options, new SimpleMeterRegistry()).blockingGet();
+
+        if (policyCache) {
+            vertx = Vertx.vertx();
+            ResourceReadCache<Resource.EntityResource<IamPolicyRecord>> cache = ResourceReadCache.create(
+                ResourceType.IAM_POLICY,
+                () -> policies.values().stream().map(p -> Resource.of(p, ResourceType.IAM_POLICY)).toList(),
+                vertx
+            ).blockingGet();
+            provider.useIamPolicyCache(cache);
+        }
+
+        requests = createRequests();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        provider.close();
+        if (vertx != null) {
+            vertx.close().blockingGet();
+        }
+        Files.deleteIfExists(configFile);
+    }
+
+    @Benchmark
+    public boolean isAuthorized(ThreadState state) {
+        AuthzRequest request = state.next(requests);
+        return provider.isAuthorized(request.user(), ResourceAction.TOPIC_PRODUCE, request.resourcePath()).result();
+    }
+
+    private static Map<String, IamPolicyRecord> createPolicies() {
+        Map<String, IamPolicyRecord> policies = new HashMap<>();
+        for (int p = 0; p < NUM_PROJECTS; p++) {
+            String project = projectName(p);
+            String projectPolicy = getAuthResourceFQN(ResourceType.PROJECT, project);
+            policies.put(
+                projectPolicy,
+                new IamPolicyRecord(projectPolicy, 0, Map.of(projectAdmin(p), Set.of("project.admin")))
+            );
+            for (int t = 0; t < TOPICS_PER_PROJECT; t++) {
+                String topicPolicy = getAuthResourceFQN(ResourceType.TOPIC, project + ":" + topicName(t));
+                policies.put(
+                    topicPolicy,
+                    new IamPolicyRecord(topicPolicy, 0, Map.of(topicProducer(p, t), Set.of("topic.producer")))
+                );
+            }
+        }
+        return policies;
+    }
+
+    private AuthzRequest[] createRequests() {
+        Random random = new Random(42);
+        List<AuthzRequest> list = new ArrayList<>(NUM_REQUESTS);
+        for (int i = 0; i < NUM_REQUESTS; i++) {
+            int p = random.nextInt(NUM_PROJECTS);
+            int t = random.nextInt(TOPICS_PER_PROJECT);
+            int org = p % NUM_ORGS;
+            int team = p % (NUM_ORGS * TEAMS_PER_ORG) / NUM_ORGS;
+            String subject = switch (grantLevel) {
+                case "TOPIC" -> topicProducer(p, t);
+                case "PROJECT" -> projectAdmin(p);
+                default -> "someone";
+            };
+            String resourcePath = "org%d/team%d/%s/%s".formatted(org, team, projectName(p), topicName(t));
+            list.add(new AuthzRequest(TestUser.testUser(subject, false), resourcePath));
+        }
+        return list.toArray(new AuthzRequest[0]);
+    }
+
+    private static String projectName(int p) {
+        return "project" + p;
+    }
+
+    private static String topicName(int t) {
+        return "topic" + t;
+    }
+
+    private static String projectAdmin(int p) {
+        return "admin_" + p;
+    }
+
+    private static String topicProducer(int p, int t) {
+        return "producer_" + p + "_" + t;
+    }
+
+    private static class InMemoryIamPolicyStore implements IamPolicyStore {
+        private final Map<String, IamPolicyRecord> policies;
+
+        InMemoryIamPolicyStore(Map<String, IamPolicyRecord> policies) {
+            this.policies = new ConcurrentHashMap<>(policies);
+        }
+
+        @Override
+        public void create(IamPolicyRecord iamPolicyRecord) {
+            policies.put(iamPolicyRecord.getName(), iamPolicyRecord);
+        }
+
+        @Override
+        public IamPolicyRecord get(String authResourceId) {
+            IamPolicyRecord policy = policies.get(authResourceId);
+            if (policy == null) {
+                throw new ResourceNotFoundException("IamPolicyRecord(%s) not found.".formatted(authResourceId));
+            }
+            return policy;
+        }
+
+        @Override
+        public List<IamPolicyRecord> getAll() {
+            return List.copyOf(policies.values());
+        }
+
+        @Override
+        public boolean exists(String authResourceId) {
+            return policies.containsKey(authResourceId);
+        }
+
+        @Override
+        public void update(IamPolicyRecord iamPolicyRecord) {
+            policies.put(iamPolicyRecord.getName(), iamPolicyRecord);
+        }
+
+        @Override
+        public void delete(String authResourceId) {
+            policies.remove(authResourceId);
+        }
+    }
+}
@@ -27,7 +27,7 @@ import com.flipkart.varadhi.web.config.WebConfiguration;
 
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
-import io.vertx.core.json.JsonObject;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import lombok.experimental.ExtensionMethod;
@@ -51,6 +51,11 @@ import static java.util.Arrays.asList;
  * Uses WebServerVerticle with PRODUCE-only APIUsecases to set up a lightweight
  * producer-only server for benchmarking. This ensures all handlers and configurations
  * are set up exactly like in production but with in-memory implementations.
+ *
+ * The benchmark is parameterized on payload size and on exactSizedBody, which toggles whether the request
+ * body is handed over to the producer without a copy. Run with the gc profiler (enabled in build.gradle) and compare
+ * gc.alloc.rate.norm (bytes allocated per message) between exactSizedBody=false (before) and
+ * exactSizedBody=true (after).
  */
 @State (Scope.Benchmark)
 // @Fork (1)
@@ -100,7 +105,13 @@ public class ProduceBenchmarkTest {
     static final String DEFAULT_TEAM_NAME = "testTeam";
     static final int NUM_TOPICS = 10;
 
-    static final String SAMPLE_PAYLOAD = RandomStringUtils.insecure().nextAlphanumeric(1000);
+    @Param ({"1024", "51200", "204800"})
+    private int payloadSize;
+
+    @Param ({"false", "true"})
+    private boolean exactSizedBody;
+
+    private Buffer samplePayload;
 
     private Vertx vertx;
     private WebServerVerticle webServerVerticle;
@@ -113,6 +124,8 @@ public class ProduceBenchmarkTest {
     public void setup() throws Exception {
 
         var appConfig = createMinimalWebConfig();
+        appConfig.getRestOptions().setExactSizedBodyEnabled(exactSizedBody);
+        samplePayload = Buffer.buffer(RandomStringUtils.insecure().nextAlphanumeric(payloadSize));
 
         // Initialize StdHeaders
         if (!StdHeaders.isGlobalInstanceInitialized()) {
@@ -374,11 +387,11 @@ public class ProduceBenchmarkTest {
 
         // Make HTTP POST request to the produce endpoint
         var response = loadGenClient.post(8989, "localhost", endpoint)
-                                    .putHeader("Content-Type", "application/json")
+                                    .putHeader("Content-Type", "application/octet-stream")
                                     .putHeader("X_PRODUCE_REGION", "testRegion")
                                     .putHeader("X_MESSAGE_ID", "benchmark-msg-" + System.nanoTime())
                                     .putHeader(USER_ID_HEADER, "produce-bench")
-                                    .sendJsonObject(new JsonObject().put("payload", SAMPLE_PAYLOAD))
+                                    .sendBuffer(samplePayload)
                                     .blockingGet();  // Block to wait for response in JMH
 
         // Consume the result to prevent JVM optimization
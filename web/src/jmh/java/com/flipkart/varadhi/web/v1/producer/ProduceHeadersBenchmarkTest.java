@@ -0,0 +1,65 @@
+package com.flipkart.varadhi.web.v1.producer;
+
+import com.flipkart.varadhi.core.config.MessageHeaderUtils;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.StdHeaders;
+import com.flipkart.varadhi.entities.TestStdHeaders;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.impl.headers.HeadersMultiMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for building a message from the headers of a produce request: normalizing and filtering the headers,
+ * validating them and the size of the message, and adding the produce headers.
+ * <p>
+ * The request carries the std headers in the casing clients commonly send them, plus custom headers of which every
+ * fourth one is not compliant and gets dropped.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.NANOSECONDS)
+public class ProduceHeadersBenchmarkTest {
+
+    private static final List<String> STD_HEADERS = List.of(
+        "x_message_id",
+        "X_GROUP_ID",
+        "X_Content_Type",
+        "x_http_uri",
+        "x_http_method"
+    );
+
+    @Param ({"5", "20", "100"})
+    private int numHeaders;
+
+    private ProduceHandlers produceHandlers;
+    private MultiMap headers;
+    private byte[] payload;
+
+    @Setup
+    public void setup() {
+        if (!StdHeaders.isGlobalInstanceInitialized()) {
+            StdHeaders.init(TestStdHeaders.get());
+        }
+        produceHandlers = new ProduceHandlers(null, MessageHeaderUtils.getTestConfiguration(), "region1", null, null);
+
+        headers = new HeadersMultiMap();
+        for (int i = 0; i < numHeaders; i++) {
+            if (i < STD_HEADERS.size()) {
+                headers.add(STD_HEADERS.get(i), "std_value_" + i);
+            } else if (i % 4 == 0) {
+                headers.add("custom_header_" + i, "value_" + i);
+            } else {
+                headers.add("x_custom_Header_" + i, "value_" + i);
+            }
+        }
+        payload = new byte[1024];
+    }
+
+    @Benchmark
+    public Message buildMessage() {
+        return produceHandlers.buildMessageToProduce(payload, headers, "producer1", false);
+    }
+}
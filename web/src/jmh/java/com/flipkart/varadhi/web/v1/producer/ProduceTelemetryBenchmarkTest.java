@@ -0,0 +1,172 @@
+package com.flipkart.varadhi.web.v1.producer;
+
+import com.flipkart.varadhi.common.TestExtensions;
+import com.flipkart.varadhi.core.OrgReadCache;
+import com.flipkart.varadhi.core.ResourceReadCache;
+import com.flipkart.varadhi.core.config.ProducerOptions;
+import com.flipkart.varadhi.entities.InternalQueueCategory;
+import com.flipkart.varadhi.entities.LifecycleStatus;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Org;
+import com.flipkart.varadhi.entities.OrgDetails;
+import com.flipkart.varadhi.entities.Project;
+import com.flipkart.varadhi.entities.Resource;
+import com.flipkart.varadhi.entities.ResourceType;
+import com.flipkart.varadhi.entities.SegmentedStorageTopic;
+import com.flipkart.varadhi.entities.SimpleMessage;
+import com.flipkart.varadhi.entities.StdHeaders;
+import com.flipkart.varadhi.entities.StorageTopic;
+import com.flipkart.varadhi.entities.TestStdHeaders;
+import com.flipkart.varadhi.entities.TopicCapacityPolicy;
+import com.flipkart.varadhi.entities.TopicState;
+import com.flipkart.varadhi.entities.VaradhiTopic;
+import com.flipkart.varadhi.produce.ProduceResult;
+import com.flipkart.varadhi.produce.ProducerService;
+import com.flipkart.varadhi.produce.ratelimit.ProduceRateLimiter;
+import com.flipkart.varadhi.produce.telemetry.ProducerMetrics;
+import com.flipkart.varadhi.produce.telemetry.ProducerMetricsImpl;
+import com.flipkart.varadhi.spi.mock.InMemoryOffset;
+import com.flipkart.varadhi.spi.mock.InMemoryStorageTopicFactory;
+import com.flipkart.varadhi.spi.services.Producer;
+import com.google.common.collect.ArrayListMultimap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
+import lombok.experimental.ExtensionMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JMH benchmark for the CPU spent by {@link ProducerService} per produced message, with the produce telemetry on and
+ * off. The producer completes right away, so the time measured is that of resolving the topic, its telemetry and
+ * rate limiting, and of recording the metrics.
+ * <p>
+ * Messages are produced round-robin over a few topics, so that the per topic state is looked up on every call as it
+ * is for the produce requests.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.NANOSECONDS)
+@ExtensionMethod ({TestExtensions.FutureExtensions.class})
+public class ProduceTelemetryBenchmarkTest {
+
+    private static final String REGION = "default";
+    private static final String PROJECT_NAME = "testProject";
+    private static final String ORG_NAME = "testOrg";
+    private static final int NUM_TOPICS = 10;
+
+    @Param ({"false", "true"})
+    private boolean telemetry;
+
+    private Vertx vertx;
+    private ProducerService producerService;
+    private String[] topicFQNs;
+    private Message message;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        if (!StdHeaders.isGlobalInstanceInitialized()) {
+            StdHeaders.init(TestStdHeaders.get());
+        }
+        vertx = Vertx.vertx();
+
+        Project project = Project.of(PROJECT_NAME, "", "testTeam", ORG_NAME);
+        ResourceReadCache<Resource.EntityResource<Project>> projectCache = ResourceReadCache.create(
+            ResourceType.PROJECT,
+            () -> List.of(Resource.of(project, ResourceType.PROJECT)),
+            vertx
+        ).blockingGet();
+        OrgReadCache orgCache = new OrgReadCache(
+            ResourceType.ORG,
+            () -> List.of(new OrgDetails(Org.of(ORG_NAME), null))
+        );
+        ResourceReadCache.preload(orgCache, vertx).blockingGet();
+
+        List<Resource.EntityResource<VaradhiTopic>> topics = createTopics(project);
+        ResourceReadCache<Resource.EntityResource<VaradhiTopic>> topicCache = ResourceReadCache.create(
+            ResourceType.TOPIC,
+            () -> topics,
+            vertx
+        ).blockingGet();
+        topicFQNs = topics.stream().map(t -> t.getEntity().getName()).toArray(String[]::new);
+
+        Function<String, ProducerMetrics> metricsProvider = ignored -> ProducerMetrics.NOOP;
+        if (telemetry) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            Map<String, ProducerMetrics> metrics = new ConcurrentHashMap<>();
+            metricsProvider = topicFQN -> metrics.computeIfAbsent(
+                topicFQN,
+                fqn -> new ProducerMetricsImpl(registry, fqn, REGION)
+            );
+        }
+
+        CompletableFuture<InMemoryOffset> offset = CompletableFuture.completedFuture(new InMemoryOffset(0, 0));
+        Producer<InMemoryOffset> producer = m -> offset;
+        producerService = new ProducerService(
+            REGION,
+            (storageTopic, capacity) -> producer,
+            orgCache,
+            projectCache,
+            topicCache,
+            metricsProvider,
+            ProducerOptions.defaultOptions(),
+            ProduceRateLimiter.disabled()
+        );
+
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        headers.put(StdHeaders.get().msgId(), "benchmark-msg");
+        headers.put(StdHeaders.get().produceRegion().value(), REGION);
+        message = new SimpleMessage(new byte[1024], headers);
+    }
+
+    private List<Resource.EntityResource<VaradhiTopic>> createTopics(Project project) {
+        InMemoryStorageTopicFactory topicFactory = new InMemoryStorageTopicFactory();
+        TopicCapacityPolicy policy = new TopicCapacityPolicy(100, 1000, 1, 2);
+        List<Resource.EntityResource<VaradhiTopic>> topics = new ArrayList<>();
+        for (int i = 0; i < NUM_TOPICS; i++) {
+            VaradhiTopic topic = VaradhiTopic.of(
+                project.getName(),
+                "topic" + (i + 1),
+                false,
+                policy,
+                LifecycleStatus.ActionCode.USER_ACTION
+            );
+            topic.markCreated();
+
+            StorageTopic storageTopic = topicFactory.getTopic(
+                i,
+                topic.getName(),
+                project,
+                policy,
+                InternalQueueCategory.MAIN
+            );
+            SegmentedStorageTopic segmentedTopic = SegmentedStorageTopic.of(storageTopic);
+            segmentedTopic.setTopicState(TopicState.Producing);
+            topic.addInternalTopic(REGION, segmentedTopic);
+
+            topics.add(Resource.of(topic, ResourceType.TOPIC));
+        }
+        return topics;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (vertx != null) {
+            vertx.close().blockingGet();
+        }
+    }
+
+    @Benchmark
+    public ProduceResult produce() {
+        String topicFQN = topicFQNs[next];
+        next = (next + 1) % topicFQNs.length;
+        return producerService.produceToTopic(message, topicFQN).join();
+    }
+}
@@ -5,10 +5,12 @@ import com.flipkart.varadhi.common.vertx.JsonSeqStream;
 import com.flipkart.varadhi.entities.*;
 import com.flipkart.varadhi.entities.web.ErrorResponse;
 import com.flipkart.varadhi.web.hierarchy.ResourceHierarchy;
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.auth.User;
@@ -59,6 +61,24 @@ public class Extensions {
         public static <T> T asPojo(RequestBody body, Class<T> clazz) {
             return JsonMapper.jsonDeserialize(body.asString(), clazz);
         }
+
+        /*
+        Returns the request body as a byte[] for use as message payload.
+        When the body buffer is backed by a heap array that holds exactly the body (see RequestBodyHandler's exact
+        sized mode), the backing array itself is returned instead of a copy. The returned array is shared with the
+        request body and hence must be treated as read-only.
+         */
+        public static byte[] asPayload(RequestBody body) {
+            Buffer buffer = body.buffer();
+            ByteBuf byteBuf = buffer.getByteBuf();
+            if (byteBuf.hasArray() && byteBuf.arrayOffset() == 0 && byteBuf.readerIndex() == 0) {
+                byte[] backing = byteBuf.array();
+                if (backing.length == byteBuf.readableBytes()) {
+                    return backing;
+                }
+            }
+            return buffer.getBytes();
+        }
     }
 
 
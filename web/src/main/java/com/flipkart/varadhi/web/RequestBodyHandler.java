@@ -1,23 +1,132 @@
 package com.flipkart.varadhi.web;
 
+import io.netty.buffer.Unpooled;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.ext.web.impl.RoutingContextInternal;
+
+import java.util.Arrays;
+
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_ENTITY_TOO_LARGE;
 
 public class RequestBodyHandler implements Handler<RoutingContext> {
+    // the body array starts at most this large and grows as the chunks arrive, so that a Content-Length which is never
+    // sent doesn't get allocated up front.
+    static final int INITIAL_BODY_SIZE = 64 * 1024;
+
     // To work around the Vertx Handler priority/weight issue, as Varadhi needs to control the
     // sequence of handlers for each API.
     // Check Vertx RouteState to see the handler priority/weight.
     // This just wraps the Vertx BodyHandler and sets the body limit.
     private final BodyHandler bodyHandler;
+    private final int maxPayloadSize;
+    private final boolean exactSizedBody;
 
     public RequestBodyHandler(int maxPayloadSize) {
+        this(maxPayloadSize, false);
+    }
+
+    /**
+     * @param exactSizedBody when true, requests carrying a Content-Length are read into a heap array of exactly that
+     *                       size, which grows up to it as the body arrives. The resulting body buffer is then backed
+     *                       by an array which can be handed over as the message payload without another copy (see
+     *                       {@link Extensions.RequestBodyExtension#asPayload}), so the payload and the request body
+     *                       share the array and neither is to be modified. Requests without a Content-Length
+     *                       (e.g. chunked) are always read by the Vertx BodyHandler.
+     */
+    public RequestBodyHandler(int maxPayloadSize, boolean exactSizedBody) {
         this.bodyHandler = BodyHandler.create(false);
         bodyHandler.setBodyLimit(maxPayloadSize);
+        this.maxPayloadSize = maxPayloadSize;
+        this.exactSizedBody = exactSizedBody;
     }
 
     @Override
     public void handle(RoutingContext ctx) {
-        bodyHandler.handle(ctx);
+        HttpServerRequest request = ctx.request();
+        long contentLength = exactSizedBody && !request.isEnded() && canSetBody(ctx) ? getContentLength(request) : -1;
+        if (contentLength < 0) {
+            bodyHandler.handle(ctx);
+            return;
+        }
+        if (contentLength > maxPayloadSize) {
+            ctx.fail(HTTP_ENTITY_TOO_LARGE);
+            return;
+        }
+        readExactSized(ctx, request, (int)contentLength);
+    }
+
+    private static long getContentLength(HttpServerRequest request) {
+        String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            // let the Vertx BodyHandler deal with malformed requests.
+            return -1;
+        }
+    }
+
+    private static void readExactSized(RoutingContext ctx, HttpServerRequest request, int contentLength) {
+        byte[][] body = {new byte[Math.min(contentLength, INITIAL_BODY_SIZE)]};
+        int[] received = new int[1];
+        boolean[] failed = new boolean[1];
+
+        request.handler(chunk -> {
+            if (failed[0]) {
+                return;
+            }
+            int length = chunk.length();
+            if (received[0] + length > contentLength) {
+                failed[0] = true;
+                ctx.fail(HTTP_BAD_REQUEST);
+                return;
+            }
+            if (received[0] + length > body[0].length) {
+                // doubling, up to the Content-Length, so the body ends up exactly sized.
+                int size = (int)Math.min(contentLength, Math.max(received[0] + length, 2L * body[0].length));
+                body[0] = Arrays.copyOf(body[0], size);
+            }
+            chunk.getBytes(0, length, body[0], received[0]);
+            received[0] += length;
+        });
+        request.exceptionHandler(t -> {
+            if (!failed[0]) {
+                failed[0] = true;
+                ctx.fail(t);
+            }
+        });
+        request.endHandler(v -> {
+            if (failed[0]) {
+                return;
+            }
+            if (received[0] != contentLength) {
+                ctx.fail(HTTP_BAD_REQUEST);
+                return;
+            }
+            setBody(ctx, Buffer.buffer(Unpooled.wrappedBuffer(body[0])));
+            ctx.next();
+        });
+        request.resume();
+    }
+
+    /*
+    Vertx has no public api to set the body of a request, its BodyHandler sets it through the internal
+    RoutingContextInternal. The use of it is limited to these two methods: contexts of other types are read by the
+    Vertx BodyHandler. ExactSizedBodyHandlerTest verifies the body is set this way with the Vertx version in use.
+     */
+    private static boolean canSetBody(RoutingContext ctx) {
+        return ctx instanceof RoutingContextInternal;
+    }
+
+    private static void setBody(RoutingContext ctx, Buffer body) {
+        ((RoutingContextInternal)ctx).setBody(body);
     }
 }
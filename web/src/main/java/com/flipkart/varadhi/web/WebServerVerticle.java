@@ -68,6 +68,7 @@ import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServer;
 import io.vertx.ext.web.Route;
@@ -78,6 +79,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -123,10 +125,10 @@ public class WebServerVerticle extends AbstractVerticle {
     private final List<Pattern> disableAPIPatterns;
     private final APIUsecases apiUsecases;
 
-    // Services initialized during startup
-    private final ServiceRegistry serviceRegistry = new ServiceRegistry();
+    // Services initialized during startup, shared by all instances deployed from the same supplier
+    private final SharedState shared;
+    private final ServiceRegistry serviceRegistry;
     private HttpServer httpServer;
-    private ClusterMembershipView clusterMembershipView;
 
     /**
      * Creates a new WebServerVerticle with the specified configuration and services.
@@ -143,6 +145,26 @@ public class WebServerVerticle extends AbstractVerticle {
         VaradhiClusterManager clusterManager,
         ResourceReadCacheRegistry cacheRegistry,
         APIUsecases apiUsecases
+    ) {
+        this(configuration, services, clusterManager, cacheRegistry, apiUsecases, new SharedState());
+    }
+
+    public WebServerVerticle(
+        WebConfiguration configuration,
+        CoreServices services,
+        VaradhiClusterManager clusterManager,
+        ResourceReadCacheRegistry cacheRegistry
+    ) {
+        this(configuration, services, clusterManager, cacheRegistry, APIUsecases.ALL);
+    }
+
+    private WebServerVerticle(
+        WebConfiguration configuration,
+        CoreServices services,
+        VaradhiClusterManager clusterManager,
+        ResourceReadCacheRegistry cacheRegistry,
+        APIUsecases apiUsecases,
+        SharedState shared
     ) {
         this.configuration = configuration;
         this.configResolver = services.getConfigResolver();
@@ -158,15 +180,34 @@ public class WebServerVerticle extends AbstractVerticle {
                                                .stream()
                                                .map(Pattern::compile)
                                                .collect(Collectors.toList());
+        this.shared = shared;
+        this.serviceRegistry = shared.serviceRegistry;
     }
 
-    public WebServerVerticle(
+    /**
+     * Creates a supplier of WebServerVerticle instances, for deploying the web server on more than one event loop.
+     * The instances share their services, the authorization provider, the produce rate limiter and the caches, so these
+     * are set up once by whichever instance starts first, which also performs the lean deployment validations. Each
+     * instance has its own router and http server; Vert.x balances the connections on the shared port across them.
+     * Request telemetry is kept per instance and is merged by the meter registry, which hands out the same meter for
+     * the same name and tags.
+     *
+     * @param configuration  the application configuration
+     * @param services       the core services
+     * @param clusterManager the cluster manager
+     * @param cacheRegistry  the resource read cache registry
+     * @param apiUsecases    the usecases to be supported by this server
+     * @return a supplier to deploy the verticle with, one instance per call
+     */
+    public static Supplier<Verticle> supplier(
         WebConfiguration configuration,
         CoreServices services,
         VaradhiClusterManager clusterManager,
-        ResourceReadCacheRegistry cacheRegistry
+        ResourceReadCacheRegistry cacheRegistry,
+        APIUsecases apiUsecases
     ) {
-        this(configuration, services, clusterManager, cacheRegistry, APIUsecases.ALL);
+        SharedState shared = new SharedState();
+        return () -> new WebServerVerticle(configuration, services, clusterManager, cacheRegistry, apiUsecases, shared);
     }
 
     /**
@@ -202,8 +243,14 @@ public class WebServerVerticle extends AbstractVerticle {
      */
     @Override
     public void start(Promise<Void> startPromise) {
+        shared.running.incrementAndGet();
         vertx.executeBlocking(() -> {
             log.info("Starting WebServer verticle");
+            // the authorization provider is set up once, as it may open its own metastore session.
+            serviceRegistry.registerIfAbsent(
+                AuthzConfigurator.class,
+                () -> new AuthzConfigurator(configuration, configResolver, meterRegistry, cacheRegistry)
+            );
             if (apiUsecases.hasAdmin()) {
                 setupEntityServicesForAdminApis();
                 performLeanDeployValidations();
@@ -217,6 +264,7 @@ public class WebServerVerticle extends AbstractVerticle {
             startPromise.complete();
         }).onFailure(e -> {
             log.error("Failed to start WebServer verticle", e);
+            releaseShared();
             startPromise.fail(e);
         });
     }
@@ -227,9 +275,7 @@ public class WebServerVerticle extends AbstractVerticle {
     @Override
     public void stop(Promise<Void> stopPromise) {
         log.info("Stopping HttpServer");
-        if (clusterMembershipView != null) {
-            clusterMembershipView.stop();
-        }
+        releaseShared();
         if (httpServer != null) {
             httpServer.close(stopPromise);
         } else {
@@ -237,6 +283,15 @@ public class WebServerVerticle extends AbstractVerticle {
         }
     }
 
+    /**
+     * Stops the cluster membership view once the last running instance goes away.
+     */
+    private void releaseShared() {
+        if (shared.running.decrementAndGet() == 0 && shared.clusterMembershipView != null) {
+            shared.clusterMembershipView.stop();
+        }
+    }
+
     /**
      * Initializes all entity services required by the web server.
      *
@@ -290,6 +345,10 @@ public class WebServerVerticle extends AbstractVerticle {
 
 
     private void setupEntityServicesForProduceApis() {
+        serviceRegistry.registerIfAbsent(ProducerService.class, this::createProducerService);
+    }
+
+    private ProducerService createProducerService() {
         String deployedRegion = verticleConfig.deployedRegion();
         ConcurrentHashMap<String, ProducerMetrics> producerMetricsByTopic = new ConcurrentHashMap<>();
         Function<String, ProducerMetrics> metricsProvider = topicFqn -> producerMetricsByTopic.computeIfAbsent(
@@ -299,18 +358,15 @@ public class WebServerVerticle extends AbstractVerticle {
         ProduceRateLimiter rateLimiter = buildProduceRateLimiter(metricsProvider, deployedRegion);
         cacheRegistry.getCache(ResourceType.TOPIC).addOnInvalidate(rateLimiter::removeTopic);
 
-        serviceRegistry.register(
-            ProducerService.class,
-            new ProducerService(
-                deployedRegion,
-                messagingStackProvider.getProducerFactory(),
-                cacheRegistry.getCache(ResourceType.ORG),
-                cacheRegistry.getCache(ResourceType.PROJECT),
-                cacheRegistry.getCache(ResourceType.TOPIC),
-                metricsProvider,
-                configuration.getProducerOptions(),
-                rateLimiter
-            )
+        return new ProducerService(
+            deployedRegion,
+            messagingStackProvider.getProducerFactory(),
+            cacheRegistry.getCache(ResourceType.ORG),
+            cacheRegistry.getCache(ResourceType.PROJECT),
+            cacheRegistry.getCache(ResourceType.TOPIC),
+            metricsProvider,
+            configuration.getProducerOptions(),
+            rateLimiter
         );
     }
 
@@ -322,8 +378,9 @@ public class WebServerVerticle extends AbstractVerticle {
         if (!options.isEnabled()) {
             return ProduceRateLimiter.disabled();
         }
-        clusterMembershipView = new ClusterMembershipView(clusterManager);
+        ClusterMembershipView clusterMembershipView = new ClusterMembershipView(clusterManager);
         clusterMembershipView.start();
+        shared.clusterMembershipView = clusterMembershipView;
         PodCountProvider podCount = PodCountProvider.withRole(clusterMembershipView, ComponentKind.Server, 1);
         EvenSplitPerPodTopicQuotaProvider quotaProvider = new EvenSplitPerPodTopicQuotaProvider(
             deployedRegion,
@@ -342,18 +399,22 @@ public class WebServerVerticle extends AbstractVerticle {
     }
 
     /**
-     * Performs validation checks based on the deployment configuration.
+     * Performs validation checks based on the deployment configuration. The validation creates the default entities
+     * when missing, so it is performed once, by whichever instance starts first.
      */
     private void performLeanDeployValidations() {
         if (verticleConfig.isLeanDeployment()) {
-            log.info("Performing lean deployment validations");
-            // Its sync execution for time being, can be changed to Async.
-            LeanDeploymentValidator validator = new LeanDeploymentValidator(
-                serviceRegistry.get(OrgService.class),
-                serviceRegistry.get(TeamService.class),
-                serviceRegistry.get(ProjectService.class)
-            );
-            validator.validate(configuration.getFeatureFlags());
+            serviceRegistry.registerIfAbsent(LeanDeploymentValidator.class, () -> {
+                log.info("Performing lean deployment validations");
+                // Its sync execution for time being, can be changed to Async.
+                LeanDeploymentValidator validator = new LeanDeploymentValidator(
+                    serviceRegistry.get(OrgService.class),
+                    serviceRegistry.get(TeamService.class),
+                    serviceRegistry.get(ProjectService.class)
+                );
+                validator.validate(configuration.getFeatureFlags());
+                return validator;
+            });
         }
     }
 
@@ -567,7 +628,8 @@ public class WebServerVerticle extends AbstractVerticle {
                 configuration.getMessageConfiguration(),
                 verticleConfig.deployedRegion(),
                 cacheRegistry.getCache(ResourceType.PROJECT),
-                topicLookup
+                topicLookup,
+                configuration.getRestOptions().getProduceBatchMsgCountMax()
             ).get()
         );
     }
@@ -577,7 +639,7 @@ public class WebServerVerticle extends AbstractVerticle {
      */
     private void setupRouteConfigurators(Map<RouteBehaviour, RouteConfigurator> routeConfigurators) {
         AuthnConfigurator authnConfigurator = new AuthnConfigurator(vertx, configuration, meterRegistry);
-        AuthzConfigurator authzConfigurator = new AuthzConfigurator(configuration, configResolver, meterRegistry);
+        AuthzConfigurator authzConfigurator = serviceRegistry.get(AuthzConfigurator.class);
         RequestTelemetryConfigurator requestTelemetryConfigurator = new RequestTelemetryConfigurator(
             new SpanProvider(tracer),
             meterRegistry,
@@ -586,7 +648,8 @@ public class WebServerVerticle extends AbstractVerticle {
 
         // payload size restriction is required for Produce APIs. But should be fine to set as default for all.
         RequestBodyHandler requestBodyHandler = new RequestBodyHandler(
-            configuration.getRestOptions().getPayloadSizeMax()
+            configuration.getRestOptions().getPayloadSizeMax(),
+            configuration.getRestOptions().isExactSizedBodyEnabled()
         );
 
         RequestBodyParsingConfigurator bodyParser = new RequestBodyParsingConfigurator();
@@ -647,12 +710,22 @@ public class WebServerVerticle extends AbstractVerticle {
         }
     }
 
+    /**
+     * State shared by the instances of the verticle created from one {@link #supplier}.
+     */
+    private static class SharedState {
+        private final ServiceRegistry serviceRegistry = new ServiceRegistry();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile ClusterMembershipView clusterMembershipView;
+    }
+
     /**
      * Service registry for managing service instances.
-     * Provides type-safe access to services.
+     * Provides type-safe access to services. Safe for use by verticle instances starting concurrently; a service is
+     * created only once.
      */
     private static class ServiceRegistry {
-        private final Map<Class<?>, Object> services = new HashMap<>();
+        private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
 
         /**
          * Registers a service instance with its class type.
@@ -661,14 +734,14 @@ public class WebServerVerticle extends AbstractVerticle {
          * @param clazz   the service class
          * @param service the service instance
          */
-        <T> void register(Class<T> clazz, T service) {
+        synchronized <T> void register(Class<T> clazz, T service) {
             if (services.containsKey(clazz)) {
                 throw new IllegalStateException("Service already registered: " + clazz.getName());
             }
             services.put(clazz, Objects.requireNonNull(service, "Service cannot be null"));
         }
 
-        <T> void registerIfAbsent(Class<T> clazz, Supplier<T> serviceSupplier) {
+        synchronized <T> void registerIfAbsent(Class<T> clazz, Supplier<T> serviceSupplier) {
             if (services.containsKey(clazz)) {
                 return;
             }
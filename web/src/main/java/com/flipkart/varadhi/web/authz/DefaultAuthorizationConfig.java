@@ -17,4 +17,10 @@ public class DefaultAuthorizationConfig {
     private MetaStoreOptions metaStoreOptions;
 
     private List<String> superUsers;
+
+    /**
+     * Max number of (subject, resource) authorization decisions kept in memory, when iam policies are served from the
+     * in-memory policy cache.
+     */
+    private long decisionCacheMaxSize = 100_000;
 }
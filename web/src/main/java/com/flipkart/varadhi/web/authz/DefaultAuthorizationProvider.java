@@ -3,6 +3,8 @@ package com.flipkart.varadhi.web.authz;
 import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.common.utils.ClassUtils;
 import com.flipkart.varadhi.common.utils.YamlLoader;
+import com.flipkart.varadhi.core.ResourceReadCache;
+import com.flipkart.varadhi.entities.Resource;
 import com.flipkart.varadhi.entities.ResourceType;
 import com.flipkart.varadhi.web.spi.authz.AuthorizationOptions;
 import com.flipkart.varadhi.web.spi.authz.AuthorizationProvider;
@@ -34,6 +36,7 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider, Auto
     private DefaultAuthorizationConfig configuration;
     private IamPolicyService iamPolicyService;
     private MetaStoreProvider metaStoreProvider;
+    private volatile IamPolicyDecisionCache decisionCache;
     private volatile boolean initialised = false;
 
     @Override
@@ -57,6 +60,25 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider, Auto
         return Future.succeededFuture(true);
     }
 
+    /**
+     * Serves iam policies from the given in-memory cache instead of reading them from the metastore on every
+     * authorization check. The cache is expected to be kept up to date by the metastore change events, and to be
+     * backed by the same metastore as the one configured for this provider.
+     *
+     * @param iamPolicyCache preloaded cache of iam policies, keyed by {@link IamPolicyService#getAuthResourceFQN}
+     */
+    public void useIamPolicyCache(ResourceReadCache<Resource.EntityResource<IamPolicyRecord>> iamPolicyCache) {
+        if (!initialised) {
+            throw new IllegalStateException("Default Authorization Provider is not initialised.");
+        }
+        this.decisionCache = new IamPolicyDecisionCache(
+            iamPolicyCache,
+            configuration.getRoleDefinitions(),
+            configuration.getDecisionCacheMaxSize()
+        );
+        log.info("Using in-memory iam policy cache for authorization.");
+    }
+
     protected IamPolicyService getAuthZService() {
         if (this.initialised) {
             return this.iamPolicyService;
@@ -144,7 +166,7 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider, Auto
         }
 
         // trim leading and trailing slashes
-        resourcePath = resourcePath.replaceAll("^/+", "").replaceAll("/+$", "");
+        resourcePath = StringUtils.strip(resourcePath, "/");
 
         String[] segments = resourcePath.split("/");
 
@@ -174,6 +196,13 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider, Auto
      * @return {@code boolean} return whether the user is authorized or not
      */
     private boolean isAuthorizedInternal(String subject, ResourceAction action, ResourceContext resourceContext) {
+        IamPolicyDecisionCache cache = this.decisionCache;
+        if (cache != null) {
+            return cache.getAllowedActions(
+                subject,
+                IamPolicyService.getAuthResourceFQN(resourceContext.resourceType(), resourceContext.resourceId())
+            ).contains(action);
+        }
         return getRolesForSubject(subject, resourceContext).stream()
                                                            .anyMatch(
                                                                role -> doesActionBelongToRole(subject, role, action)
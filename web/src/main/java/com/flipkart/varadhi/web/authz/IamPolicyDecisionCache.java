@@ -0,0 +1,82 @@
+package com.flipkart.varadhi.web.authz;
+
+import com.flipkart.varadhi.core.ResourceReadCache;
+import com.flipkart.varadhi.entities.Resource;
+import com.flipkart.varadhi.entities.auth.IamPolicyRecord;
+import com.flipkart.varadhi.entities.auth.ResourceAction;
+import com.flipkart.varadhi.entities.auth.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory evaluation of iam policies for the {@link DefaultAuthorizationProvider}.
+ * <p>
+ * Policies are read from a {@link ResourceReadCache}, which is preloaded and kept up to date by the metastore change
+ * events. On top of it, the actions allowed for a (subject, policy) pair are precomputed from the role definitions
+ * and kept in a bounded cache. A cached decision remembers the policy instance it was computed from and is recomputed
+ * when the read cache has a different instance for the policy i.e. after the policy was updated or deleted. Hence, no
+ * explicit invalidation is needed and a lookup is a couple of hash map reads.
+ */
+class IamPolicyDecisionCache {
+    private final ResourceReadCache<Resource.EntityResource<IamPolicyRecord>> policyCache;
+    private final Map<String, Set<ResourceAction>> rolePermissions;
+    private final Cache<DecisionKey, Decision> decisions;
+
+    IamPolicyDecisionCache(
+        ResourceReadCache<Resource.EntityResource<IamPolicyRecord>> policyCache,
+        Map<String, Role> roleDefinitions,
+        long maxDecisions
+    ) {
+        this.policyCache = policyCache;
+        this.rolePermissions = new HashMap<>();
+        roleDefinitions.forEach((roleId, role) -> rolePermissions.put(roleId, toEnumSet(role.getPermissions())));
+        this.decisions = Caffeine.newBuilder().maximumSize(maxDecisions).build();
+    }
+
+    /**
+     * @param subject         user identifier
+     * @param authResourceFQN name of the iam policy, see {@link IamPolicyService#getAuthResourceFQN}
+     *
+     * @return actions allowed to the subject by the roles bound to it in the policy. Empty if there is no policy.
+     */
+    Set<ResourceAction> getAllowedActions(String subject, String authResourceFQN) {
+        IamPolicyRecord policy = policyCache.get(authResourceFQN).map(Resource.EntityResource::getEntity).orElse(null);
+        DecisionKey key = new DecisionKey(subject, authResourceFQN);
+        Decision decision = decisions.getIfPresent(key);
+        if (decision == null || decision.policy() != policy) {
+            decision = new Decision(policy, computeAllowedActions(subject, policy));
+            decisions.put(key, decision);
+        }
+        return decision.allowedActions();
+    }
+
+    private Set<ResourceAction> computeAllowedActions(String subject, IamPolicyRecord policy) {
+        if (policy == null) {
+            return Set.of();
+        }
+        Set<String> roles = policy.getRoleBindings().getOrDefault(subject, Set.of());
+        EnumSet<ResourceAction> allowed = EnumSet.noneOf(ResourceAction.class);
+        for (String role : roles) {
+            allowed.addAll(rolePermissions.getOrDefault(role, Set.of()));
+        }
+        return Collections.unmodifiableSet(allowed);
+    }
+
+    private static Set<ResourceAction> toEnumSet(Set<ResourceAction> permissions) {
+        return permissions == null || permissions.isEmpty() ?
+            Set.of() :
+            Collections.unmodifiableSet(EnumSet.copyOf(permissions));
+    }
+
+    private record DecisionKey(String subject, String authResourceFQN) {
+    }
+
+    private record Decision(IamPolicyRecord policy, Set<ResourceAction> allowedActions) {
+    }
+}
@@ -10,6 +10,14 @@ public class RestOptions {
     private TopicCapacityPolicy defaultTopicCapacity = Constants.DEFAULT_TOPIC_CAPACITY;
     private int payloadSizeMax = Constants.RestDefaults.PAYLOAD_SIZE_MAX;
 
+    /**
+     * Read request bodies with a known Content-Length into an exactly sized array, so that produce can hand the
+     * body over to the messaging stack without copying it.
+     */
+    private boolean exactSizedBodyEnabled = true;
+
+    private int produceBatchMsgCountMax = Constants.RestDefaults.PRODUCE_BATCH_MSG_COUNT_MAX;
+
     private int unsidelineApiMsgCountMax = 1000;
     private int unsidelineApiGroupCountMax = 100;
     private int unsidelineApiMsgCountDefault = 100;
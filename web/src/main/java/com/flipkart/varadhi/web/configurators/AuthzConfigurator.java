@@ -1,7 +1,10 @@
 package com.flipkart.varadhi.web.configurators;
 
+import com.flipkart.varadhi.core.ResourceReadCacheRegistry;
+import com.flipkart.varadhi.entities.ResourceType;
 import com.flipkart.varadhi.spi.ConfigFileResolver;
 import com.flipkart.varadhi.web.authz.AuthorizationHandlerBuilder;
+import com.flipkart.varadhi.web.authz.DefaultAuthorizationProvider;
 import com.flipkart.varadhi.web.config.WebConfiguration;
 import com.flipkart.varadhi.web.spi.authz.AuthorizationOptions;
 import com.flipkart.varadhi.web.spi.authz.AuthorizationProvider;
@@ -15,8 +18,24 @@ import org.apache.commons.lang3.StringUtils;
 public class AuthzConfigurator implements RouteConfigurator {
     private final AuthorizationHandlerBuilder authorizationHandlerBuilder;
 
+    private final ResourceReadCacheRegistry cacheRegistry;
+
     public AuthzConfigurator(WebConfiguration configuration, ConfigFileResolver resolver, MeterRegistry meterRegistry)
         throws InvalidConfigException {
+        this(configuration, resolver, meterRegistry, null);
+    }
+
+    /**
+     * @param cacheRegistry when it has an {@link ResourceType#IAM_POLICY} cache, the
+     *                      {@link DefaultAuthorizationProvider} evaluates policies from it instead of the metastore.
+     */
+    public AuthzConfigurator(
+        WebConfiguration configuration,
+        ConfigFileResolver resolver,
+        MeterRegistry meterRegistry,
+        ResourceReadCacheRegistry cacheRegistry
+    ) throws InvalidConfigException {
+        this.cacheRegistry = cacheRegistry;
         if (configuration.getAuthorizationOptions().isEnabled()) {
             authorizationHandlerBuilder = createAuthorizationHandler(configuration, resolver, meterRegistry);
         } else {
@@ -82,6 +101,10 @@ public class AuthzConfigurator implements RouteConfigurator {
         try {
             AuthorizationProvider provider = clazz.getDeclaredConstructor().newInstance();
             provider.init(resolver, options, meterRegistry);
+            if (provider instanceof DefaultAuthorizationProvider defaultProvider && cacheRegistry != null
+                && cacheRegistry.getRegisteredResourceTypes().contains(ResourceType.IAM_POLICY)) {
+                defaultProvider.useIamPolicyCache(cacheRegistry.getCache(ResourceType.IAM_POLICY));
+            }
             return provider;
         } catch (Exception e) {
             throw new InvalidConfigException(e);
@@ -4,6 +4,7 @@ import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import com.flipkart.varadhi.common.Constants.PathParams;
 import com.flipkart.varadhi.core.SpanProvider;
@@ -40,21 +41,40 @@ public class MsgProduceRequestTelemetryConfigurator implements RouteConfigurator
     private final MeterRegistry meterRegistry;
     private final MetricsOptions options;
 
+    private static final AttributeKey<String> TOPIC_FQN = AttributeKey.stringKey("topicFQN");
+
     /*
-        Per topic metric.
+        Per api, per project, per topic telemetry. Keyed by the path params as they are, so that resolving the
+        telemetry of a request builds no string.
      */
-    private final Map<String, ApiMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Map<String, TopicTelemetry>>> telemetry = new ConcurrentHashMap<>();
 
     @Override
     public void configure(Route route, RouteDefinition routeDef) {
+        String apiName = "server.request." + routeDef.getName();
+        TelemetryType telemetryType = routeDef.getTelemetryType();
+        Map<String, Map<String, TopicTelemetry>> apiTelemetry = apiTelemetry(apiName);
         route.handler(ctx -> {
-            addRequestSpanAndLog(ctx, "server.request." + routeDef.getName(), routeDef.getTelemetryType());
+            addRequestSpanAndLog(ctx, apiName, telemetryType, apiTelemetry);
             ctx.next();
         });
     }
 
     public void addRequestSpanAndLog(RoutingContext ctx, String apiName, TelemetryType telemetryType) {
-        long start = System.currentTimeMillis();
+        addRequestSpanAndLog(ctx, apiName, telemetryType, apiTelemetry(apiName));
+    }
+
+    private Map<String, Map<String, TopicTelemetry>> apiTelemetry(String apiName) {
+        return telemetry.computeIfAbsent(apiName, key -> new ConcurrentHashMap<>());
+    }
+
+    private void addRequestSpanAndLog(
+        RoutingContext ctx,
+        String apiName,
+        TelemetryType telemetryType,
+        Map<String, Map<String, TopicTelemetry>> apiTelemetry
+    ) {
+        long startNanos = System.nanoTime();
         String project = ctx.request().getParam(PathParams.PATH_PARAM_PROJECT);
         String topic = ctx.request().getParam(PathParams.PATH_PARAM_TOPIC);
 
@@ -62,37 +82,62 @@ public class MsgProduceRequestTelemetryConfigurator implements RouteConfigurator
             throw new BadRequestException("Missing required parameters: project and topic");
         }
 
-        String fqn = VaradhiTopic.fqn(project, topic);
-        Span span = telemetryType.traces() ? addRequestSpan(apiName, fqn) : null;
+        TopicTelemetry topicTelemetry = topicTelemetry(apiTelemetry, apiName, project, topic);
+        Span span = telemetryType.traces() ? addRequestSpan(apiName, topicTelemetry) : null;
+        boolean logs = telemetryType.logs() && log.isInfoEnabled();
+        if (span == null && !logs && !telemetryType.metrics()) {
+            return;
+        }
 
         ctx.addEndHandler(ar -> {
             int responseCode = ctx.response().getStatusCode();
-            long latencyMs = System.currentTimeMillis() - start;
+            long latencyNanos = System.nanoTime() - startNanos;
             if (telemetryType.metrics()) {
-                captureMetrics(apiName, fqn, latencyMs, responseCode);
+                topicTelemetry.capture(latencyNanos, responseCode);
             }
 
-            if (span != null || telemetryType.logs()) {
+            if (span != null || logs) {
                 AttributesBuilder attributesBuilder = ctx.getRequestAttributes();
                 attributesBuilder.put("user_id", ctx.getIdentityOrDefault());
 
                 // TODO: add the error details if failed in the attributes.
 
                 Attributes attributes = attributesBuilder.build();
+                long latencyMs = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
                 if (span != null) {
                     closeRequestSpan(span, responseCode, latencyMs, attributes);
                 }
-                if (telemetryType.logs()) {
+                if (logs) {
                     logRequestInfo(apiName, responseCode, latencyMs, attributes);
                 }
             }
         });
     }
 
-    private Span addRequestSpan(String apiName, String topicFQN) {
+    private TopicTelemetry topicTelemetry(
+        Map<String, Map<String, TopicTelemetry>> apiTelemetry,
+        String apiName,
+        String project,
+        String topic
+    ) {
+        Map<String, TopicTelemetry> projectTelemetry = apiTelemetry.get(project);
+        if (projectTelemetry == null) {
+            projectTelemetry = apiTelemetry.computeIfAbsent(project, key -> new ConcurrentHashMap<>());
+        }
+        TopicTelemetry topicTelemetry = projectTelemetry.get(topic);
+        if (topicTelemetry == null) {
+            topicTelemetry = projectTelemetry.computeIfAbsent(
+                topic,
+                key -> new TopicTelemetry(apiName, VaradhiTopic.fqn(project, topic))
+            );
+        }
+        return topicTelemetry;
+    }
+
+    private Span addRequestSpan(String apiName, TopicTelemetry topicTelemetry) {
         return spanProvider.newSpan(apiName)
                            .setSpanKind(SpanKind.SERVER)
-                           .setAttribute("topicFQN", topicFQN)
+                           .setAllAttributes(topicTelemetry.spanAttributes)
                            .startSpan();
     }
 
@@ -103,12 +148,34 @@ public class MsgProduceRequestTelemetryConfigurator implements RouteConfigurator
         span.end();
     }
 
-    private void captureMetrics(String apiName, String topicFQN, long latencyMs, int responseCode) {
-        ApiMetrics topicMetrics = metrics.get(topicFQN);
-        if (topicMetrics == null) {
-            topicMetrics = metrics.computeIfAbsent(
-                topicFQN,
-                key -> new ApiMetrics(
+    /**
+     * Telemetry of an api for a topic, with the attributes of its spans built and its meters registered once.
+     */
+    private final class TopicTelemetry {
+        private final String apiName;
+        private final String topicFQN;
+        private final Attributes spanAttributes;
+        private final Function<Integer, Counter> responseCounter;
+        /**
+         * Registered on the first request with metrics enabled.
+         */
+        private volatile ApiMetrics metrics;
+
+        TopicTelemetry(String apiName, String topicFQN) {
+            this.apiName = apiName;
+            this.topicFQN = topicFQN;
+            this.spanAttributes = Attributes.of(TOPIC_FQN, topicFQN);
+            this.responseCounter = r -> Counter.builder(apiName + ".response.status_code")
+                                               .tag("topic", topicFQN)
+                                               .tag("status_code", r / 100 + "xx")
+                                               .register(meterRegistry);
+        }
+
+        void capture(long latencyNanos, int responseCode) {
+            ApiMetrics topicMetrics = metrics;
+            if (topicMetrics == null) {
+                // racing registrations get the same meter from the registry.
+                topicMetrics = new ApiMetrics(
                     () -> Timer.builder(apiName + ".request.latency")
                                .tag("topic", topicFQN)
                                .publishPercentiles(options.getLatencyPercentiles())
@@ -116,27 +183,22 @@ public class MsgProduceRequestTelemetryConfigurator implements RouteConfigurator
                                .distributionStatisticBufferLength(1024)
                                .distributionStatisticExpiry(Duration.ofMinutes(1))
                                .register(meterRegistry)
-                )
-            );
-        }
+                );
+                metrics = topicMetrics;
+            }
 
-        topicMetrics.getApiLatencyTimer().record(latencyMs, TimeUnit.MILLISECONDS);
+            topicMetrics.getApiLatencyTimer().record(latencyNanos, TimeUnit.NANOSECONDS);
 
-        // TODO: careful with the -1 response code.
-        topicMetrics.getResponseCounter(
-            responseCode,
-            (r) -> Counter.builder(apiName + ".response.status_code")
-                          .tag("topic", topicFQN)
-                          .tag("status_code", r / 100 + "xx")
-                          .register(meterRegistry)
-        ).increment();
+            // TODO: careful with the -1 response code.
+            topicMetrics.getResponseCounter(responseCode, responseCounter).increment();
+        }
     }
 
     private void logRequestInfo(String apiName, int responseCode, long latencyMs, Attributes requestTags) {
-        StringBuilder sb = new StringBuilder(apiName);
-        sb.append(" status_code=%d".formatted(responseCode));
-        sb.append(" latency=%dms".formatted(latencyMs));
-        requestTags.forEach((k, v) -> sb.append(" ").append(k.getKey()).append("=").append(v));
+        StringBuilder sb = new StringBuilder(128).append(apiName);
+        sb.append(" status_code=").append(responseCode);
+        sb.append(" latency=").append(latencyMs).append("ms");
+        requestTags.forEach((k, v) -> sb.append(' ').append(k.getKey()).append('=').append(v));
         log.info(sb.toString());
     }
 
@@ -345,6 +345,7 @@ public class SubscriptionHandlers implements RouteProvider {
         validateProjectConsistency(ctx.pathParam(PATH_PARAM_PROJECT), subscription.getProject());
         validateProperties(subscription.getProperties(), ignoreConstraints);
         validateRetryPolicy(subscription.getRetryPolicy());
+        validateConsumptionPolicy(subscription.getConsumptionPolicy(), subscription.getEndpoint().orElse(null));
 
         return subscription;
     }
@@ -374,6 +375,33 @@ public class SubscriptionHandlers implements RouteProvider {
         }
     }
 
+    /**
+     * Validates the delivery batch policy, if any, against the consumption policy and the endpoint.
+     *
+     * @param consumptionPolicy the consumption policy to validate
+     * @param endpoint          the endpoint the batches are delivered to
+     */
+    private void validateConsumptionPolicy(ConsumptionPolicy consumptionPolicy, Endpoint endpoint) {
+        DeliveryBatchPolicy batchPolicy = consumptionPolicy.getDeliveryBatchPolicy();
+        if (batchPolicy == null) {
+            return;
+        }
+        int maxInFlight = consumptionPolicy.getMaxInFlightMessages();
+        if (batchPolicy.getMaxBatchSize() < 1 || batchPolicy.getMaxBatchSize() > maxInFlight) {
+            throw new IllegalArgumentException(
+                String.format("maxBatchSize must be between 1 and maxInFlightMessages (%d).", maxInFlight)
+            );
+        }
+        if (batchPolicy.getMaxBatchDelayMs() < 0) {
+            throw new IllegalArgumentException("maxBatchDelayMs must not be negative.");
+        }
+        if (!DeliveryBatchPolicy.isSupportedBy(endpoint)) {
+            throw new IllegalArgumentException(
+                "Batch delivery needs an http endpoint with a POST, PUT or PATCH method."
+            );
+        }
+    }
+
     /**
      * Validates the consistency of the project name between the URL and the request body.
      *
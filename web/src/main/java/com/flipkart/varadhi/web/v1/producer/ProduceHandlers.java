@@ -3,11 +3,13 @@ package com.flipkart.varadhi.web.v1.producer;
 import com.flipkart.varadhi.common.Constants;
 import com.flipkart.varadhi.common.Constants.HttpCodes;
 import com.flipkart.varadhi.common.Constants.PathParams;
+import com.flipkart.varadhi.common.vertx.JsonSeqReader;
 import com.flipkart.varadhi.core.ResourceReadCache;
-import com.flipkart.varadhi.entities.SimpleMessage;
 import com.flipkart.varadhi.core.config.MessageConfiguration;
 import com.flipkart.varadhi.entities.*;
 import com.flipkart.varadhi.entities.auth.ResourceAction;
+import com.flipkart.varadhi.entities.web.ProduceBatchRecord;
+import com.flipkart.varadhi.entities.web.ProduceBatchResponse;
 import com.flipkart.varadhi.produce.ProduceResult;
 import com.flipkart.varadhi.produce.ProducerService;
 import com.flipkart.varadhi.web.Extensions.RequestBodyExtension;
@@ -18,13 +20,13 @@ import com.flipkart.varadhi.web.hierarchy.ResourceHierarchy;
 import com.flipkart.varadhi.web.routes.RouteDefinition;
 import com.flipkart.varadhi.web.routes.RouteProvider;
 import com.flipkart.varadhi.web.routes.SubRoutes;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import io.vertx.core.MultiMap;
 import io.vertx.ext.web.RoutingContext;
 import lombok.experimental.ExtensionMethod;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -41,6 +43,7 @@ import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
  * <p>The handler supports:
  * <ul>
  *   <li>Message production to topics with metrics tracking</li>
+ *   <li>Batch message production, many messages in a single application/json-seq request</li>
  *   <li>Header validation and compliance checking</li>
  *   <li>Authorization and access control</li>
  *   <li>Error handling and status code mapping</li>
@@ -50,10 +53,16 @@ import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 @ExtensionMethod ({RequestBodyExtension.class, RoutingContextExtension.class})
 public class ProduceHandlers implements RouteProvider {
     private static final String API_NAME = "TOPIC";
+    /**
+     * Headers added to every message on top of the ones in the request, see {@link #withProduceHeaders}.
+     */
+    private static final int PRODUCE_HEADER_COUNT = 3;
     private final ProducerService producerService;
     private final MessageConfiguration msgConfig;
+    private final HeaderNormalizer headerNormalizer;
     private final String produceRegion;
     private final ResourceReadCache<Resource.EntityResource<Project>> projectCache;
+    private final int produceBatchMsgCountMax;
     /**
      * Resolves whether the topic FQN is queue-backed for header validation. Built once in the constructor from
      * {@code topicLookup} (e.g. {@code topicService::getTopic}) plus
@@ -68,11 +77,31 @@ public class ProduceHandlers implements RouteProvider {
         String produceRegion,
         ResourceReadCache<Resource.EntityResource<Project>> projectCache,
         Function<String, Optional<VaradhiTopic>> topicLookup
+    ) {
+        this(
+            producerService,
+            msgConfig,
+            produceRegion,
+            projectCache,
+            topicLookup,
+            Constants.RestDefaults.PRODUCE_BATCH_MSG_COUNT_MAX
+        );
+    }
+
+    public ProduceHandlers(
+        ProducerService producerService,
+        MessageConfiguration msgConfig,
+        String produceRegion,
+        ResourceReadCache<Resource.EntityResource<Project>> projectCache,
+        Function<String, Optional<VaradhiTopic>> topicLookup,
+        int produceBatchMsgCountMax
     ) {
         this.producerService = producerService;
         this.msgConfig = msgConfig;
+        this.headerNormalizer = HeaderNormalizer.of(msgConfig.getStdHeaders(), msgConfig.isFilterNonCompliantHeaders());
         this.produceRegion = produceRegion;
         this.projectCache = projectCache;
+        this.produceBatchMsgCountMax = produceBatchMsgCountMax;
         this.isQueue = fqn -> topicLookup == null || topicLookup.apply(fqn)
                                                                 .map(
                                                                     topic -> topic.isCategory(
@@ -84,7 +113,7 @@ public class ProduceHandlers implements RouteProvider {
 
     /**
      * Returns the list of route definitions for message production endpoints.
-     * Defines a POST route for producing messages to topics.
+     * Defines POST routes for producing a single message and a batch of messages to topics.
      *
      * @return List of RouteDefinition objects defining the produce endpoints
      */
@@ -98,7 +127,13 @@ public class ProduceHandlers implements RouteProvider {
                                .nonBlocking()
                                .metricsEnabled()
                                .authorize(ResourceAction.TOPIC_PRODUCE)
-                               .build(this::getHierarchies, this::produce)
+                               .build(this::getHierarchies, this::produce),
+                RouteDefinition.post(Constants.MethodNames.PRODUCE_BATCH, API_NAME, "/topics/:topic/produce/batch")
+                               .hasBody()
+                               .nonBlocking()
+                               .metricsEnabled()
+                               .authorize(ResourceAction.TOPIC_PRODUCE)
+                               .build(this::getHierarchies, this::produceBatch)
             )
         ).get();
     }
@@ -139,11 +174,9 @@ public class ProduceHandlers implements RouteProvider {
         String topicName = ctx.pathParam(PathParams.PATH_PARAM_TOPIC);
         String topicFQN = VaradhiTopic.fqn(projectName, topicName);
 
-        // FIXME: Optimize memory usage by avoiding buffer copy
-        // Current implementation: Uses getBytes() which creates a copy of the entire buffer
-        // Potential solution: Use getByteBuf().array() to access the backing array directly,
-        // but need to implement proper bounds handling for partial buffer reads
-        byte[] payload = ctx.body().buffer().getBytes();
+        // Avoids copying the body when it is backed by an exactly sized array. The payload array is shared with the
+        // request body, so it must not be modified down the line.
+        byte[] payload = ctx.body().asPayload();
         Message messageToProduce = buildMessageToProduce(
             payload,
             ctx.request().headers(),
@@ -173,6 +206,67 @@ public class ProduceHandlers implements RouteProvider {
         }));
     }
 
+    /**
+     * Handles batch message production requests to a topic.
+     * <p>
+     * The body is application/json-seq with one {@link ProduceBatchRecord} per message. The request headers are
+     * common to all the messages and are filtered once per batch, while record headers are message specific and
+     * override the request headers with the same name. The whole batch is rejected if any message fails validation.
+     * Otherwise, the response carries a status per message, in the same order as the records in the request.
+     *
+     * @param ctx The routing context containing the request and response information
+     */
+    public void produceBatch(RoutingContext ctx) {
+        String projectName = ctx.pathParam(PathParams.PATH_PARAM_PROJECT);
+        String topicName = ctx.pathParam(PathParams.PATH_PARAM_TOPIC);
+        String topicFQN = VaradhiTopic.fqn(projectName, topicName);
+
+        List<ProduceBatchRecord> records = JsonSeqReader.readAll(
+            ctx.body().asPayload(),
+            ProduceBatchRecord.class,
+            produceBatchMsgCountMax
+        );
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("No messages found in the batch.");
+        }
+
+        boolean isQueueTopic = this.isQueue.test(topicFQN);
+        HeadersBuilder commonHeaders = compliantHeaders(ctx.request().headers());
+        String producerIdentity = ctx.getIdentityOrDefault();
+        List<Message> messages = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            messages.add(buildBatchMessageToProduce(i, records.get(i), commonHeaders, producerIdentity, isQueueTopic));
+        }
+
+        producerService.produceBatchToTopic(messages, topicFQN)
+                       .whenComplete((results, failure) -> ctx.vertx().runOnContext((Void) -> {
+                           if (results != null) {
+                               ctx.endRequestWithResponse(
+                                   new ProduceBatchResponse(results.stream().map(this::toMessageStatus).toList())
+                               );
+                           } else {
+                               log.error(
+                                   "produceToTopic({} messages, {}) failed unexpectedly.",
+                                   messages.size(),
+                                   topicFQN,
+                                   failure
+                               );
+                               ctx.fail(failure);
+                           }
+                       }));
+    }
+
+    private ProduceBatchResponse.MessageStatus toMessageStatus(ProduceResult result) {
+        if (result.isSuccess()) {
+            return ProduceBatchResponse.MessageStatus.success(result.getMessageId());
+        }
+        return ProduceBatchResponse.MessageStatus.failure(
+            result.getMessageId(),
+            result.getProduceStatus(),
+            result.getFailureReason()
+        );
+    }
+
     /**
      * Maps produce status to appropriate HTTP status codes.
      *
@@ -202,13 +296,45 @@ public class ProduceHandlers implements RouteProvider {
      */
 
     Message buildMessageToProduce(byte[] payload, MultiMap headers, String producerIdentity, boolean isQueue) {
-        Multimap<String, String> compliantHeaders = filterCompliantHeaders(headers);
-        Message message = new SimpleMessage(payload, compliantHeaders);
+        Message message = compliantHeaders(headers).toMessage(payload);
         MessageRequestValidator.ensureHeaderSemanticsAndSize(msgConfig, message, isQueue);
-        compliantHeaders.put(StdHeaders.get().produceRegion().value(), produceRegion);
-        compliantHeaders.put(StdHeaders.get().producerIdentity().value(), producerIdentity);
-        compliantHeaders.put(StdHeaders.get().produceTimestamp().value(), Long.toString(System.currentTimeMillis()));
-        return message;
+        return withProduceHeaders(message, producerIdentity);
+    }
+
+    /**
+     * Builds a message of a batch from its record and the headers common to the batch.
+     *
+     * @param index         index of the record in the batch, used in validation errors
+     * @param commonHeaders compliant headers of the batch request, not modified
+     */
+    Message buildBatchMessageToProduce(
+        int index,
+        ProduceBatchRecord record,
+        HeadersBuilder commonHeaders,
+        String producerIdentity,
+        boolean isQueue
+    ) {
+        HeadersBuilder headers = commonHeaders.copy();
+        if (record.getHeaders() != null) {
+            record.getHeaders().forEach(headers::replace);
+        }
+        byte[] payload = record.getPayload() == null ? new byte[0] : record.getPayload();
+        Message message = headers.toMessage(payload);
+        try {
+            MessageRequestValidator.ensureHeaderSemanticsAndSize(msgConfig, message, isQueue);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid message at index %d: %s", index, e.getMessage()));
+        }
+        return withProduceHeaders(message, producerIdentity);
+    }
+
+    private Message withProduceHeaders(Message message, String producerIdentity) {
+        return message.withHeader(StdHeaders.get().produceRegion().value(), produceRegion)
+                      .withHeader(StdHeaders.get().producerIdentity().value(), producerIdentity)
+                      .withHeader(
+                          StdHeaders.get().produceTimestamp().value(),
+                          Long.toString(System.currentTimeMillis())
+                      );
     }
 
     /**
@@ -221,17 +347,17 @@ public class ProduceHandlers implements RouteProvider {
      * @return Multimap with headers converted to uppercase and non-compliant headers filtered
      */
     public Multimap<String, String> filterCompliantHeaders(MultiMap headers) {
-        Multimap<String, String> copy = ArrayListMultimap.create();
-
-        boolean filterNonCompliant = msgConfig.isFilterNonCompliantHeaders();
-        List<String> allowedPrefixes = msgConfig.getStdHeaders().allowedPrefix();
+        return compliantHeaders(headers).headers();
+    }
 
+    /**
+     * Normalizes and filters the headers in a single pass, keeping track of their size as it goes.
+     */
+    private HeadersBuilder compliantHeaders(MultiMap headers) {
+        HeadersBuilder compliant = headerNormalizer.newHeaders(headers.size() + PRODUCE_HEADER_COUNT);
         for (Map.Entry<String, String> entry : headers) {
-            String key = entry.getKey().toUpperCase();
-            if (!filterNonCompliant || allowedPrefixes.stream().anyMatch(key::startsWith)) {
-                copy.put(key, entry.getValue());
-            }
+            compliant.add(entry.getKey(), entry.getValue());
         }
-        return copy;
+        return compliant;
     }
 }
@@ -0,0 +1,128 @@
+package com.flipkart.varadhi.web;
+
+import com.flipkart.varadhi.common.utils.YamlLoader;
+import com.flipkart.varadhi.core.CoreServices;
+import com.flipkart.varadhi.core.ResourceReadCacheRegistry;
+import com.flipkart.varadhi.core.cluster.MessageExchange;
+import com.flipkart.varadhi.core.cluster.VaradhiClusterManager;
+import com.flipkart.varadhi.entities.auth.ResourceAction;
+import com.flipkart.varadhi.entities.auth.UserContext;
+import com.flipkart.varadhi.spi.ConfigFileResolver;
+import com.flipkart.varadhi.spi.db.MetaStore;
+import com.flipkart.varadhi.spi.db.MetaStoreProvider;
+import com.flipkart.varadhi.spi.db.OrgStore;
+import com.flipkart.varadhi.spi.mock.InMemoryMetaStore;
+import com.flipkart.varadhi.spi.services.MessagingStackProvider;
+import com.flipkart.varadhi.web.config.WebConfiguration;
+import com.flipkart.varadhi.web.spi.authz.AuthorizationOptions;
+import com.flipkart.varadhi.web.spi.authz.AuthorizationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith (VertxExtension.class)
+class WebServerVerticleTest {
+
+    private static final int INSTANCES = 3;
+    private static final AtomicInteger AUTHZ_PROVIDER_INITS = new AtomicInteger();
+
+    private InMemoryMetaStore inMemoryMetaStore;
+    private OrgStore orgStore;
+    private CoreServices services;
+    private VaradhiClusterManager clusterManager;
+
+    @BeforeEach
+    void setUp(Vertx vertx) {
+        AUTHZ_PROVIDER_INITS.set(0);
+        inMemoryMetaStore = new InMemoryMetaStore();
+        orgStore = spy(inMemoryMetaStore.orgs());
+        MetaStore metaStore = spy(inMemoryMetaStore);
+        doReturn(orgStore).when(metaStore).orgs();
+        MetaStoreProvider metaStoreProvider = mock(MetaStoreProvider.class);
+        doReturn(metaStore).when(metaStoreProvider).getMetaStore();
+
+        services = mock(CoreServices.class);
+        doReturn((ConfigFileResolver)file -> file).when(services).getConfigResolver();
+        doReturn(mock(MessagingStackProvider.class)).when(services).getMessagingStackProvider();
+        doReturn(metaStoreProvider).when(services).getMetaStoreProvider();
+        doReturn(new SimpleMeterRegistry()).when(services).getMeterRegistry();
+        doReturn(OpenTelemetry.noop().getTracer("varadhi")).when(services).getTracer(anyString());
+
+        clusterManager = mock(VaradhiClusterManager.class);
+        doReturn(new MessageExchange(vertx.eventBus(), new DeliveryOptions())).when(clusterManager).getExchange(any());
+    }
+
+    @Test
+    void testInstancesShareTheAuthorizationProviderAndValidateOnce(Vertx vertx, VertxTestContext testContext) {
+        WebConfiguration configuration = YamlLoader.loadConfigFromString(
+            """
+                deployedRegion: "default"
+                featureFlags:
+                    leanDeployment: true
+                    defaultOrg: "default"
+                    defaultTeam: "public"
+                    defaultProject: "public"
+                httpServerOptions:
+                    port: 0
+                restOptions: {}
+                authenticationOptions:
+                    handlerProviderClassName: "com.flipkart.varadhi.web.authn.AnonymousAuthenticationHandler"
+                authorizationOptions:
+                    enabled: true
+                    providerClassName: "%s"
+                """.formatted(CountingAuthorizationProvider.class.getName()),
+            WebConfiguration.class,
+            false
+        );
+
+        vertx.deployVerticle(
+            WebServerVerticle.supplier(
+                configuration,
+                services,
+                clusterManager,
+                mock(ResourceReadCacheRegistry.class),
+                WebServerVerticle.APIUsecases.ADMIN
+            ),
+            new DeploymentOptions().setInstances(INSTANCES)
+        ).onComplete(testContext.succeeding(id -> testContext.verify(() -> {
+            assertEquals(1, AUTHZ_PROVIDER_INITS.get());
+            verify(orgStore, times(1)).getAll();
+            assertEquals(1, inMemoryMetaStore.orgs().getAll().size());
+            testContext.completeNow();
+        })));
+    }
+
+    public static class CountingAuthorizationProvider implements AuthorizationProvider {
+
+        @Override
+        public Future<Boolean> init(
+            ConfigFileResolver resolver,
+            AuthorizationOptions authorizationOptions,
+            MeterRegistry meterRegistry
+        ) {
+            AUTHZ_PROVIDER_INITS.incrementAndGet();
+            return Future.succeededFuture(true);
+        }
+
+        @Override
+        public Future<Boolean> isAuthorized(UserContext userContext, ResourceAction action, String resource) {
+            return Future.succeededFuture(true);
+        }
+    }
+}
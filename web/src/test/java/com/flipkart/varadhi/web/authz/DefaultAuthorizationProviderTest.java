@@ -3,10 +3,15 @@ package com.flipkart.varadhi.web.authz;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.core.ResourceReadCache;
+import com.flipkart.varadhi.core.cluster.events.EventType;
+import com.flipkart.varadhi.core.cluster.events.ResourceEvent;
+import com.flipkart.varadhi.entities.Resource;
 import com.flipkart.varadhi.entities.ResourceType;
 import com.flipkart.varadhi.entities.TestUser;
 import com.flipkart.varadhi.entities.auth.IamPolicyRecord;
@@ -15,6 +20,7 @@ import com.flipkart.varadhi.spi.ConfigFileResolver;
 import com.flipkart.varadhi.web.spi.authz.AuthorizationOptions;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -535,4 +541,61 @@ class DefaultAuthorizationProviderTest {
                     checkpoint.flag();
                 }));
     }
+
+    @Test
+    void testIsAuthorizedWithIamPolicyCache(Vertx vertx, VertxTestContext testContext) {
+        String userName = "abc";
+        String resourcePath = "flipkart/team_a";
+        String policyName = getAuthResourceFQN(ResourceType.TEAM, "flipkart:team_a");
+        IamPolicyRecord teamPolicy = new IamPolicyRecord(policyName, 1, Map.of(userName, Set.of("team.admin")));
+
+        doReturn(iamPolicyService).when(provider).getAuthZService();
+        provider.init(ID, authorizationOptions, meterRegistry)
+                .compose(
+                    t -> ResourceReadCache.<Resource.EntityResource<IamPolicyRecord>>create(
+                        ResourceType.IAM_POLICY,
+                        () -> List.of(Resource.of(teamPolicy, ResourceType.IAM_POLICY)),
+                        vertx
+                    )
+                )
+                .onComplete(testContext.succeeding(cache -> {
+                    provider.useIamPolicyCache(cache);
+                    Assertions.assertTrue(isAuthorized(userName, ResourceAction.TEAM_UPDATE, resourcePath));
+                    Assertions.assertFalse(isAuthorized(userName, ResourceAction.ORG_UPDATE, "flipkart"));
+
+                    // binding removed
+                    cache.onChange(upsertEvent(new IamPolicyRecord(policyName, 2, Map.of())));
+                    Assertions.assertFalse(isAuthorized(userName, ResourceAction.TEAM_UPDATE, resourcePath));
+
+                    // binding added back
+                    cache.onChange(
+                        upsertEvent(new IamPolicyRecord(policyName, 3, Map.of(userName, Set.of("team.admin"))))
+                    );
+                    Assertions.assertTrue(isAuthorized(userName, ResourceAction.TEAM_UPDATE, resourcePath));
+
+                    // policy deleted
+                    cache.onChange(
+                        new ResourceEvent<>(ResourceType.IAM_POLICY, policyName, EventType.INVALIDATE, null, 0, null)
+                    );
+                    Assertions.assertFalse(isAuthorized(userName, ResourceAction.TEAM_UPDATE, resourcePath));
+
+                    verifyNoInteractions(iamPolicyService);
+                    testContext.completeNow();
+                }));
+    }
+
+    private boolean isAuthorized(String userName, ResourceAction action, String resourcePath) {
+        return provider.isAuthorized(TestUser.testUser(userName, false), action, resourcePath).result();
+    }
+
+    private static ResourceEvent<Resource.EntityResource<IamPolicyRecord>> upsertEvent(IamPolicyRecord policy) {
+        return new ResourceEvent<>(
+            ResourceType.IAM_POLICY,
+            policy.getName(),
+            EventType.UPSERT,
+            Resource.of(policy, ResourceType.IAM_POLICY),
+            policy.getVersion(),
+            null
+        );
+    }
 }
@@ -1,6 +1,7 @@
 package com.flipkart.varadhi.web.utils;
 
 import com.flipkart.varadhi.spi.db.AssignmentStore;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreOptions;
 import com.flipkart.varadhi.spi.db.MetaStoreProvider;
@@ -30,6 +31,11 @@ public class InvalidMetaStoreProvider implements MetaStoreProvider {
         return null;
     }
 
+    @Override
+    public GroupStateStore getGroupStateStore() {
+        return null;
+    }
+
     @Override
     public void close() {
         log.debug("Closing InvalidMetaStoreProvider");
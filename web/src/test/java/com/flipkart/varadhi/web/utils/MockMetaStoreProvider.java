@@ -2,6 +2,7 @@ package com.flipkart.varadhi.web.utils;
 
 import com.flipkart.varadhi.db.VaradhiMetaStore;
 import com.flipkart.varadhi.spi.db.AssignmentStore;
+import com.flipkart.varadhi.spi.db.GroupStateStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreOptions;
 import com.flipkart.varadhi.spi.db.MetaStoreProvider;
@@ -32,6 +33,11 @@ public class MockMetaStoreProvider implements MetaStoreProvider {
         return Mockito.mock(AssignmentStore.class);
     }
 
+    @Override
+    public GroupStateStore getGroupStateStore() {
+        return Mockito.mock(GroupStateStore.class);
+    }
+
     @Override
     public void close() {
         log.debug("Closing MockMetaStoreProvider");
@@ -224,6 +224,52 @@ class SubscriptionHandlersTest extends SubscriptionTestBase {
         assertEquals(errorMessage, response.reason());
     }
 
+    @Test
+    void createSubscription_BatchLargerThanInFlight_ThrowsBadRequest() throws InterruptedException {
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, buildSubscriptionsUrl(PROJECT_1));
+        SubscriptionResource resource = createBatchedSubscriptionResource(
+            "sub12",
+            PROJECT_1,
+            U_TOPIC_RESOURCE_1,
+            "POST",
+            new DeliveryBatchPolicy(11, 10)
+        );
+        String errorMessage = "maxBatchSize must be between 1 and maxInFlightMessages (10).";
+
+        ErrorResponse response = sendRequestWithEntity(
+            request,
+            resource,
+            400,
+            errorMessage,
+            WebTestBase.c(ErrorResponse.class)
+        );
+
+        assertEquals(errorMessage, response.reason());
+    }
+
+    @Test
+    void createSubscription_BatchToEndpointWithoutBody_ThrowsBadRequest() throws InterruptedException {
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, buildSubscriptionsUrl(PROJECT_1));
+        SubscriptionResource resource = createBatchedSubscriptionResource(
+            "sub12",
+            PROJECT_1,
+            U_TOPIC_RESOURCE_1,
+            "GET",
+            new DeliveryBatchPolicy(5, 10)
+        );
+        String errorMessage = "Batch delivery needs an http endpoint with a POST, PUT or PATCH method.";
+
+        ErrorResponse response = sendRequestWithEntity(
+            request,
+            resource,
+            400,
+            errorMessage,
+            WebTestBase.c(ErrorResponse.class)
+        );
+
+        assertEquals(errorMessage, response.reason());
+    }
+
     @Test
     void createSubscription_UnsupportedProperties_ThrowsBadRequest() throws InterruptedException {
         HttpRequest<Buffer> request = createRequest(HttpMethod.POST, buildSubscriptionsUrl(PROJECT_1));
@@ -476,6 +522,29 @@ class SubscriptionHandlersTest extends SubscriptionTestBase {
         assertEquals(errorMessage, response.reason());
     }
 
+    @Test
+    void updateSubscription_NegativeBatchDelay_ThrowsBadRequest() throws InterruptedException {
+        HttpRequest<Buffer> request = createRequest(HttpMethod.PUT, buildSubscriptionUrl("sub12", PROJECT_1));
+        SubscriptionResource resource = createBatchedSubscriptionResource(
+            "sub12",
+            PROJECT_1,
+            U_TOPIC_RESOURCE_1,
+            "POST",
+            new DeliveryBatchPolicy(5, -1)
+        );
+        String errorMessage = "maxBatchDelayMs must not be negative.";
+
+        ErrorResponse response = sendRequestWithEntity(
+            request,
+            resource,
+            400,
+            errorMessage,
+            WebTestBase.c(ErrorResponse.class)
+        );
+
+        assertEquals(errorMessage, response.reason());
+    }
+
     @Test
     void updateSubscription_MismatchedProjectName_ThrowsBadRequest() throws InterruptedException {
         HttpRequest<Buffer> request = createRequest(HttpMethod.PUT, buildSubscriptionUrl("sub12", PROJECT_1));
@@ -1,5 +1,8 @@
 package com.flipkart.varadhi.web.v1.admin;
 
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
 import com.flipkart.varadhi.core.VaradhiSubscriptionService;
@@ -7,6 +10,8 @@ import com.flipkart.varadhi.core.VaradhiTopicService;
 import com.flipkart.varadhi.core.subscription.VaradhiSubscriptionFactory;
 import com.flipkart.varadhi.entities.*;
 import com.flipkart.varadhi.entities.web.DlqMessage;
+import com.flipkart.varadhi.entities.web.SubscriptionResource;
+import com.flipkart.varadhi.entities.web.TopicResource;
 import com.flipkart.varadhi.pulsar.entities.PulsarOffset;
 import com.flipkart.varadhi.core.ProjectService;
 import com.flipkart.varadhi.web.WebTestBase;
@@ -82,4 +87,35 @@ public class SubscriptionTestBase extends WebTestBase {
             retryAttempts
         );
     }
+
+    protected SubscriptionResource createBatchedSubscriptionResource(
+        String subscriptionName,
+        Project project,
+        TopicResource topic,
+        String endpointMethod,
+        DeliveryBatchPolicy batchPolicy
+    ) {
+        Endpoint endpoint = new Endpoint.HttpEndpoint(
+            URI.create("http://localhost:8080"),
+            endpointMethod,
+            "",
+            500,
+            500,
+            false
+        );
+        return SubscriptionResource.of(
+            subscriptionName,
+            project.getName(),
+            topic.getName(),
+            topic.getProject(),
+            "Description",
+            false,
+            endpoint,
+            createCustomRetryPolicy(3),
+            new ConsumptionPolicy(10, 1, 1, false, 1, null, batchPolicy),
+            new HashMap<>(),
+            LifecycleStatus.ActionCode.SYSTEM_ACTION,
+            Map.of("http://localhost:8080", "test")
+        );
+    }
 }
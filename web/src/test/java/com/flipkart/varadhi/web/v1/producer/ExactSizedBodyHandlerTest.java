@@ -0,0 +1,81 @@
+package com.flipkart.varadhi.web.v1.producer;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.flipkart.varadhi.common.Constants;
+import com.flipkart.varadhi.common.Result;
+import com.flipkart.varadhi.entities.StdHeaders;
+import com.flipkart.varadhi.entities.web.ErrorResponse;
+import com.flipkart.varadhi.produce.ProduceResult;
+import com.flipkart.varadhi.spi.mock.DummyProducer;
+import com.flipkart.varadhi.web.Extensions;
+import com.flipkart.varadhi.web.RequestBodyHandler;
+import com.flipkart.varadhi.web.WebTestBase;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+public class ExactSizedBodyHandlerTest extends ProduceTestBase {
+
+    HttpRequest<Buffer> request;
+    volatile byte[] bodyPayload;
+
+    @BeforeEach ()
+    public void PreTest() throws InterruptedException {
+        super.setUp();
+        route.handler(new RequestBodyHandler(20, true)).handler(ctx -> {
+            bodyPayload = Extensions.RequestBodyExtension.asPayload(ctx.body());
+            ctx.next();
+        }).handler(ctx -> {
+            ctx.put(Constants.ContextKeys.RESOURCE_HIERARCHY, produceHandlers.getHierarchies(ctx, true));
+            ctx.next();
+        }).handler(produceHandlers::produce);
+        setupFailureHandler(route);
+
+        ProduceResult result = ProduceResult.of(messageId, Result.of(new DummyProducer.DummyOffset(10)));
+        doReturn(CompletableFuture.completedFuture(result)).when(producerService).produceToTopic(any(), any());
+        request = createRequest(HttpMethod.POST, topicPath);
+        request.putHeader(StdHeaders.get().msgId(), messageId);
+    }
+
+    @AfterEach
+    public void PostTest() throws InterruptedException {
+        super.tearDown();
+    }
+
+    @Test
+    public void testProducePayloadIsPreserved() {
+        payload = "01234567890123456789".getBytes();
+        String messageIdObtained = sendRequestWithPayload(request, payload, WebTestBase.c(String.class));
+        Assertions.assertEquals(messageId, messageIdObtained);
+
+        verify(producerService).produceToTopic(msgCapture.capture(), any());
+        Assertions.assertArrayEquals(payload, msgCapture.getValue().getPayload());
+        // the body is read into an array of its size, which is handed over without a copy.
+        Assertions.assertSame(bodyPayload, msgCapture.getValue().getPayload());
+    }
+
+    @Test
+    public void testProduceWithEmptyBody() {
+        payload = new byte[0];
+        String messageIdObtained = sendRequestWithPayload(request, payload, WebTestBase.c(String.class));
+        Assertions.assertEquals(messageId, messageIdObtained);
+
+        verify(producerService).produceToTopic(msgCapture.capture(), any());
+        Assertions.assertEquals(0, msgCapture.getValue().getPayload().length);
+    }
+
+    @Test
+    public void testProduceWithBodyOverLimit() {
+        payload = "012345678901234567890".getBytes();
+        sendRequestAndParseResponse(request, payload, 413, "Entity too large.", WebTestBase.c(ErrorResponse.class));
+    }
+}
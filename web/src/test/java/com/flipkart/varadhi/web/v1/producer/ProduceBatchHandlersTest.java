@@ -0,0 +1,187 @@
+package com.flipkart.varadhi.web.v1.producer;
+
+import com.flipkart.varadhi.common.Result;
+import com.flipkart.varadhi.common.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.core.config.MessageHeaderUtils;
+import com.flipkart.varadhi.entities.JsonMapper;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.ProduceStatus;
+import com.flipkart.varadhi.entities.StdHeaders;
+import com.flipkart.varadhi.entities.web.ErrorResponse;
+import com.flipkart.varadhi.entities.web.ProduceBatchRecord;
+import com.flipkart.varadhi.entities.web.ProduceBatchResponse;
+import com.flipkart.varadhi.produce.ProduceResult;
+import com.flipkart.varadhi.spi.mock.DummyProducer;
+import com.flipkart.varadhi.web.WebTestBase;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.client.HttpRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ProduceBatchHandlersTest extends ProduceTestBase {
+    private static final int BATCH_MSG_COUNT_MAX = 3;
+    private final String batchPath = topicPath + "/batch";
+    private ArgumentCaptor<List<Message>> batchCapture;
+
+    @BeforeEach
+    public void PreTest() throws InterruptedException {
+        super.setUp();
+        produceHandlers = new ProduceHandlers(
+            producerService,
+            MessageHeaderUtils.getTestConfiguration(),
+            deployedRegion,
+            projectCache,
+            topicLookup,
+            BATCH_MSG_COUNT_MAX
+        );
+        Route batchRoute = router.post("/projects/:project/topics/:topic/produce/batch");
+        batchRoute.handler(bodyHandler).handler(produceHandlers::produceBatch);
+        setupFailureHandler(batchRoute);
+        batchCapture = ArgumentCaptor.forClass(List.class);
+    }
+
+    @AfterEach
+    public void PostTest() throws InterruptedException {
+        tearDown();
+    }
+
+    @Test
+    public void testProduceBatch() {
+        ProduceResult success = ProduceResult.of("m1", Result.of(new DummyProducer.DummyOffset(10)));
+        ProduceResult throttled = ProduceResult.ofThrottled("m2");
+        doReturn(CompletableFuture.completedFuture(List.of(success, throttled))).when(producerService)
+                                                                               .produceBatchToTopic(
+                                                                                   batchCapture.capture(),
+                                                                                   eq(topicFullName)
+                                                                               );
+
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        request.putHeader("x_common", "c1");
+        request.putHeader("RandomHeader", "value1");
+        byte[] body = jsonSeq(
+            record("m1", Map.of("x_header1", List.of("h1v1", "h1v2")), "payload1"),
+            record("m2", Map.of("x_common", List.of("c2")), "payload2")
+        );
+        ProduceBatchResponse response = sendRequestWithPayload(
+            request,
+            body,
+            WebTestBase.c(ProduceBatchResponse.class)
+        );
+
+        Assertions.assertEquals(2, response.getMessages().size());
+        Assertions.assertEquals(ProduceBatchResponse.MessageStatus.success("m1"), response.getMessages().get(0));
+        Assertions.assertEquals("m2", response.getMessages().get(1).getMessageId());
+        Assertions.assertEquals(ProduceStatus.Throttled, response.getMessages().get(1).getStatus());
+        Assertions.assertNotNull(response.getMessages().get(1).getError());
+
+        List<Message> messages = batchCapture.getValue();
+        Assertions.assertEquals(2, messages.size());
+        Message first = messages.get(0);
+        Assertions.assertEquals("m1", first.getMessageId());
+        Assertions.assertArrayEquals("payload1".getBytes(), first.getPayload());
+        Assertions.assertTrue(first.getHeaders("X_HEADER1").containsAll(List.of("h1v1", "h1v2")));
+        Assertions.assertEquals(List.of("c1"), first.getHeaders("X_COMMON"));
+        Assertions.assertFalse(first.hasHeader("RANDOMHEADER"));
+        Assertions.assertTrue(first.hasHeader(StdHeaders.get().produceRegion().value()));
+        // record headers replace the request headers of the same name.
+        Assertions.assertEquals(List.of("c2"), messages.get(1).getHeaders("X_COMMON"));
+    }
+
+    @Test
+    public void testProduceBatchExceedsMaxCount() {
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        byte[] body = jsonSeq(
+            record("m1", Map.of(), "p1"),
+            record("m2", Map.of(), "p2"),
+            record("m3", Map.of(), "p3"),
+            record("m4", Map.of(), "p4")
+        );
+        sendRequestAndParseResponse(
+            request,
+            body,
+            400,
+            "Number of records exceeds allowed limit of 3.",
+            WebTestBase.c(ErrorResponse.class)
+        );
+        verify(producerService, never()).produceBatchToTopic(anyList(), any());
+    }
+
+    @Test
+    public void testProduceBatchEmpty() {
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        sendRequestAndParseResponse(
+            request,
+            new byte[] {0x1E},
+            400,
+            "No messages found in the batch.",
+            WebTestBase.c(ErrorResponse.class)
+        );
+    }
+
+    @Test
+    public void testProduceBatchInvalidMessage() {
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        byte[] body = jsonSeq(record("m1", Map.of(), "p1"), record(null, Map.of(), "p2"));
+        ErrorResponse response = sendRequestAndParseResponse(
+            request,
+            body,
+            400,
+            null,
+            WebTestBase.c(ErrorResponse.class)
+        );
+        Assertions.assertTrue(response.reason().startsWith("Invalid message at index 1"));
+        verify(producerService, never()).produceBatchToTopic(anyList(), any());
+    }
+
+    @Test
+    public void testProduceBatchThrows() {
+        String exceptionMessage = "Some random message.";
+        doThrow(new ResourceNotFoundException(exceptionMessage)).when(producerService)
+                                                                .produceBatchToTopic(anyList(), any());
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        sendRequestAndParseResponse(
+            request,
+            jsonSeq(record("m1", Map.of(), "p1")),
+            404,
+            exceptionMessage,
+            WebTestBase.c(ErrorResponse.class)
+        );
+    }
+
+    private static ProduceBatchRecord record(String msgId, Map<String, List<String>> headers, String payload) {
+        Map<String, List<String>> recordHeaders = new HashMap<>(headers);
+        if (msgId != null) {
+            recordHeaders.put(StdHeaders.get().msgId(), List.of(msgId));
+        }
+        return new ProduceBatchRecord(recordHeaders, payload.getBytes());
+    }
+
+    private static byte[] jsonSeq(ProduceBatchRecord... records) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ProduceBatchRecord record : records) {
+            out.write(0x1E);
+            out.writeBytes(JsonMapper.jsonSerialize(record).getBytes());
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}